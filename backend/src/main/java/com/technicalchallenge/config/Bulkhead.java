@@ -0,0 +1,104 @@
+package com.technicalchallenge.config;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Concurrency limit for one {@link TrafficClass}. Up to
+ * {@code maxConcurrent} requests run; up to {@code maxQueue} more wait at
+ * most {@code maxWait} for one of them to finish. Anything beyond that is
+ * refused at once, so a saturated class sheds load instead of holding
+ * more servlet workers.
+ */
+public class Bulkhead {
+    private final TrafficClass trafficClass;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final Duration maxWait;
+
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter permitted;
+    private final Counter rejected;
+    private final Timer waits;
+
+    public Bulkhead(TrafficClass trafficClass, int maxConcurrent, int maxQueue, Duration maxWait, MeterRegistry meterRegistry) {
+        this.trafficClass = trafficClass;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        String tag = trafficClass.key();
+        this.permitted = Counter.builder("bulkhead.calls").tag("class", tag).tag("outcome", "permitted")
+                .description("Requests let through or refused by the bulkhead").register(meterRegistry);
+        this.rejected = Counter.builder("bulkhead.calls").tag("class", tag).tag("outcome", "rejected")
+                .description("Requests let through or refused by the bulkhead").register(meterRegistry);
+        this.waits = Timer.builder("bulkhead.wait").tag("class", tag)
+                .description("Time queued requests waited for a slot").register(meterRegistry);
+        Gauge.builder("bulkhead.active", this, Bulkhead::active).tag("class", tag)
+                .description("Requests running in the class").register(meterRegistry);
+        Gauge.builder("bulkhead.queued", queued, AtomicInteger::get).tag("class", tag)
+                .description("Requests waiting for a slot").register(meterRegistry);
+        Gauge.builder("bulkhead.saturation", this, Bulkhead::saturation).tag("class", tag)
+                .description("Running requests as a fraction of max-concurrent").register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot, waiting in the queue if every slot is busy. False when
+     * the queue is full or the wait runs out; the caller must then not run
+     * the request, and must call {@link #exit()} once it has run it
+     * otherwise.
+     */
+    public boolean tryEnter() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            permitted.increment();
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        long started = System.nanoTime();
+        try {
+            if (permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                permitted.increment();
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+            waits.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public TrafficClass trafficClass() {
+        return trafficClass;
+    }
+
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    public double saturation() {
+        return (double) active() / maxConcurrent;
+    }
+}
@@ -0,0 +1,97 @@
+package com.technicalchallenge.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bulkheads between booking, blotter, report and reference data traffic:
+ * a concurrency limit and a connection pool per {@link TrafficClass}, sized
+ * so admitted requests never wait for a connection. The
+ * sum of max-concurrent and max-queue over all classes stays well below
+ * Tomcat's 200 workers, so bookings find a worker even while every other
+ * class is saturated.
+ */
+@Configuration
+public class BulkheadConfig {
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadConfig.class);
+
+    @Value("${bulkhead.max-wait:PT1S}")
+    private Duration defaultMaxWait;
+
+    @Value("${bulkhead.retry-after:PT1S}")
+    private Duration retryAfter;
+
+    @Value("${bulkhead.default.pool-size:4}")
+    private int defaultPoolSize;
+
+    // Admitted requests never queue on the pool, so waiting longer only hides a sizing mistake
+    @Value("${bulkhead.connection-timeout:PT1S}")
+    private Duration connectionTimeout;
+
+    @Bean
+    FilterRegistrationBean<BulkheadFilter> bulkheadFilter(Environment environment, MeterRegistry meterRegistry) {
+        Map<TrafficClass, Bulkhead> bulkheads = new EnumMap<>(TrafficClass.class);
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            String prefix = "bulkhead." + trafficClass.key() + ".";
+            bulkheads.put(trafficClass, new Bulkhead(trafficClass,
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, trafficClass.defaultMaxConcurrent()),
+                    environment.getProperty(prefix + "max-queue", Integer.class, trafficClass.defaultMaxQueue()),
+                    environment.getProperty(prefix + "max-wait", Duration.class, defaultMaxWait),
+                    meterRegistry));
+        }
+        FilterRegistrationBean<BulkheadFilter> registration =
+                new FilterRegistrationBean<>(new BulkheadFilter(bulkheads, Math.max(1, retryAfter.toSeconds())));
+        registration.addUrlPatterns("/api/*");
+        // Ahead of the idempotency and cache filters, so a refused request does no work at all
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+
+    // Replaces Boot's single pool; spring.datasource.url, username, password and hikari.* still apply
+    @Bean
+    BulkheadDataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        Map<TrafficClass, HikariDataSource> pools = new EnumMap<>(TrafficClass.class);
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            String prefix = "bulkhead." + trafficClass.key() + ".";
+            int maxConcurrent = environment.getProperty(prefix + "max-concurrent", Integer.class, trafficClass.defaultMaxConcurrent());
+            int minSize = trafficClass.minPoolSize(maxConcurrent);
+            int size = environment.getProperty(prefix + "pool-size", Integer.class, minSize);
+            if (size < minSize) {
+                logger.warn("{}pool-size {} is below what {} concurrent requests can hold; using {}", prefix, size, maxConcurrent, minSize);
+                size = minSize;
+            }
+            pools.put(trafficClass, pool(properties, binder, "bulkhead-" + trafficClass.key(), size, meterRegistry));
+        }
+        return new BulkheadDataSource(pool(properties, binder, "bulkhead-default", defaultPoolSize, meterRegistry), pools);
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, Binder binder, String name, int size, MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setConnectionTimeout(connectionTimeout.toMillis());
+        // As Boot does for its own pool; an explicit hikari.connection-timeout wins over the default above
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(size);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
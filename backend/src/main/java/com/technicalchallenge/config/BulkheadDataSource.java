@@ -0,0 +1,39 @@
+package com.technicalchallenge.config;
+
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Hands out connections from the pool of the {@link TrafficClass} running
+ * on the calling thread. Scheduled jobs, startup and anything else outside
+ * a bulkheaded request use the default pool.
+ */
+public class BulkheadDataSource extends AbstractRoutingDataSource implements Closeable {
+    private final HikariDataSource defaultPool;
+    private final Map<TrafficClass, HikariDataSource> pools;
+
+    public BulkheadDataSource(HikariDataSource defaultPool, Map<TrafficClass, HikariDataSource> pools) {
+        this.defaultPool = defaultPool;
+        this.pools = pools;
+        setDefaultTargetDataSource(defaultPool);
+        setTargetDataSources(new LinkedHashMap<>(pools));
+        // Without a class the default pool is the right one, not a lookup failure
+        setLenientFallback(true);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TrafficClass.current();
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+        defaultPool.close();
+    }
+}
@@ -0,0 +1,72 @@
+package com.technicalchallenge.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Runs each request inside the {@link Bulkhead} of its
+ * {@link TrafficClass}, answering 503 with Retry-After when the class is
+ * saturated, and marks the thread with the class so its queries use the
+ * class's connection pool. Requests of no class pass straight through.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    private final Map<TrafficClass, Bulkhead> bulkheads;
+    private final String retryAfterSeconds;
+
+    public BulkheadFilter(Map<TrafficClass, Bulkhead> bulkheads, long retryAfterSeconds) {
+        this.bulkheads = bulkheads;
+        this.retryAfterSeconds = Long.toString(retryAfterSeconds);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TrafficClass trafficClass = TrafficClass.of(request);
+        Bulkhead bulkhead = trafficClass != null ? bulkheads.get(trafficClass) : null;
+        if (bulkhead == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean entered;
+        try {
+            entered = bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            logger.warn("Rejected {} {}: {} bulkhead saturated ({} running, {} queued)", request.getMethod(),
+                    request.getRequestURI(), trafficClass.key(), bulkhead.active(), bulkhead.queued());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("Too many " + trafficClass.key() + " requests in progress, try again later");
+            return;
+        }
+
+        TrafficClass.enter(trafficClass);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TrafficClass.exit();
+            bulkhead.exit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.technicalchallenge.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.technicalchallenge.dto.TradeFieldSelection;
+
+/**
+ * Jackson set-up shared by every format the API writes. Besides JSON,
+ * clients may send {@code Accept: application/cbor} or
+ * {@code Accept: application/x-jackson-smile} for a compact binary encoding
+ * of the same DTOs with the same property names, dates and field
+ * selection, so a consumer can switch format without changing its model.
+ * Cacheable responses tag each encoding separately; see
+ * {@link ResponseEncoding}.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    Jackson2ObjectMapperBuilderCustomizer tradeFieldFilters() {
+        return builder -> builder
+                .mixIns(TradeFieldSelection.mixIns())
+                .filters(TradeFieldSelection.writeAll());
+    }
+
+    // Built from Boot's builder so the binary mappers carry the spring.jackson settings and mix-ins too
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
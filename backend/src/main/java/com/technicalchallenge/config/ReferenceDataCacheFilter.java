@@ -0,0 +1,59 @@
+package com.technicalchallenge.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.technicalchallenge.service.ReferenceDataGeneration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conditional GETs for the reference data controllers. Every read carries
+ * the {@link ReferenceDataGeneration} ETag for its {@link ResponseEncoding},
+ * {@code Vary: Accept} and a public Cache-Control, and
+ * an If-None-Match for the current generation is answered 304 before the
+ * controller runs. Any other method moves the generation on once it has
+ * completed, so the next read sees the write.
+ *
+ * The generation is read before the controller loads anything, so a read
+ * racing a write can only be tagged older than its data, never newer.
+ */
+public class ReferenceDataCacheFilter extends OncePerRequestFilter {
+    private final ReferenceDataGeneration generation;
+    private final String cacheControl;
+
+    public ReferenceDataCacheFilter(ReferenceDataGeneration generation, String cacheControl) {
+        this.generation = generation;
+        this.cacheControl = cacheControl;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                generation.bump();
+            }
+            return;
+        }
+
+        String etag = ResponseEncoding.etag(generation.etag(), request.getHeader(HttpHeaders.ACCEPT));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        // Shared caches hold each encoding separately
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Sets the ETag and, on a match, the 304 status
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,66 @@
+package com.technicalchallenge.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * The encoding {@link JacksonConfig}'s converters will pick for an Accept
+ * header, worked out before the controller runs so conditional GETs can
+ * tag each encoding separately. A JSON, CBOR and Smile body of the same
+ * data are different bytes: they must not share an ETag, and every
+ * response whose encoding follows Accept carries {@code Vary: Accept}.
+ */
+public final class ResponseEncoding {
+
+    static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    // Wildcards resolve to the first of these, as in content negotiation
+    private static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE);
+
+    private ResponseEncoding() {
+    }
+
+    /**
+     * The ETag for the encoding the Accept header selects: unchanged for
+     * JSON, suffixed with the binary format otherwise.
+     */
+    public static String etag(String etag, String accept) {
+        MediaType encoding = negotiate(accept);
+        if (MediaType.APPLICATION_JSON.equals(encoding)) {
+            return etag;
+        }
+        String suffix = MediaType.APPLICATION_CBOR.equals(encoding) ? "-cbor" : "-smile";
+        return etag.substring(0, etag.length() - 1) + suffix + "\"";
+    }
+
+    static MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        // Highest quality first; among equals, concrete types before wildcards, otherwise header order
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed()
+                .thenComparing(MediaType::isWildcardType)
+                .thenComparing(MediaType::isWildcardSubtype));
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType producible : PRODUCIBLE) {
+                if (type.includes(producible)) {
+                    return producible;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -0,0 +1,10 @@
+package com.technicalchallenge.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Scheduled batch jobs stay disabled unless their cron property is set
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
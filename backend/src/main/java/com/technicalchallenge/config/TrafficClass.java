@@ -0,0 +1,144 @@
+package com.technicalchallenge.config;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Endpoint classes kept apart by {@link BulkheadFilter}, each with its own
+ * concurrency limit, wait queue and connection pool, so a burst of reports
+ * cannot take the workers or connections that bookings need. The defaults
+ * are overridden per class with {@code bulkhead.<class>.max-concurrent},
+ * {@code .max-queue}, {@code .max-wait} and {@code .pool-size}.
+ *
+ * Open-in-view holds a connection for the whole request, so a pool is never
+ * smaller than max-concurrent times the connections one request can hold.
+ * That is two for bookings (the ladder listener commits in its own
+ * transaction) and reference data (FX and curve writes do too), one
+ * otherwise. An admitted request then never waits on the pool, and excess
+ * load gets the bulkhead's 503 instead.
+ */
+public enum TrafficClass {
+    BOOKING(12, 24, 2),
+    BLOTTER(12, 16, 1),
+    REPORTS(4, 4, 1),
+    REFERENCE(6, 8, 2);
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+    private static final Set<String> READS = Set.of("GET", "HEAD");
+
+    // First matching rule wins; requests matching none are not bulkheaded
+    private static final List<Rule> RULES = List.of(
+            new Rule(BLOTTER, Set.of("POST"), "/api/trades/grid", "/api/batch"),
+            new Rule(REPORTS, READS, "/api/trades/as-of", "/api/cashflows", "/api/cashflows/ladder/**"),
+            new Rule(REPORTS, null, "/api/risk/**", "/api/pfe/**", "/api/valuation/npv", "/api/settlements/**"),
+            new Rule(BLOTTER, READS, "/api/trades/**", "/api/tradeLegs/**", "/api/cashflows/**"),
+            new Rule(BOOKING, null, "/api/trades/**", "/api/tradeLegs/**", "/api/cashflows/**"),
+            new Rule(REFERENCE, null, "/api/books/**", "/api/businessDayConventions/**", "/api/costCenters/**",
+                    "/api/counterparties/**", "/api/currencies/**", "/api/desks/**", "/api/holidayCalendars/**",
+                    "/api/indices/**", "/api/legTypes/**", "/api/payRecs/**", "/api/schedules/**", "/api/subdesks/**",
+                    "/api/tradeStatus/**", "/api/tradeSubTypes/**", "/api/tradeTypes/**", "/api/users/**",
+                    "/api/userProfiles/**", "/api/userPrivileges/**", "/api/privileges/**", "/api/limits/**",
+                    "/api/fx/**", "/api/valuation/curves/**"));
+
+    // Class of the request on this thread, for BulkheadDataSource
+    private static final ThreadLocal<TrafficClass> CURRENT = new ThreadLocal<>();
+
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final int connectionsPerRequest;
+
+    TrafficClass(int maxConcurrent, int maxQueue, int connectionsPerRequest) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.connectionsPerRequest = connectionsPerRequest;
+    }
+
+    /** Name in property keys and metric tags, e.g. "booking". */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    int defaultMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    int defaultMaxQueue() {
+        return maxQueue;
+    }
+
+    /** Smallest pool that serves maxConcurrent requests without any of them waiting for a connection. */
+    int minPoolSize(int maxConcurrent) {
+        return maxConcurrent * connectionsPerRequest;
+    }
+
+    /** Class of the request, or null when it is not bulkheaded. */
+    public static TrafficClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return of(request.getMethod(), path, request.getParameter("ids") != null);
+    }
+
+    /**
+     * Class of a GET run inside {@code /api/batch}, given its path and
+     * query, or null when it would not be bulkheaded on its own.
+     */
+    public static TrafficClass ofBatched(String pathAndQuery) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(pathAndQuery).build();
+        return of("GET", uri.getPath(), uri.getQueryParams().containsKey("ids"));
+    }
+
+    /**
+     * Whether requests of this class may run inside a batch. A batch holds
+     * one blotter slot and one blotter connection for all of its requests,
+     * so anything heavier would get around its own bulkhead.
+     */
+    public boolean batchable() {
+        return this == BLOTTER || this == REFERENCE;
+    }
+
+    private static TrafficClass of(String method, String path, boolean byIds) {
+        // The whole trade list is an export; a list of ids is a blotter read
+        if ("/api/trades".equals(path) && READS.contains(method)) {
+            return byIds ? BLOTTER : REPORTS;
+        }
+        for (Rule rule : RULES) {
+            if (rule.matches(method, path)) {
+                return rule.trafficClass();
+            }
+        }
+        return null;
+    }
+
+    /** Class of the request running on this thread, or null outside a bulkheaded request. */
+    public static TrafficClass current() {
+        return CURRENT.get();
+    }
+
+    static void enter(TrafficClass trafficClass) {
+        CURRENT.set(trafficClass);
+    }
+
+    static void exit() {
+        CURRENT.remove();
+    }
+
+    private record Rule(TrafficClass trafficClass, Set<String> methods, String... patterns) {
+        boolean matches(String method, String path) {
+            if (methods != null && !methods.contains(method)) {
+                return false;
+            }
+            for (String pattern : patterns) {
+                if (PATHS.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.technicalchallenge.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ValuationConfig {
+
+    @Value("${valuation.parallelism:0}")
+    private int parallelism;
+
+    @Value("${pfe.job-queue-capacity:16}")
+    private int pfeJobQueueCapacity;
+
+    // Dedicated pool so portfolio valuation never competes with the common pool used by parallel streams
+    @Bean(destroyMethod = "shutdown")
+    ForkJoinPool valuationPool() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads);
+    }
+
+    // Runs PFE jobs one at a time; each job already fans out across valuationPool
+    @Bean(destroyMethod = "shutdownNow")
+    ExecutorService pfeJobExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(pfeJobQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pfe-job");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
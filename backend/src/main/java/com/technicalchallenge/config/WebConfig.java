@@ -1,23 +1,33 @@
 package com.technicalchallenge.config;
 
+import java.time.Duration;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.technicalchallenge.service.IdempotencyService;
+import com.technicalchallenge.service.ReferenceDataGeneration;
+
 @Configuration
 public class WebConfig {
     
     @Value("${management.endpoints.web.cors.allowed-origins:http://localhost:5173}")
     private String allowedOrigins;
     
-    @Value("${management.endpoints.web.cors.allowed-methods:GET,POST,PUT,DELETE,OPTIONS}")
+    @Value("${management.endpoints.web.cors.allowed-methods:GET,POST,PUT,PATCH,DELETE,OPTIONS}")
     private String allowedMethods;
     
     @Value("${management.endpoints.web.cors.allowed-headers:*}")
     private String allowedHeaders;
 
+    @Value("${reference-data.cache.max-age:PT1M}")
+    private Duration referenceDataMaxAge;
+
     @Bean
     WebMvcConfigurer corsConfigurer() {
         return new WebMvcConfigurer() {
@@ -31,5 +41,24 @@ public class WebConfig {
             }
         };
     }
-}
 
+    @Bean
+    FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyService idempotencyService) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyService));
+        registration.addUrlPatterns("/api/trades", "/api/trades/*");
+        return registration;
+    }
+
+    @Bean
+    FilterRegistrationBean<ReferenceDataCacheFilter> referenceDataCacheFilter(ReferenceDataGeneration referenceDataGeneration) {
+        String cacheControl = CacheControl.maxAge(referenceDataMaxAge).cachePublic().getHeaderValue();
+        FilterRegistrationBean<ReferenceDataCacheFilter> registration =
+                new FilterRegistrationBean<>(new ReferenceDataCacheFilter(referenceDataGeneration, cacheControl));
+        for (String path : new String[] {"books", "businessDayConventions", "costCenters", "counterparties", "currencies",
+                "desks", "holidayCalendars", "indices", "legTypes", "payRecs", "schedules", "subdesks", "tradeStatus",
+                "tradeSubTypes", "tradeTypes"}) {
+            registration.addUrlPatterns("/api/" + path, "/api/" + path + "/*");
+        }
+        return registration;
+    }
+}
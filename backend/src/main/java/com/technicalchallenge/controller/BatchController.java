@@ -0,0 +1,154 @@
+package com.technicalchallenge.controller;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technicalchallenge.config.TrafficClass;
+import com.technicalchallenge.dto.BatchRequestDTO;
+import com.technicalchallenge.dto.BatchResponseDTO;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Runs several GETs in one round trip. Each is dispatched through the
+ * DispatcherServlet as if sent on its own, so blotter and reference data
+ * reads can be batched without knowing about it, but all of them run in one
+ * read-only transaction and persistence context: a book, counterparty or
+ * currency one request loads is already managed when the next one reaches
+ * it. Servlet filters do not run for the batched requests, so the whole
+ * batch holds the single blotter bulkhead slot it was admitted with, and
+ * report reads are refused rather than run around their own bulkhead.
+ */
+@RestController
+@RequestMapping("/api/batch")
+@Tag(name = "Batch", description = "Several read requests in one round trip")
+public class BatchController {
+    private static final Logger logger = LoggerFactory.getLogger(BatchController.class);
+
+    private static final String API_PREFIX = "/api/";
+
+    @Autowired
+    private DispatcherServlet dispatcherServlet;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate readTransaction;
+    private final int maxRequests;
+
+    public BatchController(PlatformTransactionManager transactionManager,
+                           @Value("${batch.max-requests:50}") int maxRequests) {
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.maxRequests = maxRequests;
+    }
+
+    @PostMapping
+    @Operation(summary = "Run read requests in one round trip",
+               description = "Runs each blotter or reference data GET in order, in one shared read-only transaction, and returns each status "
+                       + "and body as it would have been returned on its own. A failing request does not stop the others.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Every request was run; see each response's status",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = BatchResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Too many requests, a method other than GET, or a path that is not a blotter or reference data read")
+    })
+    public ResponseEntity<?> batch(
+            @Parameter(description = "Requests to run, in order", required = true)
+            @RequestBody BatchRequestDTO batch,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        List<BatchRequestDTO.Item> items = batch.getRequests() != null ? batch.getRequests() : List.of();
+        try {
+            validate(items);
+        } catch (IllegalArgumentException e) {
+            logger.error("Error running batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Error running batch: " + e.getMessage());
+        }
+
+        long started = System.nanoTime();
+        List<BatchResponseDTO.Item> responses = new ArrayList<>(items.size());
+        readTransaction.executeWithoutResult(status -> {
+            for (BatchRequestDTO.Item item : items) {
+                responses.add(dispatch(item, request, response));
+            }
+            // Nothing to commit; rolling back also ends quietly when a failed request marked the transaction rollback-only
+            status.setRollbackOnly();
+        });
+        logger.info("Ran batch of {} requests in {} ms", items.size(), (System.nanoTime() - started) / 1_000_000);
+        return ResponseEntity.ok(new BatchResponseDTO(responses));
+    }
+
+    private void validate(List<BatchRequestDTO.Item> items) {
+        if (items.size() > maxRequests) {
+            throw new IllegalArgumentException("At most " + maxRequests + " requests per batch, got " + items.size());
+        }
+        for (BatchRequestDTO.Item item : items) {
+            String method = item.getMethod() != null ? item.getMethod() : "GET";
+            if (!"GET".equalsIgnoreCase(method)) {
+                throw new IllegalArgumentException("Only GET requests can be batched: " + method + " " + item.getPath());
+            }
+            String path = item.getPath();
+            if (path == null || !path.startsWith(API_PREFIX) || path.startsWith("/api/batch") || path.contains("..")
+                    || path.contains("#")) {
+                throw new IllegalArgumentException("Not a batchable path: " + path);
+            }
+            // The batch runs on the blotter bulkhead and pool, so reports must be sent on their own
+            TrafficClass trafficClass = TrafficClass.ofBatched(path);
+            if (trafficClass == null || !trafficClass.batchable()) {
+                throw new IllegalArgumentException("Only blotter and reference data reads can be batched: " + path);
+            }
+        }
+    }
+
+    private BatchResponseDTO.Item dispatch(BatchRequestDTO.Item item, HttpServletRequest request, HttpServletResponse response) {
+        BatchSubResponse captured = new BatchSubResponse(response);
+        try {
+            dispatcherServlet.service(new BatchSubRequest(request, item.getPath()), captured);
+        } catch (Exception e) {
+            logger.error("Error running batched request {}: {}", item.getPath(), e.getMessage(), e);
+            return new BatchResponseDTO.Item(item.getId(), HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Error running " + item.getPath() + ": " + e.getMessage());
+        }
+        return new BatchResponseDTO.Item(item.getId(), captured.status(), body(captured));
+    }
+
+    private Object body(BatchSubResponse captured) {
+        byte[] body = captured.body();
+        if (body.length == 0) {
+            return null;
+        }
+        String contentType = captured.getContentType();
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            try {
+                return objectMapper.readTree(body);
+            } catch (Exception e) {
+                logger.warn("Batched response declared JSON but did not parse: {}", e.getMessage());
+            }
+        }
+        return new String(body, Charset.forName(captured.getCharacterEncoding()));
+    }
+}
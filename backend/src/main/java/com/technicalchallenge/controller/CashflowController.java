@@ -83,12 +83,12 @@ public class CashflowController {
 
     @PostMapping
     @Operation(summary = "Create new cashflow",
-               description = "Adds a new cashflow to the system with the specified payment details")
+               description = "Adds a new cashflow to the system with the specified payment details. Cashflows generated for a trade's legs are read-only here")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Cashflow created successfully",
                     content = @Content(mediaType = "application/json",
                                      schema = @Schema(implementation = CashflowDTO.class))),
-        @ApiResponse(responseCode = "400", description = "Invalid input data for cashflow creation"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data, or an update to a cashflow of a trade's leg schedule"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<?> createCashflow(@Valid @RequestBody CashflowDTO cashflowDTO) {
@@ -102,8 +102,13 @@ public class CashflowController {
         }
         var entity = cashflowMapper.toEntity(cashflowDTO);
         cashflowService.populateReferenceDataByName(entity, cashflowDTO);
-        var saved = cashflowService.saveCashflow(entity);
-        return ResponseEntity.ok(cashflowMapper.toDto(saved));
+        try {
+            var saved = cashflowService.saveCashflow(entity);
+            return ResponseEntity.ok(cashflowMapper.toDto(saved));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error saving cashflow: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Error saving cashflow: " + e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -111,13 +116,19 @@ public class CashflowController {
                description = "Removes a cashflow from the system by its unique identifier")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Cashflow deleted successfully"),
+        @ApiResponse(responseCode = "400", description = "Cashflow belongs to a trade's leg schedule and is read-only"),
         @ApiResponse(responseCode = "404", description = "Cashflow not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Void> deleteCashflow(@PathVariable Long id) {
+    public ResponseEntity<?> deleteCashflow(@PathVariable Long id) {
         logger.warn("Deleting cashflow with id: {}", id);
-        cashflowService.deleteCashflow(id);
-        return ResponseEntity.noContent().build();
+        try {
+            cashflowService.deleteCashflow(id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            logger.error("Error deleting cashflow: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Error deleting cashflow: " + e.getMessage());
+        }
     }
 
     @PostMapping("/generate")
@@ -0,0 +1,73 @@
+package com.technicalchallenge.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.technicalchallenge.dto.CreditLimitDTO;
+import com.technicalchallenge.dto.CreditLimitUtilisationDTO;
+import com.technicalchallenge.model.CreditLimitType;
+import com.technicalchallenge.service.CreditLimitService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/limits")
+@Validated
+@Tag(name = "Credit Limits", description = "Pre-trade notional limits per counterparty and book")
+public class CreditLimitController {
+    private static final Logger logger = LoggerFactory.getLogger(CreditLimitController.class);
+
+    @Autowired
+    private CreditLimitService creditLimitService;
+
+    @GetMapping
+    @Operation(summary = "Get limits and current utilisation",
+               description = "Lists every counterparty and book with a limit or booked notional, in the FX pivot currency")
+    public List<CreditLimitUtilisationDTO> getUtilisation() {
+        logger.info("Fetching credit limit utilisation");
+        return creditLimitService.getUtilisation();
+    }
+
+    @PutMapping("/{limitType}/{entityName}")
+    @Operation(summary = "Set or remove a limit",
+               description = "Sets the limit for a counterparty or book; a null limitAmount removes it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Limit updated successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = CreditLimitUtilisationDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown limit type or invalid amount")
+    })
+    public ResponseEntity<?> setLimit(
+            @Parameter(description = "COUNTERPARTY or BOOK", required = true)
+            @PathVariable String limitType,
+            @Parameter(description = "Counterparty name or book name", required = true)
+            @PathVariable String entityName,
+            @Valid @RequestBody CreditLimitDTO limit) {
+        logger.info("Setting {} limit for {}", limitType, entityName);
+        try {
+            CreditLimitType type = CreditLimitType.valueOf(limitType.toUpperCase());
+            return ResponseEntity.ok(creditLimitService.setLimit(type, entityName, limit.getLimitAmount()));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error setting credit limit: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Error setting credit limit: " + e.getMessage());
+        }
+    }
+}
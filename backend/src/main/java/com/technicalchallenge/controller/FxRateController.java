@@ -0,0 +1,81 @@
+package com.technicalchallenge.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.technicalchallenge.dto.FxRateDTO;
+import com.technicalchallenge.dto.FxRateSnapshotDTO;
+import com.technicalchallenge.service.FxRateService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/fx")
+@Validated
+@Tag(name = "FX Rates", description = "FX rates against the pivot currency and cross-rate conversion")
+public class FxRateController {
+    private static final Logger logger = LoggerFactory.getLogger(FxRateController.class);
+
+    @Autowired
+    private FxRateService fxRateService;
+
+    @GetMapping("/rates")
+    @Operation(summary = "Get current FX rates")
+    public FxRateSnapshotDTO getRates() {
+        logger.info("Fetching FX rates");
+        return fxRateService.toDto(fxRateService.current());
+    }
+
+    @PutMapping("/rates")
+    @Operation(summary = "Update FX rates",
+               description = "Upserts rates against the pivot currency; cross rates are recalculated and swapped in atomically")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rates updated successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = FxRateSnapshotDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown currency or invalid rate")
+    })
+    public ResponseEntity<?> updateRates(@Valid @RequestBody List<@Valid FxRateDTO> rates) {
+        logger.info("Updating {} FX rates", rates != null ? rates.size() : 0);
+        if (rates == null || rates.isEmpty()) {
+            return ResponseEntity.badRequest().body("At least one FX rate is required");
+        }
+        try {
+            return ResponseEntity.ok(fxRateService.toDto(fxRateService.updateRates(rates)));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error updating FX rates: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Error updating FX rates: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/convert")
+    @Operation(summary = "Convert an amount between two currencies via the pivot")
+    public ResponseEntity<?> convert(@RequestParam double amount, @RequestParam String from, @RequestParam String to) {
+        try {
+            return ResponseEntity.ok(Map.of("from", from, "to", to, "amount", amount,
+                    "rate", fxRateService.current().rate(from, to),
+                    "converted", fxRateService.convert(amount, from, to)));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error converting amount: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Error converting amount: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.technicalchallenge.controller;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.technicalchallenge.dto.LiquidityLadderDTO;
+import com.technicalchallenge.service.LadderBucket;
+import com.technicalchallenge.service.LiquidityLadderService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/cashflows/ladder")
+@Validated
+@Tag(name = "Liquidity", description = "Cashflow liquidity ladder by currency, book and date bucket")
+public class LiquidityLadderController {
+    private static final Logger logger = LoggerFactory.getLogger(LiquidityLadderController.class);
+
+    @Autowired
+    private LiquidityLadderService liquidityLadderService;
+
+    @GetMapping
+    @Operation(summary = "Liquidity ladder",
+               description = "Pay, receive and net amounts of active cashflows grouped by currency, book and day, week or month")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ladder aggregated successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = LiquidityLadderDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid bucket or date range")
+    })
+    public ResponseEntity<?> getLadder(
+            @Parameter(description = "Bucket width: DAY, WEEK or MONTH")
+            @RequestParam(defaultValue = "DAY") LadderBucket bucket,
+            @Parameter(description = "First value date, defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "Last value date, defaults to one year after the first")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @Parameter(description = "Restrict the ladder to a single book")
+            @RequestParam(required = false) String book,
+            @Parameter(description = "Restrict the ladder to a single currency")
+            @RequestParam(required = false) String currency,
+            @Parameter(description = "Aggregate in the database even when the in-memory ladder is enabled")
+            @RequestParam(defaultValue = "false") boolean forceSql) {
+        logger.info("Fetching {} liquidity ladder for book: {}, currency: {}", bucket, book, currency);
+        try {
+            return ResponseEntity.ok(liquidityLadderService.getLadder(bucket, fromDate, toDate, book, currency, forceSql));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error building liquidity ladder: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Error building liquidity ladder: " + e.getMessage());
+        }
+    }
+}
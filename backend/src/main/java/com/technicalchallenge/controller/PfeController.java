@@ -0,0 +1,78 @@
+package com.technicalchallenge.controller;
+
+import java.net.URI;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.technicalchallenge.dto.PfeJobDTO;
+import com.technicalchallenge.dto.PfeRequestDTO;
+import com.technicalchallenge.service.PfeService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/pfe")
+@Validated
+@Tag(name = "Exposure", description = "Monte Carlo potential future exposure per counterparty")
+public class PfeController {
+    private static final Logger logger = LoggerFactory.getLogger(PfeController.class);
+
+    @Autowired
+    private PfeService pfeService;
+
+    @PostMapping("/jobs")
+    @Operation(summary = "Submit a PFE simulation",
+               description = "Queues a simulation and returns its job id; poll the job for the exposure profiles")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Simulation queued",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = PfeJobDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid simulation parameters"),
+        @ApiResponse(responseCode = "503", description = "Job queue is full")
+    })
+    public ResponseEntity<?> submitJob(@Valid @RequestBody PfeRequestDTO request) {
+        logger.info("Submitting PFE job for counterparty: {}", request.getCounterparty());
+        try {
+            PfeJobDTO job = pfeService.submit(request);
+            return ResponseEntity.accepted().location(URI.create("/api/pfe/jobs/" + job.getJobId())).body(job);
+        } catch (IllegalStateException e) {
+            logger.warn("Rejected PFE job: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get PFE job status and result")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job found",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = PfeJobDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    })
+    public ResponseEntity<PfeJobDTO> getJob(
+            @Parameter(description = "Job id returned on submission", required = true)
+            @PathVariable String jobId) {
+        logger.debug("Fetching PFE job {}", jobId);
+        return pfeService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,61 @@
+package com.technicalchallenge.controller;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.technicalchallenge.dto.RiskReportDTO;
+import com.technicalchallenge.service.RiskService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/risk")
+@Validated
+@Tag(name = "Risk", description = "Interest rate sensitivities by bump-and-reprice")
+public class RiskController {
+    private static final Logger logger = LoggerFactory.getLogger(RiskController.class);
+
+    @Autowired
+    private RiskService riskService;
+
+    @GetMapping("/dv01")
+    @Operation(summary = "DV01 and key-rate DV01",
+               description = "Reprices the portfolio under a parallel bump and one bump per curve pillar, returning PV change per book, currency and tenor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Risk calculated successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = RiskReportDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid bump size")
+    })
+    public ResponseEntity<?> getDv01(
+            @Parameter(description = "Restrict the report to a single book")
+            @RequestParam(required = false) String book,
+            @Parameter(description = "Valuation date, defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate valuationDate,
+            @Parameter(description = "Bump size in basis points")
+            @RequestParam(defaultValue = "1") double bumpBp) {
+        logger.info("Fetching DV01 for book: {}", book);
+        try {
+            return ResponseEntity.ok(riskService.calculateDv01(book, valuationDate, bumpBp));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error calculating DV01: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Error calculating DV01: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.technicalchallenge.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.technicalchallenge.dto.SettlementInstructionDTO;
+import com.technicalchallenge.dto.SettlementNettingReportDTO;
+import com.technicalchallenge.service.SettlementNettingService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/settlements")
+@Validated
+@Tag(name = "Settlements", description = "Counterparty settlement netting")
+public class SettlementController {
+    private static final Logger logger = LoggerFactory.getLogger(SettlementController.class);
+
+    @Autowired
+    private SettlementNettingService settlementNettingService;
+
+    @GetMapping("/net")
+    @Operation(summary = "Net settlements for a value date",
+               description = "Nets active cashflows into one payment instruction per counterparty and currency")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Settlements netted successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = SettlementNettingReportDTO.class))),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public SettlementNettingReportDTO getNetSettlements(
+            @Parameter(description = "Value date, defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        logger.info("Netting settlements for {}", date);
+        return settlementNettingService.netForDate(date);
+    }
+
+    @PostMapping("/net/run")
+    @Operation(summary = "Run the settlement netting job",
+               description = "Nets the value date and stores the instructions, superseding any from an earlier run")
+    public SettlementNettingReportDTO runNettingJob(
+            @Parameter(description = "Value date, defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        logger.info("Running settlement netting job for {}", date);
+        return settlementNettingService.runNettingJob(date);
+    }
+
+    @GetMapping("/instructions")
+    @Operation(summary = "Stored settlement instructions",
+               description = "Instructions written by the latest netting job run for the value date")
+    public List<SettlementInstructionDTO> getInstructions(
+            @Parameter(description = "Value date", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        logger.debug("Fetching settlement instructions for {}", date);
+        return settlementNettingService.getInstructions(date);
+    }
+}
@@ -0,0 +1,55 @@
+package com.technicalchallenge.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.technicalchallenge.dto.TradeChangesDTO;
+import com.technicalchallenge.service.TradeChangeFeedService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/trades")
+@Tag(name = "Trade Changes", description = "Incremental sync of the trade blotter")
+public class TradeChangeController {
+    private static final Logger logger = LoggerFactory.getLogger(TradeChangeController.class);
+
+    @Autowired
+    private TradeChangeFeedService tradeChangeFeedService;
+
+    @GetMapping("/changes")
+    @Operation(summary = "Get trades changed since a token",
+               description = "Returns the current version of every trade booked, amended or changed in status since the token, "
+                       + "and a new token. Omit since for the first call.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes returned successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = TradeChangesDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Token not issued by this endpoint")
+    })
+    public ResponseEntity<?> getChanges(
+            @Parameter(description = "Token from the previous response")
+            @RequestParam(value = "since", required = false) String since,
+            @Parameter(description = "Maximum trades to return, 500 by default and at most 5000")
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        logger.debug("Fetching trade changes since {}", since);
+        try {
+            return ResponseEntity.ok(tradeChangeFeedService.getChanges(since, limit));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error reading trade changes: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Error reading trade changes: " + e.getMessage());
+        }
+    }
+}
@@ -1,23 +1,35 @@
 package com.technicalchallenge.controller;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.technicalchallenge.config.ResponseEncoding;
 import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeFieldSelection;
+import com.technicalchallenge.dto.TradePatchDTO;
 import com.technicalchallenge.mapper.TradeMapper;
 import com.technicalchallenge.model.Trade;
 import com.technicalchallenge.service.TradeService;
@@ -38,6 +50,9 @@ import jakarta.validation.Valid;
 public class TradeController {
     private static final Logger logger = LoggerFactory.getLogger(TradeController.class);
 
+    // Browsers may keep a trade but must revalidate it, which If-None-Match makes cheap
+    private static final CacheControl TRADE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private TradeService tradeService;
     @Autowired
@@ -45,38 +60,101 @@ public class TradeController {
 
     @GetMapping
     @Operation(summary = "Get all trades",
-               description = "Retrieves a list of all trades in the system. Returns comprehensive trade information including legs and cashflows.")
+               description = "Retrieves a list of all trades in the system, or with ids= the current versions of those trades in one query. " +
+                             "Returns comprehensive trade information including legs and cashflows, " +
+                             "or only the properties named by fields= or a view= profile, in which case unselected references are not loaded.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved all trades",
                     content = @Content(mediaType = "application/json",
                                      schema = @Schema(implementation = TradeDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown field or view, or too many ids"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public List<TradeDTO> getAllTrades() {
-        logger.info("Fetching all trades");
-        return tradeService.getAllTrades().stream()
-                .map(tradeMapper::toDto)
-                .toList();
+    public ResponseEntity<?> getAllTrades(
+            @Parameter(description = "Comma-separated trade ids; returns the current version of each, in the order given")
+            @RequestParam(required = false) List<Long> ids,
+            @Parameter(description = "Comma-separated properties to return, e.g. tradeId,counterpartyName,tradeStatus,tradeLegs.notional")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Predefined set of properties: summary or full")
+            @RequestParam(required = false) String view) {
+        boolean allFields = fields == null && view == null;
+        if (ids == null && allFields) {
+            logger.info("Fetching all trades");
+            return ResponseEntity.ok(tradeService.getAllTrades().stream()
+                    .map(tradeMapper::toDto)
+                    .toList());
+        }
+        try {
+            TradeFieldSelection selection = allFields ? TradeFieldSelection.FULL : TradeFieldSelection.parse(fields, view);
+            List<Trade> found;
+            if (ids != null) {
+                logger.info("Fetching {} trades by id", ids.size());
+                found = tradeService.getTradesByIds(ids, selection);
+            } else {
+                logger.info("Fetching all trades");
+                found = tradeService.getAllTrades(selection);
+            }
+            List<TradeDTO> trades = found.stream()
+                    .map(trade -> tradeMapper.toDto(trade, selection))
+                    .toList();
+            return ResponseEntity.ok(allFields ? trades : selected(trades, selection));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error fetching trades: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Error fetching trades: " + e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get trade by ID",
-               description = "Retrieves a specific trade by its unique identifier")
+               description = "Retrieves a specific trade by its unique identifier, optionally only the properties named by fields= or a view= profile")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Trade found and returned successfully",
                     content = @Content(mediaType = "application/json",
                                      schema = @Schema(implementation = TradeDTO.class))),
         @ApiResponse(responseCode = "404", description = "Trade not found"),
-        @ApiResponse(responseCode = "400", description = "Invalid trade ID format")
+        @ApiResponse(responseCode = "400", description = "Invalid trade ID format, or unknown field or view")
     })
-    public ResponseEntity<TradeDTO> getTradeById(
+    public ResponseEntity<?> getTradeById(
             @Parameter(description = "Unique identifier of the trade", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "Comma-separated properties to return, e.g. tradeId,counterpartyName,tradeStatus,tradeLegs.notional")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Predefined set of properties: summary or full")
+            @RequestParam(required = false) String view,
+            WebRequest request) {
         logger.debug("Fetching trade by id: {}", id);
-        return tradeService.getTradeById(id)
-                .map(tradeMapper::toDto)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        // Answered from the head alone when the caller already has this version
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        Optional<String> currentEtag = tradeService.getTradeHead(id)
+                .map(head -> ResponseEncoding.etag(etag(head.getTradeId(), head.getVersion(), head.getLastTouchTimestamp()), accept));
+        if (currentEtag.isPresent() && request.checkNotModified(currentEtag.get())) {
+            // checkNotModified has already set the status and ETag
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(TRADE_CACHE_CONTROL)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        Optional<Trade> found = tradeService.getTradeById(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Trade trade = found.get();
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(ResponseEncoding.etag(etag(trade.getTradeId(), trade.getVersion(), trade.getLastTouchTimestamp()), accept))
+                .cacheControl(TRADE_CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT);
+        if (fields == null && view == null) {
+            return ok.body(tradeMapper.toDto(trade));
+        }
+        try {
+            TradeFieldSelection selection = TradeFieldSelection.parse(fields, view);
+            // A single trade loads the selected references lazily, one row each
+            return ok.body(selected(tradeMapper.toDto(trade, selection), selection));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error fetching trade: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Error fetching trade: " + e.getMessage());
+        }
     }
 
     @PostMapping
@@ -133,6 +211,30 @@ public class TradeController {
         }
     }
 
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially amend a trade",
+               description = "Applies only the supplied fields as a new version. Cashflows are regenerated only for legs whose cashflow terms changed; the rest are copied.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Trade amended successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = TradeDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown trade, leg or reference data, or business rule violation")
+    })
+    public ResponseEntity<?> patchTrade(
+            @Parameter(description = "Unique identifier of the trade to amend", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Fields to change; omitted fields keep their value", required = true)
+            @RequestBody TradePatchDTO patch) {
+        logger.info("Patching trade with id: {}", id);
+        try {
+            Trade amendedTrade = tradeService.patchTrade(id, patch);
+            return ResponseEntity.ok(tradeMapper.toDto(amendedTrade));
+        } catch (Exception e) {
+            logger.error("Error patching trade: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Error patching trade: " + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete trade",
                description = "Deletes an existing trade. This is a soft delete that changes the trade status.")
@@ -204,4 +306,17 @@ public class TradeController {
             return ResponseEntity.badRequest().body("Error cancelling trade: " + e.getMessage());
         }
     }
+
+    // Every message converter, JSON or binary, writes only the selected properties
+    private static MappingJacksonValue selected(Object body, TradeFieldSelection selection) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(selection.filters());
+        return value;
+    }
+
+    // Moves with every new version and every status change, both of which set the last touch
+    static String etag(Long tradeId, Integer version, LocalDateTime lastTouch) {
+        long touched = lastTouch != null ? lastTouch.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastTouch.getNano() / 1_000 : 0;
+        return "\"" + tradeId + "-" + version + "-" + Long.toString(touched, 36) + "\"";
+    }
 }
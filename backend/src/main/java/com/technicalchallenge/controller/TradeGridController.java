@@ -0,0 +1,54 @@
+package com.technicalchallenge.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.technicalchallenge.dto.GridRowsRequestDTO;
+import com.technicalchallenge.dto.GridRowsResponseDTO;
+import com.technicalchallenge.service.TradeGridService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/trades")
+@Tag(name = "Trade Grid", description = "AG Grid server-side row model for the trade blotter")
+public class TradeGridController {
+    private static final Logger logger = LoggerFactory.getLogger(TradeGridController.class);
+
+    @Autowired
+    private TradeGridService tradeGridService;
+
+    @PostMapping("/grid")
+    @Operation(summary = "Get a block of blotter rows",
+               description = "Implements the AG Grid server-side row model: sorts, filters, groups and aggregates active trades "
+                       + "in the database and returns one block of group or trade rows")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rows returned successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = GridRowsResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown column, filter or aggregation")
+    })
+    public ResponseEntity<?> getRows(
+            @Parameter(description = "AG Grid IServerSideGetRowsRequest", required = true)
+            @RequestBody GridRowsRequestDTO request) {
+        logger.debug("Fetching grid rows {}-{} for group keys {}", request.getStartRow(), request.getEndRow(), request.getGroupKeys());
+        try {
+            return ResponseEntity.ok(tradeGridService.getRows(request));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error fetching grid rows: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Error fetching grid rows: " + e.getMessage());
+        }
+    }
+}
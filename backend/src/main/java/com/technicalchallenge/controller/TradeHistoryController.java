@@ -0,0 +1,123 @@
+package com.technicalchallenge.controller;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeHistoryDTO;
+import com.technicalchallenge.dto.TradeSnapshotDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.technicalchallenge.service.TradeHistoryService;
+import com.technicalchallenge.service.TradeJsonCache;
+import com.technicalchallenge.service.TradeService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/trades")
+@Tag(name = "Trade History", description = "Point-in-time views of trades and the portfolio")
+public class TradeHistoryController {
+    private static final Logger logger = LoggerFactory.getLogger(TradeHistoryController.class);
+
+    @Autowired
+    private TradeHistoryService tradeHistoryService;
+    @Autowired
+    private TradeService tradeService;
+    @Autowired
+    private TradeJsonCache tradeJsonCache;
+
+    @GetMapping("/{id}/versions")
+    @Operation(summary = "Get all versions of a trade",
+               description = "Retrieves every version of a trade, oldest first, including versions moved to the history tables")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Versions returned successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = TradeDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Trade not found")
+    })
+    public ResponseEntity<StreamingResponseBody> getTradeVersions(
+            @Parameter(description = "Unique identifier of the trade", required = true)
+            @PathVariable Long id) throws JsonProcessingException {
+        logger.debug("Fetching versions of trade: {}", id);
+        List<ByteBuffer> versions = tradeJsonCache.json(tradeService.getTradeVersions(id));
+        if (versions.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> TradeJsonCache.writeArray(versions, out));
+    }
+
+    @GetMapping("/{id}/as-of")
+    @Operation(summary = "Get a trade as of a timestamp",
+               description = "Returns the version of the trade that was current at ts, including archived versions")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Version returned successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = TradeDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Trade did not exist at ts")
+    })
+    public ResponseEntity<StreamingResponseBody> getTradeAsOf(
+            @Parameter(description = "Unique identifier of the trade", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Point in time, e.g. 2025-01-15T14:05:00", required = true)
+            @RequestParam("ts") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ts) throws JsonProcessingException {
+        logger.debug("Fetching trade {} as of {}", id, ts);
+        var version = tradeHistoryService.getTradeAsOf(id, ts);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        ByteBuffer json = tradeJsonCache.json(version.get());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> TradeJsonCache.write(json, out));
+    }
+
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Get a trade's amendment history",
+               description = "Returns the first version in full, then each later version as JSON Patch operations against the one before")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "History returned successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = TradeHistoryDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Trade not found")
+    })
+    public ResponseEntity<TradeHistoryDTO> getTradeHistory(
+            @Parameter(description = "Unique identifier of the trade", required = true)
+            @PathVariable Long id) {
+        logger.debug("Fetching history of trade {}", id);
+        return tradeHistoryService.getTradeHistory(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/as-of")
+    @Operation(summary = "Get the portfolio as of a timestamp",
+               description = "Returns one row per trade that existed at ts, with the version current at that time")
+    public List<TradeSnapshotDTO> getPortfolioAsOf(
+            @Parameter(description = "Point in time, e.g. 2025-01-15T14:05:00", required = true)
+            @RequestParam("ts") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ts) {
+        logger.info("Fetching portfolio as of {}", ts);
+        return tradeHistoryService.getPortfolioAsOf(ts);
+    }
+}
@@ -0,0 +1,47 @@
+package com.technicalchallenge.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.technicalchallenge.service.TradeStreamService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/trades")
+@Tag(name = "Trade Changes", description = "Incremental sync of the trade blotter")
+public class TradeStreamController {
+    private static final Logger logger = LoggerFactory.getLogger(TradeStreamController.class);
+
+    @Autowired
+    private TradeStreamService tradeStreamService;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream blotter updates",
+               description = "Server-Sent Events: a 'trade' event with the blotter row of each trade as it is booked, amended "
+                       + "or changes status, newest row only if the client falls behind. A 'resync' event means updates were "
+                       + "dropped and the client should catch up from /api/trades/changes.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened"),
+        @ApiResponse(responseCode = "503", description = "Too many open streams on this instance")
+    })
+    public ResponseEntity<SseEmitter> stream() {
+        SseEmitter emitter = tradeStreamService.subscribe();
+        if (emitter == null) {
+            logger.warn("Rejected trade stream subscriber: subscriber limit reached");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -0,0 +1,112 @@
+package com.technicalchallenge.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.technicalchallenge.dto.CurvePointDTO;
+import com.technicalchallenge.dto.DiscountCurveDTO;
+import com.technicalchallenge.dto.NpvReportDTO;
+import com.technicalchallenge.service.CurveService;
+import com.technicalchallenge.service.NpvService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/valuation")
+@Validated
+@Tag(name = "Valuation", description = "Discount curves and present value of generated cashflows")
+public class ValuationController {
+    private static final Logger logger = LoggerFactory.getLogger(ValuationController.class);
+
+    @Autowired
+    private NpvService npvService;
+    @Autowired
+    private CurveService curveService;
+
+    @GetMapping("/npv")
+    @Operation(summary = "Portfolio NPV",
+               description = "Discounts every active cashflow on its currency curve and returns NPV per trade, book and counterparty")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "NPV calculated successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = NpvReportDTO.class))),
+        @ApiResponse(responseCode = "400", description = "No FX rate for the reporting currency"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> getNpv(
+            @Parameter(description = "Restrict the report to a single book")
+            @RequestParam(required = false) String book,
+            @Parameter(description = "Valuation date, defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate valuationDate,
+            @Parameter(description = "Also convert totals into this currency")
+            @RequestParam(required = false) String reportingCurrency) {
+        logger.info("Fetching NPV for book: {}", book);
+        try {
+            return ResponseEntity.ok(npvService.calculateNpv(book, valuationDate, reportingCurrency));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error calculating NPV: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Error calculating NPV: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/curves")
+    @Operation(summary = "Get all discount curves")
+    public List<DiscountCurveDTO> getCurves() {
+        logger.info("Fetching all discount curves");
+        return curveService.getAllCurves();
+    }
+
+    @GetMapping("/curves/{currency}")
+    @Operation(summary = "Get discount curve by currency")
+    public ResponseEntity<DiscountCurveDTO> getCurve(@PathVariable String currency) {
+        logger.debug("Fetching discount curve for {}", currency);
+        return curveService.getCurve(currency)
+                .map(curveService::toDto)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/curves/{currency}")
+    @Operation(summary = "Replace discount curve",
+               description = "Replaces the zero curve for a currency. Only trades with cashflows in that currency are revalued on the next NPV request.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Curve replaced successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = DiscountCurveDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown currency or invalid curve points")
+    })
+    public ResponseEntity<?> updateCurve(@PathVariable String currency,
+                                         @Valid @RequestBody List<@Valid CurvePointDTO> points) {
+        logger.info("Updating discount curve for {}", currency);
+        if (points == null || points.isEmpty()) {
+            return ResponseEntity.badRequest().body("At least one curve point is required");
+        }
+        try {
+            return ResponseEntity.ok(curveService.toDto(curveService.updateCurve(currency, points)));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error updating curve: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Error updating curve: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.technicalchallenge.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Read requests to run in one round trip, in order, each answered as if it
+ * had been sent on its own.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestDTO {
+    private List<Item> requests = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        // Echoed in the matching response so callers need not rely on order
+        private String id;
+        // Only GET is batched
+        private String method = "GET";
+        // Path and query under /api, e.g. /api/trades?ids=100001,100002
+        private String path;
+    }
+}
@@ -0,0 +1,28 @@
+package com.technicalchallenge.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponseDTO {
+    // One per request, in request order
+    private List<Item> responses;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String id;
+        private int status;
+        // Parsed JSON for JSON responses, otherwise the body as text; null when empty
+        private Object body;
+    }
+}
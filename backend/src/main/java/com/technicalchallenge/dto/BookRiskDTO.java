@@ -0,0 +1,23 @@
+package com.technicalchallenge.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookRiskDTO {
+    private String bookName;
+    private String currency;
+    private BigDecimal pv;
+    private BigDecimal dv01;
+
+    // PV change for a bump at each curve pillar, keyed by tenor label (3M, 1Y, ...)
+    private Map<String, BigDecimal> keyRateDv01;
+}
@@ -0,0 +1,23 @@
+package com.technicalchallenge.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterpartyExposureDTO {
+    private String counterpartyName;
+    // One value per grid date of the report
+    private List<BigDecimal> expectedExposure;
+    private List<BigDecimal> pfe;
+    private BigDecimal peakPfe;
+    // Time-weighted average of expected exposure over the horizon
+    private BigDecimal expectedPositiveExposure;
+}
@@ -0,0 +1,19 @@
+package com.technicalchallenge.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditLimitDTO {
+    // In the FX pivot currency; null removes the limit
+    @PositiveOrZero(message = "Limit amount must not be negative")
+    private BigDecimal limitAmount;
+}
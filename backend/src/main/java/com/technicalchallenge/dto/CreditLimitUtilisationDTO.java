@@ -0,0 +1,25 @@
+package com.technicalchallenge.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditLimitUtilisationDTO {
+    // COUNTERPARTY or BOOK
+    private String limitType;
+    private String entityName;
+    private String currency;
+    // Null when no limit is set
+    private BigDecimal limitAmount;
+    private BigDecimal utilised;
+    private BigDecimal available;
+    private long checks;
+    private long breaches;
+}
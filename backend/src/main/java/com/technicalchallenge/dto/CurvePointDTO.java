@@ -0,0 +1,21 @@
+package com.technicalchallenge.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurvePointDTO {
+    @NotNull(message = "Tenor is required")
+    @Positive(message = "Tenor must be positive")
+    private Integer tenorMonths;
+
+    @NotNull(message = "Zero rate is required")
+    private Double zeroRate;
+}
@@ -0,0 +1,18 @@
+package com.technicalchallenge.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiscountCurveDTO {
+    private String currency;
+    private Long version;
+    private List<CurvePointDTO> points;
+}
@@ -0,0 +1,24 @@
+package com.technicalchallenge.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One JSON Patch (RFC 6902) operation against the previous version's JSON.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FieldChangeDTO {
+    // add, remove or replace
+    private String op;
+    // JSON Pointer, e.g. /tradeLegs/0/notional
+    private String path;
+    // Absent for remove
+    private JsonNode value;
+}
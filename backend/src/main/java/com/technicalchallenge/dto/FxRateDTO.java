@@ -0,0 +1,23 @@
+package com.technicalchallenge.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateDTO {
+    @NotBlank(message = "Currency is required")
+    private String currency;
+
+    // Units of the pivot currency per one unit of currency
+    @NotNull(message = "Rate is required")
+    @Positive(message = "Rate must be positive")
+    private Double rateToPivot;
+}
@@ -0,0 +1,18 @@
+package com.technicalchallenge.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateSnapshotDTO {
+    private String pivotCurrency;
+    private Long version;
+    private List<FxRateDTO> rates;
+}
@@ -0,0 +1,34 @@
+package com.technicalchallenge.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One column's entry in an AG Grid filter model: a simple text, number,
+ * date or set filter, or several combined with {@code operator}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GridFilterDTO {
+    // text, number, date or set
+    private String filterType;
+    // equals, notEqual, contains, notContains, startsWith, endsWith, lessThan, lessThanOrEqual,
+    // greaterThan, greaterThanOrEqual, inRange, blank or notBlank
+    private String type;
+    private Object filter;
+    private Object filterTo;
+    // Date filters, as yyyy-MM-dd or yyyy-MM-dd HH:mm:ss
+    private String dateFrom;
+    private String dateTo;
+    // Set filter
+    private List<String> values;
+    // AND or OR, with conditions
+    private String operator;
+    private List<GridFilterDTO> conditions;
+}
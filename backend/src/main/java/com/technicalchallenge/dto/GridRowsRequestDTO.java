@@ -0,0 +1,53 @@
+package com.technicalchallenge.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * AG Grid server-side row model request (IServerSideGetRowsRequest). Rows
+ * startRow inclusive to endRow exclusive of the level below
+ * {@code groupKeys}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GridRowsRequestDTO {
+    private int startRow;
+    private int endRow = 100;
+    private List<Column> rowGroupCols = new ArrayList<>();
+    private List<Column> valueCols = new ArrayList<>();
+    // Keys of the expanded groups, outermost first
+    private List<String> groupKeys = new ArrayList<>();
+    private List<Sort> sortModel = new ArrayList<>();
+    private Map<String, GridFilterDTO> filterModel = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Column {
+        private String id;
+        private String displayName;
+        private String field;
+        // sum, avg, min, max or count; value columns only
+        private String aggFunc;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Sort {
+        private String colId;
+        // asc or desc
+        private String sort;
+    }
+}
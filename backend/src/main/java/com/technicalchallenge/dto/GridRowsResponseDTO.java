@@ -0,0 +1,20 @@
+package com.technicalchallenge.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GridRowsResponseDTO {
+    // Group rows or trade rows keyed by column id
+    private List<Map<String, Object>> rows;
+    // Total rows at this level once the last block is reached, otherwise -1
+    private int lastRow;
+}
@@ -0,0 +1,23 @@
+package com.technicalchallenge.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LadderBucketDTO {
+    private LocalDate bucketStart;
+    private String currency;
+    private String bookName;
+    private BigDecimal payAmount;
+    private BigDecimal receiveAmount;
+    private BigDecimal netAmount;
+    private long cashflowCount;
+}
@@ -0,0 +1,24 @@
+package com.technicalchallenge.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiquidityLadderDTO {
+    private String bucket;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private String book;
+    private String currency;
+    // SQL when aggregated by the database, INCREMENTAL when served from the in-memory ladder
+    private String source;
+    private List<LadderBucketDTO> buckets;
+}
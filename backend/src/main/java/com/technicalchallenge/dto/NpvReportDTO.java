@@ -0,0 +1,39 @@
+package com.technicalchallenge.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NpvReportDTO {
+    private LocalDate valuationDate;
+    private String book;
+
+    private List<TradeNpvDTO> trades;
+
+    // Totals keyed by book / counterparty, then currency
+    private Map<String, Map<String, BigDecimal>> bookTotals;
+    private Map<String, Map<String, BigDecimal>> counterpartyTotals;
+    private Map<String, BigDecimal> totals;
+
+    // Totals converted into the requested reporting currency; null when none was requested
+    private String reportingCurrency;
+    private BigDecimal reportingTotal;
+    private Map<String, BigDecimal> reportingBookTotals;
+
+    // Currencies with cashflows but no curve; those cashflows are left out of every figure
+    private List<String> missingCurves;
+
+    // Slices (trade x currency) repriced for this request versus served from cache
+    private Integer revaluedSlices;
+    private Integer totalSlices;
+}
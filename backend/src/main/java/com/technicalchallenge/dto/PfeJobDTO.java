@@ -0,0 +1,22 @@
+package com.technicalchallenge.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PfeJobDTO {
+    private String jobId;
+    // QUEUED, RUNNING, COMPLETED or FAILED
+    private String status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+    private String error;
+    private PfeReportDTO report;
+}
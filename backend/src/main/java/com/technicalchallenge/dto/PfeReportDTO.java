@@ -0,0 +1,27 @@
+package com.technicalchallenge.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PfeReportDTO {
+    private LocalDate valuationDate;
+    private String reportingCurrency;
+    private int paths;
+    private long seed;
+    private double confidence;
+    private List<LocalDate> gridDates;
+    private List<CounterpartyExposureDTO> counterparties;
+
+    // Currencies left out because they have no curve or no FX rate
+    private List<String> excludedCurrencies;
+    private long elapsedMillis;
+}
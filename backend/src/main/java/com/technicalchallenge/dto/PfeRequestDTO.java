@@ -0,0 +1,47 @@
+package com.technicalchallenge.dto;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PfeRequestDTO {
+    // Null simulates every counterparty
+    private String counterparty;
+    private LocalDate valuationDate;
+    private String reportingCurrency;
+
+    @Min(value = 1, message = "At least one path is required")
+    @Max(value = 100_000, message = "At most 100000 paths are allowed")
+    private Integer paths = 2_000;
+
+    private Long seed = 42L;
+
+    @Min(value = 1, message = "Horizon must be at least one month")
+    @Max(value = 600, message = "Horizon cannot exceed 50 years")
+    private Integer horizonMonths = 120;
+
+    @Min(value = 1, message = "Step must be at least one month")
+    private Integer stepMonths = 3;
+
+    @PositiveOrZero(message = "Mean reversion cannot be negative")
+    private Double meanReversion = 0.03;
+
+    @PositiveOrZero(message = "Volatility cannot be negative")
+    private Double volatility = 0.01;
+
+    @DecimalMin(value = "0.5", message = "Confidence must be at least 0.5")
+    @DecimalMax(value = "0.9999", message = "Confidence must be below 1")
+    private Double confidence = 0.95;
+}
@@ -0,0 +1,31 @@
+package com.technicalchallenge.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskReportDTO {
+    private LocalDate valuationDate;
+    private String book;
+    private Double bumpBasisPoints;
+
+    private List<BookRiskDTO> books;
+
+    // Portfolio totals per currency, and per currency then tenor
+    private Map<String, BigDecimal> totalDv01;
+    private Map<String, Map<String, BigDecimal>> totalKeyRateDv01;
+
+    private List<String> missingCurves;
+    private Integer scenarios;
+    private Long elapsedMillis;
+}
@@ -0,0 +1,25 @@
+package com.technicalchallenge.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementInstructionDTO {
+    private String counterpartyName;
+    private String currency;
+    private LocalDate valueDate;
+    // Pay, Receive, or NONE when the gross flows cancel out
+    private String direction;
+    private BigDecimal netAmount;
+    private BigDecimal payAmount;
+    private BigDecimal receiveAmount;
+    private long grossCashflowCount;
+}
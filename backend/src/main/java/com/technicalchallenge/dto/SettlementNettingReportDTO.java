@@ -0,0 +1,22 @@
+package com.technicalchallenge.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementNettingReportDTO {
+    private LocalDate valueDate;
+    private long grossCashflowCount;
+    private int instructionCount;
+    private long elapsedMillis;
+    // Omitted for batch runs, which persist the instructions instead
+    private List<SettlementInstructionDTO> instructions;
+}
@@ -0,0 +1,23 @@
+package com.technicalchallenge.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeChangesDTO {
+    // Pass back as since on the next call
+    private String token;
+    // The token was from before a restart; trades holds everything and replaces the client's copy
+    private boolean reset;
+    // More changes are waiting; call again straight away with the new token
+    private boolean hasMore;
+    // Current version of each changed trade, oldest change first
+    private List<TradeDTO> trades;
+}
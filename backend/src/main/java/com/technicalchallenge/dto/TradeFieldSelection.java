@@ -0,0 +1,268 @@
+package com.technicalchallenge.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * The TradeDTO properties a caller asked for with {@code fields=} and
+ * {@code view=}, by their JSON names. Nested leg and cashflow properties
+ * are addressed as {@code tradeLegs.notional} and
+ * {@code tradeLegs.cashflows.valueDate}; naming a collection alone selects
+ * all of it.
+ *
+ * The same selection decides which associations are fetched, which the
+ * mapper reads and which properties Jackson writes, in JSON or a binary
+ * format, so a reference that is not asked for is neither loaded nor
+ * serialized.
+ */
+public final class TradeFieldSelection {
+    private static final String TRADE_FILTER = "tradeFields";
+    private static final String LEG_FILTER = "tradeLegFields";
+    private static final String CASHFLOW_FILTER = "cashflowFields";
+
+    private static final String LEGS = "tradeLegs";
+    private static final String CASHFLOWS = "cashflows";
+
+    private static final Set<String> TRADE_PROPERTIES = propertyNames(TradeDTO.class);
+    private static final Set<String> LEG_PROPERTIES = propertyNames(TradeLegDTO.class);
+    private static final Set<String> CASHFLOW_PROPERTIES = propertyNames(CashflowDTO.class);
+
+    // Entity association behind each group of DTO properties
+    private static final Map<String, List<String>> TRADE_ASSOCIATIONS = Map.of(
+            "book", List.of("bookId", "bookName"),
+            "counterparty", List.of("counterpartyId", "counterpartyName"),
+            "traderUser", List.of("traderUserId", "traderUserName"),
+            "tradeInputterUser", List.of("tradeInputterUserId", "inputterUserName"),
+            "tradeType", List.of("tradeTypeId", "tradeType"),
+            "tradeSubType", List.of("tradeSubTypeId", "tradeSubType"),
+            "tradeStatus", List.of("tradeStatusId", "tradeStatus"));
+    private static final Map<String, List<String>> LEG_ASSOCIATIONS = Map.of(
+            "currency", List.of("currencyId", "currency"),
+            "legRateType", List.of("legTypeId", "legType"),
+            "index", List.of("indexId", "index"),
+            "holidayCalendar", List.of("holidayCalendarId", "holidayCalendar"),
+            "calculationPeriodSchedule", List.of("scheduleId", "calculationPeriodSchedule"),
+            "paymentBusinessDayConvention", List.of("paymentBdcId", "paymentBusinessDayConvention"),
+            "fixingBusinessDayConvention", List.of("fixingBdcId", "fixingBusinessDayConvention"),
+            "payReceiveFlag", List.of("payRecId", "payReceiveFlag"),
+            "legSchedule", List.of(CASHFLOWS));
+    private static final Map<String, List<String>> CASHFLOW_ASSOCIATIONS = Map.of(
+            "payRec", List.of("payRec"),
+            "paymentType", List.of("paymentType"),
+            "paymentBusinessDayConvention", List.of("paymentBusinessDayConvention"));
+
+    private static final Map<String, List<String>> VIEWS = Map.of(
+            "summary", List.of("tradeId", "version", "tradeDate", "startDate", "maturityDate", "bookName",
+                    "counterpartyName", "traderUserName", "tradeType", "tradeSubType", "tradeStatus", "utiCode",
+                    "lastTouchTimestamp"),
+            "full", List.copyOf(TRADE_PROPERTIES));
+
+    /** Every property, legs and cashflows included; what the endpoints return without fields= or view=. */
+    public static final TradeFieldSelection FULL = parse(null, "full");
+
+    private final Set<String> trade = new LinkedHashSet<>();
+    private final Set<String> leg = new LinkedHashSet<>();
+    private final Set<String> cashflow = new LinkedHashSet<>();
+
+    private TradeFieldSelection() {
+    }
+
+    /**
+     * Selection for a comma-separated {@code fields} list and an optional
+     * {@code view} profile; the two are combined when both are given.
+     * Throws {@link IllegalArgumentException} for unknown fields or views.
+     */
+    public static TradeFieldSelection parse(String fields, String view) {
+        TradeFieldSelection selection = new TradeFieldSelection();
+        if (view != null && !view.isBlank()) {
+            List<String> profile = VIEWS.get(view.trim().toLowerCase());
+            if (profile == null) {
+                throw new IllegalArgumentException("Unknown view: " + view + ". Supported views: " + VIEWS.keySet());
+            }
+            profile.forEach(selection::add);
+        }
+        if (fields != null) {
+            for (String field : fields.split(",")) {
+                if (!field.isBlank()) {
+                    selection.add(field.trim());
+                }
+            }
+        }
+        if (selection.trade.isEmpty()) {
+            throw new IllegalArgumentException("No fields selected");
+        }
+        return selection;
+    }
+
+    private void add(String path) {
+        String[] parts = path.split("\\.", -1);
+        String top = parts[0];
+        require(TRADE_PROPERTIES, top, path);
+        trade.add(top);
+        if (!LEGS.equals(top)) {
+            if (parts.length > 1) {
+                throw new IllegalArgumentException("Unknown field: " + path);
+            }
+            return;
+        }
+        if (parts.length == 1) {
+            leg.addAll(LEG_PROPERTIES);
+            cashflow.addAll(CASHFLOW_PROPERTIES);
+            return;
+        }
+        require(LEG_PROPERTIES, parts[1], path);
+        leg.add(parts[1]);
+        if (!CASHFLOWS.equals(parts[1])) {
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("Unknown field: " + path);
+            }
+            return;
+        }
+        if (parts.length == 2) {
+            cashflow.addAll(CASHFLOW_PROPERTIES);
+            return;
+        }
+        if (parts.length > 3) {
+            throw new IllegalArgumentException("Unknown field: " + path);
+        }
+        require(CASHFLOW_PROPERTIES, parts[2], path);
+        cashflow.add(parts[2]);
+    }
+
+    private static void require(Set<String> properties, String name, String path) {
+        if (!properties.contains(name)) {
+            throw new IllegalArgumentException("Unknown field: " + path);
+        }
+    }
+
+    public boolean includesLegs() {
+        return trade.contains(LEGS);
+    }
+
+    public boolean includesCashflows() {
+        return includesLegs() && leg.contains(CASHFLOWS);
+    }
+
+    /** Whether the mapper should read the trade association, e.g. "book". */
+    public boolean readsTrade(String association) {
+        return reads(TRADE_ASSOCIATIONS, trade, association);
+    }
+
+    public boolean readsLeg(String association) {
+        return includesLegs() && reads(LEG_ASSOCIATIONS, leg, association);
+    }
+
+    public boolean readsCashflow(String association) {
+        return includesCashflows() && reads(CASHFLOW_ASSOCIATIONS, cashflow, association);
+    }
+
+    /** Trade associations to fetch with the trade rows. */
+    public List<String> tradeAssociations() {
+        return associations(TRADE_ASSOCIATIONS, trade);
+    }
+
+    /** Leg associations to fetch with the legs; empty when legs are not selected. */
+    public List<String> legAssociations() {
+        return includesLegs() ? associations(LEG_ASSOCIATIONS, leg) : List.of();
+    }
+
+    /** Cashflow associations to fetch with the cashflows; empty when cashflows are not selected. */
+    public List<String> cashflowAssociations() {
+        return includesCashflows() ? associations(CASHFLOW_ASSOCIATIONS, cashflow) : List.of();
+    }
+
+    public Set<String> tradeFields() {
+        return Collections.unmodifiableSet(trade);
+    }
+
+    public Set<String> legFields() {
+        return Collections.unmodifiableSet(leg);
+    }
+
+    public Set<String> cashflowFields() {
+        return Collections.unmodifiableSet(cashflow);
+    }
+
+    /**
+     * Mix-ins naming the filters on TradeDTO, TradeLegDTO and CashflowDTO,
+     * to register on every application ObjectMapper together with
+     * {@link #writeAll()}.
+     */
+    public static Map<Class<?>, Class<?>> mixIns() {
+        return Map.of(
+                TradeDTO.class, TradeFilterMixin.class,
+                TradeLegDTO.class, LegFilterMixin.class,
+                CashflowDTO.class, CashflowFilterMixin.class);
+    }
+
+    /** Filters for writes without a selection: every property. */
+    public static FilterProvider writeAll() {
+        return new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    /** Filters writing only the selected properties, for a mapper with {@link #mixIns()}. */
+    public FilterProvider filters() {
+        return new SimpleFilterProvider()
+                .addFilter(TRADE_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(trade))
+                .addFilter(LEG_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(leg))
+                .addFilter(CASHFLOW_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(cashflow));
+    }
+
+    private static boolean reads(Map<String, List<String>> associations, Set<String> selected, String association) {
+        List<String> properties = associations.get(association);
+        if (properties == null) {
+            throw new IllegalArgumentException("Unknown association: " + association);
+        }
+        return properties.stream().anyMatch(selected::contains);
+    }
+
+    private static List<String> associations(Map<String, List<String>> associations, Set<String> selected) {
+        return associations.entrySet().stream()
+                .filter(entry -> entry.getValue().stream().anyMatch(selected::contains))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    private static Set<String> propertyNames(Class<?> type) {
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.getSerializationConfig()
+                .introspect(mapper.constructType(type))
+                .findProperties().stream()
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Override
+    public String toString() {
+        Map<String, Set<String>> levels = new LinkedHashMap<>();
+        levels.put("trade", trade);
+        levels.put("leg", leg);
+        levels.put("cashflow", cashflow);
+        return levels.toString();
+    }
+
+    @JsonFilter(TRADE_FILTER)
+    private interface TradeFilterMixin {
+    }
+
+    @JsonFilter(LEG_FILTER)
+    private interface LegFilterMixin {
+    }
+
+    @JsonFilter(CASHFLOW_FILTER)
+    private interface CashflowFilterMixin {
+    }
+}
@@ -0,0 +1,21 @@
+package com.technicalchallenge.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeHistoryDTO {
+    private Long tradeId;
+    // First version as a TradeDTO; cashflows omit legId, which is the enclosing leg's
+    private JsonNode base;
+    private List<TradeVersionDeltaDTO> deltas;
+}
@@ -0,0 +1,22 @@
+package com.technicalchallenge.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeNpvDTO {
+    private Long tradeId;
+    private String bookName;
+    private String counterpartyName;
+
+    // Legs are valued on their own currency's curve, so a cross-currency trade has one entry per currency
+    private Map<String, BigDecimal> npvByCurrency;
+}
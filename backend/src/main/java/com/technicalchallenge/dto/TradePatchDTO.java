@@ -0,0 +1,44 @@
+package com.technicalchallenge.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Partial amendment: null fields keep their current value. Legs are matched
+ * to the current version by legId and only their non-null fields change.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradePatchDTO {
+    private LocalDate tradeDate;
+
+    @JsonProperty("startDate")
+    private LocalDate tradeStartDate;
+
+    @JsonProperty("maturityDate")
+    private LocalDate tradeMaturityDate;
+
+    @JsonProperty("executionDate")
+    private LocalDate tradeExecutionDate;
+
+    private String utiCode;
+    private LocalDate validityStartDate;
+
+    private String bookName;
+    private String counterpartyName;
+    private String traderUserName;
+    private String inputterUserName;
+    private String tradeType;
+    private String tradeSubType;
+
+    private List<TradeLegDTO> tradeLegs;
+}
@@ -0,0 +1,31 @@
+package com.technicalchallenge.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeSnapshotDTO {
+    private Long tradeId;
+    private Integer version;
+    private String tradeStatus;
+    private String bookName;
+    private String counterpartyName;
+    private String tradeType;
+    private LocalDate tradeDate;
+    private LocalDate tradeStartDate;
+    private LocalDate tradeMaturityDate;
+    private String utiCode;
+    // Interval the version was current for; validTo is null while it still is
+    private LocalDateTime validFrom;
+    private LocalDateTime validTo;
+    // True when the version has been moved to trade_history
+    private boolean archived;
+}
@@ -0,0 +1,20 @@
+package com.technicalchallenge.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeVersionDeltaDTO {
+    private Integer version;
+    private LocalDateTime validFrom;
+    // Applied in order to the previous version gives this one
+    private List<FieldChangeDTO> changes;
+}
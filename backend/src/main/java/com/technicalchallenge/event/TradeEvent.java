@@ -0,0 +1,50 @@
+package com.technicalchallenge.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * A slot in {@link TradeEventRingBuffer}. Slots are allocated once and
+ * overwritten as the ring wraps, so handlers must copy any field they keep
+ * beyond {@link TradeEventHandler#onEvent}.
+ */
+public final class TradeEvent {
+    private long sequence = -1;
+    private TradeEventType type;
+    private Long tradeId;
+    private Long tradeRowId;
+    private Integer version;
+    private LocalDateTime occurredAt;
+
+    void set(long sequence, TradeLifecycleEvent event) {
+        this.sequence = sequence;
+        this.type = event.type();
+        this.tradeId = event.tradeId();
+        this.tradeRowId = event.tradeRowId();
+        this.version = event.version();
+        this.occurredAt = event.occurredAt();
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public TradeEventType getType() {
+        return type;
+    }
+
+    public Long getTradeId() {
+        return tradeId;
+    }
+
+    public Long getTradeRowId() {
+        return tradeRowId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
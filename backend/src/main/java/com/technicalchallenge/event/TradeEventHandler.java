@@ -0,0 +1,21 @@
+package com.technicalchallenge.event;
+
+/**
+ * A consumer of the trade event ring. Every handler bean is attached by
+ * {@code TradeEventBus} with its own cursor and thread, so a slow handler
+ * only delays itself until the ring is full.
+ */
+public interface TradeEventHandler {
+
+    /** Name used for the consumer's thread and lag metric. */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Called in sequence order. {@code event} is a reused slot and is only
+     * valid for the duration of the call. {@code endOfBatch} is true for the
+     * last event currently published, a good point to flush.
+     */
+    void onEvent(TradeEvent event, boolean endOfBatch) throws Exception;
+}
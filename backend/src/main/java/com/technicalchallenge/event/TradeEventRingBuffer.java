@@ -0,0 +1,161 @@
+package com.technicalchallenge.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fixed-size ring of preallocated {@link TradeEvent} slots with one producer
+ * and any number of consumers.
+ *
+ * Publishing claims the next sequence, copies the event into the slot for it
+ * and moves the cursor; nothing is allocated. Publishes are serialised on the
+ * ring, so it has exactly one producer at a time whichever thread committed
+ * the trade. Each consumer runs on its own thread with its own sequence and
+ * reads every slot up to the cursor in a batch. The producer never laps the
+ * slowest consumer: when the ring is full it waits for that consumer, so
+ * the ring size is the burst a stalled consumer can absorb before bookings
+ * feel it.
+ */
+public final class TradeEventRingBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(TradeEventRingBuffer.class);
+
+    private static final long FULL_RING_PARK_NANOS = 1_000;
+
+    private final TradeEvent[] slots;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    // Highest published sequence
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    // Producer state, guarded by this
+    private long nextSequence;
+    private long gatingSequence = -1;
+
+    public TradeEventRingBuffer(int size, WaitStrategy waitStrategy) {
+        if (size < 1 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two: " + size);
+        }
+        this.slots = new TradeEvent[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new TradeEvent();
+        }
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /** Copies {@code event} into the next slot and returns its sequence. */
+    public synchronized long publish(TradeLifecycleEvent event) {
+        long sequence = nextSequence;
+        long wrapPoint = sequence - slots.length;
+        if (wrapPoint > gatingSequence) {
+            long slowest;
+            while (wrapPoint > (slowest = slowestSequence(sequence - 1))) {
+                LockSupport.parkNanos(FULL_RING_PARK_NANOS);
+            }
+            gatingSequence = slowest;
+        }
+        slots[(int) (sequence & mask)].set(sequence, event);
+        nextSequence = sequence + 1;
+        cursor.set(sequence);
+        waitStrategy.signalAll();
+        return sequence;
+    }
+
+    /**
+     * Attaches {@code handler} from the next published event onwards. The
+     * returned subscription is started by the caller on a thread of its
+     * choosing.
+     */
+    public synchronized Subscription subscribe(String name, TradeEventHandler handler) {
+        Subscription subscription = new Subscription(name, handler, cursor.get());
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public long cursor() {
+        return cursor.get();
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    public List<Subscription> subscriptions() {
+        return List.copyOf(subscriptions);
+    }
+
+    private long slowestSequence(long fallback) {
+        long slowest = fallback;
+        for (Subscription subscription : subscriptions) {
+            slowest = Math.min(slowest, subscription.sequence.get());
+        }
+        return slowest;
+    }
+
+    /** One consumer's cursor and read loop. */
+    public final class Subscription implements Runnable {
+        private final String name;
+        private final TradeEventHandler handler;
+        // Highest sequence this consumer has finished with
+        private final AtomicLong sequence;
+        private volatile boolean running = true;
+
+        private Subscription(String name, TradeEventHandler handler, long start) {
+            this.name = name;
+            this.handler = handler;
+            this.sequence = new AtomicLong(start);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long sequence() {
+            return sequence.get();
+        }
+
+        /** Published events this consumer has not finished with yet. */
+        public long lag() {
+            return Math.max(0, cursor.get() - sequence.get());
+        }
+
+        public void halt() {
+            running = false;
+            waitStrategy.signalAll();
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (running) {
+                long available;
+                try {
+                    available = waitStrategy.waitFor(next, cursor, () -> running);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (available < next) {
+                    continue;
+                }
+                for (long s = next; s <= available; s++) {
+                    try {
+                        handler.onEvent(slots[(int) (s & mask)], s == available);
+                    } catch (Exception e) {
+                        // A failing event must not stall the consumer or, through gating, the producer
+                        logger.error("Trade event consumer {} failed on sequence {}: {}", name, s, e.getMessage(), e);
+                    }
+                }
+                sequence.set(available);
+                next = available + 1;
+            }
+            subscriptions.remove(this);
+        }
+    }
+}
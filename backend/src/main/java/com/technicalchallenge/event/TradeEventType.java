@@ -0,0 +1,8 @@
+package com.technicalchallenge.event;
+
+public enum TradeEventType {
+    CREATED,
+    AMENDED,
+    CANCELLED,
+    TERMINATED
+}
@@ -0,0 +1,20 @@
+package com.technicalchallenge.event;
+
+import java.time.LocalDateTime;
+
+import com.technicalchallenge.model.Trade;
+
+/**
+ * Published by {@code TradeService} for every booking and lifecycle change.
+ * Listeners that need committed data should use
+ * {@code @TransactionalEventListener} so they run after commit.
+ *
+ * @param tradeRowId primary key of the trade version that is current after the change
+ */
+public record TradeLifecycleEvent(TradeEventType type, Long tradeId, Long tradeRowId, Integer version,
+                                  LocalDateTime occurredAt) {
+
+    public static TradeLifecycleEvent of(TradeEventType type, Trade trade) {
+        return new TradeLifecycleEvent(type, trade.getTradeId(), trade.getId(), trade.getVersion(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,125 @@
+package com.technicalchallenge.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * How a consumer waits for the producer to publish a sequence. Trades off
+ * latency against the CPU an idle consumer burns:
+ * BLOCKING parks on a condition and costs nothing when idle; SLEEPING spins,
+ * yields, then parks briefly; YIELDING spins then yields; BUSY_SPIN never
+ * gives up its core.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Waits until {@code cursor} reaches {@code sequence} and returns the
+     * cursor, which may be further ahead. Returns early, with a value below
+     * {@code sequence}, once {@code running} turns false.
+     */
+    long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) throws InterruptedException;
+
+    /** Called by the producer after each publish. */
+    default void signalAll() {
+    }
+
+    static WaitStrategy named(String name) {
+        return switch (name.trim().toUpperCase()) {
+            case "BLOCKING" -> new Blocking();
+            case "SLEEPING" -> new Sleeping();
+            case "YIELDING" -> new Yielding();
+            case "BUSY_SPIN" -> new BusySpin();
+            default -> throw new IllegalArgumentException("Unknown wait strategy: " + name
+                    + ". Supported: BLOCKING, SLEEPING, YIELDING, BUSY_SPIN");
+        };
+    }
+
+    final class Blocking implements WaitStrategy {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+
+        @Override
+        public long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) throws InterruptedException {
+            long available = cursor.get();
+            if (available >= sequence) {
+                return available;
+            }
+            lock.lock();
+            try {
+                // Timed so a stop request is seen without a publish
+                while ((available = cursor.get()) < sequence && running.getAsBoolean()) {
+                    published.await(100, TimeUnit.MILLISECONDS);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAll() {
+            lock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    final class Sleeping implements WaitStrategy {
+        private static final int SPINS = 100;
+        private static final int YIELDS = 100;
+        private static final long SLEEP_NANOS = 100_000;
+
+        @Override
+        public long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) {
+            long available;
+            int attempts = 0;
+            while ((available = cursor.get()) < sequence && running.getAsBoolean()) {
+                if (attempts < SPINS) {
+                    Thread.onSpinWait();
+                } else if (attempts < SPINS + YIELDS) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(SLEEP_NANOS);
+                }
+                attempts++;
+            }
+            return available;
+        }
+    }
+
+    final class Yielding implements WaitStrategy {
+        private static final int SPINS = 100;
+
+        @Override
+        public long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) {
+            long available;
+            int attempts = 0;
+            while ((available = cursor.get()) < sequence && running.getAsBoolean()) {
+                if (attempts++ < SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            return available;
+        }
+    }
+
+    final class BusySpin implements WaitStrategy {
+        @Override
+        public long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) {
+            long available;
+            while ((available = cursor.get()) < sequence && running.getAsBoolean()) {
+                Thread.onSpinWait();
+            }
+            return available;
+        }
+    }
+}
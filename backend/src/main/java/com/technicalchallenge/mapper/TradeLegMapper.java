@@ -85,9 +85,6 @@ public class TradeLegMapper {
         if (dto.getPayReceiveFlag() != null) {
             entity.setPayReceiveFlag(payRecRepository.findByPayRec(dto.getPayReceiveFlag()).orElse(null));
         }
-        if (dto.getCashflows() != null) {
-            entity.setCashflows(dto.getCashflows().stream().map(cashflowMapper::toEntity).collect(Collectors.toList()));
-        }
         return entity;
     }
 }
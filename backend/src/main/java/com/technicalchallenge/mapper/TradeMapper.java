@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 
 import com.technicalchallenge.dto.CashflowDTO;
 import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeFieldSelection;
 import com.technicalchallenge.dto.TradeLegDTO;
 import com.technicalchallenge.model.Cashflow;
 import com.technicalchallenge.model.Trade;
@@ -16,6 +17,14 @@ import com.technicalchallenge.model.TradeLeg;
 public class TradeMapper {
 
     public TradeDTO toDto(Trade trade) {
+        return toDto(trade, TradeFieldSelection.FULL);
+    }
+
+    /**
+     * Maps the trade, reading only the associations behind the selected
+     * fields so unselected references and collections stay unloaded.
+     */
+    public TradeDTO toDto(Trade trade, TradeFieldSelection fields) {
         if (trade == null) {
             return null;
         }
@@ -36,45 +45,45 @@ public class TradeMapper {
         dto.setCreatedDate(trade.getCreatedDate());
 
 
-        if (trade.getBook() != null) {
+        if (fields.readsTrade("book") && trade.getBook() != null) {
             dto.setBookId(trade.getBook().getId());
             dto.setBookName(trade.getBook().getBookName());
         }
 
-        if (trade.getCounterparty() != null) {
+        if (fields.readsTrade("counterparty") && trade.getCounterparty() != null) {
             dto.setCounterpartyId(trade.getCounterparty().getId());
             dto.setCounterpartyName(trade.getCounterparty().getName());
         }
 
-        if (trade.getTraderUser() != null) {
+        if (fields.readsTrade("traderUser") && trade.getTraderUser() != null) {
             dto.setTraderUserId(trade.getTraderUser().getId());
             dto.setTraderUserName(trade.getTraderUser().getFirstName() + " " + trade.getTraderUser().getLastName());
         }
 
-        if (trade.getTradeInputterUser() != null) { // Fixed field name
+        if (fields.readsTrade("tradeInputterUser") && trade.getTradeInputterUser() != null) { // Fixed field name
             dto.setTradeInputterUserId(trade.getTradeInputterUser().getId());
             dto.setInputterUserName(trade.getTradeInputterUser().getFirstName() + " " + trade.getTradeInputterUser().getLastName());
         }
 
-        if (trade.getTradeType() != null) {
+        if (fields.readsTrade("tradeType") && trade.getTradeType() != null) {
             dto.setTradeTypeId(trade.getTradeType().getId());
             dto.setTradeType(trade.getTradeType().getTradeType());
         }
 
-        if (trade.getTradeSubType() != null) {
+        if (fields.readsTrade("tradeSubType") && trade.getTradeSubType() != null) {
             dto.setTradeSubTypeId(trade.getTradeSubType().getId());
             dto.setTradeSubType(trade.getTradeSubType().getTradeSubType());
         }
 
-        if (trade.getTradeStatus() != null) {
+        if (fields.readsTrade("tradeStatus") && trade.getTradeStatus() != null) {
             dto.setTradeStatusId(trade.getTradeStatus().getId());
             dto.setTradeStatus(trade.getTradeStatus().getTradeStatus());
         }
 
         // Map trade legs
-        if (trade.getTradeLegs() != null) {
+        if (fields.includesLegs() && trade.getTradeLegs() != null) {
             List<TradeLegDTO> legDTOs = trade.getTradeLegs().stream()
-                    .map(this::tradeLegToDto)
+                    .map(leg -> tradeLegToDto(leg, fields))
                     .collect(Collectors.toList());
             dto.setTradeLegs(legDTOs);
         }
@@ -106,6 +115,10 @@ public class TradeMapper {
     }
 
     public TradeLegDTO tradeLegToDto(TradeLeg leg) {
+        return tradeLegToDto(leg, TradeFieldSelection.FULL);
+    }
+
+    public TradeLegDTO tradeLegToDto(TradeLeg leg, TradeFieldSelection fields) {
         if (leg == null) {
             return null;
         }
@@ -115,50 +128,54 @@ public class TradeMapper {
         dto.setNotional(leg.getNotional());
         dto.setRate(leg.getRate());
 
-        if (leg.getCurrency() != null) {
+        if (fields.readsLeg("currency") && leg.getCurrency() != null) {
             dto.setCurrencyId(leg.getCurrency().getId());
             dto.setCurrency(leg.getCurrency().getCurrency());
         }
 
-        if (leg.getLegRateType() != null) {
+        if (fields.readsLeg("legRateType") && leg.getLegRateType() != null) {
             dto.setLegTypeId(leg.getLegRateType().getId());
             dto.setLegType(leg.getLegRateType().getType());
         }
 
-        if (leg.getIndex() != null) {
+        if (fields.readsLeg("index") && leg.getIndex() != null) {
             dto.setIndexId(leg.getIndex().getId());
             dto.setIndexName(leg.getIndex().getIndex()); // Fixed: setIndex() -> setIndexName()
         }
 
-        if (leg.getHolidayCalendar() != null) {
+        if (fields.readsLeg("holidayCalendar") && leg.getHolidayCalendar() != null) {
             dto.setHolidayCalendarId(leg.getHolidayCalendar().getId());
             dto.setHolidayCalendar(leg.getHolidayCalendar().getHolidayCalendar());
         }
 
-        if (leg.getCalculationPeriodSchedule() != null) {
+        if (fields.readsLeg("calculationPeriodSchedule") && leg.getCalculationPeriodSchedule() != null) {
             dto.setScheduleId(leg.getCalculationPeriodSchedule().getId());
             dto.setCalculationPeriodSchedule(leg.getCalculationPeriodSchedule().getSchedule());
         }
 
-        if (leg.getPaymentBusinessDayConvention() != null) {
+        if (fields.readsLeg("paymentBusinessDayConvention") && leg.getPaymentBusinessDayConvention() != null) {
             dto.setPaymentBdcId(leg.getPaymentBusinessDayConvention().getId());
             dto.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention().getBdc());
         }
 
-        if (leg.getFixingBusinessDayConvention() != null) {
+        if (fields.readsLeg("fixingBusinessDayConvention") && leg.getFixingBusinessDayConvention() != null) {
             dto.setFixingBdcId(leg.getFixingBusinessDayConvention().getId());
             dto.setFixingBusinessDayConvention(leg.getFixingBusinessDayConvention().getBdc());
         }
 
-        if (leg.getPayReceiveFlag() != null) {
+        if (fields.readsLeg("payReceiveFlag") && leg.getPayReceiveFlag() != null) {
             dto.setPayRecId(leg.getPayReceiveFlag().getId());
             dto.setPayReceiveFlag(leg.getPayReceiveFlag().getPayRec());
         }
 
-        // Map cashflows
-        if (leg.getCashflows() != null) {
+        // Map cashflows; shared schedule cashflows are reported against this leg
+        if (fields.includesCashflows() && leg.getCashflows() != null) {
             List<CashflowDTO> cashflowDTOs = leg.getCashflows().stream()
-                    .map(this::cashflowToDto)
+                    .map(cashflow -> {
+                        CashflowDTO cashflowDTO = cashflowToDto(cashflow, fields);
+                        cashflowDTO.setLegId(leg.getLegId());
+                        return cashflowDTO;
+                    })
                     .collect(Collectors.toList());
             dto.setCashflows(cashflowDTOs);
         }
@@ -181,6 +198,10 @@ public class TradeMapper {
     }
 
     public CashflowDTO cashflowToDto(Cashflow cashflow) {
+        return cashflowToDto(cashflow, TradeFieldSelection.FULL);
+    }
+
+    public CashflowDTO cashflowToDto(Cashflow cashflow, TradeFieldSelection fields) {
         if (cashflow == null) {
             return null;
         }
@@ -191,9 +212,9 @@ public class TradeMapper {
         dto.setPaymentValue(cashflow.getPaymentValue());
         dto.setValueDate(cashflow.getValueDate());
         dto.setRate(cashflow.getRate());
-        dto.setPayRec(cashflow.getPayRec() != null ? cashflow.getPayRec().getPayRec() : null);
-        dto.setPaymentType(cashflow.getPaymentType() != null ? cashflow.getPaymentType().getType() : null);
-        dto.setPaymentBusinessDayConvention(cashflow.getPaymentBusinessDayConvention() != null ?
+        dto.setPayRec(fields.readsCashflow("payRec") && cashflow.getPayRec() != null ? cashflow.getPayRec().getPayRec() : null);
+        dto.setPaymentType(fields.readsCashflow("paymentType") && cashflow.getPaymentType() != null ? cashflow.getPaymentType().getType() : null);
+        dto.setPaymentBusinessDayConvention(fields.readsCashflow("paymentBusinessDayConvention") && cashflow.getPaymentBusinessDayConvention() != null ?
             cashflow.getPaymentBusinessDayConvention().getBdc() : null);
         dto.setCreatedDate(cashflow.getCreatedDate());
         dto.setActive(cashflow.getActive());
@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -22,7 +23,10 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "cashflow")
+@Table(name = "cashflow", indexes = {
+        @Index(name = "idx_cashflow_value_date_active", columnList = "value_date, active"),
+        @Index(name = "idx_cashflow_leg_schedule", columnList = "leg_schedule_id")
+})
 public class Cashflow {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -36,6 +40,11 @@ public class Cashflow {
     @JoinColumn(name = "leg_id", referencedColumnName = "legId")
     private TradeLeg tradeLeg; // Changed from 'leg' to match service expectations
 
+    // Generated cashflows are shared by every leg on the schedule and have no tradeLeg
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "leg_schedule_id", referencedColumnName = "id")
+    private LegSchedule legSchedule;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pay_rec_id", referencedColumnName = "id")
     private PayRec payRec;
@@ -0,0 +1,80 @@
+package com.technicalchallenge.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A cashflow of a schedule no live leg uses any more, moved out of the
+ * cashflow table by TradeArchiveService.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "cashflow_history", indexes = {
+        @Index(name = "idx_cashflow_history_leg_schedule", columnList = "leg_schedule_id")
+})
+public class CashflowHistory {
+    // Same id as the cashflow row it was moved from
+    @Id
+    private Long id;
+
+    private BigDecimal paymentValue;
+    private LocalDate valueDate;
+    private Double rate;
+
+    // Leg the cashflow was stored against before schedules existed; not a foreign key once archived
+    private Long legId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "leg_schedule_id", referencedColumnName = "id")
+    private LegSchedule legSchedule;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pay_rec_id", referencedColumnName = "id")
+    private PayRec payRec;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_type_id", referencedColumnName = "id")
+    private LegType paymentType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_business_day_convention_id", referencedColumnName = "id")
+    private BusinessDayConvention paymentBusinessDayConvention;
+
+    private Boolean active = true;
+    private LocalDateTime createdDate;
+    private LocalDate validityStartDate;
+    private LocalDate validityEndDate;
+
+    public Cashflow toCashflow() {
+        Cashflow cashflow = new Cashflow();
+        cashflow.setId(id);
+        cashflow.setPaymentValue(paymentValue);
+        cashflow.setValueDate(valueDate);
+        cashflow.setRate(rate);
+        cashflow.setLegSchedule(legSchedule);
+        cashflow.setPayRec(payRec);
+        cashflow.setPaymentType(paymentType);
+        cashflow.setPaymentBusinessDayConvention(paymentBusinessDayConvention);
+        cashflow.setActive(active);
+        cashflow.setCreatedDate(createdDate);
+        cashflow.setValidityStartDate(validityStartDate);
+        cashflow.setValidityEndDate(validityEndDate);
+        return cashflow;
+    }
+}
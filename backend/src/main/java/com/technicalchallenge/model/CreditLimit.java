@@ -0,0 +1,48 @@
+package com.technicalchallenge.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Maximum notional outstanding with a counterparty or in a book, in the FX
+ * pivot currency. Changing a limit deactivates the previous row.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "credit_limit", indexes = {
+        @Index(name = "idx_credit_limit_type_name_active", columnList = "limit_type, entity_name, active")
+})
+public class CreditLimit {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private CreditLimitType limitType;
+
+    // Counterparty name or book name, depending on limitType
+    private String entityName;
+
+    private BigDecimal limitAmount;
+
+    // Audit fields
+    private Boolean active = true;
+    private LocalDateTime createdDate;
+    private LocalDateTime deactivatedDate;
+}
@@ -0,0 +1,7 @@
+package com.technicalchallenge.model;
+
+/** What a {@link CreditLimit} caps: a counterparty or a book. */
+public enum CreditLimitType {
+    COUNTERPARTY,
+    BOOK
+}
@@ -0,0 +1,47 @@
+package com.technicalchallenge.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A single pillar of a zero curve. Rates are continuously compounded decimals
+ * (0.045 = 4.5%) and tenors are expressed in months from the curve date.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "curve_point", indexes = {
+        @Index(name = "idx_curve_point_currency_active", columnList = "currency_id, active")
+})
+public class CurvePoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "currency_id", referencedColumnName = "id")
+    private Currency currency;
+
+    private Integer tenorMonths;
+    private Double zeroRate;
+
+    // Audit fields
+    private Boolean active = true;
+    private LocalDateTime createdDate;
+    private LocalDateTime deactivatedDate;
+}
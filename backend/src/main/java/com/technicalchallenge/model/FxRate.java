@@ -0,0 +1,46 @@
+package com.technicalchallenge.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Spot rate of a currency against the pivot currency, expressed as units of
+ * pivot per one unit of the currency (EUR 1.08 = 1 EUR buys 1.08 USD).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "fx_rate", indexes = {
+        @Index(name = "idx_fx_rate_currency_active", columnList = "currency_id, active")
+})
+public class FxRate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "currency_id", referencedColumnName = "id")
+    private Currency currency;
+
+    private Double rateToPivot;
+
+    // Audit fields
+    private Boolean active = true;
+    private LocalDateTime createdDate;
+    private LocalDateTime deactivatedDate;
+}
@@ -0,0 +1,50 @@
+package com.technicalchallenge.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Response first returned for an Idempotency-Key, replayed verbatim to
+ * retries until it expires.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "idempotency_record", indexes = {
+        @Index(name = "idx_idempotency_record_key", columnList = "idempotency_key", unique = true),
+        @Index(name = "idx_idempotency_record_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String idempotencyKey;
+
+    // SHA-256 of method, path and body; a retry must match it
+    @Column(length = 64, nullable = false)
+    private String requestHash;
+
+    private int statusCode;
+    private String contentType;
+
+    @Column(length = 1048576)
+    private byte[] responseBody;
+
+    private LocalDateTime createdDate;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,65 @@
+package com.technicalchallenge.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A set of generated cashflows, addressed by a hash of the leg terms and
+ * dates that produced it. Every leg, in any trade version, whose terms hash
+ * the same points at the same schedule, so an amendment that leaves a leg
+ * untouched writes no cashflow rows. Once no live leg uses a schedule its
+ * cashflows may be archived; the schedule row stays and is never shared again.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "leg_schedule", indexes = {
+        @Index(name = "idx_leg_schedule_hash", columnList = "schedule_hash")
+})
+public class LegSchedule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 64, nullable = false)
+    private String scheduleHash;
+
+    private Integer cashflowCount;
+
+    private LocalDateTime createdDate;
+
+    // Set when the cashflows have moved to cashflow_history
+    private Boolean archived = false;
+
+    @OneToMany(mappedBy = "legSchedule")
+    @OrderBy("valueDate")
+    private List<Cashflow> cashflows;
+
+    @OneToMany(mappedBy = "legSchedule")
+    @OrderBy("valueDate")
+    private List<CashflowHistory> archivedCashflows;
+
+    // Reads archived cashflows back so old versions show them as before
+    public List<Cashflow> getCashflows() {
+        if (Boolean.TRUE.equals(archived)) {
+            return archivedCashflows != null ? archivedCashflows.stream().map(CashflowHistory::toCashflow).toList() : null;
+        }
+        return cashflows;
+    }
+}
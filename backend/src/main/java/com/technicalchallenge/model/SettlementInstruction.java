@@ -0,0 +1,49 @@
+package com.technicalchallenge.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Netted payment for one counterparty, currency and value date, written by
+ * the settlement netting job. Re-running the job for a date deactivates the
+ * previous instructions instead of deleting them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "settlement_instruction", indexes = {
+        @Index(name = "idx_settlement_instruction_value_date_active", columnList = "value_date, active")
+})
+public class SettlementInstruction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String counterpartyName;
+    private String currency;
+    private LocalDate valueDate;
+    private String direction;
+    private BigDecimal netAmount;
+    private BigDecimal payAmount;
+    private BigDecimal receiveAmount;
+    private Long grossCashflowCount;
+
+    // Audit fields
+    private Boolean active = true;
+    private LocalDateTime createdDate;
+    private LocalDateTime deactivatedDate;
+}
@@ -5,11 +5,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -24,7 +26,18 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "trade")
+@Table(name = "trade", indexes = {
+        @Index(name = "idx_trade_economic_fingerprint_active", columnList = "economic_fingerprint, active"),
+        @Index(name = "idx_trade_active_deactivated_date", columnList = "active, deactivated_date"),
+        // Validity interval [created_date, deactivated_date) for as-of reads
+        @Index(name = "idx_trade_trade_id_created_date", columnList = "trade_id, created_date"),
+        @Index(name = "idx_trade_created_deactivated_date", columnList = "created_date, deactivated_date"),
+        // Blotter grid grouping and filtering over active trades
+        @Index(name = "idx_trade_active_book", columnList = "active, book_id"),
+        @Index(name = "idx_trade_active_counterparty", columnList = "active, counterparty_id"),
+        @Index(name = "idx_trade_active_status", columnList = "active, trade_status_id"),
+        @Index(name = "idx_trade_active_trade_date", columnList = "active, trade_date")
+})
 public class Trade {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -74,6 +87,10 @@ public class Trade {
     private LocalDate validityStartDate;
     private LocalDate validityEndDate;
 
+    // SHA-256 of the trade's economic terms, used to catch replayed bookings
+    @Column(length = 64)
+    private String economicFingerprint;
+
     // Audit fields
     private Boolean active = true;
     private LocalDateTime createdDate;
@@ -0,0 +1,40 @@
+package com.technicalchallenge.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Points each trade id at the row of its current version, so reading the
+ * current trade is a primary key lookup however many versions it has.
+ * Moved forward in the same transaction as every new version.
+ *
+ * changeSequence is stamped after commit, in commit order, each time the
+ * trade is booked, amended or changes status; it drives the change feed.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "trade_head", indexes = {
+        @Index(name = "idx_trade_head_change_sequence", columnList = "change_sequence")
+})
+public class TradeHead {
+    @Id
+    private Long tradeId;
+
+    // trade.id of the current version
+    private Long tradeRowId;
+    private Integer version;
+    private LocalDateTime lastTouchTimestamp;
+    // Null until the change feed has stamped the latest change
+    private Long changeSequence;
+}
@@ -0,0 +1,130 @@
+package com.technicalchallenge.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An inactive trade version moved out of the trade table by
+ * TradeArchiveService. Columns match trade, plus when the row was moved.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "trade_history", indexes = {
+        @Index(name = "idx_trade_history_trade_id_version", columnList = "trade_id, version"),
+        @Index(name = "idx_trade_history_trade_id_created_date", columnList = "trade_id, created_date"),
+        @Index(name = "idx_trade_history_created_deactivated_date", columnList = "created_date, deactivated_date")
+})
+public class TradeHistory {
+    // Same id as the trade row it was moved from
+    @Id
+    private Long id;
+
+    private Long tradeId;
+    private Integer version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", referencedColumnName = "id")
+    private Book book;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "counterparty_id", referencedColumnName = "id")
+    private Counterparty counterparty;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trader_user_id", referencedColumnName = "id")
+    private ApplicationUser traderUser;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "inputter_user_id", referencedColumnName = "id")
+    private ApplicationUser tradeInputterUser;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trade_type_id", referencedColumnName = "id")
+    private TradeType tradeType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trade_sub_type_id", referencedColumnName = "id")
+    private TradeSubType tradeSubType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trade_status_id", referencedColumnName = "id")
+    private TradeStatus tradeStatus;
+
+    private String utiCode;
+
+    // Date fields
+    private LocalDate tradeDate;
+    private LocalDate tradeStartDate;
+    private LocalDate tradeMaturityDate;
+    private LocalDate tradeExecutionDate;
+
+    private Long additionalFieldsId;
+    private LocalDateTime lastTouchTimestamp;
+    private LocalDate validityStartDate;
+    private LocalDate validityEndDate;
+
+    // SHA-256 of the trade's economic terms, used to catch replayed bookings
+    @Column(length = 64)
+    private String economicFingerprint;
+
+    // Audit fields
+    private Boolean active = true;
+    private LocalDateTime createdDate;
+    private LocalDateTime deactivatedDate;
+
+    private LocalDateTime archivedDate;
+
+    @OneToMany(mappedBy = "trade")
+    private List<TradeLegHistory> tradeLegs;
+
+    // Detached Trade carrying the archived values, for code that reads versions from either table
+    public Trade toTrade() {
+        Trade trade = new Trade();
+        trade.setId(id);
+        trade.setTradeId(tradeId);
+        trade.setVersion(version);
+        trade.setBook(book);
+        trade.setCounterparty(counterparty);
+        trade.setTraderUser(traderUser);
+        trade.setTradeInputterUser(tradeInputterUser);
+        trade.setTradeType(tradeType);
+        trade.setTradeSubType(tradeSubType);
+        trade.setTradeStatus(tradeStatus);
+        trade.setUtiCode(utiCode);
+        trade.setTradeDate(tradeDate);
+        trade.setTradeStartDate(tradeStartDate);
+        trade.setTradeMaturityDate(tradeMaturityDate);
+        trade.setTradeExecutionDate(tradeExecutionDate);
+        trade.setAdditionalFieldsId(additionalFieldsId);
+        trade.setLastTouchTimestamp(lastTouchTimestamp);
+        trade.setValidityStartDate(validityStartDate);
+        trade.setValidityEndDate(validityEndDate);
+        trade.setEconomicFingerprint(economicFingerprint);
+        trade.setActive(active);
+        trade.setCreatedDate(createdDate);
+        trade.setDeactivatedDate(deactivatedDate);
+        if (tradeLegs != null) {
+            trade.setTradeLegs(tradeLegs.stream().map(leg -> leg.toTradeLeg(trade)).collect(Collectors.toList()));
+        }
+        return trade;
+    }
+}
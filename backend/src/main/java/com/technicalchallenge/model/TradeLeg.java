@@ -4,7 +4,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -12,7 +11,6 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -24,7 +22,11 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "trade_leg")
+@Table(name = "trade_leg", indexes = {
+        @jakarta.persistence.Index(name = "idx_trade_leg_leg_schedule", columnList = "leg_schedule_id"),
+        // Legs of a trade for grid notional aggregation; not implied by the foreign key on every database
+        @jakarta.persistence.Index(name = "idx_trade_leg_trade_id", columnList = "trade_id, notional")
+})
 public class TradeLeg {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -74,6 +76,12 @@ public class TradeLeg {
     private LocalDateTime createdDate;
     private LocalDateTime deactivatedDate;
 
-    @OneToMany(mappedBy = "tradeLeg", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<Cashflow> cashflows;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "leg_schedule_id", referencedColumnName = "id")
+    private LegSchedule legSchedule;
+
+    // Cashflows are shared through the leg's schedule rather than owned by the leg
+    public List<Cashflow> getCashflows() {
+        return legSchedule != null ? legSchedule.getCashflows() : null;
+    }
 }
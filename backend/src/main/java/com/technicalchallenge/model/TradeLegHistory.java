@@ -0,0 +1,100 @@
+package com.technicalchallenge.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A leg of an archived trade version. Its cashflows are still reached
+ * through its schedule.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "trade_leg_history")
+public class TradeLegHistory {
+    // Same id as the trade_leg row it was moved from
+    @Id
+    private Long legId;
+
+    private BigDecimal notional;
+    private Double rate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trade_id", referencedColumnName = "id")
+    private TradeHistory trade;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "currency_id", referencedColumnName = "id")
+    private Currency currency;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "leg_rate_type_id", referencedColumnName = "id")
+    private LegType legRateType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "index_id", referencedColumnName = "id")
+    private Index index;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "holiday_calendar_id", referencedColumnName = "id")
+    private HolidayCalendar holidayCalendar;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "calculation_period_schedule_id", referencedColumnName = "id")
+    private Schedule calculationPeriodSchedule;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_business_day_convention_id", referencedColumnName = "id")
+    private BusinessDayConvention paymentBusinessDayConvention;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "fixing_business_day_convention_id", referencedColumnName = "id")
+    private BusinessDayConvention fixingBusinessDayConvention;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pay_rec_id", referencedColumnName = "id")
+    private PayRec payReceiveFlag;
+
+    // Audit fields
+    private Boolean active = true;
+    private LocalDateTime createdDate;
+    private LocalDateTime deactivatedDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "leg_schedule_id", referencedColumnName = "id")
+    private LegSchedule legSchedule;
+
+    public TradeLeg toTradeLeg(Trade trade) {
+        TradeLeg leg = new TradeLeg();
+        leg.setLegId(legId);
+        leg.setNotional(notional);
+        leg.setRate(rate);
+        leg.setTrade(trade);
+        leg.setCurrency(currency);
+        leg.setLegRateType(legRateType);
+        leg.setIndex(index);
+        leg.setHolidayCalendar(holidayCalendar);
+        leg.setCalculationPeriodSchedule(calculationPeriodSchedule);
+        leg.setPaymentBusinessDayConvention(paymentBusinessDayConvention);
+        leg.setFixingBusinessDayConvention(fixingBusinessDayConvention);
+        leg.setPayReceiveFlag(payReceiveFlag);
+        leg.setActive(active);
+        leg.setCreatedDate(createdDate);
+        leg.setDeactivatedDate(deactivatedDate);
+        leg.setLegSchedule(legSchedule);
+        return leg;
+    }
+}
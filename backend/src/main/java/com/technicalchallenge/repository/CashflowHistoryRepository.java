@@ -0,0 +1,28 @@
+package com.technicalchallenge.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.technicalchallenge.model.CashflowHistory;
+
+@Repository
+public interface CashflowHistoryRepository extends JpaRepository<CashflowHistory, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO cashflow_history (id, payment_value, value_date, rate, leg_id, leg_schedule_id, pay_rec_id, " +
+                   "payment_type_id, payment_business_day_convention_id, active, created_date, validity_start_date, " +
+                   "validity_end_date) " +
+                   "SELECT id, payment_value, value_date, rate, leg_id, leg_schedule_id, pay_rec_id, " +
+                   "payment_type_id, payment_business_day_convention_id, active, created_date, validity_start_date, " +
+                   "validity_end_date FROM cashflow WHERE leg_schedule_id IN (:scheduleIds)", nativeQuery = true)
+    int copyCashflows(@Param("scheduleIds") Collection<Long> scheduleIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM cashflow WHERE leg_schedule_id IN (:scheduleIds)", nativeQuery = true)
+    int deleteCashflows(@Param("scheduleIds") Collection<Long> scheduleIds);
+}
@@ -1,11 +1,96 @@
 package com.technicalchallenge.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.LegSchedule;
+import com.technicalchallenge.model.TradeLeg;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface CashflowRepository extends JpaRepository<Cashflow, Long> {
-    // Custom query methods if needed
+
+    // Shared FROM/WHERE/GROUP BY of the liquidity ladder; each query only differs in how value_date is bucketed
+    String LADDER_AGGREGATE = ", c.currency AS currency, b.book_name AS bookName, " +
+            "SUM(CASE WHEN pr.pay_rec = 'Pay' THEN cf.payment_value ELSE 0 END) AS payAmount, " +
+            "SUM(CASE WHEN pr.pay_rec = 'Pay' THEN 0 ELSE cf.payment_value END) AS receiveAmount, " +
+            "SUM(CASE WHEN pr.pay_rec = 'Pay' THEN -cf.payment_value ELSE cf.payment_value END) AS netAmount, " +
+            "COUNT(*) AS cashflowCount " +
+            "FROM cashflow cf JOIN trade_leg l ON cf.leg_schedule_id = l.leg_schedule_id JOIN trade t ON l.trade_id = t.id " +
+            "LEFT JOIN book b ON t.book_id = b.id LEFT JOIN trade_status s ON t.trade_status_id = s.id " +
+            "LEFT JOIN currency c ON l.currency_id = c.id LEFT JOIN pay_rec pr ON cf.pay_rec_id = pr.id " +
+            "WHERE cf.active = true AND t.active = true " +
+            "AND (s.trade_status IS NULL OR s.trade_status NOT IN (:excludedStatuses)) " +
+            "AND cf.value_date BETWEEN :fromDate AND :toDate " +
+            "AND (:book IS NULL OR b.book_name = :book) " +
+            "AND (:currency IS NULL OR c.currency = :currency) " +
+            "GROUP BY 1, c.currency, b.book_name ORDER BY 1, c.currency, b.book_name";
+
+    // Valuation feed: one row per active cashflow, ordered so each (trade, currency) slice is contiguous
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.tradeId AS tradeId, b.bookName AS bookName, cp.name AS counterpartyName, c.currency AS currency, " +
+           "pr.payRec AS payRec, cf.valueDate AS valueDate, cf.paymentValue AS paymentValue " +
+           "FROM Cashflow cf JOIN TradeLeg l ON l.legSchedule = cf.legSchedule JOIN l.trade t " +
+           "LEFT JOIN t.book b LEFT JOIN t.counterparty cp LEFT JOIN t.tradeStatus s " +
+           "LEFT JOIN l.currency c LEFT JOIN cf.payRec pr " +
+           "WHERE cf.active = true AND t.active = true " +
+           "AND (s IS NULL OR s.tradeStatus NOT IN :excludedStatuses) " +
+           "ORDER BY t.tradeId, c.currency")
+    Stream<ValuationCashflowView> streamValuationCashflows(@Param("excludedStatuses") Collection<String> excludedStatuses);
+
+    @Query("SELECT t.tradeId AS tradeId, b.bookName AS bookName, cp.name AS counterpartyName, c.currency AS currency, " +
+           "pr.payRec AS payRec, cf.valueDate AS valueDate, cf.paymentValue AS paymentValue " +
+           "FROM Cashflow cf JOIN TradeLeg l ON l.legSchedule = cf.legSchedule JOIN l.trade t " +
+           "LEFT JOIN t.book b LEFT JOIN t.counterparty cp LEFT JOIN t.tradeStatus s " +
+           "LEFT JOIN l.currency c LEFT JOIN cf.payRec pr " +
+           "WHERE t.tradeId = :tradeId AND cf.active = true AND t.active = true " +
+           "AND (s IS NULL OR s.tradeStatus NOT IN :excludedStatuses)")
+    List<ValuationCashflowView> findValuationCashflowsByTradeId(@Param("tradeId") Long tradeId,
+                                                                @Param("excludedStatuses") Collection<String> excludedStatuses);
+
+    @Query(value = "SELECT cf.value_date AS bucketStart" + LADDER_AGGREGATE, nativeQuery = true)
+    List<LadderBucketView> findDailyLadder(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate,
+                                           @Param("book") String book, @Param("currency") String currency,
+                                           @Param("excludedStatuses") Collection<String> excludedStatuses);
+
+    @Query(value = "SELECT CAST(cf.value_date - (CAST(EXTRACT(ISODOW FROM cf.value_date) AS INTEGER) - 1) AS DATE) AS bucketStart" + LADDER_AGGREGATE, nativeQuery = true)
+    List<LadderBucketView> findWeeklyLadder(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate,
+                                            @Param("book") String book, @Param("currency") String currency,
+                                            @Param("excludedStatuses") Collection<String> excludedStatuses);
+
+    @Query(value = "SELECT CAST(DATE_TRUNC('month', cf.value_date) AS DATE) AS bucketStart" + LADDER_AGGREGATE, nativeQuery = true)
+    List<LadderBucketView> findMonthlyLadder(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate,
+                                             @Param("book") String book, @Param("currency") String currency,
+                                             @Param("excludedStatuses") Collection<String> excludedStatuses);
+
+    // Settlement feed: gross cashflows in a value date range, ordered so each netting group is contiguous
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT cp.name AS counterpartyName, c.currency AS currency, cf.valueDate AS valueDate, " +
+           "pr.payRec AS payRec, cf.paymentValue AS paymentValue " +
+           "FROM Cashflow cf JOIN TradeLeg l ON l.legSchedule = cf.legSchedule JOIN l.trade t " +
+           "LEFT JOIN t.counterparty cp LEFT JOIN t.tradeStatus s " +
+           "LEFT JOIN l.currency c LEFT JOIN cf.payRec pr " +
+           "WHERE cf.valueDate BETWEEN :fromDate AND :toDate AND cf.active = true AND t.active = true " +
+           "AND (s IS NULL OR s.tradeStatus NOT IN :excludedStatuses) " +
+           "ORDER BY cp.name, c.currency, cf.valueDate")
+    Stream<SettlementCashflowView> streamSettlementCashflows(@Param("fromDate") LocalDate fromDate,
+                                                             @Param("toDate") LocalDate toDate,
+                                                             @Param("excludedStatuses") Collection<String> excludedStatuses);
+
+    // Moves cashflows stored against a leg before schedules existed onto the leg's own schedule
+    @Modifying
+    @Query("UPDATE Cashflow cf SET cf.legSchedule = :legSchedule WHERE cf.tradeLeg = :tradeLeg AND cf.legSchedule IS NULL")
+    int attachToSchedule(@Param("tradeLeg") TradeLeg tradeLeg, @Param("legSchedule") LegSchedule legSchedule);
 }
@@ -0,0 +1,20 @@
+package com.technicalchallenge.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.technicalchallenge.model.CreditLimit;
+import com.technicalchallenge.model.CreditLimitType;
+
+@Repository
+public interface CreditLimitRepository extends JpaRepository<CreditLimit, Long> {
+
+    @Query("SELECT l FROM CreditLimit l WHERE l.active = true ORDER BY l.limitType, l.entityName")
+    List<CreditLimit> findAllActive();
+
+    Optional<CreditLimit> findByLimitTypeAndEntityNameAndActiveTrue(CreditLimitType limitType, String entityName);
+}
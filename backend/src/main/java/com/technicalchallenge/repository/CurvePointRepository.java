@@ -0,0 +1,20 @@
+package com.technicalchallenge.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.technicalchallenge.model.CurvePoint;
+
+@Repository
+public interface CurvePointRepository extends JpaRepository<CurvePoint, Long> {
+
+    @Query("SELECT p FROM CurvePoint p JOIN FETCH p.currency WHERE p.active = true ORDER BY p.currency.currency, p.tenorMonths")
+    List<CurvePoint> findAllActive();
+
+    @Query("SELECT p FROM CurvePoint p WHERE p.currency.currency = :currency AND p.active = true ORDER BY p.tenorMonths")
+    List<CurvePoint> findActiveByCurrency(@Param("currency") String currency);
+}
@@ -0,0 +1,21 @@
+package com.technicalchallenge.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.technicalchallenge.model.FxRate;
+
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRate, Long> {
+
+    @Query("SELECT r FROM FxRate r JOIN FETCH r.currency WHERE r.active = true ORDER BY r.currency.currency")
+    List<FxRate> findAllActive();
+
+    @Query("SELECT r FROM FxRate r WHERE r.currency.currency IN :currencies AND r.active = true")
+    List<FxRate> findActiveByCurrencies(@Param("currencies") Collection<String> currencies);
+}
@@ -0,0 +1,24 @@
+package com.technicalchallenge.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of the liquidity ladder as aggregated by the database: the pay,
+ * receive and net cashflow amount for a (date bucket, currency, book).
+ */
+public interface LadderBucketView {
+    LocalDate getBucketStart();
+
+    String getCurrency();
+
+    String getBookName();
+
+    BigDecimal getPayAmount();
+
+    BigDecimal getReceiveAmount();
+
+    BigDecimal getNetAmount();
+
+    Long getCashflowCount();
+}
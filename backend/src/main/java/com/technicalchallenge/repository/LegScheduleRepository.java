@@ -0,0 +1,38 @@
+package com.technicalchallenge.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.technicalchallenge.model.LegSchedule;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface LegScheduleRepository extends JpaRepository<LegSchedule, Long> {
+
+    // Two bookings racing on new terms may both store a schedule; either copy is correct.
+    // The lock makes a booking wait for, and then skip, a schedule being archived.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<LegSchedule> findFirstByScheduleHashAndArchivedFalseOrderByIdAsc(String scheduleHash);
+
+    // Locks the candidates no live leg uses, so bookings cannot pick them up while they are archived
+    @Query(value = "SELECT s.id FROM leg_schedule s WHERE s.id IN (:ids) AND s.archived = false " +
+                   "AND NOT EXISTS (SELECT 1 FROM trade_leg l WHERE l.leg_schedule_id = s.id) FOR UPDATE", nativeQuery = true)
+    List<Long> lockUnusedSchedules(@Param("ids") Collection<Long> ids);
+
+    // Run after the lock is held: sees legs committed by bookings that held the lock first
+    @Query(value = "SELECT DISTINCT l.leg_schedule_id FROM trade_leg l WHERE l.leg_schedule_id IN (:ids)", nativeQuery = true)
+    List<Long> findUsedScheduleIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE leg_schedule SET archived = true WHERE id IN (:ids)", nativeQuery = true)
+    int markArchived(@Param("ids") Collection<Long> ids);
+}
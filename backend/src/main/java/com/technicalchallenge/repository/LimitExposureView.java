@@ -0,0 +1,19 @@
+package com.technicalchallenge.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * One active leg's notional with the counterparty and book it counts against,
+ * as read when seeding limit utilisation.
+ */
+public interface LimitExposureView {
+    Long getTradeId();
+
+    String getCounterpartyName();
+
+    String getBookName();
+
+    String getCurrency();
+
+    BigDecimal getNotional();
+}
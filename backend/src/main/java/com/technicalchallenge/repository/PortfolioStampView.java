@@ -0,0 +1,13 @@
+package com.technicalchallenge.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap fingerprint of the active trade population. Any booking, amendment or
+ * status change moves at least one of the two values.
+ */
+public interface PortfolioStampView {
+    Long getActiveTrades();
+
+    LocalDateTime getLastTouch();
+}
@@ -0,0 +1,20 @@
+package com.technicalchallenge.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Gross cashflow as seen by settlement netting: only the netting key and the
+ * signed amount are read.
+ */
+public interface SettlementCashflowView {
+    String getCounterpartyName();
+
+    String getCurrency();
+
+    LocalDate getValueDate();
+
+    String getPayRec();
+
+    BigDecimal getPaymentValue();
+}
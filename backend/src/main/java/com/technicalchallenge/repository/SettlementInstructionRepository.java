@@ -0,0 +1,26 @@
+package com.technicalchallenge.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.technicalchallenge.model.SettlementInstruction;
+
+@Repository
+public interface SettlementInstructionRepository extends JpaRepository<SettlementInstruction, Long> {
+
+    @Query("SELECT si FROM SettlementInstruction si WHERE si.valueDate = :valueDate AND si.active = true " +
+           "ORDER BY si.counterpartyName, si.currency")
+    List<SettlementInstruction> findActiveByValueDate(@Param("valueDate") LocalDate valueDate);
+
+    @Modifying
+    @Query("UPDATE SettlementInstruction si SET si.active = false, si.deactivatedDate = :now " +
+           "WHERE si.valueDate = :valueDate AND si.active = true")
+    int deactivateByValueDate(@Param("valueDate") LocalDate valueDate, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,69 @@
+package com.technicalchallenge.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.technicalchallenge.model.TradeHead;
+
+@Repository
+public interface TradeHeadRepository extends JpaRepository<TradeHead, Long> {
+
+    // Plain insert so a trade id already in use fails on the primary key instead of being merged over
+    @Modifying
+    @Query(value = "INSERT INTO trade_head (trade_id, trade_row_id, version, last_touch_timestamp) " +
+                   "VALUES (:tradeId, :tradeRowId, :version, :lastTouch)", nativeQuery = true)
+    int insertHead(@Param("tradeId") Long tradeId, @Param("tradeRowId") Long tradeRowId,
+                   @Param("version") Integer version, @Param("lastTouch") LocalDateTime lastTouch);
+
+    // Compare-and-set on the version: matches nothing if another amendment got there first
+    @Modifying
+    @Query("UPDATE TradeHead h SET h.tradeRowId = :tradeRowId, h.version = :version, h.lastTouchTimestamp = :lastTouch " +
+           "WHERE h.tradeId = :tradeId AND h.version = :expectedVersion")
+    int advanceHead(@Param("tradeId") Long tradeId, @Param("expectedVersion") Integer expectedVersion,
+                    @Param("tradeRowId") Long tradeRowId, @Param("version") Integer version,
+                    @Param("lastTouch") LocalDateTime lastTouch);
+
+    @Modifying
+    @Query("UPDATE TradeHead h SET h.lastTouchTimestamp = :lastTouch WHERE h.tradeId = :tradeId")
+    int touchHead(@Param("tradeId") Long tradeId, @Param("lastTouch") LocalDateTime lastTouch);
+
+    // Active rows without a head pointing at them, plus heads pointing at missing or inactive rows
+    @Query(value = "SELECT (SELECT COUNT(*) FROM trade t WHERE t.active = true " +
+                   "AND NOT EXISTS (SELECT 1 FROM trade_head h WHERE h.trade_row_id = t.id)) + " +
+                   "(SELECT COUNT(*) FROM trade_head h LEFT JOIN trade t ON t.id = h.trade_row_id " +
+                   "WHERE t.id IS NULL OR t.active = false OR t.version <> h.version)", nativeQuery = true)
+    long countInconsistencies();
+
+    @Modifying
+    @Query(value = "DELETE FROM trade_head", nativeQuery = true)
+    int deleteAllHeads();
+
+    // Latest active version per trade id, should a trade ever have more than one active row
+    @Modifying
+    @Query(value = "INSERT INTO trade_head (trade_id, trade_row_id, version, last_touch_timestamp) " +
+                   "SELECT t.trade_id, t.id, t.version, t.last_touch_timestamp FROM trade t " +
+                   "WHERE t.active = true AND t.trade_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM trade n " +
+                   "WHERE n.trade_id = t.trade_id AND n.active = true AND (n.version > t.version " +
+                   "OR (n.version = t.version AND n.id > t.id)))", nativeQuery = true)
+    int insertHeadsFromActiveTrades();
+
+    @Modifying
+    @Query("UPDATE TradeHead h SET h.changeSequence = :sequence WHERE h.tradeId = :tradeId")
+    int stampChange(@Param("tradeId") Long tradeId, @Param("sequence") Long sequence);
+
+    @Query("SELECT MAX(h.changeSequence) FROM TradeHead h")
+    Optional<Long> findMaxChangeSequence();
+
+    @Query("SELECT h.tradeId FROM TradeHead h WHERE h.changeSequence IS NULL ORDER BY h.lastTouchTimestamp, h.tradeId")
+    List<Long> findUnstampedTradeIds();
+
+    List<TradeHead> findByChangeSequenceGreaterThanOrderByChangeSequenceAsc(Long since, Pageable pageable);
+}
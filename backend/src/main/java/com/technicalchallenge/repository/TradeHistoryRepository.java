@@ -0,0 +1,82 @@
+package com.technicalchallenge.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.technicalchallenge.model.TradeHistory;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface TradeHistoryRepository extends JpaRepository<TradeHistory, Long> {
+
+    List<TradeHistory> findByTradeIdOrderByVersionAsc(Long tradeId);
+
+    @Query("SELECT MAX(t.tradeId) FROM TradeHistory t")
+    Optional<Long> findMaxTradeId();
+
+    @Query("SELECT t FROM TradeHistory t WHERE t.tradeId = :tradeId AND t.createdDate <= :ts " +
+           "AND (t.deactivatedDate IS NULL OR t.deactivatedDate > :ts) ORDER BY t.version DESC")
+    List<TradeHistory> findVersionsValidAt(@Param("tradeId") Long tradeId, @Param("ts") LocalDateTime ts);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id AS id, t.tradeId AS tradeId, t.version AS version, s.tradeStatus AS tradeStatus, " +
+           "b.bookName AS bookName, c.name AS counterpartyName, ty.tradeType AS tradeType, t.tradeDate AS tradeDate, " +
+           "t.tradeStartDate AS tradeStartDate, t.tradeMaturityDate AS tradeMaturityDate, t.utiCode AS utiCode, " +
+           "t.createdDate AS createdDate, t.deactivatedDate AS deactivatedDate " +
+           "FROM TradeHistory t LEFT JOIN t.tradeStatus s LEFT JOIN t.book b LEFT JOIN t.counterparty c LEFT JOIN t.tradeType ty " +
+           "WHERE t.createdDate <= :ts AND (t.deactivatedDate IS NULL OR t.deactivatedDate > :ts)")
+    Stream<TradeSnapshotView> streamSnapshotsValidAt(@Param("ts") LocalDateTime ts);
+
+    @Modifying
+    @Query(value = "INSERT INTO trade_history (id, trade_id, version, book_id, counterparty_id, trader_user_id, " +
+                   "inputter_user_id, trade_type_id, trade_sub_type_id, trade_status_id, uti_code, trade_date, " +
+                   "trade_start_date, trade_maturity_date, trade_execution_date, additional_fields_id, " +
+                   "last_touch_timestamp, validity_start_date, validity_end_date, economic_fingerprint, active, " +
+                   "created_date, deactivated_date, archived_date) " +
+                   "SELECT id, trade_id, version, book_id, counterparty_id, trader_user_id, " +
+                   "inputter_user_id, trade_type_id, trade_sub_type_id, trade_status_id, uti_code, trade_date, " +
+                   "trade_start_date, trade_maturity_date, trade_execution_date, additional_fields_id, " +
+                   "last_touch_timestamp, validity_start_date, validity_end_date, economic_fingerprint, active, " +
+                   "created_date, deactivated_date, :archivedDate FROM trade WHERE id IN (:ids)", nativeQuery = true)
+    int copyTrades(@Param("ids") Collection<Long> ids, @Param("archivedDate") LocalDateTime archivedDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO trade_leg_history (leg_id, notional, rate, trade_id, currency_id, leg_rate_type_id, " +
+                   "index_id, holiday_calendar_id, calculation_period_schedule_id, payment_business_day_convention_id, " +
+                   "fixing_business_day_convention_id, pay_rec_id, active, created_date, deactivated_date, leg_schedule_id) " +
+                   "SELECT leg_id, notional, rate, trade_id, currency_id, leg_rate_type_id, " +
+                   "index_id, holiday_calendar_id, calculation_period_schedule_id, payment_business_day_convention_id, " +
+                   "fixing_business_day_convention_id, pay_rec_id, active, created_date, deactivated_date, leg_schedule_id " +
+                   "FROM trade_leg WHERE trade_id IN (:ids)", nativeQuery = true)
+    int copyLegs(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT DISTINCT leg_schedule_id FROM trade_leg WHERE trade_id IN (:ids) AND leg_schedule_id IS NOT NULL",
+           nativeQuery = true)
+    List<Long> findLegScheduleIds(@Param("ids") Collection<Long> ids);
+
+    // Cashflows stored against a leg before schedules existed keep their schedule but lose the moved leg
+    @Modifying
+    @Query(value = "UPDATE cashflow SET leg_id = NULL WHERE leg_id IN (SELECT leg_id FROM trade_leg WHERE trade_id IN (:ids))",
+           nativeQuery = true)
+    int detachCashflowsFromLegs(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM trade_leg WHERE trade_id IN (:ids)", nativeQuery = true)
+    int deleteLegs(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM trade WHERE id IN (:ids)", nativeQuery = true)
+    int deleteTrades(@Param("ids") Collection<Long> ids);
+}
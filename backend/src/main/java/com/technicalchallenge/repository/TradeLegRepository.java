@@ -1,9 +1,33 @@
 package com.technicalchallenge.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.technicalchallenge.model.TradeLeg;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface TradeLegRepository extends JpaRepository<TradeLeg, Long> {}
+public interface TradeLegRepository extends JpaRepository<TradeLeg, Long> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.tradeId AS tradeId, cp.name AS counterpartyName, b.bookName AS bookName, " +
+           "c.currency AS currency, l.notional AS notional " +
+           "FROM TradeLeg l JOIN l.trade t " +
+           "LEFT JOIN t.counterparty cp LEFT JOIN t.book b LEFT JOIN t.tradeStatus s LEFT JOIN l.currency c " +
+           "WHERE l.active = true AND t.active = true " +
+           "AND (s IS NULL OR s.tradeStatus NOT IN :excludedStatuses) " +
+           "ORDER BY t.tradeId")
+    Stream<LimitExposureView> streamLimitExposures(@Param("excludedStatuses") Collection<String> excludedStatuses);
+
+    @Query("SELECT l FROM TradeLeg l JOIN FETCH l.trade WHERE l.legSchedule IS NULL")
+    List<TradeLeg> findUnscheduledLegs();
+}
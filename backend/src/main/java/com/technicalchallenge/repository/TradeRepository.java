@@ -1,15 +1,23 @@
 package com.technicalchallenge.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.technicalchallenge.model.Trade;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TradeRepository extends JpaRepository<Trade, Long> {
     // Existing methods
@@ -24,8 +32,53 @@ public interface TradeRepository extends JpaRepository<Trade, Long> {
     // NEW METHODS for service layer compatibility
     Optional<Trade> findByTradeIdAndActiveTrue(Long tradeId);
 
+    // Current version through trade_head: two primary key lookups regardless of version count
+    @Query("SELECT t FROM TradeHead h JOIN Trade t ON t.id = h.tradeRowId WHERE h.tradeId = :tradeId")
+    Optional<Trade> findCurrentByTradeId(@Param("tradeId") Long tradeId);
+
     List<Trade> findByActiveTrueOrderByTradeIdDesc();
 
     @Query("SELECT t FROM Trade t WHERE t.tradeId = :tradeId AND t.active = true ORDER BY t.version DESC")
     Optional<Trade> findLatestActiveVersionByTradeId(@Param("tradeId") Long tradeId);
+
+    @Query("SELECT COUNT(t) AS activeTrades, MAX(t.lastTouchTimestamp) AS lastTouch FROM Trade t WHERE t.active = true")
+    PortfolioStampView findActivePortfolioStamp();
+
+    List<Trade> findByActiveTrueAndEconomicFingerprintIsNull();
+
+    @Query("SELECT t.id FROM Trade t WHERE t.active = false AND t.deactivatedDate < :cutoff ORDER BY t.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Versions whose validity interval [createdDate, deactivatedDate) contains ts, newest first
+    @Query("SELECT t FROM Trade t WHERE t.tradeId = :tradeId AND t.createdDate <= :ts " +
+           "AND (t.deactivatedDate IS NULL OR t.deactivatedDate > :ts) ORDER BY t.version DESC")
+    List<Trade> findVersionsValidAt(@Param("tradeId") Long tradeId, @Param("ts") LocalDateTime ts);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id AS id, t.tradeId AS tradeId, t.version AS version, s.tradeStatus AS tradeStatus, " +
+           "b.bookName AS bookName, c.name AS counterpartyName, ty.tradeType AS tradeType, t.tradeDate AS tradeDate, " +
+           "t.tradeStartDate AS tradeStartDate, t.tradeMaturityDate AS tradeMaturityDate, t.utiCode AS utiCode, " +
+           "t.createdDate AS createdDate, t.deactivatedDate AS deactivatedDate " +
+           "FROM Trade t LEFT JOIN t.tradeStatus s LEFT JOIN t.book b LEFT JOIN t.counterparty c LEFT JOIN t.tradeType ty " +
+           "WHERE t.createdDate <= :ts AND (t.deactivatedDate IS NULL OR t.deactivatedDate > :ts)")
+    Stream<TradeSnapshotView> streamSnapshotsValidAt(@Param("ts") LocalDateTime ts);
+
+    // Blotter rows of the current versions of the given trades
+    @Query("SELECT t.id AS id, t.tradeId AS tradeId, t.version AS version, s.tradeStatus AS tradeStatus, " +
+           "b.bookName AS bookName, c.name AS counterpartyName, ty.tradeType AS tradeType, t.tradeDate AS tradeDate, " +
+           "t.tradeStartDate AS tradeStartDate, t.tradeMaturityDate AS tradeMaturityDate, t.utiCode AS utiCode, " +
+           "t.createdDate AS createdDate, t.deactivatedDate AS deactivatedDate " +
+           "FROM TradeHead h JOIN Trade t ON t.id = h.tradeRowId LEFT JOIN t.tradeStatus s LEFT JOIN t.book b " +
+           "LEFT JOIN t.counterparty c LEFT JOIN t.tradeType ty WHERE h.tradeId IN :tradeIds")
+    List<TradeSnapshotView> findCurrentSnapshots(@Param("tradeIds") Collection<Long> tradeIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.economicFingerprint FROM Trade t WHERE t.active = true AND t.economicFingerprint IS NOT NULL")
+    Stream<String> streamActiveEconomicFingerprints();
+
+    @Query("SELECT t.tradeId FROM Trade t LEFT JOIN t.tradeStatus s " +
+           "WHERE t.economicFingerprint = :fingerprint AND t.active = true " +
+           "AND (s IS NULL OR s.tradeStatus NOT IN :excludedStatuses)")
+    List<Long> findLiveTradeIdsByEconomicFingerprint(@Param("fingerprint") String fingerprint,
+                                                     @Param("excludedStatuses") Collection<String> excludedStatuses);
 }
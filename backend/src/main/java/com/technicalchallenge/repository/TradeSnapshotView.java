@@ -0,0 +1,36 @@
+package com.technicalchallenge.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The headline fields of one trade version with its validity interval, as
+ * read for the as-of blotter.
+ */
+public interface TradeSnapshotView {
+    Long getId();
+
+    Long getTradeId();
+
+    Integer getVersion();
+
+    String getTradeStatus();
+
+    String getBookName();
+
+    String getCounterpartyName();
+
+    String getTradeType();
+
+    LocalDate getTradeDate();
+
+    LocalDate getTradeStartDate();
+
+    LocalDate getTradeMaturityDate();
+
+    String getUtiCode();
+
+    LocalDateTime getCreatedDate();
+
+    LocalDateTime getDeactivatedDate();
+}
@@ -0,0 +1,24 @@
+package com.technicalchallenge.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat projection of an active cashflow with the trade attributes needed to
+ * value and aggregate it, so valuation never hydrates the entity graph.
+ */
+public interface ValuationCashflowView {
+    Long getTradeId();
+
+    String getBookName();
+
+    String getCounterpartyName();
+
+    String getCurrency();
+
+    String getPayRec();
+
+    LocalDate getValueDate();
+
+    BigDecimal getPaymentValue();
+}
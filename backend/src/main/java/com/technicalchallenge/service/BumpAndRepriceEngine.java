@@ -0,0 +1,158 @@
+package com.technicalchallenge.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bump-and-reprice sensitivities over a {@link PortfolioCashflows} snapshot.
+ *
+ * For every currency the bumped curves (one parallel shift plus one key-rate
+ * shift per pillar) are built once up front. Each fork-join leaf then walks
+ * its slices and, for each scenario, runs the same primitive discounting loop
+ * as the NPV engine. Results are written per slice, so no task shares mutable
+ * state and the split does not depend on the pool size.
+ *
+ * Plain class rather than a bean so the benchmark can drive it with pools of
+ * different sizes.
+ */
+public final class BumpAndRepriceEngine {
+
+    // Below this many slices a task reprices its range directly
+    static final int SLICES_PER_TASK = 128;
+
+    public RiskResult run(PortfolioCashflows portfolio, DiscountCurve[] curvesByCurrency, double bump,
+                          int valuationDay, int bookFilter, ForkJoinPool pool) {
+        int currencies = portfolio.currencyCount();
+        DiscountCurve[][] scenarios = new DiscountCurve[currencies][];
+        int stride = 0;
+        for (int c = 0; c < currencies; c++) {
+            DiscountCurve base = curvesByCurrency[c];
+            if (base == null) {
+                continue;
+            }
+            int pillars = base.getTenorMonths().length;
+            DiscountCurve[] curves = new DiscountCurve[pillars + 2];
+            curves[0] = base;
+            double[] shifts = new double[pillars];
+            Arrays.fill(shifts, bump);
+            curves[1] = base.shifted(shifts);
+            for (int p = 0; p < pillars; p++) {
+                double[] keyRate = new double[pillars];
+                keyRate[p] = bump;
+                curves[p + 2] = base.shifted(keyRate);
+            }
+            scenarios[c] = curves;
+            stride = Math.max(stride, pillars);
+        }
+
+        int[] slices = new int[portfolio.sliceCount()];
+        int count = 0;
+        for (int s = 0; s < slices.length; s++) {
+            if ((bookFilter < 0 || portfolio.bookIndex(s) == bookFilter) && scenarios[portfolio.currencyIndex(s)] != null) {
+                slices[count++] = s;
+            }
+        }
+
+        RiskResult result = new RiskResult(portfolio, scenarios, stride);
+        if (count > 0) {
+            pool.invoke(new RepriceTask(portfolio, scenarios, valuationDay, slices, 0, count, result));
+        }
+        result.valuedSlices = Arrays.copyOf(slices, count);
+        return result;
+    }
+
+    /**
+     * Per-slice base PV, parallel delta and key-rate deltas. Key-rate delta for
+     * slice {@code s} and pillar {@code p} lives at {@code s * stride + p}.
+     */
+    public static final class RiskResult {
+        private final PortfolioCashflows portfolio;
+        private final DiscountCurve[][] scenarios;
+        private final int stride;
+        private final double[] basePv;
+        private final double[] parallelDelta;
+        private final double[] keyRateDelta;
+        private int[] valuedSlices;
+
+        RiskResult(PortfolioCashflows portfolio, DiscountCurve[][] scenarios, int stride) {
+            this.portfolio = portfolio;
+            this.scenarios = scenarios;
+            this.stride = stride;
+            this.basePv = new double[portfolio.sliceCount()];
+            this.parallelDelta = new double[portfolio.sliceCount()];
+            this.keyRateDelta = new double[portfolio.sliceCount() * stride];
+        }
+
+        public PortfolioCashflows getPortfolio() {
+            return portfolio;
+        }
+
+        public int[] getValuedSlices() {
+            return valuedSlices;
+        }
+
+        public DiscountCurve baseCurve(int currencyIndex) {
+            return scenarios[currencyIndex] != null ? scenarios[currencyIndex][0] : null;
+        }
+
+        public double basePv(int slice) {
+            return basePv[slice];
+        }
+
+        public double parallelDelta(int slice) {
+            return parallelDelta[slice];
+        }
+
+        public double keyRateDelta(int slice, int pillar) {
+            return keyRateDelta[slice * stride + pillar];
+        }
+    }
+
+    static final class RepriceTask extends RecursiveAction {
+        private final PortfolioCashflows portfolio;
+        private final DiscountCurve[][] scenarios;
+        private final int valuationDay;
+        private final int[] slices;
+        private final int from;
+        private final int to;
+        private final RiskResult result;
+
+        RepriceTask(PortfolioCashflows portfolio, DiscountCurve[][] scenarios, int valuationDay,
+                    int[] slices, int from, int to, RiskResult result) {
+            this.portfolio = portfolio;
+            this.scenarios = scenarios;
+            this.valuationDay = valuationDay;
+            this.slices = slices;
+            this.from = from;
+            this.to = to;
+            this.result = result;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SLICES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RepriceTask(portfolio, scenarios, valuationDay, slices, from, mid, result),
+                        new RepriceTask(portfolio, scenarios, valuationDay, slices, mid, to, result));
+                return;
+            }
+            int[] days = portfolio.valueDays();
+            double[] amounts = portfolio.amounts();
+            for (int i = from; i < to; i++) {
+                int s = slices[i];
+                DiscountCurve[] curves = scenarios[portfolio.currencyIndex(s)];
+                int start = portfolio.sliceStart(s);
+                int end = portfolio.sliceEnd(s);
+
+                double base = curves[0].presentValue(days, amounts, start, end, valuationDay);
+                result.basePv[s] = base;
+                result.parallelDelta[s] = curves[1].presentValue(days, amounts, start, end, valuationDay) - base;
+                int offset = s * result.stride;
+                for (int p = 2; p < curves.length; p++) {
+                    result.keyRateDelta[offset + p - 2] = curves[p].presentValue(days, amounts, start, end, valuationDay) - base;
+                }
+            }
+        }
+    }
+}
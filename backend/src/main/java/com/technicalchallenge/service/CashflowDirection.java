@@ -0,0 +1,17 @@
+package com.technicalchallenge.service;
+
+/**
+ * Maps the {@code PayRec} reference value onto the sign of a cashflow seen
+ * from our side of the trade.
+ */
+public final class CashflowDirection {
+    public static final String PAY = "Pay";
+    public static final String RECEIVE = "Receive";
+
+    private CashflowDirection() {
+    }
+
+    public static int sign(String payRec) {
+        return PAY.equalsIgnoreCase(payRec) ? -1 : 1;
+    }
+}
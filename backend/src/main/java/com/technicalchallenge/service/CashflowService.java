@@ -46,15 +46,29 @@ public class CashflowService {
         if (cashflow.getValueDate() == null) {
             throw new IllegalArgumentException("Cashflow valueDate is required");
         }
+        if (cashflow.getId() != null) {
+            cashflowRepository.findById(cashflow.getId()).ifPresent(CashflowService::requireUnshared);
+        }
         // Ensure Cashflow is saved with related entities set, not just IDs
         return cashflowRepository.save(cashflow);
     }
 
     public void deleteCashflow(Long id) {
         logger.warn("Deleting cashflow with id: {}", id);
+        cashflowRepository.findById(id).ifPresent(CashflowService::requireUnshared);
         cashflowRepository.deleteById(id);
     }
 
+    // Generated cashflows belong to a content-addressed schedule that every trade
+    // version with the same leg terms points at, so editing one in place would
+    // silently rewrite all of them; they change only by amending the trade
+    private static void requireUnshared(Cashflow cashflow) {
+        if (cashflow.getLegSchedule() != null) {
+            throw new IllegalArgumentException("Cashflow " + cashflow.getId()
+                    + " belongs to a leg schedule and is read-only; amend the trade to change it");
+        }
+    }
+
     public void populateReferenceDataByName(Cashflow cashflow, CashflowDTO dto) {
         if (dto.getPayRec() != null) {
             cashflow.setPayRec(payRecRepository.findAll().stream()
@@ -0,0 +1,375 @@
+package com.technicalchallenge.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.technicalchallenge.dto.CreditLimitUtilisationDTO;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeLegDTO;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.CreditLimit;
+import com.technicalchallenge.model.CreditLimitType;
+import com.technicalchallenge.repository.BookRepository;
+import com.technicalchallenge.repository.CounterpartyRepository;
+import com.technicalchallenge.repository.CreditLimitRepository;
+import com.technicalchallenge.repository.LimitExposureView;
+import com.technicalchallenge.repository.TradeLegRepository;
+
+/**
+ * Pre-trade credit limits per counterparty and per book.
+ *
+ * Utilisation is held in memory, one {@link AtomicLong} per counterparty and
+ * per book, in whole units of the FX pivot currency. A trade uses the largest
+ * absolute notional among its legs, so both legs of a swap count once.
+ * Bookings reserve headroom with a compare-and-set loop on each counter
+ * before the trade touches the database; there is no lock shared between
+ * counters, so bookings against different names never contend.
+ *
+ * Increases are taken at reservation time and handed back if the booking
+ * transaction rolls back. Decreases (cancel, terminate, an amend to a smaller
+ * notional or to another name) only apply once the transaction commits, so
+ * uncommitted work can never free headroom that a concurrent booking uses.
+ */
+@Service
+public class CreditLimitService {
+    private static final Logger logger = LoggerFactory.getLogger(CreditLimitService.class);
+
+    static final long UNLIMITED = Long.MAX_VALUE;
+
+    @Autowired
+    private CreditLimitRepository creditLimitRepository;
+    @Autowired
+    private TradeLegRepository tradeLegRepository;
+    @Autowired
+    private FxRateService fxRateService;
+    @Autowired
+    private CounterpartyRepository counterpartyRepository;
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final Map<String, LimitCounter> counterpartyCounters = new ConcurrentHashMap<>();
+    private final Map<String, LimitCounter> bookCounters = new ConcurrentHashMap<>();
+    // Committed utilisation of each live trade, so amends and cancels release what was taken
+    private final Map<Long, Reservation> reservationsByTrade = new ConcurrentHashMap<>();
+
+    /** Notional a trade holds against its counterparty and book, in pivot units. */
+    public record Reservation(String counterparty, String book, long amount) {
+    }
+
+    static final class LimitCounter {
+        final AtomicLong utilised = new AtomicLong();
+        final LongAdder checks = new LongAdder();
+        final LongAdder breaches = new LongAdder();
+        volatile long limit = UNLIMITED;
+
+        /** Adds {@code amount} unless that would take utilisation over the limit. */
+        boolean tryReserve(long amount) {
+            checks.increment();
+            while (true) {
+                long current = utilised.get();
+                if (amount > limit - current) {
+                    breaches.increment();
+                    return false;
+                }
+                if (utilised.compareAndSet(current, current + amount)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds limits and utilisation from the database. Runs once at startup,
+     * after the FX rates have loaded, before bookings are accepted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void seedUtilisation() {
+        counterpartyCounters.clear();
+        bookCounters.clear();
+        reservationsByTrade.clear();
+
+        for (CreditLimit limit : creditLimitRepository.findAllActive()) {
+            counter(limit.getLimitType(), limit.getEntityName()).limit = toUnits(limit.getLimitAmount());
+        }
+
+        FxRateSnapshot fx = fxRateService.current();
+        Map<Long, Reservation> seeded = new HashMap<>();
+        try (Stream<LimitExposureView> rows = tradeLegRepository.streamLimitExposures(PortfolioCashflowLoader.EXCLUDED_STATUSES)) {
+            rows.forEach(row -> {
+                double rate = row.getCurrency() != null ? fx.rate(row.getCurrency(), fx.getPivotCurrency()) : 1.0;
+                if (Double.isNaN(rate)) {
+                    logger.warn("No FX rate for {}; leg of trade {} not counted against limits", row.getCurrency(), row.getTradeId());
+                    return;
+                }
+                Reservation leg = new Reservation(row.getCounterpartyName(), row.getBookName(), toUnits(row.getNotional(), rate));
+                seeded.merge(row.getTradeId(), leg, (a, b) -> a.amount() >= b.amount() ? a : b);
+            });
+        }
+        seeded.forEach((tradeId, reservation) -> {
+            add(CreditLimitType.COUNTERPARTY, reservation.counterparty(), reservation.amount());
+            add(CreditLimitType.BOOK, reservation.book(), reservation.amount());
+            reservationsByTrade.put(tradeId, reservation);
+        });
+        logger.info("Seeded credit limit utilisation from {} trades across {} counterparties and {} books",
+                seeded.size(), counterpartyCounters.size(), bookCounters.size());
+    }
+
+    /**
+     * Reserves the new trade's notional against its counterparty and book, or
+     * throws if either limit would be breached. Call before any SQL so a
+     * rejected booking costs nothing beyond looking up the names of a
+     * booking that only carries ids; the reservation is released if the
+     * surrounding transaction rolls back. Pass the result to
+     * {@link #bindReservation} once the trade id is known.
+     */
+    public Reservation reserveNewTrade(TradeDTO tradeDTO) {
+        Reservation reservation = measure(tradeDTO);
+        reserve(reservation.counterparty(), reservation.book(), reservation.amount(), reservation.amount());
+        afterCompletion(null, () -> {
+            add(CreditLimitType.COUNTERPARTY, reservation.counterparty(), -reservation.amount());
+            add(CreditLimitType.BOOK, reservation.book(), -reservation.amount());
+        });
+        return reservation;
+    }
+
+    /** Records a reserved booking against its trade id once the transaction commits. */
+    public void bindReservation(Long tradeId, Reservation reservation) {
+        afterCompletion(() -> reservationsByTrade.put(tradeId, reservation), null);
+    }
+
+    /**
+     * Reserves the increase an amendment makes on each counter, crediting the
+     * trade's current notional where the counterparty or book is unchanged.
+     * Throws if a limit would be breached.
+     */
+    public void reserveAmendment(Long tradeId, TradeDTO tradeDTO) {
+        Reservation previous = reservationsByTrade.get(tradeId);
+        Reservation next = measure(tradeDTO);
+        long counterpartyDelta = next.amount() - heldOn(previous, next, CreditLimitType.COUNTERPARTY);
+        long bookDelta = next.amount() - heldOn(previous, next, CreditLimitType.BOOK);
+        long counterpartyIncrease = Math.max(counterpartyDelta, 0L);
+        long bookIncrease = Math.max(bookDelta, 0L);
+        reserve(next.counterparty(), next.book(), counterpartyIncrease, bookIncrease);
+
+        afterCompletion(() -> {
+            add(CreditLimitType.COUNTERPARTY, next.counterparty(), Math.min(counterpartyDelta, 0L));
+            add(CreditLimitType.BOOK, next.book(), Math.min(bookDelta, 0L));
+            if (previous != null && !Objects.equals(previous.counterparty(), next.counterparty())) {
+                add(CreditLimitType.COUNTERPARTY, previous.counterparty(), -previous.amount());
+            }
+            if (previous != null && !Objects.equals(previous.book(), next.book())) {
+                add(CreditLimitType.BOOK, previous.book(), -previous.amount());
+            }
+            reservationsByTrade.put(tradeId, next);
+        }, () -> {
+            add(CreditLimitType.COUNTERPARTY, next.counterparty(), -counterpartyIncrease);
+            add(CreditLimitType.BOOK, next.book(), -bookIncrease);
+        });
+    }
+
+    /** Releases everything the trade holds once a cancel or termination commits. */
+    public void releaseTrade(Long tradeId) {
+        afterCompletion(() -> {
+            Reservation released = reservationsByTrade.remove(tradeId);
+            if (released != null) {
+                add(CreditLimitType.COUNTERPARTY, released.counterparty(), -released.amount());
+                add(CreditLimitType.BOOK, released.book(), -released.amount());
+            }
+        }, null);
+    }
+
+    /**
+     * Sets or, with a null amount, removes a limit. Lowering a limit below the
+     * current utilisation blocks further increases but rejects nothing already
+     * booked.
+     */
+    @Transactional
+    public CreditLimitUtilisationDTO setLimit(CreditLimitType limitType, String entityName, BigDecimal limitAmount) {
+        if (limitAmount != null && limitAmount.signum() < 0) {
+            throw new IllegalArgumentException("Limit amount must not be negative");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        creditLimitRepository.findByLimitTypeAndEntityNameAndActiveTrue(limitType, entityName).ifPresent(existing -> {
+            existing.setActive(false);
+            existing.setDeactivatedDate(now);
+            creditLimitRepository.save(existing);
+        });
+        if (limitAmount != null) {
+            CreditLimit limit = new CreditLimit();
+            limit.setLimitType(limitType);
+            limit.setEntityName(entityName);
+            limit.setLimitAmount(limitAmount);
+            limit.setActive(true);
+            limit.setCreatedDate(now);
+            creditLimitRepository.save(limit);
+        }
+
+        LimitCounter counter = counter(limitType, entityName);
+        long units = limitAmount != null ? toUnits(limitAmount) : UNLIMITED;
+        afterCompletion(() -> counter.limit = units, null);
+        logger.info("Set {} limit for {} to {}", limitType, entityName, limitAmount != null ? limitAmount : "unlimited");
+        return toDto(limitType, entityName, counter, units);
+    }
+
+    public List<CreditLimitUtilisationDTO> getUtilisation() {
+        List<CreditLimitUtilisationDTO> result = new ArrayList<>();
+        for (CreditLimitType limitType : CreditLimitType.values()) {
+            counters(limitType).forEach((name, counter) -> {
+                // Skip names left behind by rejected or rolled-back bookings
+                if (counter.limit != UNLIMITED || counter.utilised.get() != 0L) {
+                    result.add(toDto(limitType, name, counter, counter.limit));
+                }
+            });
+        }
+        result.sort(Comparator.comparing(CreditLimitUtilisationDTO::getLimitType)
+                .thenComparing(CreditLimitUtilisationDTO::getEntityName));
+        return result;
+    }
+
+    long utilised(CreditLimitType limitType, String entityName) {
+        LimitCounter counter = counters(limitType).get(entityName);
+        return counter != null ? counter.utilised.get() : 0L;
+    }
+
+    private void reserve(String counterparty, String book, long counterpartyAmount, long bookAmount) {
+        if (counterparty != null && counterpartyAmount > 0) {
+            LimitCounter counter = counter(CreditLimitType.COUNTERPARTY, counterparty);
+            if (!counter.tryReserve(counterpartyAmount)) {
+                throw breach(CreditLimitType.COUNTERPARTY, counterparty, counter, counterpartyAmount);
+            }
+        }
+        if (book != null && bookAmount > 0) {
+            LimitCounter counter = counter(CreditLimitType.BOOK, book);
+            if (!counter.tryReserve(bookAmount)) {
+                add(CreditLimitType.COUNTERPARTY, counterparty, -counterpartyAmount);
+                throw breach(CreditLimitType.BOOK, book, counter, bookAmount);
+            }
+        }
+    }
+
+    private RuntimeException breach(CreditLimitType limitType, String entityName, LimitCounter counter, long amount) {
+        String currency = fxRateService.current().getPivotCurrency();
+        logger.warn("Rejected booking of {} {} against {} limit for {}", amount, currency, limitType, entityName);
+        return new RuntimeException(String.format("Credit limit breached for %s %s: utilisation %d + %d %s exceeds limit %d %s",
+                limitType.name().toLowerCase(), entityName, counter.utilised.get(), amount, currency, counter.limit, currency));
+    }
+
+    private Reservation measure(TradeDTO tradeDTO) {
+        FxRateSnapshot fx = fxRateService.current();
+        long amount = 0L;
+        if (tradeDTO.getTradeLegs() != null) {
+            for (TradeLegDTO leg : tradeDTO.getTradeLegs()) {
+                if (leg.getNotional() == null) {
+                    continue;
+                }
+                double rate = leg.getCurrency() != null ? fx.rate(leg.getCurrency(), fx.getPivotCurrency()) : 1.0;
+                if (Double.isNaN(rate)) {
+                    throw new RuntimeException("No FX rate for " + leg.getCurrency() + " to check credit limits");
+                }
+                amount = Math.max(amount, toUnits(leg.getNotional(), rate));
+            }
+        }
+        return new Reservation(counterpartyName(tradeDTO), bookName(tradeDTO), amount);
+    }
+
+    // Limits are keyed by name; a booking that only carries ids is resolved as TradeService does
+    private String counterpartyName(TradeDTO tradeDTO) {
+        if (tradeDTO.getCounterpartyName() != null || tradeDTO.getCounterpartyId() == null) {
+            return tradeDTO.getCounterpartyName();
+        }
+        return counterpartyRepository.findById(tradeDTO.getCounterpartyId()).map(Counterparty::getName).orElse(null);
+    }
+
+    private String bookName(TradeDTO tradeDTO) {
+        if (tradeDTO.getBookName() != null || tradeDTO.getBookId() == null) {
+            return tradeDTO.getBookName();
+        }
+        return bookRepository.findById(tradeDTO.getBookId()).map(Book::getBookName).orElse(null);
+    }
+
+    private static long heldOn(Reservation previous, Reservation next, CreditLimitType limitType) {
+        if (previous == null) {
+            return 0L;
+        }
+        boolean sameName = limitType == CreditLimitType.COUNTERPARTY
+                ? Objects.equals(previous.counterparty(), next.counterparty())
+                : Objects.equals(previous.book(), next.book());
+        return sameName ? previous.amount() : 0L;
+    }
+
+    private void add(CreditLimitType limitType, String entityName, long amount) {
+        if (entityName != null && amount != 0L) {
+            counter(limitType, entityName).utilised.addAndGet(amount);
+        }
+    }
+
+    private LimitCounter counter(CreditLimitType limitType, String entityName) {
+        return counters(limitType).computeIfAbsent(entityName, name -> new LimitCounter());
+    }
+
+    private Map<String, LimitCounter> counters(CreditLimitType limitType) {
+        return limitType == CreditLimitType.COUNTERPARTY ? counterpartyCounters : bookCounters;
+    }
+
+    private CreditLimitUtilisationDTO toDto(CreditLimitType limitType, String entityName, LimitCounter counter, long limit) {
+        long utilised = counter.utilised.get();
+        BigDecimal limitAmount = limit == UNLIMITED ? null : BigDecimal.valueOf(limit);
+        BigDecimal available = limit == UNLIMITED ? null : BigDecimal.valueOf(Math.max(limit - utilised, 0L));
+        return new CreditLimitUtilisationDTO(limitType.name(), entityName, fxRateService.current().getPivotCurrency(),
+                limitAmount, BigDecimal.valueOf(utilised), available, counter.checks.sum(), counter.breaches.sum());
+    }
+
+    private static long toUnits(BigDecimal amount) {
+        return amount.setScale(0, RoundingMode.FLOOR).longValueExact();
+    }
+
+    // Rounds up so a fractional notional never slips under a limit
+    private static long toUnits(BigDecimal notional, double rateToPivot) {
+        return (long) Math.ceil(notional.abs().doubleValue() * rateToPivot);
+    }
+
+    /**
+     * Runs {@code onCommit} or {@code onRollback} when the current transaction
+     * completes; outside a transaction the change is committed immediately.
+     */
+    private static void afterCompletion(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit != null) {
+                onCommit.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Runnable action = status == STATUS_COMMITTED ? onCommit : onRollback;
+                if (action != null) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,157 @@
+package com.technicalchallenge.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.technicalchallenge.dto.CurvePointDTO;
+import com.technicalchallenge.dto.DiscountCurveDTO;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.model.CurvePoint;
+import com.technicalchallenge.repository.CurrencyRepository;
+import com.technicalchallenge.repository.CurvePointRepository;
+
+/**
+ * Holds the current discount curve for each currency. Curves are immutable and
+ * replaced wholesale on update; every build gets a new version so valuation
+ * caches can tell exactly which currencies moved. A replacement curve is only
+ * published once its points are committed.
+ */
+@Service
+public class CurveService {
+    private static final Logger logger = LoggerFactory.getLogger(CurveService.class);
+
+    @Autowired
+    private CurvePointRepository curvePointRepository;
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    private final Map<String, DiscountCurve> curves = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+    // One per currency, so updates to different curves do not queue behind each other
+    private final Map<String, Object> writeLocks = new ConcurrentHashMap<>();
+
+    private final TransactionTemplate writeTransaction;
+
+    public CurveService(PlatformTransactionManager transactionManager) {
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        // Committed by the time execute returns, even when called from inside another transaction
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadCurves() {
+        Map<String, List<CurvePoint>> byCurrency = new LinkedHashMap<>();
+        for (CurvePoint point : curvePointRepository.findAllActive()) {
+            byCurrency.computeIfAbsent(point.getCurrency().getCurrency(), k -> new ArrayList<>()).add(point);
+        }
+        byCurrency.forEach((currency, points) -> curves.put(currency, buildCurve(currency, points)));
+        logger.info("Loaded discount curves for {}", byCurrency.keySet());
+    }
+
+    public Optional<DiscountCurve> getCurve(String currency) {
+        return Optional.ofNullable(curves.get(currency));
+    }
+
+    public Map<String, DiscountCurve> getCurves() {
+        return Map.copyOf(curves);
+    }
+
+    /** Current curve for each currency of the snapshot, indexed like its currencies; null where none exists. */
+    public DiscountCurve[] curvesFor(PortfolioCashflows portfolio) {
+        DiscountCurve[] result = new DiscountCurve[portfolio.currencyCount()];
+        for (int c = 0; c < result.length; c++) {
+            result[c] = curves.get(portfolio.currency(c));
+        }
+        return result;
+    }
+
+    public List<DiscountCurveDTO> getAllCurves() {
+        return curves.values().stream()
+                .sorted(Comparator.comparing(DiscountCurve::getCurrency))
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * Replaces the currency's curve points. Updates to the same currency are
+     * serialized, and the new curve is published after its points commit, so
+     * pricing never runs against a curve the table does not hold and the
+     * published curve always matches the latest committed points.
+     */
+    public DiscountCurve updateCurve(String currencyCode, List<CurvePointDTO> points) {
+        logger.info("Updating discount curve for {} with {} points", currencyCode, points.size());
+        Currency currency = currencyRepository.findByCurrency(currencyCode)
+                .orElseThrow(() -> new IllegalArgumentException("Currency not found: " + currencyCode));
+
+        synchronized (writeLocks.computeIfAbsent(currencyCode, k -> new Object())) {
+            LocalDateTime now = LocalDateTime.now();
+            List<CurvePoint> replacement = points.stream()
+                    .sorted(Comparator.comparing(CurvePointDTO::getTenorMonths))
+                    .map(dto -> {
+                        CurvePoint point = new CurvePoint();
+                        point.setCurrency(currency);
+                        point.setTenorMonths(dto.getTenorMonths());
+                        point.setZeroRate(dto.getZeroRate());
+                        point.setActive(true);
+                        point.setCreatedDate(now);
+                        return point;
+                    })
+                    .toList();
+
+            // Build before saving so an invalid curve is rejected without touching the table
+            DiscountCurve curve = buildCurve(currencyCode, replacement);
+            writeTransaction.executeWithoutResult(status -> savePoints(currencyCode, replacement, now));
+            curves.put(currencyCode, curve);
+            return curve;
+        }
+    }
+
+    private void savePoints(String currencyCode, List<CurvePoint> replacement, LocalDateTime now) {
+        List<CurvePoint> existing = curvePointRepository.findActiveByCurrency(currencyCode);
+        for (CurvePoint point : existing) {
+            point.setActive(false);
+            point.setDeactivatedDate(now);
+        }
+        curvePointRepository.saveAll(existing);
+        curvePointRepository.saveAll(replacement);
+    }
+
+    public DiscountCurveDTO toDto(DiscountCurve curve) {
+        int[] tenors = curve.getTenorMonths();
+        double[] rates = curve.getZeroRates();
+        List<CurvePointDTO> points = new ArrayList<>(tenors.length);
+        for (int i = 0; i < tenors.length; i++) {
+            points.add(new CurvePointDTO(tenors[i], rates[i]));
+        }
+        return new DiscountCurveDTO(curve.getCurrency(), curve.getVersion(), points);
+    }
+
+    private DiscountCurve buildCurve(String currency, List<CurvePoint> points) {
+        int[] tenors = new int[points.size()];
+        double[] rates = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            tenors[i] = points.get(i).getTenorMonths();
+            rates[i] = points.get(i).getZeroRate();
+        }
+        return new DiscountCurve(currency, versionSequence.incrementAndGet(), tenors, rates);
+    }
+}
@@ -0,0 +1,123 @@
+package com.technicalchallenge.service;
+
+import java.util.Arrays;
+
+/**
+ * Immutable zero curve for one currency.
+ *
+ * Zero rates are linearly interpolated between pillars and held flat outside
+ * them. Discount factors for every whole day up to the last pillar are
+ * computed once on construction, so valuation loops only do an array read
+ * per cashflow.
+ */
+public final class DiscountCurve {
+    static final double DAYS_PER_YEAR = 365.0;
+    private static final double DAYS_PER_MONTH = 365.25 / 12.0;
+
+    private final String currency;
+    private final long version;
+    private final int[] tenorMonths;
+    private final int[] pillarDays;
+    private final double[] zeroRates;
+    private final double[] discountFactorByDay;
+
+    public DiscountCurve(String currency, long version, int[] tenorMonths, double[] zeroRates) {
+        if (tenorMonths.length == 0 || tenorMonths.length != zeroRates.length) {
+            throw new IllegalArgumentException("Curve " + currency + " needs matching, non-empty tenors and rates");
+        }
+        this.currency = currency;
+        this.version = version;
+        this.tenorMonths = tenorMonths.clone();
+        this.zeroRates = zeroRates.clone();
+        this.pillarDays = new int[tenorMonths.length];
+        for (int i = 0; i < tenorMonths.length; i++) {
+            if (tenorMonths[i] <= 0 || (i > 0 && tenorMonths[i] <= tenorMonths[i - 1])) {
+                throw new IllegalArgumentException("Curve " + currency + " tenors must be positive and strictly increasing");
+            }
+            pillarDays[i] = (int) Math.round(tenorMonths[i] * DAYS_PER_MONTH);
+        }
+
+        int lastDay = pillarDays[pillarDays.length - 1];
+        this.discountFactorByDay = new double[lastDay + 1];
+        for (int day = 0; day <= lastDay; day++) {
+            discountFactorByDay[day] = Math.exp(-interpolate(day) * day / DAYS_PER_YEAR);
+        }
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int[] getTenorMonths() {
+        return tenorMonths.clone();
+    }
+
+    public double[] getZeroRates() {
+        return zeroRates.clone();
+    }
+
+    public double zeroRate(int days) {
+        return interpolate(days);
+    }
+
+    public double discountFactor(int days) {
+        if (days < discountFactorByDay.length) {
+            return discountFactorByDay[days];
+        }
+        return Math.exp(-zeroRates[zeroRates.length - 1] * days / DAYS_PER_YEAR);
+    }
+
+    /**
+     * Discounts cashflows {@code [from, to)} of the given primitive vectors.
+     * Cashflows dated before the valuation day have already settled and are ignored.
+     */
+    public double presentValue(int[] valueDays, double[] amounts, int from, int to, int valuationDay) {
+        double pv = 0.0;
+        for (int i = from; i < to; i++) {
+            int offset = valueDays[i] - valuationDay;
+            if (offset >= 0) {
+                pv += amounts[i] * discountFactor(offset);
+            }
+        }
+        return pv;
+    }
+
+    /**
+     * Returns a copy of this curve with the zero rate at each pillar shifted by
+     * {@code shifts[i]} (decimal, so 0.0001 is one basis point). Shifting a
+     * single pillar gives a triangular key-rate bump because rates are
+     * interpolated linearly.
+     */
+    public DiscountCurve shifted(double[] shifts) {
+        if (shifts.length != zeroRates.length) {
+            throw new IllegalArgumentException("Expected " + zeroRates.length + " pillar shifts for curve " + currency);
+        }
+        double[] bumped = new double[zeroRates.length];
+        for (int i = 0; i < bumped.length; i++) {
+            bumped[i] = zeroRates[i] + shifts[i];
+        }
+        return new DiscountCurve(currency, version, tenorMonths, bumped);
+    }
+
+    private double interpolate(int days) {
+        if (days <= pillarDays[0]) {
+            return zeroRates[0];
+        }
+        int last = pillarDays.length - 1;
+        if (days >= pillarDays[last]) {
+            return zeroRates[last];
+        }
+        int idx = Arrays.binarySearch(pillarDays, days);
+        if (idx >= 0) {
+            return zeroRates[idx];
+        }
+        int upper = -idx - 1;
+        int lower = upper - 1;
+        double weight = (double) (days - pillarDays[lower]) / (pillarDays[upper] - pillarDays[lower]);
+        return zeroRates[lower] + weight * (zeroRates[upper] - zeroRates[lower]);
+    }
+}
@@ -0,0 +1,175 @@
+package com.technicalchallenge.service;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeRepository;
+
+/**
+ * Catches replayed bookings by their economic fingerprint.
+ *
+ * Every new trade is tested against an in-memory Bloom filter of the
+ * fingerprints of active trades. A "no" from the filter is definite and the
+ * booking goes ahead without a database read; only a "maybe" is confirmed
+ * against the indexed fingerprint column, which also filters out cancelled
+ * and terminated trades. Identical bookings racing each other are caught by
+ * the set of fingerprints still being booked.
+ *
+ * In REJECT mode a duplicate fails the booking; in FLAG mode it is booked
+ * and logged. OFF still stores fingerprints but skips the check.
+ */
+@Service
+public class DuplicateTradeService {
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateTradeService.class);
+
+    public enum Mode { REJECT, FLAG, OFF }
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Value("${trades.duplicate-check.mode:REJECT}")
+    private Mode mode = Mode.REJECT;
+    @Value("${trades.duplicate-check.expected-trades:1000000}")
+    private long expectedTrades = 1_000_000L;
+    @Value("${trades.duplicate-check.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+
+    // Null until built at startup; until then every check goes to the database
+    private volatile FingerprintBloomFilter filter;
+    // Bookings made before the filter exists, replayed into it once built
+    private final Queue<TradeFingerprint> unfiltered = new ConcurrentLinkedQueue<>();
+    private final Set<String> booking = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder databaseChecks = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    /**
+     * Builds a fresh filter from the active trades and swaps it in, first
+     * fingerprinting any rows booked before fingerprints were stored.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public synchronized void rebuildFilter() {
+        long started = System.nanoTime();
+        List<Trade> unfingerprinted = tradeRepository.findByActiveTrueAndEconomicFingerprintIsNull();
+        for (Trade trade : unfingerprinted) {
+            trade.setEconomicFingerprint(TradeFingerprint.of(trade).toHex());
+        }
+        tradeRepository.flush();
+
+        FingerprintBloomFilter rebuilt = new FingerprintBloomFilter(expectedTrades, falsePositiveRate);
+        LongAdder count = new LongAdder();
+        try (Stream<String> fingerprints = tradeRepository.streamActiveEconomicFingerprints()) {
+            fingerprints.forEach(hex -> {
+                rebuilt.put(TradeFingerprint.fromHex(hex));
+                count.increment();
+            });
+        }
+        filter = rebuilt;
+        drainUnfiltered(rebuilt);
+        logger.info("Built duplicate trade filter from {} fingerprints ({} backfilled), {} bits x {} hashes in {} ms",
+                count.sum(), unfingerprinted.size(), rebuilt.bitCount(), rebuilt.hashCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Fingerprints a new booking and checks it for duplicates. Returns the
+     * fingerprint to store on the trade; throws in REJECT mode when the same
+     * economics are live or being booked concurrently.
+     */
+    public String checkNewTrade(TradeDTO tradeDTO) {
+        TradeFingerprint fingerprint = TradeFingerprint.of(tradeDTO);
+        String hex = fingerprint.toHex();
+        FingerprintBloomFilter current = filter;
+        if (mode == Mode.OFF) {
+            record(fingerprint);
+            return hex;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (!booking.add(hex)) {
+                duplicate(hex, "a booking in progress", tradeDTO);
+            } else {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        booking.remove(hex);
+                    }
+                });
+            }
+        }
+
+        if (current == null || current.mightContain(fingerprint)) {
+            databaseChecks.increment();
+            List<Long> matches = tradeRepository.findLiveTradeIdsByEconomicFingerprint(hex, PortfolioCashflowLoader.EXCLUDED_STATUSES);
+            if (!matches.isEmpty()) {
+                duplicate(hex, "trade " + matches.get(0), tradeDTO);
+            }
+        }
+        record(fingerprint);
+        return hex;
+    }
+
+    /** Fingerprints an amended version so later replays of it are caught. */
+    public String recordAmendment(TradeDTO tradeDTO) {
+        TradeFingerprint fingerprint = TradeFingerprint.of(tradeDTO);
+        record(fingerprint);
+        return fingerprint.toHex();
+    }
+
+    long databaseChecks() {
+        return databaseChecks.sum();
+    }
+
+    long duplicates() {
+        return duplicates.sum();
+    }
+
+    // A booking that later rolls back leaves its bits set; that only costs a database check
+    private void record(TradeFingerprint fingerprint) {
+        FingerprintBloomFilter current = filter;
+        if (current != null) {
+            current.put(fingerprint);
+            return;
+        }
+        unfiltered.add(fingerprint);
+        // The filter may have been built between the read above and the add
+        current = filter;
+        if (current != null) {
+            drainUnfiltered(current);
+        }
+    }
+
+    private void drainUnfiltered(FingerprintBloomFilter target) {
+        TradeFingerprint fingerprint;
+        while ((fingerprint = unfiltered.poll()) != null) {
+            target.put(fingerprint);
+        }
+    }
+
+    private void duplicate(String hex, String existing, TradeDTO tradeDTO) {
+        duplicates.increment();
+        if (mode == Mode.REJECT) {
+            logger.warn("Rejected duplicate of {} for counterparty {} (fingerprint {})", existing, tradeDTO.getCounterpartyName(), hex);
+            throw new RuntimeException("Duplicate trade: same economic terms as " + existing);
+        }
+        logger.warn("Booking possible duplicate of {} for counterparty {} (fingerprint {})", existing, tradeDTO.getCounterpartyName(), hex);
+    }
+}
@@ -0,0 +1,67 @@
+package com.technicalchallenge.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over trade fingerprints. The fingerprint is already a
+ * SHA-256 digest, so the k bit positions come from double hashing its first
+ * two 64-bit words rather than from rehashing.
+ *
+ * Adds set bits with atomic ORs and never take a lock, so concurrent
+ * bookings can add and test at the same time. Bits are never cleared: a
+ * cancelled or amended trade keeps its bits and may cost a database check,
+ * never a missed duplicate.
+ */
+final class FingerprintBloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /** Sized for {@code expectedEntries} at the given false positive rate. */
+    FingerprintBloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (expectedEntries <= 0 || !(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+            throw new IllegalArgumentException("Bloom filter needs positive entries and a false positive rate in (0, 1)");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1L, (bits + 63) / 64));
+        this.words = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * ln2));
+    }
+
+    void put(TradeFingerprint fingerprint) {
+        long h1 = fingerprint.high();
+        long h2 = fingerprint.low();
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0L && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    /** False means the fingerprint was definitely never added. */
+    boolean mightContain(TradeFingerprint fingerprint) {
+        long h1 = fingerprint.high();
+        long h2 = fingerprint.low();
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+}
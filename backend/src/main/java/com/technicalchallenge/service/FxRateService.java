@@ -0,0 +1,155 @@
+package com.technicalchallenge.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.technicalchallenge.dto.FxRateDTO;
+import com.technicalchallenge.dto.FxRateSnapshotDTO;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.model.FxRate;
+import com.technicalchallenge.repository.CurrencyRepository;
+import com.technicalchallenge.repository.FxRateRepository;
+
+/**
+ * Current FX rates for converting aggregates into a reporting currency.
+ *
+ * Readers take the snapshot from an {@link AtomicReference} without locking;
+ * an update builds a complete new {@link FxRateSnapshot} (cross rates
+ * included) and swaps it in, so a reader never sees a half-applied update.
+ * Writers are serialized among themselves, and a new snapshot is only
+ * swapped in once its rows are committed, so readers never convert with
+ * rates that a failed commit left out of the table.
+ */
+@Service
+public class FxRateService {
+    private static final Logger logger = LoggerFactory.getLogger(FxRateService.class);
+
+    @Autowired
+    private FxRateRepository fxRateRepository;
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Value("${fx.pivot-currency:USD}")
+    private String pivotCurrency;
+
+    private final AtomicReference<FxRateSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private final TransactionTemplate writeTransaction;
+
+    public FxRateService(PlatformTransactionManager transactionManager) {
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        // Committed by the time execute returns, even when called from inside another transaction
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Ahead of other startup listeners that convert with the rates
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public synchronized void loadRates() {
+        Map<String, Double> rates = new HashMap<>();
+        for (FxRate rate : fxRateRepository.findAllActive()) {
+            rates.put(rate.getCurrency().getCurrency(), rate.getRateToPivot());
+        }
+        snapshot.set(new FxRateSnapshot(pivotCurrency, versionSequence.incrementAndGet(), rates));
+        logger.info("Loaded FX rates against {} for {}", pivotCurrency, rates.keySet());
+    }
+
+    /** Current snapshot; never null. */
+    public FxRateSnapshot current() {
+        FxRateSnapshot current = snapshot.get();
+        return current != null ? current : FxRateSnapshot.empty(pivotCurrency);
+    }
+
+    public double convert(double amount, String fromCurrency, String toCurrency) {
+        double rate = current().rate(fromCurrency, toCurrency);
+        if (Double.isNaN(rate)) {
+            throw new IllegalArgumentException("No FX rate between " + fromCurrency + " and " + toCurrency);
+        }
+        return amount * rate;
+    }
+
+    /**
+     * Upserts the given rates against the pivot. Currencies not in the request
+     * keep their current rate. The new snapshot is published after the
+     * rows commit, still holding the writer lock, so the next writer merges
+     * onto it.
+     */
+    public synchronized FxRateSnapshot updateRates(List<FxRateDTO> rates) {
+        logger.info("Updating {} FX rates against {}", rates.size(), pivotCurrency);
+        FxRateSnapshot current = current();
+        Map<String, Double> merged = new HashMap<>();
+        for (String currency : current.getCurrencies()) {
+            merged.put(currency, current.rateToPivot(currency));
+        }
+        Map<String, Currency> currencies = new HashMap<>();
+        Map<String, Double> requested = new LinkedHashMap<>();
+        for (FxRateDTO dto : rates) {
+            if (pivotCurrency.equals(dto.getCurrency()) && dto.getRateToPivot() != 1.0) {
+                throw new IllegalArgumentException("Pivot currency " + pivotCurrency + " must have rate 1");
+            }
+            Currency currency = currencyRepository.findByCurrency(dto.getCurrency())
+                    .orElseThrow(() -> new IllegalArgumentException("Currency not found: " + dto.getCurrency()));
+            currencies.put(dto.getCurrency(), currency);
+            requested.put(dto.getCurrency(), dto.getRateToPivot());
+            merged.put(dto.getCurrency(), dto.getRateToPivot());
+        }
+
+        // Build first so an invalid rate is rejected without touching the table
+        FxRateSnapshot replacement = new FxRateSnapshot(pivotCurrency, versionSequence.incrementAndGet(), merged);
+
+        writeTransaction.executeWithoutResult(status -> saveRates(currencies, requested));
+        snapshot.set(replacement);
+        return replacement;
+    }
+
+    private void saveRates(Map<String, Currency> currencies, Map<String, Double> requested) {
+        LocalDateTime now = LocalDateTime.now();
+        List<FxRate> existing = fxRateRepository.findActiveByCurrencies(currencies.keySet());
+        for (FxRate rate : existing) {
+            rate.setActive(false);
+            rate.setDeactivatedDate(now);
+        }
+        fxRateRepository.saveAll(existing);
+
+        List<FxRate> inserted = new ArrayList<>(requested.size());
+        for (Map.Entry<String, Double> entry : requested.entrySet()) {
+            FxRate rate = new FxRate();
+            rate.setCurrency(currencies.get(entry.getKey()));
+            rate.setRateToPivot(entry.getValue());
+            rate.setActive(true);
+            rate.setCreatedDate(now);
+            inserted.add(rate);
+        }
+        fxRateRepository.saveAll(inserted);
+    }
+
+    public FxRateSnapshotDTO toDto(FxRateSnapshot fx) {
+        List<FxRateDTO> rates = new ArrayList<>();
+        for (String currency : fx.getCurrencies()) {
+            rates.add(new FxRateDTO(currency, fx.rateToPivot(currency)));
+        }
+        return new FxRateSnapshotDTO(fx.getPivotCurrency(), fx.getVersion(), rates);
+    }
+}
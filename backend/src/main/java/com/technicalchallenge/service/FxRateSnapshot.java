@@ -0,0 +1,120 @@
+package com.technicalchallenge.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of FX rates against a pivot currency, with every cross rate
+ * triangulated once at build time into a dense n x n matrix.
+ *
+ * Callers that aggregate many amounts resolve a conversion vector once for
+ * their own currency indexing (see {@link #conversionFactors}) and then
+ * convert with plain array access, so there is no map lookup per cashflow.
+ * A currency without a rate converts to NaN rather than silently to zero.
+ */
+public final class FxRateSnapshot {
+    private final String pivotCurrency;
+    private final long version;
+    private final String[] currencies;
+    private final double[] toPivot;
+    private final Map<String, Integer> indexByCurrency;
+    // crossRates[from * n + to]: units of 'to' per one unit of 'from'
+    private final double[] crossRates;
+
+    public FxRateSnapshot(String pivotCurrency, long version, Map<String, Double> ratesToPivot) {
+        this.pivotCurrency = pivotCurrency;
+        this.version = version;
+
+        Map<String, Double> rates = new HashMap<>(ratesToPivot);
+        rates.put(pivotCurrency, 1.0);
+        this.currencies = rates.keySet().stream().sorted().toArray(String[]::new);
+        int n = currencies.length;
+        this.toPivot = new double[n];
+        this.indexByCurrency = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            Double rate = rates.get(currencies[i]);
+            if (rate == null || !(rate > 0) || Double.isInfinite(rate)) {
+                throw new IllegalArgumentException("FX rate for " + currencies[i] + " must be positive");
+            }
+            toPivot[i] = rate;
+            indexByCurrency.put(currencies[i], i);
+        }
+
+        this.crossRates = new double[n * n];
+        for (int from = 0; from < n; from++) {
+            for (int to = 0; to < n; to++) {
+                crossRates[from * n + to] = from == to ? 1.0 : toPivot[from] / toPivot[to];
+            }
+        }
+    }
+
+    public static FxRateSnapshot empty(String pivotCurrency) {
+        return new FxRateSnapshot(pivotCurrency, 0L, Map.of());
+    }
+
+    /** Index of the currency in this snapshot, or -1 if it has no rate. */
+    public int indexOf(String currency) {
+        Integer index = indexByCurrency.get(currency);
+        return index != null ? index : -1;
+    }
+
+    /** Units of {@code to} per one unit of {@code from}; NaN when either currency has no rate. */
+    public double rate(String from, String to) {
+        int f = indexOf(from);
+        int t = indexOf(to);
+        return f < 0 || t < 0 ? Double.NaN : crossRates[f * currencies.length + t];
+    }
+
+    /**
+     * Factor per caller currency index that converts into {@code reportingCurrency}.
+     * Resolve once per aggregation, then multiply amounts by
+     * {@code factors[currencyIndex]}.
+     */
+    public double[] conversionFactors(String[] callerCurrencies, String reportingCurrency) {
+        double[] factors = new double[callerCurrencies.length];
+        int t = indexOf(reportingCurrency);
+        for (int c = 0; c < callerCurrencies.length; c++) {
+            int f = indexOf(callerCurrencies[c]);
+            factors[c] = f < 0 || t < 0 ? Double.NaN : crossRates[f * currencies.length + t];
+        }
+        return factors;
+    }
+
+    /**
+     * Converts {@code amounts[i]} from currency {@code currencyIndex[i]} into the
+     * reporting currency of {@code factors}, writing into {@code out} (which may
+     * be {@code amounts} itself).
+     */
+    public static void convert(double[] amounts, int[] currencyIndex, double[] factors, double[] out) {
+        for (int i = 0; i < amounts.length; i++) {
+            out[i] = amounts[i] * factors[currencyIndex[i]];
+        }
+    }
+
+    /** Sum of {@code amounts} converted into the reporting currency of {@code factors}. */
+    public static double convertAndSum(double[] amounts, int[] currencyIndex, double[] factors) {
+        double total = 0.0;
+        for (int i = 0; i < amounts.length; i++) {
+            total += amounts[i] * factors[currencyIndex[i]];
+        }
+        return total;
+    }
+
+    public String getPivotCurrency() {
+        return pivotCurrency;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String[] getCurrencies() {
+        return Arrays.copyOf(currencies, currencies.length);
+    }
+
+    public double rateToPivot(String currency) {
+        int index = indexOf(currency);
+        return index < 0 ? Double.NaN : toPivot[index];
+    }
+}
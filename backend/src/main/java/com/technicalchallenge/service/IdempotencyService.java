@@ -0,0 +1,192 @@
+package com.technicalchallenge.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.technicalchallenge.model.IdempotencyRecord;
+import com.technicalchallenge.repository.IdempotencyRecordRepository;
+
+/**
+ * Runs a mutation at most once per Idempotency-Key and hands every retry the
+ * first response.
+ *
+ * Responses are looked up in a bounded in-memory LRU first and in the
+ * idempotency_record table on a miss, so they survive eviction and restarts
+ * until their TTL runs out. Requests arriving while the first one with the
+ * same key is still running wait for its result instead of executing again.
+ * A key reused with a different request is refused.
+ *
+ * Server errors are handed to requests already waiting but are not stored,
+ * so a later retry runs again.
+ */
+@Service
+public class IdempotencyService {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Value("${idempotency.ttl:PT24H}")
+    private Duration ttl = Duration.ofHours(24);
+    @Value("${idempotency.wait-timeout:PT30S}")
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    private final Map<String, StoredResponse> cache;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    /** Response as first sent; {@code body} is replayed byte for byte. */
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body, LocalDateTime expiresAt) {
+        boolean expired(LocalDateTime now) {
+            return expiresAt != null && !expiresAt.isAfter(now);
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<StoredResponse> result) {
+    }
+
+    public IdempotencyService(@Value("${idempotency.cache-size:10000}") int cacheSize) {
+        // Guarded by itself; access order makes it an LRU
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the response stored for {@code key}, or runs {@code execution}
+     * and stores its response. Throws {@link IllegalArgumentException} if the
+     * key was used for a different request and {@link IllegalStateException}
+     * if the first request with the key is still running after the wait
+     * timeout or failed without a response.
+     */
+    public StoredResponse execute(String key, String requestHash, Callable<StoredResponse> execution) throws Exception {
+        Optional<StoredResponse> stored = find(key);
+        if (stored.isPresent()) {
+            return matching(key, requestHash, stored.get());
+        }
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return awaitRunning(key, requestHash, running);
+        }
+
+        try {
+            // Another request may have finished between the lookup and claiming the key
+            stored = find(key);
+            if (stored.isPresent()) {
+                mine.result().complete(stored.get());
+                return matching(key, requestHash, stored.get());
+            }
+            StoredResponse response = execution.call();
+            if (response.status() < 500) {
+                store(key, response);
+            }
+            mine.result().complete(response);
+            return response;
+        } catch (Exception e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** Builds the response to store for a request executed now. */
+    public StoredResponse newResponse(String requestHash, int status, String contentType, byte[] body) {
+        return new StoredResponse(requestHash, status, contentType, body, LocalDateTime.now().plus(ttl));
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (cache) {
+            cache.values().removeIf(response -> response.expired(now));
+        }
+        int purged = idempotencyRecordRepository.deleteExpired(now);
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    private Optional<StoredResponse> find(String key) {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (cache) {
+            StoredResponse cached = cache.get(key);
+            if (cached != null && !cached.expired(now)) {
+                return Optional.of(cached);
+            }
+            cache.remove(key);
+        }
+        Optional<StoredResponse> persisted = idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(key, now)
+                .map(record -> new StoredResponse(record.getRequestHash(), record.getStatusCode(),
+                        record.getContentType(), record.getResponseBody(), record.getExpiresAt()));
+        persisted.ifPresent(response -> {
+            synchronized (cache) {
+                cache.put(key, response);
+            }
+        });
+        return persisted;
+    }
+
+    private void store(String key, StoredResponse response) {
+        synchronized (cache) {
+            cache.put(key, response);
+        }
+        IdempotencyRecord record = new IdempotencyRecord(null, key, response.requestHash(), response.status(),
+                response.contentType(), response.body(), LocalDateTime.now(), response.expiresAt());
+        try {
+            idempotencyRecordRepository.save(record);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored the key first; this response is still the one its caller sees
+            logger.warn("Idempotency key {} already stored: {}", key, e.getMessage());
+        }
+    }
+
+    private StoredResponse awaitRunning(String key, String requestHash, InFlight running) {
+        matching(key, requestHash, running.requestHash());
+        logger.debug("Waiting for in-flight request with idempotency key {}", key);
+        try {
+            return running.result().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("A request with this Idempotency-Key is still in progress");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The request with this Idempotency-Key failed; retry it");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the request with this Idempotency-Key");
+        }
+    }
+
+    private static StoredResponse matching(String key, String requestHash, StoredResponse stored) {
+        matching(key, requestHash, stored.requestHash());
+        return stored;
+    }
+
+    private static void matching(String key, String requestHash, String storedHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency-Key " + key + " was already used for a different request");
+        }
+    }
+}
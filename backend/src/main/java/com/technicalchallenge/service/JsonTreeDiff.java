@@ -0,0 +1,69 @@
+package com.technicalchallenge.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.technicalchallenge.dto.FieldChangeDTO;
+
+/**
+ * Structural diff of two JSON trees as JSON Patch operations. Objects are
+ * compared field by field and arrays element by element, so a change deep in
+ * a leg or cashflow costs one operation rather than a copy of the graph.
+ * Unchanged subtrees are skipped on the first equality check.
+ */
+final class JsonTreeDiff {
+
+    private JsonTreeDiff() {
+    }
+
+    static List<FieldChangeDTO> diff(JsonNode from, JsonNode to) {
+        List<FieldChangeDTO> changes = new ArrayList<>();
+        diff("", from, to, changes);
+        return changes;
+    }
+
+    private static void diff(String path, JsonNode from, JsonNode to, List<FieldChangeDTO> changes) {
+        if (from.equals(to)) {
+            return;
+        }
+        if (from.isObject() && to.isObject()) {
+            Iterator<String> names = from.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                String child = path + "/" + escape(name);
+                if (to.has(name)) {
+                    diff(child, from.get(name), to.get(name), changes);
+                } else {
+                    changes.add(new FieldChangeDTO("remove", child, null));
+                }
+            }
+            names = to.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                if (!from.has(name)) {
+                    changes.add(new FieldChangeDTO("add", path + "/" + escape(name), to.get(name)));
+                }
+            }
+        } else if (from.isArray() && to.isArray()) {
+            int common = Math.min(from.size(), to.size());
+            for (int i = 0; i < common; i++) {
+                diff(path + "/" + i, from.get(i), to.get(i), changes);
+            }
+            for (int i = common; i < to.size(); i++) {
+                changes.add(new FieldChangeDTO("add", path + "/" + i, to.get(i)));
+            }
+            // Highest index first so each pointer is still valid when applied
+            for (int i = from.size() - 1; i >= to.size(); i--) {
+                changes.add(new FieldChangeDTO("remove", path + "/" + i, null));
+            }
+        } else {
+            changes.add(new FieldChangeDTO("replace", path, to));
+        }
+    }
+
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,23 @@
+package com.technicalchallenge.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Width of a liquidity ladder bucket. Weeks start on Monday, matching
+ * {@code DATE_TRUNC('week', ...)} in the database.
+ */
+public enum LadderBucket {
+    DAY,
+    WEEK,
+    MONTH;
+
+    public LocalDate start(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
@@ -0,0 +1,243 @@
+package com.technicalchallenge.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.LegSchedule;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.repository.CashflowRepository;
+import com.technicalchallenge.repository.LegScheduleRepository;
+import com.technicalchallenge.repository.TradeLegRepository;
+
+/**
+ * Hands out content-addressed cashflow schedules for trade legs.
+ *
+ * The schedule hash covers everything cashflow generation reads: the trade
+ * start and maturity dates and the leg's notional, rate, rate type,
+ * calculation period, pay/receive flag and payment convention. A leg whose
+ * hash is already stored is pointed at the existing schedule; only new terms
+ * generate cashflow rows. Old trade versions keep pointing at their
+ * schedules, so their cashflows stay readable.
+ */
+@Service
+public class LegScheduleService {
+    private static final Logger logger = LoggerFactory.getLogger(LegScheduleService.class);
+
+    // Bump when cashflow generation changes so new bookings stop sharing old schedules
+    private static final String HASH_VERSION = "v1";
+    private static final char FIELD = '|';
+
+    @Autowired
+    private LegScheduleRepository legScheduleRepository;
+    @Autowired
+    private CashflowRepository cashflowRepository;
+    @Autowired
+    private TradeLegRepository tradeLegRepository;
+
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder generated = new LongAdder();
+
+    /**
+     * Points {@code leg} at the schedule for its terms, generating the
+     * cashflows only if no leg has had these terms before. Legs without
+     * start or maturity dates get no schedule and no cashflows.
+     */
+    @Transactional
+    public LegSchedule assignSchedule(TradeLeg leg, LocalDate startDate, LocalDate maturityDate) {
+        if (startDate == null || maturityDate == null) {
+            return null;
+        }
+        String hash = scheduleHash(leg, startDate, maturityDate);
+        LegSchedule schedule = legScheduleRepository.findFirstByScheduleHashAndArchivedFalseOrderByIdAsc(hash).orElse(null);
+        if (schedule != null) {
+            reused.increment();
+            logger.debug("Leg {} shares schedule {} ({} cashflows)", leg.getLegId(), schedule.getId(), schedule.getCashflowCount());
+        } else {
+            schedule = generateSchedule(leg, hash, startDate, maturityDate);
+            generated.increment();
+        }
+        leg.setLegSchedule(schedule);
+        return schedule;
+    }
+
+    /**
+     * Gives legs stored before schedules existed a schedule of their own and
+     * moves their cashflows onto it. Those cashflows were not necessarily
+     * generated, so they are keyed by leg and never shared. Runs before the
+     * startup loaders that read cashflows through schedules.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void scheduleLegacyLegs() {
+        List<TradeLeg> legs = tradeLegRepository.findUnscheduledLegs();
+        int cashflows = 0;
+        for (TradeLeg leg : legs) {
+            LegSchedule schedule = newSchedule(hash(HASH_VERSION, "legacy", String.valueOf(leg.getLegId())));
+            int attached = cashflowRepository.attachToSchedule(leg, schedule);
+            schedule.setCashflowCount(attached);
+            leg.setLegSchedule(schedule);
+            cashflows += attached;
+        }
+        if (!legs.isEmpty()) {
+            logger.info("Moved {} cashflows of {} legs onto their own schedules", cashflows, legs.size());
+        }
+    }
+
+    long reusedSchedules() {
+        return reused.sum();
+    }
+
+    long generatedSchedules() {
+        return generated.sum();
+    }
+
+    static String scheduleHash(TradeLeg leg, LocalDate startDate, LocalDate maturityDate) {
+        return hash(HASH_VERSION,
+                String.valueOf(startDate),
+                String.valueOf(maturityDate),
+                leg.getNotional() != null ? leg.getNotional().stripTrailingZeros().toPlainString() : "",
+                leg.getRate() != null ? BigDecimal.valueOf(leg.getRate()).stripTrailingZeros().toPlainString() : "",
+                leg.getLegRateType() != null ? leg.getLegRateType().getType() : "",
+                scheduleName(leg),
+                leg.getPayReceiveFlag() != null ? leg.getPayReceiveFlag().getPayRec() : "",
+                leg.getPaymentBusinessDayConvention() != null ? leg.getPaymentBusinessDayConvention().getBdc() : "");
+    }
+
+    private LegSchedule generateSchedule(TradeLeg leg, String hash, LocalDate startDate, LocalDate maturityDate) {
+        logger.info("Generating cashflows for leg {} from {} to {}", leg.getLegId(), startDate, maturityDate);
+
+        int monthsInterval = parseSchedule(scheduleName(leg));
+        List<LocalDate> paymentDates = calculatePaymentDates(startDate, maturityDate, monthsInterval);
+
+        LegSchedule schedule = newSchedule(hash);
+        schedule.setCashflowCount(paymentDates.size());
+        for (LocalDate paymentDate : paymentDates) {
+            Cashflow cashflow = new Cashflow();
+            cashflow.setLegSchedule(schedule);
+            cashflow.setValueDate(paymentDate);
+            cashflow.setRate(leg.getRate());
+
+            // Calculate value based on leg type
+            BigDecimal cashflowValue = calculateCashflowValue(leg, monthsInterval);
+            cashflow.setPaymentValue(cashflowValue);
+
+            cashflow.setPayRec(leg.getPayReceiveFlag());
+            cashflow.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
+            cashflow.setCreatedDate(LocalDateTime.now());
+            cashflow.setActive(true);
+
+            cashflowRepository.save(cashflow);
+        }
+
+        logger.info("Generated {} cashflows for leg {} into schedule {}", paymentDates.size(), leg.getLegId(), schedule.getId());
+        return schedule;
+    }
+
+    private LegSchedule newSchedule(String hash) {
+        LegSchedule schedule = new LegSchedule();
+        schedule.setScheduleHash(hash);
+        schedule.setCreatedDate(LocalDateTime.now());
+        return legScheduleRepository.save(schedule);
+    }
+
+    // Use default schedule if not set
+    private static String scheduleName(TradeLeg leg) {
+        return leg.getCalculationPeriodSchedule() != null ? leg.getCalculationPeriodSchedule().getSchedule() : "3M";
+    }
+
+    private static int parseSchedule(String schedule) {
+        if (schedule == null || schedule.trim().isEmpty()) {
+            return 3; // Default to quarterly
+        }
+
+        schedule = schedule.trim();
+
+        // Handle common schedule names
+        switch (schedule.toLowerCase()) {
+            case "monthly":
+                return 1;
+            case "quarterly":
+                return 3;
+            case "semi-annually":
+            case "semiannually":
+            case "half-yearly":
+                return 6;
+            case "annually":
+            case "yearly":
+                return 12;
+            default:
+                // Parse "1M", "3M", "12M" format
+                if (schedule.endsWith("M") || schedule.endsWith("m")) {
+                    try {
+                        return Integer.parseInt(schedule.substring(0, schedule.length() - 1));
+                    } catch (NumberFormatException e) {
+                        throw new RuntimeException("Invalid schedule format: " + schedule);
+                    }
+                }
+                throw new RuntimeException("Invalid schedule format: " + schedule + ". Supported formats: Monthly, Quarterly, Semi-annually, Annually, or 1M, 3M, 6M, 12M");
+        }
+    }
+
+    private static List<LocalDate> calculatePaymentDates(LocalDate startDate, LocalDate maturityDate, int monthsInterval) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate currentDate = startDate.plusMonths(monthsInterval);
+
+        while (!currentDate.isAfter(maturityDate)) {
+            dates.add(currentDate);
+            currentDate = currentDate.plusMonths(monthsInterval);
+        }
+
+        return dates;
+    }
+
+    private static BigDecimal calculateCashflowValue(TradeLeg leg, int monthsInterval) {
+        if (leg.getLegRateType() == null) {
+            return BigDecimal.ZERO;
+        }
+
+        String legType = leg.getLegRateType().getType();
+
+        if ("Fixed".equals(legType)) {
+            double notional = leg.getNotional().doubleValue();
+            double rate = leg.getRate();
+            double months = monthsInterval;
+
+            double result = (notional * rate * months) / 12;
+
+            return BigDecimal.valueOf(result);
+        } else if ("Floating".equals(legType)) {
+            return BigDecimal.ZERO;
+        }
+
+        return BigDecimal.ZERO;
+    }
+
+    private static String hash(String... fields) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(String.join(String.valueOf(FIELD), fields).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
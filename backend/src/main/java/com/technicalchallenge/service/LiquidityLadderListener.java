@@ -0,0 +1,30 @@
+package com.technicalchallenge.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.technicalchallenge.event.TradeLifecycleEvent;
+
+/**
+ * Feeds committed trade lifecycle events into the in-memory liquidity
+ * ladder. Only registered with {@code ladder.incremental.enabled=true}, so
+ * while the ladder is served from SQL a booking's commit does not open a
+ * second transaction, or take a second pooled connection, just to do nothing.
+ */
+@Component
+@ConditionalOnProperty(name = "ladder.incremental.enabled", havingValue = "true")
+public class LiquidityLadderListener {
+
+    @Autowired
+    private LiquidityLadderService liquidityLadderService;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onTradeEvent(TradeLifecycleEvent event) {
+        liquidityLadderService.applyTradeEvent(event);
+    }
+}
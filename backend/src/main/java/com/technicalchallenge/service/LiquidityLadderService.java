@@ -0,0 +1,207 @@
+package com.technicalchallenge.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.technicalchallenge.dto.LadderBucketDTO;
+import com.technicalchallenge.dto.LiquidityLadderDTO;
+import com.technicalchallenge.event.TradeLifecycleEvent;
+import com.technicalchallenge.repository.CashflowRepository;
+import com.technicalchallenge.repository.LadderBucketView;
+import com.technicalchallenge.repository.ValuationCashflowView;
+
+/**
+ * Liquidity ladder: pay, receive and net cashflow amounts per currency, book
+ * and date bucket.
+ *
+ * By default every request is a single grouped query, so only the aggregated
+ * rows leave the database. With {@code ladder.incremental.enabled=true} the
+ * ladder is also kept in memory at daily granularity: it is seeded once at
+ * startup and each trade lifecycle event replaces just that trade's
+ * contribution, so reads never rescan the cashflow table.
+ */
+@Service
+public class LiquidityLadderService {
+    private static final Logger logger = LoggerFactory.getLogger(LiquidityLadderService.class);
+
+    public static final String SOURCE_SQL = "SQL";
+    public static final String SOURCE_INCREMENTAL = "INCREMENTAL";
+
+    // Default horizon when no end date is given
+    static final int DEFAULT_HORIZON_YEARS = 1;
+
+    @Autowired
+    private CashflowRepository cashflowRepository;
+
+    @Value("${ladder.incremental.enabled:false}")
+    private boolean incrementalEnabled;
+
+    // In-memory ladder, guarded by this. Cells are per (book, currency, value date).
+    private final Map<LadderKey, LadderCell> cells = new HashMap<>();
+    private final Map<Long, Map<LadderKey, LadderCell>> contributionsByTrade = new HashMap<>();
+    private boolean seeded;
+
+    public LiquidityLadderDTO getLadder(LadderBucket bucket, LocalDate fromDate, LocalDate toDate,
+                                        String book, String currency, boolean forceSql) {
+        LadderBucket width = bucket != null ? bucket : LadderBucket.DAY;
+        LocalDate from = fromDate != null ? fromDate : LocalDate.now();
+        LocalDate to = toDate != null ? toDate : from.plusYears(DEFAULT_HORIZON_YEARS);
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+
+        if (!forceSql && isIncrementalReady()) {
+            logger.debug("Serving {} ladder from memory", width);
+            return new LiquidityLadderDTO(width.name(), from, to, book, currency, SOURCE_INCREMENTAL,
+                    aggregateInMemory(width, from, to, book, currency));
+        }
+
+        logger.info("Aggregating {} ladder from {} to {} for book {} currency {}", width, from, to,
+                book != null ? book : "ALL", currency != null ? currency : "ALL");
+        List<LadderBucketView> rows = switch (width) {
+            case DAY -> cashflowRepository.findDailyLadder(from, to, book, currency, PortfolioCashflowLoader.EXCLUDED_STATUSES);
+            case WEEK -> cashflowRepository.findWeeklyLadder(from, to, book, currency, PortfolioCashflowLoader.EXCLUDED_STATUSES);
+            case MONTH -> cashflowRepository.findMonthlyLadder(from, to, book, currency, PortfolioCashflowLoader.EXCLUDED_STATUSES);
+        };
+        List<LadderBucketDTO> buckets = rows.stream()
+                .map(row -> new LadderBucketDTO(row.getBucketStart(), row.getCurrency(), row.getBookName(),
+                        row.getPayAmount(), row.getReceiveAmount(), row.getNetAmount(),
+                        row.getCashflowCount() != null ? row.getCashflowCount() : 0L))
+                .toList();
+        return new LiquidityLadderDTO(width.name(), from, to, book, currency, SOURCE_SQL, buckets);
+    }
+
+    public synchronized boolean isIncrementalReady() {
+        return incrementalEnabled && seeded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void seedIncrementalLadder() {
+        if (!incrementalEnabled) {
+            return;
+        }
+        cells.clear();
+        contributionsByTrade.clear();
+        try (Stream<ValuationCashflowView> rows = cashflowRepository.streamValuationCashflows(PortfolioCashflowLoader.EXCLUDED_STATUSES)) {
+            rows.forEach(row -> accumulate(contributionsByTrade.computeIfAbsent(row.getTradeId(), id -> new HashMap<>()), row));
+        }
+        contributionsByTrade.values().forEach(contribution -> apply(contribution, 1));
+        seeded = true;
+        logger.info("Seeded in-memory liquidity ladder with {} cells from {} trades", cells.size(), contributionsByTrade.size());
+    }
+
+    /**
+     * Replaces the lifecycle event's trade contribution with its current
+     * cashflows. The new contribution is read in full from the committed state,
+     * so replaying the same event is harmless and amends, cancels and
+     * terminations are handled the same way. Called after commit by
+     * {@link LiquidityLadderListener}, which only exists while the in-memory
+     * ladder is enabled.
+     */
+    public void applyTradeEvent(TradeLifecycleEvent event) {
+        if (!incrementalEnabled) {
+            return;
+        }
+        Map<LadderKey, LadderCell> contribution = new HashMap<>();
+        for (ValuationCashflowView row : cashflowRepository.findValuationCashflowsByTradeId(event.tradeId(),
+                PortfolioCashflowLoader.EXCLUDED_STATUSES)) {
+            accumulate(contribution, row);
+        }
+        replaceContribution(event.tradeId(), contribution);
+        logger.debug("Applied {} of trade {} to liquidity ladder ({} cells)", event.type(), event.tradeId(), contribution.size());
+    }
+
+    private synchronized void replaceContribution(Long tradeId, Map<LadderKey, LadderCell> contribution) {
+        if (!seeded) {
+            // Seeding reads committed state after this trade, so it will be picked up there
+            return;
+        }
+        Map<LadderKey, LadderCell> previous = contribution.isEmpty()
+                ? contributionsByTrade.remove(tradeId)
+                : contributionsByTrade.put(tradeId, contribution);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        apply(contribution, 1);
+    }
+
+    private void apply(Map<LadderKey, LadderCell> contribution, int direction) {
+        contribution.forEach((key, delta) -> {
+            LadderCell cell = cells.computeIfAbsent(key, k -> new LadderCell());
+            cell.add(delta, direction);
+            if (cell.count == 0) {
+                cells.remove(key);
+            }
+        });
+    }
+
+    private synchronized List<LadderBucketDTO> aggregateInMemory(LadderBucket width, LocalDate from, LocalDate to,
+                                                                 String book, String currency) {
+        Map<LadderKey, LadderCell> rolled = new TreeMap<>(LadderKey.ORDER);
+        cells.forEach((key, cell) -> {
+            if (key.valueDate().isBefore(from) || key.valueDate().isAfter(to)
+                    || (book != null && !book.equals(key.book()))
+                    || (currency != null && !currency.equals(key.currency()))) {
+                return;
+            }
+            LadderKey bucketKey = new LadderKey(key.book(), key.currency(), width.start(key.valueDate()));
+            rolled.computeIfAbsent(bucketKey, k -> new LadderCell()).add(cell, 1);
+        });
+
+        List<LadderBucketDTO> buckets = new ArrayList<>(rolled.size());
+        rolled.forEach((key, cell) -> buckets.add(new LadderBucketDTO(key.valueDate(), key.currency(), key.book(),
+                cell.pay, cell.receive, cell.receive.subtract(cell.pay), cell.count)));
+        return buckets;
+    }
+
+    private static void accumulate(Map<LadderKey, LadderCell> contribution, ValuationCashflowView row) {
+        if (row.getValueDate() == null || row.getPaymentValue() == null) {
+            return;
+        }
+        LadderCell cell = contribution.computeIfAbsent(
+                new LadderKey(row.getBookName(), row.getCurrency(), row.getValueDate()), k -> new LadderCell());
+        if (CashflowDirection.sign(row.getPayRec()) < 0) {
+            cell.pay = cell.pay.add(row.getPaymentValue());
+        } else {
+            cell.receive = cell.receive.add(row.getPaymentValue());
+        }
+        cell.count++;
+    }
+
+    record LadderKey(String book, String currency, LocalDate valueDate) {
+        static final Comparator<LadderKey> ORDER = Comparator
+                .comparing(LadderKey::valueDate)
+                .thenComparing(LadderKey::currency, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(LadderKey::book, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    static final class LadderCell {
+        private BigDecimal pay = BigDecimal.ZERO;
+        private BigDecimal receive = BigDecimal.ZERO;
+        private long count;
+
+        void add(LadderCell other, int direction) {
+            BigDecimal sign = BigDecimal.valueOf(direction);
+            pay = pay.add(other.pay.multiply(sign));
+            receive = receive.add(other.receive.multiply(sign));
+            count += (long) direction * other.count;
+        }
+    }
+}
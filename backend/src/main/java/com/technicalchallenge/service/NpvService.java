@@ -0,0 +1,249 @@
+package com.technicalchallenge.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.technicalchallenge.dto.NpvReportDTO;
+import com.technicalchallenge.dto.TradeNpvDTO;
+
+/**
+ * Discounts every active cashflow on its currency's curve and aggregates the
+ * results per trade, book and counterparty.
+ *
+ * Present values are cached per (trade, currency) slice together with the
+ * version of the curve they were priced on. A request only reprices slices
+ * whose curve version moved, so replacing the EUR curve leaves USD and GBP
+ * slices untouched. The cashflow snapshot itself is rebuilt only when the
+ * active trade population changes.
+ */
+@Service
+public class NpvService {
+    private static final Logger logger = LoggerFactory.getLogger(NpvService.class);
+
+    // Below this many slices a fork-join task values its range directly
+    static final int SLICES_PER_TASK = 256;
+
+    @Autowired
+    private PortfolioCashflowLoader portfolioCashflowLoader;
+    @Autowired
+    private CurveService curveService;
+    @Autowired
+    private ForkJoinPool valuationPool;
+    @Autowired
+    private FxRateService fxRateService;
+
+    // Valuation cache, guarded by this
+    private PortfolioCashflows portfolio;
+    private LocalDate cachedValuationDate;
+    private double[] slicePv;
+    private long[] sliceCurveVersion;
+
+    public NpvReportDTO calculateNpv(String book, LocalDate valuationDate) {
+        return calculateNpv(book, valuationDate, null);
+    }
+
+    public synchronized NpvReportDTO calculateNpv(String book, LocalDate valuationDate, String reportingCurrency) {
+        LocalDate asOf = valuationDate != null ? valuationDate : LocalDate.now();
+        logger.info("Calculating NPV for book {} as of {}", book != null ? book : "ALL", asOf);
+
+        refreshPortfolio(asOf);
+        int revalued = revalueStaleSlices(asOf);
+        NpvReportDTO report = buildReport(book, asOf, revalued);
+        if (reportingCurrency != null) {
+            addReportingTotals(report, book, reportingCurrency);
+        }
+        return report;
+    }
+
+    /**
+     * Returns the current portfolio snapshot, reloading it only if trades have
+     * changed since it was built.
+     */
+    public synchronized PortfolioCashflows currentPortfolio() {
+        PortfolioStamp stamp = portfolioCashflowLoader.currentStamp();
+        if (portfolio == null || !portfolio.getStamp().equals(stamp)) {
+            portfolio = portfolioCashflowLoader.load();
+            slicePv = null;
+        }
+        return portfolio;
+    }
+
+    private void refreshPortfolio(LocalDate asOf) {
+        currentPortfolio();
+        if (slicePv == null || !asOf.equals(cachedValuationDate)) {
+            slicePv = new double[portfolio.sliceCount()];
+            sliceCurveVersion = new long[portfolio.sliceCount()];
+            Arrays.fill(sliceCurveVersion, -1L);
+            cachedValuationDate = asOf;
+        }
+    }
+
+    private int revalueStaleSlices(LocalDate asOf) {
+        DiscountCurve[] curves = curveService.curvesFor(portfolio);
+
+        int[] stale = new int[portfolio.sliceCount()];
+        int staleCount = 0;
+        for (int s = 0; s < stale.length; s++) {
+            DiscountCurve curve = curves[portfolio.currencyIndex(s)];
+            long version = curve != null ? curve.getVersion() : 0L;
+            if (sliceCurveVersion[s] != version) {
+                stale[staleCount++] = s;
+            }
+        }
+        if (staleCount > 0) {
+            valuationPool.invoke(new SliceValuationTask(portfolio, curves, (int) asOf.toEpochDay(),
+                    stale, 0, staleCount, slicePv, sliceCurveVersion));
+        }
+        logger.debug("Revalued {} of {} slices", staleCount, stale.length);
+        return staleCount;
+    }
+
+    private NpvReportDTO buildReport(String book, LocalDate asOf, int revalued) {
+        int bookFilter = book != null ? portfolio.bookIndexOf(book) : -1;
+        Map<Long, TradeNpvDTO> trades = new LinkedHashMap<>();
+        Map<String, Map<String, BigDecimal>> bookTotals = new TreeMap<>();
+        Map<String, Map<String, BigDecimal>> counterpartyTotals = new TreeMap<>();
+        Map<String, BigDecimal> totals = new TreeMap<>();
+        TreeSet<String> missingCurves = new TreeSet<>();
+
+        for (int s = 0; s < portfolio.sliceCount(); s++) {
+            if (book != null && portfolio.bookIndex(s) != bookFilter) {
+                continue;
+            }
+            String currency = portfolio.currency(portfolio.currencyIndex(s));
+            if (Double.isNaN(slicePv[s])) {
+                missingCurves.add(currency);
+                continue;
+            }
+            BigDecimal pv = BigDecimal.valueOf(slicePv[s]);
+            String bookName = portfolio.book(portfolio.bookIndex(s));
+            String counterparty = portfolio.counterparty(portfolio.counterpartyIndex(s));
+
+            TradeNpvDTO trade = trades.computeIfAbsent(portfolio.tradeId(s),
+                    id -> new TradeNpvDTO(id, bookName, counterparty, new TreeMap<>()));
+            trade.getNpvByCurrency().merge(currency, pv, BigDecimal::add);
+            bookTotals.computeIfAbsent(bookName, k -> new TreeMap<>()).merge(currency, pv, BigDecimal::add);
+            counterpartyTotals.computeIfAbsent(counterparty, k -> new TreeMap<>()).merge(currency, pv, BigDecimal::add);
+            totals.merge(currency, pv, BigDecimal::add);
+        }
+
+        trades.values().forEach(t -> t.getNpvByCurrency().replaceAll((k, v) -> round(v)));
+        bookTotals.values().forEach(m -> m.replaceAll((k, v) -> round(v)));
+        counterpartyTotals.values().forEach(m -> m.replaceAll((k, v) -> round(v)));
+        totals.replaceAll((k, v) -> round(v));
+
+        return new NpvReportDTO(asOf, book, new ArrayList<>(trades.values()), bookTotals, counterpartyTotals,
+                totals, null, null, null, List.copyOf(missingCurves), revalued, portfolio.sliceCount());
+    }
+
+    /**
+     * Converts slice PVs into the reporting currency with one factor per
+     * snapshot currency, resolved once for the whole portfolio.
+     */
+    private void addReportingTotals(NpvReportDTO report, String book, String reportingCurrency) {
+        FxRateSnapshot fx = fxRateService.current();
+        if (fx.indexOf(reportingCurrency) < 0) {
+            throw new IllegalArgumentException("No FX rate for reporting currency " + reportingCurrency);
+        }
+        double[] factors = fx.conversionFactors(portfolio.currencies(), reportingCurrency);
+        int bookFilter = book != null ? portfolio.bookIndexOf(book) : -1;
+        double[] byBook = new double[portfolio.bookCount()];
+        TreeSet<String> missingRates = new TreeSet<>();
+        for (int s = 0; s < portfolio.sliceCount(); s++) {
+            if ((book != null && portfolio.bookIndex(s) != bookFilter) || Double.isNaN(slicePv[s])) {
+                continue;
+            }
+            double factor = factors[portfolio.currencyIndex(s)];
+            if (Double.isNaN(factor)) {
+                missingRates.add(portfolio.currency(portfolio.currencyIndex(s)));
+                continue;
+            }
+            byBook[portfolio.bookIndex(s)] += slicePv[s] * factor;
+        }
+        if (!missingRates.isEmpty()) {
+            throw new IllegalArgumentException("No FX rate for " + missingRates);
+        }
+
+        Map<String, BigDecimal> bookTotals = new TreeMap<>();
+        double total = 0.0;
+        for (int b = 0; b < byBook.length; b++) {
+            if (bookFilter < 0 ? report.getBookTotals().containsKey(portfolio.book(b)) : b == bookFilter) {
+                bookTotals.put(portfolio.book(b), round(BigDecimal.valueOf(byBook[b])));
+                total += byBook[b];
+            }
+        }
+        report.setReportingCurrency(reportingCurrency);
+        report.setReportingTotal(round(BigDecimal.valueOf(total)));
+        report.setReportingBookTotals(bookTotals);
+    }
+
+    private static BigDecimal round(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Prices a range of slice indices, splitting in half until the range is
+     * small enough to value in a tight loop over the primitive vectors. Each
+     * slice is written by exactly one task, so the result arrays need no locking.
+     */
+    static final class SliceValuationTask extends RecursiveAction {
+        private final PortfolioCashflows cashflows;
+        private final DiscountCurve[] curves;
+        private final int valuationDay;
+        private final int[] slices;
+        private final int from;
+        private final int to;
+        private final double[] pvOut;
+        private final long[] versionOut;
+
+        SliceValuationTask(PortfolioCashflows cashflows, DiscountCurve[] curves, int valuationDay,
+                           int[] slices, int from, int to, double[] pvOut, long[] versionOut) {
+            this.cashflows = cashflows;
+            this.curves = curves;
+            this.valuationDay = valuationDay;
+            this.slices = slices;
+            this.from = from;
+            this.to = to;
+            this.pvOut = pvOut;
+            this.versionOut = versionOut;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SLICES_PER_TASK) {
+                int[] days = cashflows.valueDays();
+                double[] amounts = cashflows.amounts();
+                for (int i = from; i < to; i++) {
+                    int s = slices[i];
+                    DiscountCurve curve = curves[cashflows.currencyIndex(s)];
+                    if (curve == null) {
+                        pvOut[s] = Double.NaN;
+                        versionOut[s] = 0L;
+                    } else {
+                        pvOut[s] = curve.presentValue(days, amounts, cashflows.sliceStart(s), cashflows.sliceEnd(s), valuationDay);
+                        versionOut[s] = curve.getVersion();
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SliceValuationTask(cashflows, curves, valuationDay, slices, from, mid, pvOut, versionOut),
+                    new SliceValuationTask(cashflows, curves, valuationDay, slices, mid, to, pvOut, versionOut));
+        }
+    }
+}
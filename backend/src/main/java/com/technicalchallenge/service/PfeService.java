@@ -0,0 +1,195 @@
+package com.technicalchallenge.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.technicalchallenge.dto.CounterpartyExposureDTO;
+import com.technicalchallenge.dto.PfeJobDTO;
+import com.technicalchallenge.dto.PfeReportDTO;
+import com.technicalchallenge.dto.PfeRequestDTO;
+
+/**
+ * Runs PFE simulations as asynchronous jobs. Jobs queue on a single worker
+ * and each one fans its paths out over the valuation pool; finished jobs are
+ * kept for polling until {@link #RETAINED_JOBS} newer ones have been
+ * submitted.
+ */
+@Service
+public class PfeService {
+    private static final Logger logger = LoggerFactory.getLogger(PfeService.class);
+
+    static final int RETAINED_JOBS = 100;
+    // Upper bound on counterparties x grid dates x paths held as exposures during one run
+    static final long MAX_EXPOSURE_CELLS = 20_000_000L;
+
+    @Autowired
+    private NpvService npvService;
+    @Autowired
+    private CurveService curveService;
+    @Autowired
+    private FxRateService fxRateService;
+    @Autowired
+    private ForkJoinPool valuationPool;
+    @Autowired
+    private ExecutorService pfeJobExecutor;
+
+    private final PfeSimulationEngine engine = new PfeSimulationEngine();
+
+    // Guarded by itself; insertion order lets the oldest jobs fall out first
+    private final Map<String, PfeJobDTO> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PfeJobDTO> eldest) {
+            return size() > RETAINED_JOBS;
+        }
+    };
+
+    public PfeJobDTO submit(PfeRequestDTO request) {
+        PfeJobDTO job = new PfeJobDTO(UUID.randomUUID().toString(), "QUEUED", LocalDateTime.now(), null, null, null);
+        synchronized (jobs) {
+            jobs.put(job.getJobId(), job);
+        }
+        try {
+            pfeJobExecutor.execute(() -> runJob(job, request));
+        } catch (RejectedExecutionException e) {
+            synchronized (jobs) {
+                jobs.remove(job.getJobId());
+            }
+            throw new IllegalStateException("PFE job queue is full, try again later");
+        }
+        logger.info("Queued PFE job {} for counterparty {} with {} paths", job.getJobId(),
+                request.getCounterparty() != null ? request.getCounterparty() : "ALL", request.getPaths());
+        return copy(job);
+    }
+
+    public Optional<PfeJobDTO> getJob(String jobId) {
+        synchronized (jobs) {
+            PfeJobDTO job = jobs.get(jobId);
+            return job != null ? Optional.of(copy(job)) : Optional.empty();
+        }
+    }
+
+    private void runJob(PfeJobDTO job, PfeRequestDTO request) {
+        update(job, "RUNNING", null, null);
+        try {
+            PfeReportDTO report = simulate(request);
+            update(job, "COMPLETED", null, report);
+            logger.info("PFE job {} completed in {} ms", job.getJobId(), report.getElapsedMillis());
+        } catch (RuntimeException e) {
+            logger.error("PFE job {} failed: {}", job.getJobId(), e.getMessage(), e);
+            update(job, "FAILED", e.getMessage(), null);
+        }
+    }
+
+    /** Runs a simulation synchronously on the calling thread plus the valuation pool. */
+    public PfeReportDTO simulate(PfeRequestDTO request) {
+        long started = System.nanoTime();
+        LocalDate asOf = request.getValuationDate() != null ? request.getValuationDate() : LocalDate.now();
+        String reporting = request.getReportingCurrency() != null
+                ? request.getReportingCurrency() : fxRateService.current().getPivotCurrency();
+
+        PortfolioCashflows portfolio = npvService.currentPortfolio();
+        DiscountCurve[] curves = curveService.curvesFor(portfolio);
+        double[] fxFactors = fxRateService.current().conversionFactors(portfolio.currencies(), reporting);
+
+        int[] counterparties;
+        if (request.getCounterparty() != null) {
+            int index = portfolio.counterpartyIndexOf(request.getCounterparty());
+            if (index < 0) {
+                throw new IllegalArgumentException("No active cashflows for counterparty " + request.getCounterparty());
+            }
+            counterparties = new int[] {index};
+        } else {
+            counterparties = new int[portfolio.counterpartyCount()];
+            for (int n = 0; n < counterparties.length; n++) {
+                counterparties[n] = n;
+            }
+        }
+
+        List<LocalDate> gridDates = new ArrayList<>();
+        for (int m = 0; m <= request.getHorizonMonths(); m += request.getStepMonths()) {
+            gridDates.add(asOf.plusMonths(m));
+        }
+        int[] gridDays = gridDates.stream().mapToInt(d -> (int) (d.toEpochDay() - asOf.toEpochDay())).toArray();
+
+        long cells = (long) counterparties.length * gridDays.length * request.getPaths();
+        if (cells > MAX_EXPOSURE_CELLS) {
+            throw new IllegalArgumentException("Simulation too large: " + cells + " exposure cells, limit is "
+                    + MAX_EXPOSURE_CELLS + "; reduce paths, horizon or restrict to one counterparty");
+        }
+
+        PfeSimulationEngine.Parameters params = new PfeSimulationEngine.Parameters(request.getPaths(),
+                request.getSeed(), gridDays, request.getMeanReversion(), request.getVolatility(), request.getConfidence());
+        PfeSimulationEngine.PfeResult result = engine.run(portfolio, curves, fxFactors, (int) asOf.toEpochDay(),
+                counterparties, params, valuationPool);
+
+        List<CounterpartyExposureDTO> profiles = new ArrayList<>(counterparties.length);
+        for (int n = 0; n < counterparties.length; n++) {
+            profiles.add(toProfile(portfolio.counterparty(counterparties[n]), gridDays,
+                    result.expectedExposure(n), result.pfe(n)));
+        }
+
+        TreeSet<String> excluded = new TreeSet<>();
+        for (int c = 0; c < portfolio.currencyCount(); c++) {
+            if (curves[c] == null || Double.isNaN(fxFactors[c])) {
+                excluded.add(portfolio.currency(c));
+            }
+        }
+        return new PfeReportDTO(asOf, reporting, request.getPaths(), request.getSeed(), request.getConfidence(),
+                gridDates, profiles, List.copyOf(excluded), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static CounterpartyExposureDTO toProfile(String counterparty, int[] gridDays, double[] ee, double[] pfe) {
+        List<BigDecimal> eeValues = new ArrayList<>(ee.length);
+        List<BigDecimal> pfeValues = new ArrayList<>(pfe.length);
+        double peak = 0.0;
+        double area = 0.0;
+        for (int g = 0; g < ee.length; g++) {
+            eeValues.add(round(ee[g]));
+            pfeValues.add(round(pfe[g]));
+            peak = Math.max(peak, pfe[g]);
+            if (g > 0) {
+                area += 0.5 * (ee[g] + ee[g - 1]) * (gridDays[g] - gridDays[g - 1]);
+            }
+        }
+        int horizon = gridDays[gridDays.length - 1];
+        double epe = horizon > 0 ? area / horizon : ee[0];
+        return new CounterpartyExposureDTO(counterparty, eeValues, pfeValues, round(peak), round(epe));
+    }
+
+    private void update(PfeJobDTO job, String status, String error, PfeReportDTO report) {
+        synchronized (jobs) {
+            job.setStatus(status);
+            job.setError(error);
+            job.setReport(report);
+            if (report != null || error != null) {
+                job.setCompletedAt(LocalDateTime.now());
+            }
+        }
+    }
+
+    private static PfeJobDTO copy(PfeJobDTO job) {
+        return new PfeJobDTO(job.getJobId(), job.getStatus(), job.getSubmittedAt(), job.getCompletedAt(),
+                job.getError(), job.getReport());
+    }
+
+    private static BigDecimal round(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,337 @@
+package com.technicalchallenge.service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte Carlo potential future exposure over a {@link PortfolioCashflows}
+ * snapshot.
+ *
+ * Each currency's zero curve moves in parallel by a mean-reverting
+ * (Ornstein-Uhlenbeck) factor. On every grid date a counterparty's netting set
+ * is the sum of its remaining cashflows discounted on the shifted curves and
+ * converted at today's FX rates; exposure is the positive part.
+ *
+ * Reproducibility: paths are cut into fixed blocks of {@link #PATHS_PER_TASK}
+ * and each block gets its own generator, split from the seeded root in block
+ * order before any task runs. Every path therefore draws the same numbers
+ * and every exposure lands in the same array slot whatever the pool size, and
+ * the final reductions run sequentially in path order. The same seed gives
+ * bit-for-bit identical profiles on one thread or sixty-four.
+ *
+ * Plain class rather than a bean so the benchmark can drive it with pools of
+ * different sizes.
+ */
+public final class PfeSimulationEngine {
+
+    // Paths per RNG block and per fork-join leaf; fixed so the split never depends on the pool
+    static final int PATHS_PER_TASK = 64;
+
+    /**
+     * @param gridDays     simulation dates as day offsets from the valuation date, ascending, first may be 0
+     * @param confidence   PFE quantile, e.g. 0.95
+     */
+    public record Parameters(int paths, long seed, int[] gridDays, double meanReversion, double volatility,
+                             double confidence) {
+    }
+
+    /**
+     * @param curvesByCurrency curve per portfolio currency index, null where missing
+     * @param fxFactors        conversion into the reporting currency per portfolio currency index, NaN where missing
+     * @param counterparties   portfolio counterparty indices to simulate
+     */
+    public PfeResult run(PortfolioCashflows portfolio, DiscountCurve[] curvesByCurrency, double[] fxFactors,
+                         int valuationDay, int[] counterparties, Parameters params, ForkJoinPool pool) {
+        int grid = params.gridDays().length;
+        int currencies = portfolio.currencyCount();
+        NettingSets sets = NettingSets.build(portfolio, curvesByCurrency, fxFactors, valuationDay, counterparties,
+                params.gridDays());
+
+        // Inverse base discount factor to each grid date, per currency
+        double[] invGridDf = new double[currencies * grid];
+        for (int c = 0; c < currencies; c++) {
+            for (int g = 0; g < grid; g++) {
+                invGridDf[c * grid + g] = curvesByCurrency[c] != null
+                        ? 1.0 / curvesByCurrency[c].discountFactor(params.gridDays()[g]) : 0.0;
+            }
+        }
+
+        int blocks = (params.paths() + PATHS_PER_TASK - 1) / PATHS_PER_TASK;
+        SplittableRandom root = new SplittableRandom(params.seed());
+        SplittableRandom[] blockRandom = new SplittableRandom[blocks];
+        for (int b = 0; b < blocks; b++) {
+            blockRandom[b] = root.split();
+        }
+
+        double[][] exposures = new double[counterparties.length][grid * params.paths()];
+        if (blocks > 0) {
+            pool.invoke(new PathTask(sets, params, currencies, invGridDf, blockRandom, 0, blocks, exposures));
+        }
+        return PfeResult.reduce(counterparties, params, exposures);
+    }
+
+    /**
+     * Cashflows of each simulated counterparty, flattened and sorted by date,
+     * with the base discount factor and FX conversion already folded into the
+     * amount and flows on the same date and currency merged.
+     * {@code firstAfter[n * grid + g]} is the first cashflow of set {@code n}
+     * still outstanding after grid date {@code g}.
+     */
+    static final class NettingSets {
+        final int[] start;
+        final int[] days;
+        final int[] currency;
+        final double[] weighted;
+        final int[] firstAfter;
+
+        private NettingSets(int[] start, int[] days, int[] currency, double[] weighted, int[] firstAfter) {
+            this.start = start;
+            this.days = days;
+            this.currency = currency;
+            this.weighted = weighted;
+            this.firstAfter = firstAfter;
+        }
+
+        static NettingSets build(PortfolioCashflows portfolio, DiscountCurve[] curves, double[] fxFactors,
+                                 int valuationDay, int[] counterparties, int[] gridDays) {
+            int[] setOf = new int[portfolio.counterpartyCount()];
+            Arrays.fill(setOf, -1);
+            for (int n = 0; n < counterparties.length; n++) {
+                setOf[counterparties[n]] = n;
+            }
+
+            int[] valueDays = portfolio.valueDays();
+            double[] amounts = portfolio.amounts();
+            int[] count = new int[counterparties.length];
+            for (int s = 0; s < portfolio.sliceCount(); s++) {
+                int n = setOf[portfolio.counterpartyIndex(s)];
+                if (n >= 0 && isPriceable(portfolio.currencyIndex(s), curves, fxFactors)) {
+                    for (int i = portfolio.sliceStart(s); i < portfolio.sliceEnd(s); i++) {
+                        if (valueDays[i] > valuationDay) {
+                            count[n]++;
+                        }
+                    }
+                }
+            }
+            int[] start = new int[counterparties.length + 1];
+            for (int n = 0; n < counterparties.length; n++) {
+                start[n + 1] = start[n] + count[n];
+            }
+
+            long[] keys = new long[start[counterparties.length]];
+            int[] cursor = Arrays.copyOf(start, counterparties.length);
+            for (int s = 0; s < portfolio.sliceCount(); s++) {
+                int n = setOf[portfolio.counterpartyIndex(s)];
+                if (n >= 0 && isPriceable(portfolio.currencyIndex(s), curves, fxFactors)) {
+                    for (int i = portfolio.sliceStart(s); i < portfolio.sliceEnd(s); i++) {
+                        if (valueDays[i] > valuationDay) {
+                            // Sort key: day offset in the high bits, source index in the low bits
+                            keys[cursor[n]++] = ((long) (valueDays[i] - valuationDay) << 32) | i;
+                        }
+                    }
+                }
+            }
+
+            // Cashflows on the same date and currency share one discount factor on every path, so merge them
+            int total = keys.length;
+            int[] days = new int[total];
+            int[] currency = new int[total];
+            double[] weighted = new double[total];
+            int[] sliceOfCashflow = sliceIndexByCashflow(portfolio);
+            int[] merged = new int[counterparties.length + 1];
+            int out = 0;
+            for (int n = 0; n < counterparties.length; n++) {
+                merged[n] = out;
+                Arrays.sort(keys, start[n], start[n + 1]);
+                int dayStart = out;
+                for (int k = start[n]; k < start[n + 1]; k++) {
+                    int i = (int) keys[k];
+                    int c = portfolio.currencyIndex(sliceOfCashflow[i]);
+                    int day = (int) (keys[k] >>> 32);
+                    if (out > dayStart && days[dayStart] != day) {
+                        dayStart = out;
+                    }
+                    int target = -1;
+                    for (int j = dayStart; j < out; j++) {
+                        if (currency[j] == c) {
+                            target = j;
+                            break;
+                        }
+                    }
+                    if (target < 0) {
+                        target = out++;
+                        days[target] = day;
+                        currency[target] = c;
+                    }
+                    weighted[target] += amounts[i] * fxFactors[c] * curves[c].discountFactor(day);
+                }
+            }
+            merged[counterparties.length] = out;
+            start = merged;
+
+            int grid = gridDays.length;
+            int[] firstAfter = new int[counterparties.length * grid];
+            for (int n = 0; n < counterparties.length; n++) {
+                int k = start[n];
+                for (int g = 0; g < grid; g++) {
+                    while (k < start[n + 1] && days[k] <= gridDays[g]) {
+                        k++;
+                    }
+                    firstAfter[n * grid + g] = k;
+                }
+            }
+            return new NettingSets(start, days, currency, weighted, firstAfter);
+        }
+
+        private static boolean isPriceable(int currencyIndex, DiscountCurve[] curves, double[] fxFactors) {
+            return curves[currencyIndex] != null && !Double.isNaN(fxFactors[currencyIndex]);
+        }
+
+        private static int[] sliceIndexByCashflow(PortfolioCashflows portfolio) {
+            int[] slices = new int[portfolio.cashflowCount()];
+            for (int s = 0; s < portfolio.sliceCount(); s++) {
+                Arrays.fill(slices, portfolio.sliceStart(s), portfolio.sliceEnd(s), s);
+            }
+            return slices;
+        }
+    }
+
+    /**
+     * Simulates a range of path blocks: factor paths first, then every netting
+     * set on every grid date. Each path writes only its own exposure slots.
+     */
+    static final class PathTask extends RecursiveAction {
+        private final NettingSets sets;
+        private final Parameters params;
+        private final int currencies;
+        private final double[] invGridDf;
+        private final SplittableRandom[] blockRandom;
+        private final int fromBlock;
+        private final int toBlock;
+        private final double[][] exposures;
+
+        PathTask(NettingSets sets, Parameters params, int currencies, double[] invGridDf,
+                 SplittableRandom[] blockRandom, int fromBlock, int toBlock, double[][] exposures) {
+            this.sets = sets;
+            this.params = params;
+            this.currencies = currencies;
+            this.invGridDf = invGridDf;
+            this.blockRandom = blockRandom;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+            this.exposures = exposures;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBlock - fromBlock > 1) {
+                int mid = (fromBlock + toBlock) >>> 1;
+                invokeAll(new PathTask(sets, params, currencies, invGridDf, blockRandom, fromBlock, mid, exposures),
+                        new PathTask(sets, params, currencies, invGridDf, blockRandom, mid, toBlock, exposures));
+                return;
+            }
+            int[] gridDays = params.gridDays();
+            int grid = gridDays.length;
+            int paths = params.paths();
+
+            // Per-step decay and shock size of the OU factor
+            double[] decay = new double[grid];
+            double[] shock = new double[grid];
+            double a = params.meanReversion();
+            for (int g = 0; g < grid; g++) {
+                double dt = (gridDays[g] - (g > 0 ? gridDays[g - 1] : 0)) / DiscountCurve.DAYS_PER_YEAR;
+                decay[g] = Math.exp(-a * dt);
+                double variance = a > 0 ? (1 - Math.exp(-2 * a * dt)) / (2 * a) : dt;
+                shock[g] = params.volatility() * Math.sqrt(variance);
+            }
+
+            SplittableRandom random = blockRandom[fromBlock];
+            double[] factor = new double[currencies * grid];
+            int firstPath = fromBlock * PATHS_PER_TASK;
+            int lastPath = Math.min(paths, firstPath + PATHS_PER_TASK);
+            for (int p = firstPath; p < lastPath; p++) {
+                for (int c = 0; c < currencies; c++) {
+                    double x = 0.0;
+                    for (int g = 0; g < grid; g++) {
+                        x = x * decay[g] + shock[g] * random.nextGaussian();
+                        factor[c * grid + g] = x;
+                    }
+                }
+
+                for (int n = 0; n < exposures.length; n++) {
+                    double[] out = exposures[n];
+                    int end = sets.start[n + 1];
+                    for (int g = 0; g < grid; g++) {
+                        double t = gridDays[g] / DiscountCurve.DAYS_PER_YEAR;
+                        double mtm = 0.0;
+                        for (int k = sets.firstAfter[n * grid + g]; k < end; k++) {
+                            int c = sets.currency[k];
+                            double x = factor[c * grid + g];
+                            double tau = sets.days[k] / DiscountCurve.DAYS_PER_YEAR - t;
+                            mtm += sets.weighted[k] * invGridDf[c * grid + g] * Math.exp(-x * tau);
+                        }
+                        out[g * paths + p] = mtm > 0 ? mtm : 0.0;
+                    }
+                }
+            }
+        }
+    }
+
+    /** Expected exposure and PFE per simulated counterparty and grid date. */
+    public static final class PfeResult {
+        private final int[] counterparties;
+        private final int[] gridDays;
+        private final double[][] expectedExposure;
+        private final double[][] pfe;
+
+        private PfeResult(int[] counterparties, int[] gridDays, double[][] expectedExposure, double[][] pfe) {
+            this.counterparties = counterparties;
+            this.gridDays = gridDays;
+            this.expectedExposure = expectedExposure;
+            this.pfe = pfe;
+        }
+
+        static PfeResult reduce(int[] counterparties, Parameters params, double[][] exposures) {
+            int grid = params.gridDays().length;
+            int paths = params.paths();
+            int rank = Math.max(0, (int) Math.ceil(params.confidence() * paths) - 1);
+            double[][] ee = new double[counterparties.length][grid];
+            double[][] pfe = new double[counterparties.length][grid];
+            double[] sorted = new double[paths];
+            for (int n = 0; n < counterparties.length; n++) {
+                for (int g = 0; g < grid; g++) {
+                    double sum = 0.0;
+                    for (int p = 0; p < paths; p++) {
+                        sum += exposures[n][g * paths + p];
+                    }
+                    ee[n][g] = paths > 0 ? sum / paths : 0.0;
+                    if (paths > 0) {
+                        System.arraycopy(exposures[n], g * paths, sorted, 0, paths);
+                        Arrays.sort(sorted);
+                        pfe[n][g] = sorted[rank];
+                    }
+                }
+            }
+            return new PfeResult(counterparties, params.gridDays(), ee, pfe);
+        }
+
+        public int[] getCounterparties() {
+            return counterparties;
+        }
+
+        public int[] getGridDays() {
+            return gridDays;
+        }
+
+        /** Expected exposure of the n-th simulated counterparty, one value per grid date. */
+        public double[] expectedExposure(int n) {
+            return expectedExposure[n];
+        }
+
+        public double[] pfe(int n) {
+            return pfe[n];
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.technicalchallenge.service;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.technicalchallenge.repository.CashflowRepository;
+import com.technicalchallenge.repository.PortfolioStampView;
+import com.technicalchallenge.repository.TradeRepository;
+import com.technicalchallenge.repository.ValuationCashflowView;
+
+@Service
+public class PortfolioCashflowLoader {
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioCashflowLoader.class);
+
+    // Cancelled and terminated trades keep their cashflows for reference but carry no value
+    static final List<String> EXCLUDED_STATUSES = List.of("CANCELLED", "TERMINATED");
+
+    @Autowired
+    private CashflowRepository cashflowRepository;
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Transactional(readOnly = true)
+    public PortfolioStamp currentStamp() {
+        PortfolioStampView view = tradeRepository.findActivePortfolioStamp();
+        if (view == null) {
+            return new PortfolioStamp(0L, null);
+        }
+        return new PortfolioStamp(view.getActiveTrades() != null ? view.getActiveTrades() : 0L, view.getLastTouch());
+    }
+
+    @Transactional(readOnly = true)
+    public PortfolioCashflows load() {
+        PortfolioStamp stamp = currentStamp();
+        PortfolioCashflows.Builder builder = PortfolioCashflows.builder(stamp);
+        try (Stream<ValuationCashflowView> rows = cashflowRepository.streamValuationCashflows(EXCLUDED_STATUSES)) {
+            rows.forEach(row -> builder.add(row.getTradeId(), row.getBookName(), row.getCounterpartyName(),
+                    row.getCurrency(), row.getPayRec(), row.getValueDate(), row.getPaymentValue()));
+        }
+        PortfolioCashflows snapshot = builder.build();
+        logger.info("Loaded {} cashflows in {} trade/currency slices", snapshot.cashflowCount(), snapshot.sliceCount());
+        return snapshot;
+    }
+}
@@ -0,0 +1,229 @@
+package com.technicalchallenge.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, column-oriented snapshot of every active cashflow in the book of
+ * business, laid out as primitive arrays for valuation loops.
+ *
+ * Cashflows are grouped into slices, one per (trade, currency). Slice {@code s}
+ * owns cashflows {@code [sliceStart[s], sliceStart[s + 1])}. Amounts are signed
+ * from our side: receipts positive, payments negative.
+ */
+public final class PortfolioCashflows {
+    private final PortfolioStamp stamp;
+    private final String[] books;
+    private final String[] counterparties;
+    private final String[] currencies;
+
+    private final long[] sliceTradeId;
+    private final int[] sliceBook;
+    private final int[] sliceCounterparty;
+    private final int[] sliceCurrency;
+    private final int[] sliceStart;
+
+    private final int[] valueDays;
+    private final double[] amounts;
+
+    private PortfolioCashflows(Builder builder) {
+        this.stamp = builder.stamp;
+        this.books = builder.books.toArray(String[]::new);
+        this.counterparties = builder.counterparties.toArray(String[]::new);
+        this.currencies = builder.currencies.toArray(String[]::new);
+        int slices = builder.sliceCount;
+        this.sliceTradeId = Arrays.copyOf(builder.sliceTradeId, slices);
+        this.sliceBook = Arrays.copyOf(builder.sliceBook, slices);
+        this.sliceCounterparty = Arrays.copyOf(builder.sliceCounterparty, slices);
+        this.sliceCurrency = Arrays.copyOf(builder.sliceCurrency, slices);
+        this.sliceStart = Arrays.copyOf(builder.sliceStart, slices + 1);
+        this.sliceStart[slices] = builder.cashflowCount;
+        this.valueDays = Arrays.copyOf(builder.valueDays, builder.cashflowCount);
+        this.amounts = Arrays.copyOf(builder.amounts, builder.cashflowCount);
+    }
+
+    public static Builder builder(PortfolioStamp stamp) {
+        return new Builder(stamp);
+    }
+
+    public PortfolioStamp getStamp() {
+        return stamp;
+    }
+
+    public int sliceCount() {
+        return sliceTradeId.length;
+    }
+
+    public int cashflowCount() {
+        return amounts.length;
+    }
+
+    public long tradeId(int slice) {
+        return sliceTradeId[slice];
+    }
+
+    public int bookIndex(int slice) {
+        return sliceBook[slice];
+    }
+
+    public int counterpartyIndex(int slice) {
+        return sliceCounterparty[slice];
+    }
+
+    public int currencyIndex(int slice) {
+        return sliceCurrency[slice];
+    }
+
+    public int sliceStart(int slice) {
+        return sliceStart[slice];
+    }
+
+    public int sliceEnd(int slice) {
+        return sliceStart[slice + 1];
+    }
+
+    public String book(int bookIndex) {
+        return books[bookIndex];
+    }
+
+    public String counterparty(int counterpartyIndex) {
+        return counterparties[counterpartyIndex];
+    }
+
+    public String currency(int currencyIndex) {
+        return currencies[currencyIndex];
+    }
+
+    public int bookCount() {
+        return books.length;
+    }
+
+    public int counterpartyCount() {
+        return counterparties.length;
+    }
+
+    public int currencyCount() {
+        return currencies.length;
+    }
+
+    /** Currency codes indexed like {@link #currencyIndex(int)}. */
+    public String[] currencies() {
+        return currencies.clone();
+    }
+
+    public int bookIndexOf(String book) {
+        for (int i = 0; i < books.length; i++) {
+            if (books[i].equals(book)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int counterpartyIndexOf(String counterparty) {
+        for (int i = 0; i < counterparties.length; i++) {
+            if (counterparties[i].equals(counterparty)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Value dates as epoch days, shared with valuation loops; callers must not modify. */
+    int[] valueDays() {
+        return valueDays;
+    }
+
+    /** Signed amounts, shared with valuation loops; callers must not modify. */
+    double[] amounts() {
+        return amounts;
+    }
+
+    public static final class Builder {
+        static final String UNKNOWN = "UNKNOWN";
+
+        private final PortfolioStamp stamp;
+        private final List<String> books = new ArrayList<>();
+        private final List<String> counterparties = new ArrayList<>();
+        private final List<String> currencies = new ArrayList<>();
+        private final Map<String, Integer> bookIndex = new HashMap<>();
+        private final Map<String, Integer> counterpartyIndex = new HashMap<>();
+        private final Map<String, Integer> currencyIndex = new HashMap<>();
+
+        private long[] sliceTradeId = new long[256];
+        private int[] sliceBook = new int[256];
+        private int[] sliceCounterparty = new int[256];
+        private int[] sliceCurrency = new int[256];
+        private int[] sliceStart = new int[257];
+        private int sliceCount;
+
+        private int[] valueDays = new int[1024];
+        private double[] amounts = new double[1024];
+        private int cashflowCount;
+
+        private Builder(PortfolioStamp stamp) {
+            this.stamp = stamp;
+        }
+
+        /**
+         * Appends one cashflow. Rows must arrive ordered by trade and then
+         * currency so that each slice is contiguous.
+         */
+        public Builder add(long tradeId, String book, String counterparty, String currency,
+                           String payRec, LocalDate valueDate, BigDecimal paymentValue) {
+            if (valueDate == null) {
+                return this;
+            }
+            int ccy = intern(currency, currencies, currencyIndex);
+            if (sliceCount == 0 || sliceTradeId[sliceCount - 1] != tradeId || sliceCurrency[sliceCount - 1] != ccy) {
+                openSlice(tradeId, intern(book, books, bookIndex), intern(counterparty, counterparties, counterpartyIndex), ccy);
+            }
+            if (cashflowCount == amounts.length) {
+                valueDays = Arrays.copyOf(valueDays, cashflowCount * 2);
+                amounts = Arrays.copyOf(amounts, cashflowCount * 2);
+            }
+            double value = paymentValue != null ? paymentValue.doubleValue() : 0.0;
+            valueDays[cashflowCount] = (int) valueDate.toEpochDay();
+            amounts[cashflowCount] = CashflowDirection.sign(payRec) * value;
+            cashflowCount++;
+            return this;
+        }
+
+        public PortfolioCashflows build() {
+            return new PortfolioCashflows(this);
+        }
+
+        private void openSlice(long tradeId, int book, int counterparty, int currency) {
+            if (sliceCount == sliceTradeId.length) {
+                int capacity = sliceCount * 2;
+                sliceTradeId = Arrays.copyOf(sliceTradeId, capacity);
+                sliceBook = Arrays.copyOf(sliceBook, capacity);
+                sliceCounterparty = Arrays.copyOf(sliceCounterparty, capacity);
+                sliceCurrency = Arrays.copyOf(sliceCurrency, capacity);
+                sliceStart = Arrays.copyOf(sliceStart, capacity + 1);
+            }
+            sliceTradeId[sliceCount] = tradeId;
+            sliceBook[sliceCount] = book;
+            sliceCounterparty[sliceCount] = counterparty;
+            sliceCurrency[sliceCount] = currency;
+            sliceStart[sliceCount] = cashflowCount;
+            sliceCount++;
+        }
+
+        private static int intern(String value, List<String> values, Map<String, Integer> index) {
+            String key = value != null ? value : UNKNOWN;
+            Integer existing = index.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            values.add(key);
+            index.put(key, values.size() - 1);
+            return values.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.technicalchallenge.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Identifies the state of the active trade population a {@link PortfolioCashflows}
+ * snapshot was built from; a snapshot is stale as soon as the stamp moves.
+ */
+public record PortfolioStamp(long activeTrades, LocalDateTime lastTouch) {
+}
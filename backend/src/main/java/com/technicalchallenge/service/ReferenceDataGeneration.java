@@ -0,0 +1,26 @@
+package com.technicalchallenge.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Counts writes to reference data (books, currencies, schedules and the
+ * rest) so reads can be validated with an ETag instead of reloading the
+ * lists. The epoch is the startup time: data.sql seeds and anything written
+ * while the application was down get a fresh tag after a restart.
+ */
+@Service
+public class ReferenceDataGeneration {
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong generation = new AtomicLong();
+
+    public void bump() {
+        generation.incrementAndGet();
+    }
+
+    /** Strong ETag for every reference data response at the current generation. */
+    public String etag() {
+        return "\"ref-" + Long.toHexString(epoch) + "-" + generation.get() + "\"";
+    }
+}
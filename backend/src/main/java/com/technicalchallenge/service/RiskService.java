@@ -0,0 +1,133 @@
+package com.technicalchallenge.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.technicalchallenge.dto.BookRiskDTO;
+import com.technicalchallenge.dto.RiskReportDTO;
+
+/**
+ * DV01 and key-rate DV01 per book, by bump-and-reprice of the cashflow
+ * snapshot shared with {@link NpvService}.
+ */
+@Service
+public class RiskService {
+    private static final Logger logger = LoggerFactory.getLogger(RiskService.class);
+    private static final double BASIS_POINT = 0.0001;
+
+    @Autowired
+    private NpvService npvService;
+    @Autowired
+    private CurveService curveService;
+    @Autowired
+    private ForkJoinPool valuationPool;
+
+    private final BumpAndRepriceEngine engine = new BumpAndRepriceEngine();
+
+    public RiskReportDTO calculateDv01(String book, LocalDate valuationDate, double bumpBasisPoints) {
+        if (bumpBasisPoints <= 0) {
+            throw new IllegalArgumentException("Bump size must be positive");
+        }
+        LocalDate asOf = valuationDate != null ? valuationDate : LocalDate.now();
+        logger.info("Calculating DV01 for book {} as of {} with {}bp bump", book != null ? book : "ALL", asOf, bumpBasisPoints);
+
+        long started = System.nanoTime();
+        PortfolioCashflows portfolio = npvService.currentPortfolio();
+        DiscountCurve[] curves = curveService.curvesFor(portfolio);
+        int bookFilter = book != null ? portfolio.bookIndexOf(book) : -1;
+        if (book != null && bookFilter < 0) {
+            return new RiskReportDTO(asOf, book, bumpBasisPoints, List.of(), Map.of(), Map.of(), List.of(), 0, 0L);
+        }
+
+        BumpAndRepriceEngine.RiskResult result = engine.run(portfolio, curves, bumpBasisPoints * BASIS_POINT,
+                (int) asOf.toEpochDay(), bookFilter, valuationPool);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        RiskReportDTO report = aggregate(result, curves, book, bookFilter);
+        report.setValuationDate(asOf);
+        report.setBumpBasisPoints(bumpBasisPoints);
+        report.setElapsedMillis(elapsedMillis);
+        return report;
+    }
+
+    private RiskReportDTO aggregate(BumpAndRepriceEngine.RiskResult result, DiscountCurve[] curves, String book, int bookFilter) {
+        PortfolioCashflows portfolio = result.getPortfolio();
+        int currencies = portfolio.currencyCount();
+
+        // Accumulate per (book, currency) in primitive arrays before converting to DTOs
+        Map<Integer, double[]> pvByGroup = new TreeMap<>();
+        Map<Integer, double[]> dv01ByGroup = new TreeMap<>();
+        Map<Integer, double[]> keyRateByGroup = new TreeMap<>();
+        for (int s : result.getValuedSlices()) {
+            int c = portfolio.currencyIndex(s);
+            int group = portfolio.bookIndex(s) * currencies + c;
+            int pillars = curves[c].getTenorMonths().length;
+            pvByGroup.computeIfAbsent(group, g -> new double[1])[0] += result.basePv(s);
+            dv01ByGroup.computeIfAbsent(group, g -> new double[1])[0] += result.parallelDelta(s);
+            double[] keyRates = keyRateByGroup.computeIfAbsent(group, g -> new double[pillars]);
+            for (int p = 0; p < pillars; p++) {
+                keyRates[p] += result.keyRateDelta(s, p);
+            }
+        }
+
+        List<BookRiskDTO> books = new ArrayList<>();
+        Map<String, BigDecimal> totalDv01 = new TreeMap<>();
+        Map<String, Map<String, BigDecimal>> totalKeyRate = new TreeMap<>();
+        for (Map.Entry<Integer, double[]> entry : dv01ByGroup.entrySet()) {
+            int group = entry.getKey();
+            int c = group % currencies;
+            String currency = portfolio.currency(c);
+            int[] tenors = curves[c].getTenorMonths();
+            double[] keyRates = keyRateByGroup.get(group);
+
+            Map<String, BigDecimal> keyRateDv01 = new LinkedHashMap<>();
+            Map<String, BigDecimal> currencyKeyRate = totalKeyRate.computeIfAbsent(currency, k -> new LinkedHashMap<>());
+            for (int p = 0; p < tenors.length; p++) {
+                BigDecimal delta = round(keyRates[p]);
+                keyRateDv01.put(tenorLabel(tenors[p]), delta);
+                currencyKeyRate.merge(tenorLabel(tenors[p]), delta, BigDecimal::add);
+            }
+            BigDecimal dv01 = round(entry.getValue()[0]);
+            totalDv01.merge(currency, dv01, BigDecimal::add);
+            books.add(new BookRiskDTO(portfolio.book(group / currencies), currency,
+                    round(pvByGroup.get(group)[0]), dv01, keyRateDv01));
+        }
+
+        TreeSet<String> missingCurves = new TreeSet<>();
+        for (int s = 0; s < portfolio.sliceCount(); s++) {
+            if ((bookFilter < 0 || portfolio.bookIndex(s) == bookFilter) && curves[portfolio.currencyIndex(s)] == null) {
+                missingCurves.add(portfolio.currency(portfolio.currencyIndex(s)));
+            }
+        }
+
+        int scenarios = 0;
+        for (DiscountCurve curve : curves) {
+            if (curve != null) {
+                scenarios += curve.getTenorMonths().length + 2;
+            }
+        }
+        return new RiskReportDTO(null, book, null, books, totalDv01, totalKeyRate,
+                List.copyOf(missingCurves), scenarios, null);
+    }
+
+    static String tenorLabel(int months) {
+        return months % 12 == 0 ? (months / 12) + "Y" : months + "M";
+    }
+
+    private static BigDecimal round(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
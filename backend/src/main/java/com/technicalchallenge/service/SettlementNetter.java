@@ -0,0 +1,94 @@
+package com.technicalchallenge.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import com.technicalchallenge.dto.SettlementInstructionDTO;
+import com.technicalchallenge.repository.SettlementCashflowView;
+
+/**
+ * Single-pass netting over gross cashflows that arrive ordered by
+ * (counterparty, currency, value date). Only the running totals of the
+ * current group are held; an instruction is emitted as soon as the key
+ * changes, so memory does not grow with the number of gross cashflows.
+ *
+ * Not thread-safe: one instance per netting run.
+ */
+public final class SettlementNetter implements Consumer<SettlementCashflowView> {
+    public static final String NO_PAYMENT = "NONE";
+
+    private final Consumer<SettlementInstructionDTO> sink;
+
+    private boolean open;
+    private String counterparty;
+    private String currency;
+    private LocalDate valueDate;
+    private BigDecimal pay = BigDecimal.ZERO;
+    private BigDecimal receive = BigDecimal.ZERO;
+    private long groupCount;
+
+    private long grossCount;
+    private int instructionCount;
+
+    public SettlementNetter(Consumer<SettlementInstructionDTO> sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public void accept(SettlementCashflowView cashflow) {
+        if (cashflow.getPaymentValue() == null) {
+            return;
+        }
+        if (!open || !Objects.equals(counterparty, cashflow.getCounterpartyName())
+                || !Objects.equals(currency, cashflow.getCurrency())
+                || !Objects.equals(valueDate, cashflow.getValueDate())) {
+            emit();
+            open = true;
+            counterparty = cashflow.getCounterpartyName();
+            currency = cashflow.getCurrency();
+            valueDate = cashflow.getValueDate();
+        }
+        if (CashflowDirection.sign(cashflow.getPayRec()) < 0) {
+            pay = pay.add(cashflow.getPaymentValue());
+        } else {
+            receive = receive.add(cashflow.getPaymentValue());
+        }
+        groupCount++;
+        grossCount++;
+    }
+
+    /** Emits the last open group. Call once after the final cashflow. */
+    public void finish() {
+        emit();
+    }
+
+    public long getGrossCount() {
+        return grossCount;
+    }
+
+    public int getInstructionCount() {
+        return instructionCount;
+    }
+
+    private void emit() {
+        if (!open) {
+            return;
+        }
+        BigDecimal net = receive.subtract(pay);
+        String direction = switch (net.signum()) {
+            case 1 -> CashflowDirection.RECEIVE;
+            case -1 -> CashflowDirection.PAY;
+            default -> NO_PAYMENT;
+        };
+        sink.accept(new SettlementInstructionDTO(counterparty, currency, valueDate, direction, net.abs(),
+                pay, receive, groupCount));
+        instructionCount++;
+
+        open = false;
+        pay = BigDecimal.ZERO;
+        receive = BigDecimal.ZERO;
+        groupCount = 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.technicalchallenge.service;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * End-of-day batch that nets the current value date and stores the
+ * instructions. Runs on {@code settlement.netting.cron}; disabled by default.
+ */
+@Component
+public class SettlementNettingJob {
+    private static final Logger logger = LoggerFactory.getLogger(SettlementNettingJob.class);
+
+    @Autowired
+    private SettlementNettingService settlementNettingService;
+
+    @Scheduled(cron = "${settlement.netting.cron:-}")
+    public void run() {
+        LocalDate today = LocalDate.now();
+        logger.info("Starting scheduled settlement netting for {}", today);
+        try {
+            settlementNettingService.runNettingJob(today);
+        } catch (RuntimeException e) {
+            logger.error("Settlement netting job failed for {}: {}", today, e.getMessage(), e);
+        }
+    }
+}
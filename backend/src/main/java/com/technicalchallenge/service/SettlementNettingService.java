@@ -0,0 +1,128 @@
+package com.technicalchallenge.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.technicalchallenge.dto.SettlementInstructionDTO;
+import com.technicalchallenge.dto.SettlementNettingReportDTO;
+import com.technicalchallenge.model.SettlementInstruction;
+import com.technicalchallenge.repository.CashflowRepository;
+import com.technicalchallenge.repository.SettlementCashflowView;
+import com.technicalchallenge.repository.SettlementInstructionRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Nets gross cashflows into one settlement instruction per counterparty,
+ * currency and value date. The gross rows are streamed from the database in
+ * netting order, so a value date with millions of cashflows is processed
+ * without holding them in memory.
+ */
+@Service
+public class SettlementNettingService {
+    private static final Logger logger = LoggerFactory.getLogger(SettlementNettingService.class);
+
+    // Instructions written per flush when the batch job persists a run
+    static final int WRITE_CHUNK_SIZE = 500;
+
+    @Autowired
+    private CashflowRepository cashflowRepository;
+    @Autowired
+    private SettlementInstructionRepository settlementInstructionRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public SettlementNettingReportDTO netForDate(LocalDate valueDate) {
+        LocalDate date = valueDate != null ? valueDate : LocalDate.now();
+        long started = System.nanoTime();
+        List<SettlementInstructionDTO> instructions = new ArrayList<>();
+        SettlementNetter netter = new SettlementNetter(instructions::add);
+        stream(date, netter);
+
+        logger.info("Netted {} gross cashflows into {} instructions for {}", netter.getGrossCount(),
+                netter.getInstructionCount(), date);
+        return new SettlementNettingReportDTO(date, netter.getGrossCount(), netter.getInstructionCount(),
+                (System.nanoTime() - started) / 1_000_000, instructions);
+    }
+
+    /**
+     * Batch variant: replaces the stored instructions for the value date,
+     * writing them in chunks as the stream is netted.
+     */
+    @Transactional
+    public SettlementNettingReportDTO runNettingJob(LocalDate valueDate) {
+        LocalDate date = valueDate != null ? valueDate : LocalDate.now();
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        int superseded = settlementInstructionRepository.deactivateByValueDate(date, now);
+
+        List<SettlementInstruction> chunk = new ArrayList<>(WRITE_CHUNK_SIZE);
+        SettlementNetter netter = new SettlementNetter(dto -> {
+            chunk.add(toEntity(dto, now));
+            if (chunk.size() == WRITE_CHUNK_SIZE) {
+                writeChunk(chunk);
+            }
+        });
+        stream(date, netter);
+        writeChunk(chunk);
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        logger.info("Settlement netting job for {}: {} gross cashflows, {} instructions written, {} superseded in {} ms",
+                date, netter.getGrossCount(), netter.getInstructionCount(), superseded, elapsedMillis);
+        return new SettlementNettingReportDTO(date, netter.getGrossCount(), netter.getInstructionCount(), elapsedMillis, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SettlementInstructionDTO> getInstructions(LocalDate valueDate) {
+        return settlementInstructionRepository.findActiveByValueDate(valueDate).stream()
+                .map(si -> new SettlementInstructionDTO(si.getCounterpartyName(), si.getCurrency(), si.getValueDate(),
+                        si.getDirection(), si.getNetAmount(), si.getPayAmount(), si.getReceiveAmount(),
+                        si.getGrossCashflowCount() != null ? si.getGrossCashflowCount() : 0L))
+                .toList();
+    }
+
+    private void stream(LocalDate date, SettlementNetter netter) {
+        try (Stream<SettlementCashflowView> rows = cashflowRepository.streamSettlementCashflows(date, date,
+                PortfolioCashflowLoader.EXCLUDED_STATUSES)) {
+            rows.forEach(netter);
+        }
+        netter.finish();
+    }
+
+    private void writeChunk(List<SettlementInstruction> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        settlementInstructionRepository.saveAll(chunk);
+        // Detach written rows so the persistence context stays bounded for large runs
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    private static SettlementInstruction toEntity(SettlementInstructionDTO dto, LocalDateTime now) {
+        SettlementInstruction instruction = new SettlementInstruction();
+        instruction.setCounterpartyName(dto.getCounterpartyName());
+        instruction.setCurrency(dto.getCurrency());
+        instruction.setValueDate(dto.getValueDate());
+        instruction.setDirection(dto.getDirection());
+        instruction.setNetAmount(dto.getNetAmount());
+        instruction.setPayAmount(dto.getPayAmount());
+        instruction.setReceiveAmount(dto.getReceiveAmount());
+        instruction.setGrossCashflowCount(dto.getGrossCashflowCount());
+        instruction.setActive(true);
+        instruction.setCreatedDate(now);
+        return instruction;
+    }
+}
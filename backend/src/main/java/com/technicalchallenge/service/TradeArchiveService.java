@@ -0,0 +1,118 @@
+package com.technicalchallenge.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.technicalchallenge.repository.CashflowHistoryRepository;
+import com.technicalchallenge.repository.LegScheduleRepository;
+import com.technicalchallenge.repository.TradeHistoryRepository;
+import com.technicalchallenge.repository.TradeRepository;
+
+/**
+ * Moves trade versions deactivated more than {@code trades.archive.after-days}
+ * ago, with their legs, into trade_history and trade_leg_history, so the hot
+ * tables only grow with live trades.
+ *
+ * Each chunk of versions moves in its own transaction. Cashflows are shared
+ * through schedules, so they follow only once no live leg uses their
+ * schedule; the schedule row stays and is marked archived so new bookings
+ * generate a fresh one instead of reusing it.
+ */
+@Service
+public class TradeArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(TradeArchiveService.class);
+
+    @Autowired
+    private TradeRepository tradeRepository;
+    @Autowired
+    private TradeHistoryRepository tradeHistoryRepository;
+    @Autowired
+    private CashflowHistoryRepository cashflowHistoryRepository;
+    @Autowired
+    private LegScheduleRepository legScheduleRepository;
+
+    @Value("${trades.archive.after-days:90}")
+    private int afterDays = 90;
+    @Value("${trades.archive.chunk-size:500}")
+    private int chunkSize = 500;
+
+    private final TransactionTemplate chunkTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /** Counts from one chunk. */
+    public record ChunkResult(int trades, int legs, int cashflows) {
+    }
+
+    public TradeArchiveService(PlatformTransactionManager transactionManager) {
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /** Archives chunk after chunk until no version old enough is left. */
+    @Scheduled(fixedDelayString = "${trades.archive.interval:PT1H}", initialDelayString = "${trades.archive.interval:PT1H}")
+    public void archive() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+            long started = System.nanoTime();
+            int trades = 0;
+            int legs = 0;
+            int cashflows = 0;
+            ChunkResult chunk;
+            do {
+                chunk = chunkTransaction.execute(status -> archiveChunk(cutoff));
+                trades += chunk.trades();
+                legs += chunk.legs();
+                cashflows += chunk.cashflows();
+            } while (chunk.trades() == chunkSize);
+            if (trades > 0) {
+                logger.info("Archived {} trade versions, {} legs and {} cashflows deactivated before {} in {} ms",
+                        trades, legs, cashflows, cutoff, (System.nanoTime() - started) / 1_000_000);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    ChunkResult archiveChunk(LocalDateTime cutoff) {
+        List<Long> ids = tradeRepository.findArchivableIds(cutoff, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return new ChunkResult(0, 0, 0);
+        }
+        List<Long> scheduleIds = tradeHistoryRepository.findLegScheduleIds(ids);
+
+        tradeHistoryRepository.copyTrades(ids, LocalDateTime.now());
+        int legs = tradeHistoryRepository.copyLegs(ids);
+        tradeHistoryRepository.detachCashflowsFromLegs(ids);
+        tradeHistoryRepository.deleteLegs(ids);
+        int trades = tradeHistoryRepository.deleteTrades(ids);
+
+        int cashflows = 0;
+        if (!scheduleIds.isEmpty()) {
+            List<Long> unused = new ArrayList<>(legScheduleRepository.lockUnusedSchedules(scheduleIds));
+            if (!unused.isEmpty()) {
+                unused.removeAll(legScheduleRepository.findUsedScheduleIds(unused));
+            }
+            if (!unused.isEmpty()) {
+                legScheduleRepository.markArchived(unused);
+                cashflows = cashflowHistoryRepository.copyCashflows(unused);
+                cashflowHistoryRepository.deleteCashflows(unused);
+            }
+        }
+        logger.debug("Archived chunk of {} trade versions, {} legs, {} cashflows", trades, legs, cashflows);
+        return new ChunkResult(trades, legs, cashflows);
+    }
+}
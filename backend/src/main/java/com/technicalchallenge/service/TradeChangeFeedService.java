@@ -0,0 +1,161 @@
+package com.technicalchallenge.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.technicalchallenge.dto.TradeChangesDTO;
+import com.technicalchallenge.event.TradeEvent;
+import com.technicalchallenge.event.TradeEventHandler;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeHead;
+import com.technicalchallenge.repository.TradeHeadRepository;
+import com.technicalchallenge.repository.TradeRepository;
+
+/**
+ * Incremental sync for the blotter: the current version of every trade
+ * booked, amended or changed in status since a token.
+ *
+ * As a trade event consumer it stamps the trade's head with the next change
+ * sequence. Events arrive after commit and in commit order, and each stamp
+ * commits before the next is taken, so the stamped heads are always a
+ * prefix of the sequence: a reader never sees sequence n + 1 and later
+ * finds n. Heads without a stamp, after a rebuild or from trades booked
+ * before startup, are stamped at startup and periodically.
+ *
+ * Sequences are only ordered within one run, so tokens carry the run they
+ * were issued by; a token from an earlier run gets every trade again with
+ * {@code reset} set.
+ */
+@Service
+public class TradeChangeFeedService implements TradeEventHandler {
+    private static final Logger logger = LoggerFactory.getLogger(TradeChangeFeedService.class);
+
+    static final int DEFAULT_LIMIT = 500;
+    static final int MAX_LIMIT = 5000;
+
+    @Autowired
+    private TradeHeadRepository tradeHeadRepository;
+    @Autowired
+    private TradeRepository tradeRepository;
+    @Autowired
+    private TradeMapper tradeMapper;
+
+    private final TransactionTemplate stampTransaction;
+    private final long epoch = System.currentTimeMillis();
+
+    // Guarded by this, which is held until each stamp commits
+    private long lastSequence = -1;
+
+    public TradeChangeFeedService(PlatformTransactionManager transactionManager) {
+        this.stampTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public String name() {
+        return "change-feed";
+    }
+
+    @Override
+    public void onEvent(TradeEvent event, boolean endOfBatch) {
+        stamp(List.of(event.getTradeId()));
+    }
+
+    /** Stamps heads that have no change sequence yet. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @Scheduled(fixedDelayString = "${trades.changes.backfill-interval:PT1M}", initialDelayString = "${trades.changes.backfill-interval:PT1M}")
+    public void stampUnstampedHeads() {
+        List<Long> tradeIds = tradeHeadRepository.findUnstampedTradeIds();
+        if (!tradeIds.isEmpty()) {
+            stamp(tradeIds);
+            logger.info("Stamped {} trade heads for the change feed", tradeIds.size());
+        }
+    }
+
+    /**
+     * Trades changed after {@code token}, oldest change first, at most
+     * {@code limit} of them. A null token starts from the beginning.
+     * Throws {@link IllegalArgumentException} if the token is not one this
+     * service issued.
+     */
+    @Transactional(readOnly = true)
+    public TradeChangesDTO getChanges(String token, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        long since = 0;
+        boolean reset = false;
+        if (token != null && !token.isBlank()) {
+            long[] decoded = decode(token);
+            if (decoded[0] == epoch) {
+                since = decoded[1];
+            } else {
+                reset = true;
+            }
+        }
+
+        List<TradeHead> heads = tradeHeadRepository.findByChangeSequenceGreaterThanOrderByChangeSequenceAsc(
+                since, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = heads.size() > pageSize;
+        if (hasMore) {
+            heads = heads.subList(0, pageSize);
+        }
+        Map<Long, Trade> rows = tradeRepository.findAllById(heads.stream().map(TradeHead::getTradeRowId).toList())
+                .stream().collect(Collectors.toMap(Trade::getId, Function.identity()));
+        List<Trade> trades = new ArrayList<>(heads.size());
+        for (TradeHead head : heads) {
+            Trade trade = rows.get(head.getTradeRowId());
+            if (trade != null) {
+                trades.add(trade);
+            }
+        }
+        long next = heads.isEmpty() ? since : heads.get(heads.size() - 1).getChangeSequence();
+        return new TradeChangesDTO(encode(next), reset, hasMore, trades.stream().map(tradeMapper::toDto).toList());
+    }
+
+    private synchronized void stamp(List<Long> tradeIds) {
+        stampTransaction.executeWithoutResult(status -> {
+            if (lastSequence < 0) {
+                lastSequence = tradeHeadRepository.findMaxChangeSequence().orElse(0L);
+            }
+            for (Long tradeId : tradeIds) {
+                tradeHeadRepository.stampChange(tradeId, ++lastSequence);
+            }
+        });
+    }
+
+    private String encode(long sequence) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((epoch + "." + sequence).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long[] decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\.");
+            if (parts.length == 2) {
+                return new long[] { Long.parseLong(parts[0]), Long.parseLong(parts[1]) };
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64, or not numbers
+        }
+        throw new IllegalArgumentException("Invalid change token: " + token);
+    }
+}
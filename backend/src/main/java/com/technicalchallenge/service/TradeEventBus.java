@@ -0,0 +1,91 @@
+package com.technicalchallenge.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.technicalchallenge.event.TradeEventHandler;
+import com.technicalchallenge.event.TradeEventRingBuffer;
+import com.technicalchallenge.event.TradeLifecycleEvent;
+import com.technicalchallenge.event.WaitStrategy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Feeds committed trade lifecycle events onto a {@link TradeEventRingBuffer}
+ * and runs every {@link TradeEventHandler} bean as a consumer of it.
+ *
+ * Events go on the ring only after the booking transaction commits, so
+ * consumers never see a trade that was rolled back. Each consumer's lag, the
+ * published events it has not processed yet, is exported as the
+ * {@code trades.events.consumer.lag} gauge tagged with the consumer name.
+ */
+@Service
+public class TradeEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(TradeEventBus.class);
+
+    @Autowired(required = false)
+    private List<TradeEventHandler> handlers = List.of();
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${trades.events.ring-size:8192}")
+    private int ringSize = 8192;
+    @Value("${trades.events.wait-strategy:BLOCKING}")
+    private String waitStrategy = "BLOCKING";
+
+    private TradeEventRingBuffer ring;
+    private final List<TradeEventRingBuffer.Subscription> subscriptions = new ArrayList<>();
+
+    @PostConstruct
+    public void start() {
+        ring = new TradeEventRingBuffer(ringSize, WaitStrategy.named(waitStrategy));
+        Gauge.builder("trades.events.published", ring, r -> r.cursor() + 1)
+                .description("Trade events published since startup")
+                .register(meterRegistry);
+        for (TradeEventHandler handler : handlers) {
+            attach(handler);
+        }
+        logger.info("Started trade event ring of {} slots with {} wait strategy and {} consumers",
+                ringSize, waitStrategy, subscriptions.size());
+    }
+
+    /** Attaches a consumer that sees every event published from now on. */
+    public synchronized TradeEventRingBuffer.Subscription attach(TradeEventHandler handler) {
+        TradeEventRingBuffer.Subscription subscription = ring.subscribe(handler.name(), handler);
+        Gauge.builder("trades.events.consumer.lag", subscription, TradeEventRingBuffer.Subscription::lag)
+                .description("Published trade events the consumer has not processed yet")
+                .tag("consumer", handler.name())
+                .register(meterRegistry);
+        Thread thread = new Thread(subscription, "trade-events-" + handler.name());
+        thread.setDaemon(true);
+        thread.start();
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTradeEvent(TradeLifecycleEvent event) {
+        long sequence = ring.publish(event);
+        logger.debug("Published {} of trade {} version {} as event {}", event.type(), event.tradeId(), event.version(), sequence);
+    }
+
+    public long publishedEvents() {
+        return ring.cursor() + 1;
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        subscriptions.forEach(TradeEventRingBuffer.Subscription::halt);
+        subscriptions.clear();
+    }
+}
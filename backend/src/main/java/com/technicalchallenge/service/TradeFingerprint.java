@@ -0,0 +1,127 @@
+package com.technicalchallenge.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeLegDTO;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+
+/**
+ * Canonical economic fingerprint of a trade: counterparty, book, trade,
+ * start and maturity dates, UTI and, per leg, notional, rate, currency and
+ * schedule. Identifiers, status, users and timestamps are left out, so a
+ * replay of the same economics under a new request id gets the same
+ * fingerprint.
+ *
+ * Legs are sorted before hashing and numbers are written without trailing
+ * zeros, so leg order and 1000000 vs 1000000.00 make no difference. The DTO
+ * and entity forms produce the same fingerprint for the same trade.
+ */
+public final class TradeFingerprint {
+    private static final char FIELD = '|';
+    private static final char LEG = ';';
+
+    private final byte[] digest;
+
+    private TradeFingerprint(byte[] digest) {
+        this.digest = digest;
+    }
+
+    public static TradeFingerprint of(TradeDTO trade) {
+        List<String> legs = new ArrayList<>();
+        if (trade.getTradeLegs() != null) {
+            for (TradeLegDTO leg : trade.getTradeLegs()) {
+                legs.add(leg(leg.getNotional(), leg.getRate(), leg.getCurrency(), leg.getCalculationPeriodSchedule()));
+            }
+        }
+        return hash(trade.getCounterpartyName(), trade.getBookName(), trade.getTradeDate(), trade.getTradeStartDate(),
+                trade.getTradeMaturityDate(), trade.getUtiCode(), legs);
+    }
+
+    public static TradeFingerprint of(Trade trade) {
+        List<String> legs = new ArrayList<>();
+        if (trade.getTradeLegs() != null) {
+            for (TradeLeg leg : trade.getTradeLegs()) {
+                legs.add(leg(leg.getNotional(), leg.getRate(),
+                        leg.getCurrency() != null ? leg.getCurrency().getCurrency() : null,
+                        leg.getCalculationPeriodSchedule() != null ? leg.getCalculationPeriodSchedule().getSchedule() : null));
+            }
+        }
+        return hash(trade.getCounterparty() != null ? trade.getCounterparty().getName() : null,
+                trade.getBook() != null ? trade.getBook().getBookName() : null,
+                trade.getTradeDate(), trade.getTradeStartDate(), trade.getTradeMaturityDate(), trade.getUtiCode(), legs);
+    }
+
+    public static TradeFingerprint fromHex(String hex) {
+        return new TradeFingerprint(HexFormat.of().parseHex(hex));
+    }
+
+    /** First eight digest bytes, for Bloom filter indexing. */
+    long high() {
+        return longAt(0);
+    }
+
+    /** Second eight digest bytes, for Bloom filter indexing. */
+    long low() {
+        return longAt(8);
+    }
+
+    public String toHex() {
+        return HexFormat.of().formatHex(digest);
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+
+    private long longAt(int offset) {
+        long value = 0L;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (digest[i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static String leg(BigDecimal notional, Double rate, String currency, String schedule) {
+        return number(notional) + FIELD + (rate != null ? number(BigDecimal.valueOf(rate)) : "")
+                + FIELD + text(currency) + FIELD + text(schedule);
+    }
+
+    private static TradeFingerprint hash(String counterparty, String book, LocalDate tradeDate, LocalDate startDate,
+                                         LocalDate maturityDate, String utiCode, List<String> legs) {
+        legs.sort(null);
+        StringBuilder canonical = new StringBuilder(128)
+                .append(text(counterparty)).append(FIELD)
+                .append(text(book)).append(FIELD)
+                .append(tradeDate).append(FIELD)
+                .append(startDate).append(FIELD)
+                .append(maturityDate).append(FIELD)
+                .append(text(utiCode));
+        for (String leg : legs) {
+            canonical.append(LEG).append(leg);
+        }
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return new TradeFingerprint(sha256.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String number(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : "";
+    }
+
+    private static String text(String value) {
+        return value != null ? value.trim() : "";
+    }
+}
@@ -0,0 +1,273 @@
+package com.technicalchallenge.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.technicalchallenge.dto.GridFilterDTO;
+import com.technicalchallenge.dto.GridRowsRequestDTO;
+
+/**
+ * Translates an AG Grid server-side row model request into one JPQL query
+ * over the active trades joined to their legs.
+ *
+ * While there are row group columns below the expanded group keys, the
+ * query returns one row per value of the next group column with the
+ * requested aggregations, grouped in SQL. At the leaf level it returns one
+ * row per trade with every blotter column and the trade's notional summed
+ * over its legs. Only the columns registered below can be grouped, sorted
+ * or filtered on, so request fields never reach the query text. Blocks
+ * larger than the configured maximum are rejected rather than served as a
+ * whole-blotter export.
+ */
+final class TradeGridQuery {
+
+    /** A trade column; {@code type} is what filter values and group keys are converted to. */
+    record Dimension(String expression, Class<?> type) {
+    }
+
+    static final Map<String, Dimension> DIMENSIONS = new LinkedHashMap<>();
+    static {
+        DIMENSIONS.put("tradeId", new Dimension("t.tradeId", Long.class));
+        DIMENSIONS.put("version", new Dimension("t.version", Integer.class));
+        DIMENSIONS.put("tradeDate", new Dimension("t.tradeDate", LocalDate.class));
+        DIMENSIONS.put("tradeStartDate", new Dimension("t.tradeStartDate", LocalDate.class));
+        DIMENSIONS.put("tradeMaturityDate", new Dimension("t.tradeMaturityDate", LocalDate.class));
+        DIMENSIONS.put("tradeExecutionDate", new Dimension("t.tradeExecutionDate", LocalDate.class));
+        DIMENSIONS.put("utiCode", new Dimension("t.utiCode", String.class));
+        DIMENSIONS.put("bookName", new Dimension("b.bookName", String.class));
+        DIMENSIONS.put("counterpartyName", new Dimension("c.name", String.class));
+        DIMENSIONS.put("traderUserName", new Dimension("CONCAT(u.firstName, ' ', u.lastName)", String.class));
+        DIMENSIONS.put("tradeType", new Dimension("ty.tradeType", String.class));
+        DIMENSIONS.put("tradeSubType", new Dimension("st.tradeSubType", String.class));
+        DIMENSIONS.put("tradeStatus", new Dimension("s.tradeStatus", String.class));
+    }
+
+    // Leg column aggregated by group rows, and the trade's own value at the leaf level
+    static final String NOTIONAL = "notional";
+    private static final String LEG_NOTIONAL = "l.notional";
+
+    static final String CHILD_COUNT = "childCount";
+
+    private static final String FROM = " FROM Trade t LEFT JOIN t.tradeLegs l LEFT JOIN t.book b " +
+            "LEFT JOIN t.counterparty c LEFT JOIN t.traderUser u LEFT JOIN t.tradeType ty " +
+            "LEFT JOIN t.tradeSubType st LEFT JOIN t.tradeStatus s WHERE t.active = true";
+
+    final String jpql;
+    final Map<String, Object> parameters = new LinkedHashMap<>();
+    // Column id of each select alias c0, c1, ...
+    final List<String> columns = new ArrayList<>();
+    final int firstResult;
+    // One more than the block so the caller can tell whether it is the last
+    final int maxResults;
+
+    TradeGridQuery(GridRowsRequestDTO request, int maxBlockSize) {
+        int startRow = Math.max(0, request.getStartRow());
+        // long so an endRow near Integer.MAX_VALUE cannot wrap round to a small block
+        long blockSize = Math.max(1L, (long) request.getEndRow() - startRow);
+        if (blockSize > maxBlockSize) {
+            throw new IllegalArgumentException("Blocks are limited to " + maxBlockSize + " rows, requested " + blockSize);
+        }
+        this.firstResult = startRow;
+        this.maxResults = (int) blockSize + 1;
+
+        List<String> select = new ArrayList<>();
+        StringBuilder where = new StringBuilder(FROM);
+        List<GridRowsRequestDTO.Column> groups = request.getRowGroupCols() != null ? request.getRowGroupCols() : List.of();
+        List<String> keys = request.getGroupKeys() != null ? request.getGroupKeys() : List.of();
+        if (keys.size() > groups.size()) {
+            throw new IllegalArgumentException("More group keys than row group columns");
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            Dimension dimension = dimension(groups.get(i).getField());
+            String key = keys.get(i);
+            if (key == null || key.isEmpty()) {
+                where.append(" AND ").append(dimension.expression()).append(" IS NULL");
+            } else {
+                where.append(" AND ").append(dimension.expression()).append(" = ").append(bind(convert(dimension.type(), key)));
+            }
+        }
+        if (request.getFilterModel() != null) {
+            request.getFilterModel().forEach((colId, filter) -> where.append(" AND ").append(filter(colId, filter)));
+        }
+
+        List<String> orderBy = new ArrayList<>();
+        String groupBy;
+        if (keys.size() < groups.size()) {
+            String groupId = groups.get(keys.size()).getField();
+            String groupExpression = dimension(groupId).expression();
+            add(select, groupId, groupExpression);
+            add(select, CHILD_COUNT, "COUNT(DISTINCT t.id)");
+            for (GridRowsRequestDTO.Column value : request.getValueCols() != null ? request.getValueCols() : List.<GridRowsRequestDTO.Column>of()) {
+                add(select, value.getId() != null ? value.getId() : value.getField(), aggregate(value));
+            }
+            groupBy = " GROUP BY " + groupExpression;
+            sort(request, select, orderBy);
+            orderBy.add(groupExpression);
+        } else {
+            List<String> grouped = new ArrayList<>();
+            grouped.add("t.id");
+            DIMENSIONS.forEach((id, dimension) -> {
+                add(select, id, dimension.expression());
+                grouped.add(dimension.expression());
+            });
+            add(select, NOTIONAL, "SUM(" + LEG_NOTIONAL + ")");
+            groupBy = " GROUP BY " + String.join(", ", grouped);
+            sort(request, select, orderBy);
+            orderBy.add("t.tradeId");
+        }
+        this.jpql = "SELECT " + String.join(", ", select) + where + groupBy + " ORDER BY " + String.join(", ", orderBy);
+    }
+
+    private void add(List<String> select, String columnId, String expression) {
+        select.add(expression + " AS c" + columns.size());
+        columns.add(columnId);
+    }
+
+    // Sorts only on columns this level returns
+    private void sort(GridRowsRequestDTO request, List<String> select, List<String> orderBy) {
+        if (request.getSortModel() == null) {
+            return;
+        }
+        for (GridRowsRequestDTO.Sort sort : request.getSortModel()) {
+            int column = columns.indexOf(sort.getColId());
+            if (column < 0) {
+                continue;
+            }
+            String expression = select.get(column).substring(0, select.get(column).lastIndexOf(" AS "));
+            orderBy.add(expression + ("desc".equalsIgnoreCase(sort.getSort()) ? " DESC" : " ASC"));
+        }
+    }
+
+    private static String aggregate(GridRowsRequestDTO.Column value) {
+        if (!NOTIONAL.equals(value.getField())) {
+            throw new IllegalArgumentException("Cannot aggregate column: " + value.getField());
+        }
+        String function = value.getAggFunc() != null ? value.getAggFunc().toLowerCase(Locale.ROOT) : "sum";
+        return switch (function) {
+            case "sum", "avg", "min", "max" -> function.toUpperCase(Locale.ROOT) + "(" + LEG_NOTIONAL + ")";
+            case "count" -> "COUNT(DISTINCT t.id)";
+            default -> throw new IllegalArgumentException("Unsupported aggregation: " + value.getAggFunc());
+        };
+    }
+
+    private String filter(String colId, GridFilterDTO filter) {
+        if (filter.getConditions() != null && !filter.getConditions().isEmpty()) {
+            String operator = "OR".equalsIgnoreCase(filter.getOperator()) ? " OR " : " AND ";
+            List<String> conditions = new ArrayList<>();
+            for (GridFilterDTO condition : filter.getConditions()) {
+                conditions.add(filter(colId, condition));
+            }
+            return "(" + String.join(operator, conditions) + ")";
+        }
+        if (NOTIONAL.equals(colId)) {
+            // Compared with the trade's notional over all legs, as shown in the leaf rows
+            String having = condition("SUM(l2.notional)", BigDecimal.class, filter);
+            return "t.id IN (SELECT l2.trade.id FROM TradeLeg l2 GROUP BY l2.trade.id HAVING " + having + ")";
+        }
+        Dimension dimension = dimension(colId);
+        return condition(dimension.expression(), dimension.type(), filter);
+    }
+
+    private String condition(String expression, Class<?> type, GridFilterDTO filter) {
+        if ("set".equals(filter.getFilterType())) {
+            List<Object> values = new ArrayList<>();
+            boolean includeNull = false;
+            for (String value : filter.getValues() != null ? filter.getValues() : List.<String>of()) {
+                if (value == null) {
+                    includeNull = true;
+                } else {
+                    values.add(convert(type, value));
+                }
+            }
+            String in = values.isEmpty() ? "1 = 0" : expression + " IN " + bind(values);
+            return includeNull ? "(" + in + " OR " + expression + " IS NULL)" : in;
+        }
+        String operand = "date".equals(filter.getFilterType()) ? filter.getDateFrom() : asString(filter.getFilter());
+        String operandTo = "date".equals(filter.getFilterType()) ? filter.getDateTo() : asString(filter.getFilterTo());
+        String comparison = filter.getType() != null ? filter.getType() : "equals";
+        if (type == String.class) {
+            String text = operand != null ? operand.toLowerCase(Locale.ROOT) : "";
+            String lower = "LOWER(" + expression + ")";
+            return switch (comparison) {
+                case "equals" -> lower + " = " + bind(text);
+                case "notEqual" -> "(" + expression + " IS NULL OR " + lower + " <> " + bind(text) + ")";
+                case "contains" -> like(lower, "%" + escape(text) + "%");
+                case "notContains" -> "(" + expression + " IS NULL OR NOT " + like(lower, "%" + escape(text) + "%") + ")";
+                case "startsWith" -> like(lower, escape(text) + "%");
+                case "endsWith" -> like(lower, "%" + escape(text));
+                case "blank" -> "(" + expression + " IS NULL OR " + expression + " = '')";
+                case "notBlank" -> "(" + expression + " IS NOT NULL AND " + expression + " <> '')";
+                default -> throw new IllegalArgumentException("Unsupported text filter: " + comparison);
+            };
+        }
+        return switch (comparison) {
+            case "equals" -> expression + " = " + bind(convert(type, operand));
+            case "notEqual" -> "(" + expression + " IS NULL OR " + expression + " <> " + bind(convert(type, operand)) + ")";
+            case "lessThan" -> expression + " < " + bind(convert(type, operand));
+            case "lessThanOrEqual" -> expression + " <= " + bind(convert(type, operand));
+            case "greaterThan" -> expression + " > " + bind(convert(type, operand));
+            case "greaterThanOrEqual" -> expression + " >= " + bind(convert(type, operand));
+            case "inRange" -> expression + " BETWEEN " + bind(convert(type, operand)) + " AND " + bind(convert(type, operandTo));
+            case "blank" -> expression + " IS NULL";
+            case "notBlank" -> expression + " IS NOT NULL";
+            default -> throw new IllegalArgumentException("Unsupported filter: " + comparison);
+        };
+    }
+
+    private String like(String expression, String pattern) {
+        return expression + " LIKE " + bind(pattern) + " ESCAPE '\\'";
+    }
+
+    private String bind(Object value) {
+        String name = "p" + parameters.size();
+        parameters.put(name, value);
+        return ":" + name;
+    }
+
+    private static Dimension dimension(String colId) {
+        Dimension dimension = DIMENSIONS.get(colId);
+        if (dimension == null) {
+            throw new IllegalArgumentException("Unknown grid column: " + colId);
+        }
+        return dimension;
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    static Object convert(Class<?> type, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing filter value");
+        }
+        String trimmed = value.trim();
+        try {
+            if (type == String.class) {
+                return trimmed;
+            }
+            if (type == LocalDate.class) {
+                // Date filters send yyyy-MM-dd HH:mm:ss
+                return LocalDate.parse(trimmed.length() > 10 ? trimmed.substring(0, 10) : trimmed);
+            }
+            BigDecimal number = new BigDecimal(trimmed);
+            if (type == Long.class) {
+                return number.longValue();
+            }
+            if (type == Integer.class) {
+                return number.intValue();
+            }
+            return number;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for " + type.getSimpleName() + " column");
+        }
+    }
+}
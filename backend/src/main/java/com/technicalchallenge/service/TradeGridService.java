@@ -0,0 +1,70 @@
+package com.technicalchallenge.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.technicalchallenge.dto.GridRowsRequestDTO;
+import com.technicalchallenge.dto.GridRowsResponseDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Serves AG Grid's server-side row model for the trade blotter: each block
+ * of rows, whether groups or trades, is one query built by
+ * {@link TradeGridQuery}.
+ */
+@Service
+public class TradeGridService {
+    private static final Logger logger = LoggerFactory.getLogger(TradeGridService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // AG Grid asks for cacheBlockSize rows (100 by default) per request
+    @Value("${trades.grid.max-block-size:1000}")
+    private int maxBlockSize;
+
+    /**
+     * Rows startRow to endRow of the level below the request's group keys.
+     * Throws {@link IllegalArgumentException} for columns, filters or
+     * aggregations the blotter does not support, and for blocks larger than
+     * {@code trades.grid.max-block-size}.
+     */
+    @Transactional(readOnly = true)
+    public GridRowsResponseDTO getRows(GridRowsRequestDTO request) {
+        long started = System.nanoTime();
+        TradeGridQuery query = new TradeGridQuery(request, maxBlockSize);
+        TypedQuery<Tuple> typed = entityManager.createQuery(query.jpql, Tuple.class)
+                .setFirstResult(query.firstResult)
+                .setMaxResults(query.maxResults);
+        query.parameters.forEach(typed::setParameter);
+        List<Tuple> tuples = typed.getResultList();
+
+        int blockSize = query.maxResults - 1;
+        boolean last = tuples.size() <= blockSize;
+        List<Map<String, Object>> rows = new ArrayList<>(Math.min(tuples.size(), blockSize));
+        for (Tuple tuple : last ? tuples : tuples.subList(0, blockSize)) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < query.columns.size(); i++) {
+                row.put(query.columns.get(i), tuple.get("c" + i));
+            }
+            rows.add(row);
+        }
+        int lastRow = last ? query.firstResult + rows.size() : -1;
+        logger.debug("Grid rows {}-{} at group level {}: {} rows in {} ms", query.firstResult, query.firstResult + rows.size(),
+                request.getGroupKeys() != null ? request.getGroupKeys().size() : 0, rows.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return new GridRowsResponseDTO(rows, lastRow);
+    }
+}
@@ -0,0 +1,95 @@
+package com.technicalchallenge.service;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeHead;
+import com.technicalchallenge.repository.TradeHeadRepository;
+
+/**
+ * Keeps trade_head pointing at the current version of every trade.
+ *
+ * Heads are written in the transaction that books or amends the trade.
+ * Moving a head forward is a compare-and-set on the version, so of two
+ * amendments racing from the same version only the first commits. The
+ * consistency check runs at startup and periodically, and rebuilds the whole
+ * table from the active trade rows if any head is missing or stale.
+ */
+@Service
+public class TradeHeadService {
+    private static final Logger logger = LoggerFactory.getLogger(TradeHeadService.class);
+
+    @Autowired
+    private TradeHeadRepository tradeHeadRepository;
+
+    @Transactional
+    public void created(Trade trade) {
+        tradeHeadRepository.insertHead(trade.getTradeId(), trade.getId(), trade.getVersion(), trade.getLastTouchTimestamp());
+    }
+
+    /**
+     * Moves the head from {@code previous} to {@code current}. Throws if the
+     * trade has moved past {@code previous} since it was read.
+     */
+    @Transactional
+    public void advanced(Trade previous, Trade current) {
+        int updated = tradeHeadRepository.advanceHead(current.getTradeId(), previous.getVersion(),
+                current.getId(), current.getVersion(), current.getLastTouchTimestamp());
+        if (updated == 1) {
+            return;
+        }
+        if (tradeHeadRepository.existsById(current.getTradeId())) {
+            throw new RuntimeException("Trade " + current.getTradeId() + " was changed by another request; reload it and retry");
+        }
+        // Trade booked before heads were kept and not yet picked up by a rebuild
+        logger.warn("No head for trade {}, creating it at version {}", current.getTradeId(), current.getVersion());
+        created(current);
+    }
+
+    @Transactional
+    public void touched(Trade trade) {
+        tradeHeadRepository.touchHead(trade.getTradeId(), trade.getLastTouchTimestamp());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TradeHead> findHead(Long tradeId) {
+        return tradeHeadRepository.findById(tradeId);
+    }
+
+    /** Counts heads that disagree with the trade table and rebuilds if there are any. */
+    @EventListener(ApplicationReadyEvent.class)
+    // Before the change feed stamps heads at startup
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @Scheduled(fixedDelayString = "${trades.head.check-interval:PT1H}", initialDelayString = "${trades.head.check-interval:PT1H}")
+    @Transactional
+    public long checkConsistency() {
+        long inconsistencies = tradeHeadRepository.countInconsistencies();
+        if (inconsistencies > 0) {
+            logger.warn("Found {} inconsistent trade heads, rebuilding", inconsistencies);
+            rebuild();
+        }
+        return inconsistencies;
+    }
+
+    /** Replaces every head with one derived from the active trade rows. */
+    @Transactional
+    public int rebuild() {
+        long started = System.nanoTime();
+        int removed = tradeHeadRepository.deleteAllHeads();
+        int inserted = tradeHeadRepository.insertHeadsFromActiveTrades();
+        logger.info("Rebuilt trade heads: {} removed, {} inserted in {} ms",
+                removed, inserted, (System.nanoTime() - started) / 1_000_000);
+        return inserted;
+    }
+}
@@ -0,0 +1,194 @@
+package com.technicalchallenge.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.technicalchallenge.dto.FieldChangeDTO;
+import com.technicalchallenge.dto.TradeHistoryDTO;
+import com.technicalchallenge.dto.TradeSnapshotDTO;
+import com.technicalchallenge.dto.TradeVersionDeltaDTO;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeHistory;
+import com.technicalchallenge.repository.TradeHistoryRepository;
+import com.technicalchallenge.repository.TradeRepository;
+import com.technicalchallenge.repository.TradeSnapshotView;
+
+/**
+ * Answers what a trade, or the whole portfolio, looked like at a point in
+ * time.
+ *
+ * Every version is current from its createdDate until its deactivatedDate,
+ * and an amendment closes the old version at the instant the new one opens,
+ * so at most one version of a trade contains any timestamp. Versions are read
+ * from the trade table and from trade_history alike. Cancellation and
+ * termination change the status in place, so an as-of read shows the status
+ * the version has now.
+ *
+ * Version history is sent as the first version followed by JSON Patch deltas.
+ * A version is immutable once superseded, so the delta between two inactive
+ * versions is computed once and kept in an LRU keyed by their row ids, which
+ * archiving preserves.
+ */
+@Service
+public class TradeHistoryService {
+    private static final Logger logger = LoggerFactory.getLogger(TradeHistoryService.class);
+
+    @Autowired
+    private TradeRepository tradeRepository;
+    @Autowired
+    private TradeHistoryRepository tradeHistoryRepository;
+    @Autowired
+    private TradeService tradeService;
+    @Autowired
+    private TradeMapper tradeMapper;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${trades.history.delta-cache-size:10000}")
+    private int deltaCacheSize = 10000;
+
+    // Guarded by itself; access order makes it an LRU
+    private final Map<VersionPair, List<FieldChangeDTO>> deltaCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<VersionPair, List<FieldChangeDTO>> eldest) {
+            return size() > deltaCacheSize;
+        }
+    };
+
+    // Row ids of two consecutive versions; a null from is the base version itself
+    private record VersionPair(Long fromId, Long toId) {
+    }
+
+    /** The version of {@code tradeId} that was current at {@code asOf}, if the trade existed then. */
+    @Transactional(readOnly = true)
+    public Optional<Trade> getTradeAsOf(Long tradeId, LocalDateTime asOf) {
+        logger.debug("Retrieving trade {} as of {}", tradeId, asOf);
+        List<Trade> live = tradeRepository.findVersionsValidAt(tradeId, asOf);
+        if (!live.isEmpty()) {
+            return Optional.of(live.get(0));
+        }
+        return tradeHistoryRepository.findVersionsValidAt(tradeId, asOf).stream()
+                .findFirst()
+                .map(TradeHistory::toTrade);
+    }
+
+    /**
+     * One row per trade that existed at {@code asOf}, ordered by trade id.
+     * Both tables are streamed through the validity interval index, so the
+     * blotter costs one range scan per table whatever the version count.
+     */
+    @Transactional(readOnly = true)
+    public List<TradeSnapshotDTO> getPortfolioAsOf(LocalDateTime asOf) {
+        long started = System.nanoTime();
+        Map<Long, TradeSnapshotDTO> byTradeId = new HashMap<>();
+        try (Stream<TradeSnapshotView> live = tradeRepository.streamSnapshotsValidAt(asOf)) {
+            live.forEach(view -> merge(byTradeId, toSnapshot(view, false)));
+        }
+        try (Stream<TradeSnapshotView> archived = tradeHistoryRepository.streamSnapshotsValidAt(asOf)) {
+            archived.forEach(view -> merge(byTradeId, toSnapshot(view, true)));
+        }
+        List<TradeSnapshotDTO> snapshot = new ArrayList<>(byTradeId.values());
+        snapshot.sort(Comparator.comparing(TradeSnapshotDTO::getTradeId, Comparator.nullsLast(Comparator.naturalOrder())));
+        logger.info("Built portfolio as of {}: {} trades in {} ms",
+                asOf, snapshot.size(), (System.nanoTime() - started) / 1_000_000);
+        return snapshot;
+    }
+
+    /**
+     * The first version of {@code tradeId} in full and a delta for each later
+     * one, or empty if the trade is unknown. Only versions whose delta is not
+     * cached are mapped and diffed.
+     */
+    @Transactional(readOnly = true)
+    public Optional<TradeHistoryDTO> getTradeHistory(Long tradeId) {
+        List<Trade> versions = tradeService.getTradeVersions(tradeId);
+        if (versions.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Long, JsonNode> trees = new HashMap<>();
+        Trade first = versions.get(0);
+        List<FieldChangeDTO> base = cached(new VersionPair(null, first.getId()), first,
+                () -> List.of(new FieldChangeDTO("replace", "", tree(first, trees))));
+        List<TradeVersionDeltaDTO> deltas = new ArrayList<>(versions.size() - 1);
+        int operations = 0;
+        for (int i = 1; i < versions.size(); i++) {
+            Trade previous = versions.get(i - 1);
+            Trade current = versions.get(i);
+            List<FieldChangeDTO> changes = cached(new VersionPair(previous.getId(), current.getId()), current,
+                    () -> JsonTreeDiff.diff(tree(previous, trees), tree(current, trees)));
+            deltas.add(new TradeVersionDeltaDTO(current.getVersion(), current.getCreatedDate(), changes));
+            operations += changes.size();
+        }
+        logger.debug("History of trade {}: {} versions, {} delta operations, {} versions mapped",
+                tradeId, versions.size(), operations, trees.size());
+        return Optional.of(new TradeHistoryDTO(tradeId, base.get(0).getValue(), deltas));
+    }
+
+    // Deltas ending at the active version are recomputed, as cancel and terminate still change it in place
+    private List<FieldChangeDTO> cached(VersionPair key, Trade to, Supplier<List<FieldChangeDTO>> compute) {
+        boolean immutable = !Boolean.TRUE.equals(to.getActive()) && key.toId() != null;
+        if (immutable) {
+            synchronized (deltaCache) {
+                List<FieldChangeDTO> changes = deltaCache.get(key);
+                if (changes != null) {
+                    return changes;
+                }
+            }
+        }
+        List<FieldChangeDTO> changes = List.copyOf(compute.get());
+        if (immutable) {
+            synchronized (deltaCache) {
+                deltaCache.put(key, changes);
+            }
+        }
+        return changes;
+    }
+
+    private JsonNode tree(Trade trade, Map<Long, JsonNode> trees) {
+        return trees.computeIfAbsent(trade.getId(), id -> {
+            JsonNode tree = objectMapper.valueToTree(tradeMapper.toDto(trade));
+            // A cashflow's legId is its enclosing leg's and would otherwise show up in every leg delta
+            for (JsonNode leg : tree.path("tradeLegs")) {
+                for (JsonNode cashflow : leg.path("cashflows")) {
+                    ((ObjectNode) cashflow).remove("legId");
+                }
+            }
+            return tree;
+        });
+    }
+
+    // A version being archived while the blotter is read can show up in both tables
+    private static void merge(Map<Long, TradeSnapshotDTO> byTradeId, TradeSnapshotDTO candidate) {
+        byTradeId.merge(candidate.getTradeId(), candidate,
+                (current, other) -> version(other) > version(current) ? other : current);
+    }
+
+    private static int version(TradeSnapshotDTO snapshot) {
+        return snapshot.getVersion() != null ? snapshot.getVersion() : 0;
+    }
+
+    static TradeSnapshotDTO toSnapshot(TradeSnapshotView view, boolean archived) {
+        return new TradeSnapshotDTO(view.getTradeId(), view.getVersion(), view.getTradeStatus(), view.getBookName(),
+                view.getCounterpartyName(), view.getTradeType(), view.getTradeDate(), view.getTradeStartDate(),
+                view.getTradeMaturityDate(), view.getUtiCode(), view.getCreatedDate(), view.getDeactivatedDate(), archived);
+    }
+}
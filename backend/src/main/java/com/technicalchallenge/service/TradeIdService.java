@@ -0,0 +1,59 @@
+package com.technicalchallenge.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.technicalchallenge.repository.TradeHistoryRepository;
+import com.technicalchallenge.repository.TradeRepository;
+
+/**
+ * Issues trade ids for new bookings, counting up from 10000.
+ *
+ * The counter starts above the highest trade id in either the trade table
+ * or trade_history, and only ever moves forward. Archiving deletes rows from
+ * trade, so neither the row count nor the trade table alone is safe to
+ * derive the next id from: a reused id would collide with a live trade, or
+ * with the archived versions that history and as-of reads still return.
+ */
+@Service
+public class TradeIdService {
+    private static final Logger logger = LoggerFactory.getLogger(TradeIdService.class);
+
+    static final long FIRST_TRADE_ID = 10000L;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private TradeHistoryRepository tradeHistoryRepository;
+
+    // Highest id issued or seen; null until first read from the database
+    private Long lastTradeId;
+
+    public synchronized Long nextTradeId() {
+        lastTradeId = lastTradeId() + 1;
+        return lastTradeId;
+    }
+
+    /**
+     * Moves the counter past an id the client chose itself, so a later
+     * generated id cannot land on it.
+     */
+    public synchronized void observe(Long tradeId) {
+        if (tradeId != null && tradeId > lastTradeId()) {
+            lastTradeId = tradeId;
+        }
+    }
+
+    private long lastTradeId() {
+        if (lastTradeId == null) {
+            long booked = tradeRepository.findMaxTradeId().orElse(FIRST_TRADE_ID - 1);
+            long archived = tradeHistoryRepository.findMaxTradeId().orElse(FIRST_TRADE_ID - 1);
+            lastTradeId = Math.max(FIRST_TRADE_ID - 1, Math.max(booked, archived));
+            logger.info("Trade ids continue after {}", lastTradeId);
+        }
+        return lastTradeId;
+    }
+}
@@ -0,0 +1,185 @@
+package com.technicalchallenge.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Trade;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Serialized TradeDTO JSON per trade version, held off-heap in direct
+ * buffers and bounded by {@code trades.json-cache.max-bytes}.
+ *
+ * An inactive version never changes, so its bytes are good for as long as
+ * they stay cached. The active version is still touched in place by
+ * terminate, cancel and deactivation, so its key carries the version, last
+ * touch and deactivation timestamps: any of those misses and replaces the
+ * trade's previous active entry. Cached buffers are never written to again
+ * and are handed out as read-only views, so responses write them without
+ * holding the cache lock.
+ */
+@Service
+public class TradeJsonCache {
+    private static final Logger logger = LoggerFactory.getLogger(TradeJsonCache.class);
+
+    private static final byte[] OPEN = {'['};
+    private static final byte[] SEPARATOR = {','};
+    private static final byte[] CLOSE = {']'};
+
+    @Autowired
+    private TradeMapper tradeMapper;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final long maxBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<VersionKey, ByteBuffer> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    // Cached active version per trade, dropped when a newer key replaces it
+    private final Map<Long, VersionKey> activeKeys = new HashMap<>();
+    private long bytes;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    /** Identifies one state of one trade row. */
+    record VersionKey(Long tradeId, Long rowId, Integer version, LocalDateTime lastTouch, LocalDateTime deactivated) {
+    }
+
+    public TradeJsonCache(MeterRegistry meterRegistry,
+                          @Value("${trades.json-cache.max-bytes:67108864}") long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.hits = Counter.builder("trades.json-cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("trades.json-cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("trades.json-cache.bytes", this, TradeJsonCache::cachedBytes).register(meterRegistry);
+        Gauge.builder("trades.json-cache.entries", this, TradeJsonCache::cachedEntries).register(meterRegistry);
+    }
+
+    /**
+     * The version serialized as TradeDTO JSON, from the cache or mapped and
+     * serialized now and cached. Must run where the trade's lazy
+     * associations can still load.
+     */
+    public ByteBuffer json(Trade trade) throws JsonProcessingException {
+        VersionKey key = keyOf(trade);
+        ByteBuffer cached = get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        byte[] json = objectMapper.writeValueAsBytes(tradeMapper.toDto(trade));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(json.length).put(json).flip().asReadOnlyBuffer();
+        put(key, buffer, Boolean.TRUE.equals(trade.getActive()));
+        return buffer.duplicate();
+    }
+
+    /** JSON for each version, in order. */
+    public List<ByteBuffer> json(List<Trade> trades) throws JsonProcessingException {
+        List<ByteBuffer> json = new ArrayList<>(trades.size());
+        for (Trade trade : trades) {
+            json.add(json(trade));
+        }
+        return json;
+    }
+
+    /** Writes the buffers to {@code out} as one JSON array. */
+    public static void writeArray(List<ByteBuffer> json, OutputStream out) throws IOException {
+        WritableByteChannel channel = Channels.newChannel(out);
+        out.write(OPEN);
+        for (int i = 0; i < json.size(); i++) {
+            if (i > 0) {
+                out.write(SEPARATOR);
+            }
+            writeFully(json.get(i), channel);
+        }
+        out.write(CLOSE);
+    }
+
+    /** Writes one buffer to {@code out}. */
+    public static void write(ByteBuffer json, OutputStream out) throws IOException {
+        writeFully(json, Channels.newChannel(out));
+    }
+
+    private static void writeFully(ByteBuffer json, WritableByteChannel channel) throws IOException {
+        ByteBuffer view = json.duplicate();
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+    }
+
+    static VersionKey keyOf(Trade trade) {
+        // Deactivation leaves the last touch alone, so it needs its own component
+        return new VersionKey(trade.getTradeId(), trade.getId(), trade.getVersion(), trade.getLastTouchTimestamp(),
+                trade.getDeactivatedDate());
+    }
+
+    synchronized ByteBuffer get(VersionKey key) {
+        ByteBuffer cached = entries.get(key);
+        return cached != null ? cached.duplicate() : null;
+    }
+
+    synchronized void put(VersionKey key, ByteBuffer json, boolean active) {
+        if (key.rowId() == null || json.remaining() > maxBytes) {
+            return;
+        }
+        if (active) {
+            VersionKey previous = activeKeys.put(key.tradeId(), key);
+            if (previous != null && !previous.equals(key)) {
+                remove(previous);
+            }
+        }
+        ByteBuffer replaced = entries.put(key, json);
+        bytes += json.remaining() - (replaced != null ? replaced.remaining() : 0);
+
+        Iterator<Map.Entry<VersionKey, ByteBuffer>> eldest = entries.entrySet().iterator();
+        int evicted = 0;
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<VersionKey, ByteBuffer> entry = eldest.next();
+            bytes -= entry.getValue().remaining();
+            eldest.remove();
+            activeKeys.remove(entry.getKey().tradeId(), entry.getKey());
+            evicted++;
+        }
+        if (evicted > 0) {
+            logger.debug("Evicted {} trade versions from the JSON cache, {} bytes cached", evicted, bytes);
+        }
+    }
+
+    private void remove(VersionKey key) {
+        ByteBuffer removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.remaining();
+        }
+    }
+
+    synchronized long cachedBytes() {
+        return bytes;
+    }
+
+    synchronized int cachedEntries() {
+        return entries.size();
+    }
+}
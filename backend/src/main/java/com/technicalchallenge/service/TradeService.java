@@ -1,23 +1,33 @@
 package com.technicalchallenge.service;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeFieldSelection;
 import com.technicalchallenge.dto.TradeLegDTO;
+import com.technicalchallenge.dto.TradePatchDTO;
+import com.technicalchallenge.event.TradeEventType;
+import com.technicalchallenge.event.TradeLifecycleEvent;
 import com.technicalchallenge.model.ApplicationUser;
-import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.LegSchedule;
 import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeHead;
+import com.technicalchallenge.model.TradeHistory;
 import com.technicalchallenge.model.TradeLeg;
 import com.technicalchallenge.model.TradeStatus;
 import com.technicalchallenge.model.TradeSubType;
@@ -25,7 +35,6 @@ import com.technicalchallenge.model.TradeType;
 import com.technicalchallenge.repository.ApplicationUserRepository;
 import com.technicalchallenge.repository.BookRepository;
 import com.technicalchallenge.repository.BusinessDayConventionRepository;
-import com.technicalchallenge.repository.CashflowRepository;
 import com.technicalchallenge.repository.CounterpartyRepository;
 import com.technicalchallenge.repository.CurrencyRepository;
 import com.technicalchallenge.repository.HolidayCalendarRepository;
@@ -33,24 +42,32 @@ import com.technicalchallenge.repository.IndexRepository;
 import com.technicalchallenge.repository.LegTypeRepository;
 import com.technicalchallenge.repository.PayRecRepository;
 import com.technicalchallenge.repository.ScheduleRepository;
+import com.technicalchallenge.repository.TradeHistoryRepository;
 import com.technicalchallenge.repository.TradeLegRepository;
 import com.technicalchallenge.repository.TradeRepository;
 import com.technicalchallenge.repository.TradeStatusRepository;
 import com.technicalchallenge.repository.TradeSubTypeRepository;
 import com.technicalchallenge.repository.TradeTypeRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
 @Service
 @Transactional
 public class TradeService {
     private static final Logger logger = LoggerFactory.getLogger(TradeService.class);
 
+    // Schedules per cashflow query, well inside every database's bind parameter limit
+    private static final int CASHFLOW_FETCH_CHUNK = 1000;
+    // Trade ids per multi-get, kept to one IN list for the same reason
+    private static final int MAX_TRADE_IDS = 1000;
+
     @Autowired
     private TradeRepository tradeRepository;
     @Autowired
     private TradeLegRepository tradeLegRepository;
     @Autowired
-    private CashflowRepository cashflowRepository;
-    @Autowired
     private TradeStatusRepository tradeStatusRepository;
     @Autowired
     private BookRepository bookRepository;
@@ -76,27 +93,167 @@ public class TradeService {
     private BusinessDayConventionRepository businessDayConventionRepository;
     @Autowired
     private PayRecRepository payRecRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private CreditLimitService creditLimitService;
+    @Autowired
+    private DuplicateTradeService duplicateTradeService;
+    @Autowired
+    private LegScheduleService legScheduleService;
+    @Autowired
+    private TradeHeadService tradeHeadService;
+    @Autowired
+    private TradeIdService tradeIdService;
+    @Autowired
+    private TradeHistoryRepository tradeHistoryRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public List<Trade> getAllTrades() {
         logger.info("Retrieving all trades");
         return tradeRepository.findAll();
     }
 
+    /**
+     * All trades with only the associations behind the selected fields
+     * fetched: to-one references and legs are joined into the trade query,
+     * cashflows come from one query per chunk of schedules. Whatever is not
+     * selected stays an unloaded proxy or collection.
+     */
+    @Transactional(readOnly = true)
+    public List<Trade> getAllTrades(TradeFieldSelection fields) {
+        return findTrades(fields, null);
+    }
+
+    /**
+     * Current versions of the given trades in request order, fetched like
+     * {@link #getAllTrades(TradeFieldSelection)} with one IN query. Unknown
+     * trade ids are left out; duplicates are returned once.
+     */
+    @Transactional(readOnly = true)
+    public List<Trade> getTradesByIds(List<Long> tradeIds, TradeFieldSelection fields) {
+        List<Long> distinct = tradeIds.stream().distinct().toList();
+        if (distinct.size() > MAX_TRADE_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_TRADE_IDS + " trade ids per request, got " + distinct.size());
+        }
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Trade> byTradeId = new HashMap<>();
+        for (Trade trade : findTrades(fields, distinct)) {
+            byTradeId.put(trade.getTradeId(), trade);
+        }
+        return distinct.stream()
+                .map(byTradeId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Trade> findTrades(TradeFieldSelection fields, List<Long> tradeIds) {
+        long started = System.nanoTime();
+        StringBuilder jpql = new StringBuilder("SELECT t FROM Trade t");
+        for (String association : fields.tradeAssociations()) {
+            jpql.append(" LEFT JOIN FETCH t.").append(association);
+        }
+        if (fields.includesLegs()) {
+            jpql.append(" LEFT JOIN FETCH t.tradeLegs l");
+            for (String association : fields.legAssociations()) {
+                jpql.append(" LEFT JOIN FETCH l.").append(association);
+            }
+        }
+        if (tradeIds != null) {
+            jpql.append(" WHERE t.tradeId IN :tradeIds AND t.active = true");
+        }
+        jpql.append(" ORDER BY t.id");
+        TypedQuery<Trade> query = entityManager.createQuery(jpql.toString(), Trade.class);
+        if (tradeIds != null) {
+            query.setParameter("tradeIds", tradeIds);
+        }
+        List<Trade> trades = query.getResultList();
+
+        if (fields.includesCashflows()) {
+            fetchCashflows(trades, fields);
+        }
+        logger.debug("Retrieved {} trades with fields {} in {} ms", trades.size(), fields,
+                (System.nanoTime() - started) / 1_000_000);
+        return trades;
+    }
+
+    private void fetchCashflows(List<Trade> trades, TradeFieldSelection fields) {
+        List<Long> scheduleIds = trades.stream()
+                .filter(trade -> trade.getTradeLegs() != null)
+                .flatMap(trade -> trade.getTradeLegs().stream())
+                .map(TradeLeg::getLegSchedule)
+                .filter(schedule -> schedule != null && !Boolean.TRUE.equals(schedule.getArchived()))
+                .map(LegSchedule::getId)
+                .distinct()
+                .toList();
+        if (scheduleIds.isEmpty()) {
+            return;
+        }
+        StringBuilder jpql = new StringBuilder("SELECT DISTINCT s FROM LegSchedule s LEFT JOIN FETCH s.cashflows c");
+        for (String association : fields.cashflowAssociations()) {
+            jpql.append(" LEFT JOIN FETCH c.").append(association);
+        }
+        jpql.append(" WHERE s.id IN :ids");
+        // Initialises the cashflows of the schedules already in the persistence context
+        for (int from = 0; from < scheduleIds.size(); from += CASHFLOW_FETCH_CHUNK) {
+            entityManager.createQuery(jpql.toString(), LegSchedule.class)
+                    .setParameter("ids", scheduleIds.subList(from, Math.min(from + CASHFLOW_FETCH_CHUNK, scheduleIds.size())))
+                    .getResultList();
+        }
+    }
+
     public Optional<Trade> getTradeById(Long tradeId) {
         logger.debug("Retrieving trade by id: {}", tradeId);
+        Optional<Trade> current = tradeRepository.findCurrentByTradeId(tradeId);
+        if (current.isPresent()) {
+            return current;
+        }
+        // Unknown trade, or a head the consistency check has not rebuilt yet
         return tradeRepository.findByTradeIdAndActiveTrue(tradeId);
     }
 
+    /**
+     * Version and last touch of the trade's current version, read from its
+     * head without loading the trade. Empty for unknown trades and for heads
+     * the consistency check has not rebuilt yet.
+     */
+    public Optional<TradeHead> getTradeHead(Long tradeId) {
+        return tradeHeadService.findHead(tradeId);
+    }
+
+    /**
+     * Every version of a trade, oldest first, whether still in the trade
+     * table or moved to trade_history by the archiver.
+     */
+    public List<Trade> getTradeVersions(Long tradeId) {
+        List<Trade> versions = new ArrayList<>();
+        for (TradeHistory archived : tradeHistoryRepository.findByTradeIdOrderByVersionAsc(tradeId)) {
+            versions.add(archived.toTrade());
+        }
+        versions.addAll(tradeRepository.findByTradeId(tradeId));
+        versions.sort(Comparator.comparing(Trade::getVersion, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return versions;
+    }
+
     @Transactional
     public Trade createTrade(TradeDTO tradeDTO) {
         logger.info("Creating new trade with ID: {}", tradeDTO.getTradeId());
 
+        // Check credit limits and replays; neither reads the database on the normal path
+        CreditLimitService.Reservation limitReservation = creditLimitService.reserveNewTrade(tradeDTO);
+        String economicFingerprint = duplicateTradeService.checkNewTrade(tradeDTO);
+
         // Generate trade ID if not provided
         if (tradeDTO.getTradeId() == null) {
             // Generate sequential trade ID starting from 10000
-            Long generatedTradeId = generateNextTradeId();
+            Long generatedTradeId = tradeIdService.nextTradeId();
             tradeDTO.setTradeId(generatedTradeId);
             logger.info("Generated trade ID: {}", generatedTradeId);
+        } else {
+            tradeIdService.observe(tradeDTO.getTradeId());
         }
 
         // Validate business rules
@@ -104,6 +261,7 @@ public class TradeService {
 
         // Create trade entity
         Trade trade = mapDTOToEntity(tradeDTO);
+        trade.setEconomicFingerprint(economicFingerprint);
         trade.setVersion(1);
         trade.setActive(true);
         trade.setCreatedDate(LocalDateTime.now());
@@ -121,9 +279,12 @@ public class TradeService {
         validateReferenceData(trade);
 
         Trade savedTrade = tradeRepository.save(trade);
+        tradeHeadService.created(savedTrade);
+        creditLimitService.bindReservation(savedTrade.getTradeId(), limitReservation);
 
         // Create trade legs and cashflows
         createTradeLegsWithCashflows(tradeDTO, savedTrade);
+        eventPublisher.publishEvent(TradeLifecycleEvent.of(TradeEventType.CREATED, savedTrade));
 
         logger.info("Successfully created trade with ID: {}", savedTrade.getTradeId());
         return savedTrade;
@@ -281,6 +442,9 @@ public class TradeService {
     public Trade amendTrade(Long tradeId, TradeDTO tradeDTO) {
         logger.info("Amending trade with ID: {}", tradeId);
 
+        // Check credit limits before touching the database
+        creditLimitService.reserveAmendment(tradeId, tradeDTO);
+
         Optional<Trade> existingTradeOpt = getTradeById(tradeId);
         if (existingTradeOpt.isEmpty()) {
             throw new RuntimeException("Trade not found: " + tradeId);
@@ -288,18 +452,20 @@ public class TradeService {
 
         Trade existingTrade = existingTradeOpt.get();
 
-        // Deactivate existing trade
+        // Deactivate existing trade; the new version is valid from the same instant
+        LocalDateTime now = LocalDateTime.now();
         existingTrade.setActive(false);
-        existingTrade.setDeactivatedDate(LocalDateTime.now());
+        existingTrade.setDeactivatedDate(now);
         tradeRepository.save(existingTrade);
 
         // Create new version
         Trade amendedTrade = mapDTOToEntity(tradeDTO);
         amendedTrade.setTradeId(tradeId);
+        amendedTrade.setEconomicFingerprint(duplicateTradeService.recordAmendment(tradeDTO));
         amendedTrade.setVersion(existingTrade.getVersion() + 1);
         amendedTrade.setActive(true);
-        amendedTrade.setCreatedDate(LocalDateTime.now());
-        amendedTrade.setLastTouchTimestamp(LocalDateTime.now());
+        amendedTrade.setCreatedDate(now);
+        amendedTrade.setLastTouchTimestamp(now);
 
         // Populate reference data
         populateReferenceDataByName(amendedTrade, tradeDTO);
@@ -310,14 +476,197 @@ public class TradeService {
         amendedTrade.setTradeStatus(amendedStatus);
 
         Trade savedTrade = tradeRepository.save(amendedTrade);
+        tradeHeadService.advanced(existingTrade, savedTrade);
 
         // Create new trade legs and cashflows
         createTradeLegsWithCashflows(tradeDTO, savedTrade);
+        eventPublisher.publishEvent(TradeLifecycleEvent.of(TradeEventType.AMENDED, savedTrade));
 
         logger.info("Successfully amended trade with ID: {}", savedTrade.getTradeId());
         return savedTrade;
     }
 
+    /**
+     * Applies a partial amendment as a new version. Legs whose cashflow terms
+     * and dates are unchanged keep pointing at their schedule; only the
+     * changed legs are rescheduled.
+     */
+    @Transactional
+    public Trade patchTrade(Long tradeId, TradePatchDTO patch) {
+        logger.info("Patching trade with ID: {}", tradeId);
+
+        Trade existingTrade = getTradeById(tradeId)
+                .orElseThrow(() -> new RuntimeException("Trade not found: " + tradeId));
+
+        // Build the new version in memory first so limits and duplicates are checked before any write
+        Trade patchedTrade = copyTradeForPatch(existingTrade, patch);
+        List<TradeLeg> existingLegs = new ArrayList<>(existingTrade.getTradeLegs() != null ? existingTrade.getTradeLegs() : List.of());
+        existingLegs.sort((a, b) -> a.getLegId().compareTo(b.getLegId()));
+        List<TradeLeg> patchedLegs = copyLegsForPatch(tradeId, existingLegs, patch.getTradeLegs());
+
+        TradeDTO economics = toEconomicTerms(patchedTrade, patchedLegs);
+        validateTradeDates(economics);
+        creditLimitService.reserveAmendment(tradeId, economics);
+        patchedTrade.setEconomicFingerprint(duplicateTradeService.recordAmendment(economics));
+
+        existingTrade.setActive(false);
+        existingTrade.setDeactivatedDate(patchedTrade.getCreatedDate());
+        tradeRepository.save(existingTrade);
+        Trade savedTrade = tradeRepository.save(patchedTrade);
+        tradeHeadService.advanced(existingTrade, savedTrade);
+
+        boolean datesChanged = !Objects.equals(existingTrade.getTradeStartDate(), savedTrade.getTradeStartDate())
+                || !Objects.equals(existingTrade.getTradeMaturityDate(), savedTrade.getTradeMaturityDate());
+        int rescheduled = 0;
+        for (int i = 0; i < patchedLegs.size(); i++) {
+            TradeLeg previousLeg = existingLegs.get(i);
+            TradeLeg newLeg = patchedLegs.get(i);
+            newLeg.setTrade(savedTrade);
+            if (!datesChanged && !cashflowTermsChanged(previousLeg, newLeg)) {
+                // Unchanged legs keep their schedule without hashing or writing cashflows
+                newLeg.setLegSchedule(previousLeg.getLegSchedule());
+                tradeLegRepository.save(newLeg);
+            } else {
+                TradeLeg savedLeg = tradeLegRepository.save(newLeg);
+                legScheduleService.assignSchedule(savedLeg, savedTrade.getTradeStartDate(), savedTrade.getTradeMaturityDate());
+                rescheduled++;
+            }
+        }
+        eventPublisher.publishEvent(TradeLifecycleEvent.of(TradeEventType.AMENDED, savedTrade));
+
+        logger.info("Patched trade {} to version {}: rescheduled {} of {} legs",
+                tradeId, savedTrade.getVersion(), rescheduled, patchedLegs.size());
+        return savedTrade;
+    }
+
+    private Trade copyTradeForPatch(Trade existing, TradePatchDTO patch) {
+        Trade trade = new Trade();
+        trade.setTradeId(existing.getTradeId());
+        trade.setVersion(existing.getVersion() + 1);
+        trade.setBook(existing.getBook());
+        trade.setCounterparty(existing.getCounterparty());
+        trade.setTraderUser(existing.getTraderUser());
+        trade.setTradeInputterUser(existing.getTradeInputterUser());
+        trade.setTradeType(existing.getTradeType());
+        trade.setTradeSubType(existing.getTradeSubType());
+        trade.setAdditionalFieldsId(existing.getAdditionalFieldsId());
+        trade.setValidityEndDate(existing.getValidityEndDate());
+        trade.setTradeDate(patch.getTradeDate() != null ? patch.getTradeDate() : existing.getTradeDate());
+        trade.setTradeStartDate(patch.getTradeStartDate() != null ? patch.getTradeStartDate() : existing.getTradeStartDate());
+        trade.setTradeMaturityDate(patch.getTradeMaturityDate() != null ? patch.getTradeMaturityDate() : existing.getTradeMaturityDate());
+        trade.setTradeExecutionDate(patch.getTradeExecutionDate() != null ? patch.getTradeExecutionDate() : existing.getTradeExecutionDate());
+        trade.setUtiCode(patch.getUtiCode() != null ? patch.getUtiCode() : existing.getUtiCode());
+        trade.setValidityStartDate(patch.getValidityStartDate() != null ? patch.getValidityStartDate() : existing.getValidityStartDate());
+        trade.setActive(true);
+        trade.setCreatedDate(LocalDateTime.now());
+        trade.setLastTouchTimestamp(LocalDateTime.now());
+
+        // Only the names present in the patch are looked up
+        TradeDTO references = new TradeDTO();
+        references.setBookName(patch.getBookName());
+        references.setCounterpartyName(patch.getCounterpartyName());
+        references.setTraderUserName(patch.getTraderUserName());
+        references.setInputterUserName(patch.getInputterUserName());
+        references.setTradeType(patch.getTradeType());
+        references.setTradeSubType(patch.getTradeSubType());
+        populateReferenceDataByName(trade, references);
+        if (patch.getBookName() != null && (trade.getBook() == null || !patch.getBookName().equals(trade.getBook().getBookName()))) {
+            throw new RuntimeException("Book not found: " + patch.getBookName());
+        }
+        if (patch.getCounterpartyName() != null
+                && (trade.getCounterparty() == null || !patch.getCounterpartyName().equals(trade.getCounterparty().getName()))) {
+            throw new RuntimeException("Counterparty not found: " + patch.getCounterpartyName());
+        }
+
+        TradeStatus amendedStatus = tradeStatusRepository.findByTradeStatus("AMENDED")
+                .orElseThrow(() -> new RuntimeException("AMENDED status not found"));
+        trade.setTradeStatus(amendedStatus);
+        return trade;
+    }
+
+    private List<TradeLeg> copyLegsForPatch(Long tradeId, List<TradeLeg> existingLegs, List<TradeLegDTO> legPatches) {
+        Map<Long, TradeLegDTO> patchesByLegId = new HashMap<>();
+        if (legPatches != null) {
+            for (TradeLegDTO legPatch : legPatches) {
+                if (legPatch.getLegId() == null) {
+                    throw new RuntimeException("legId is required to patch a leg");
+                }
+                patchesByLegId.put(legPatch.getLegId(), legPatch);
+            }
+        }
+
+        List<TradeLeg> legs = new ArrayList<>(existingLegs.size());
+        for (TradeLeg existing : existingLegs) {
+            TradeLeg leg = new TradeLeg();
+            leg.setNotional(existing.getNotional());
+            leg.setRate(existing.getRate());
+            leg.setCurrency(existing.getCurrency());
+            leg.setLegRateType(existing.getLegRateType());
+            leg.setIndex(existing.getIndex());
+            leg.setHolidayCalendar(existing.getHolidayCalendar());
+            leg.setCalculationPeriodSchedule(existing.getCalculationPeriodSchedule());
+            leg.setPaymentBusinessDayConvention(existing.getPaymentBusinessDayConvention());
+            leg.setFixingBusinessDayConvention(existing.getFixingBusinessDayConvention());
+            leg.setPayReceiveFlag(existing.getPayReceiveFlag());
+            leg.setActive(true);
+            leg.setCreatedDate(LocalDateTime.now());
+
+            TradeLegDTO legPatch = patchesByLegId.remove(existing.getLegId());
+            if (legPatch != null) {
+                if (legPatch.getNotional() != null) {
+                    leg.setNotional(legPatch.getNotional());
+                }
+                if (legPatch.getRate() != null) {
+                    leg.setRate(legPatch.getRate());
+                }
+                populateLegReferenceData(leg, legPatch);
+            }
+            legs.add(leg);
+        }
+        if (!patchesByLegId.isEmpty()) {
+            throw new RuntimeException("Legs " + patchesByLegId.keySet() + " do not belong to trade " + tradeId);
+        }
+        return legs;
+    }
+
+    // The leg inputs to cashflow generation
+    private static boolean cashflowTermsChanged(TradeLeg previous, TradeLeg current) {
+        return !sameAmount(previous.getNotional(), current.getNotional())
+                || !Objects.equals(previous.getRate(), current.getRate())
+                || previous.getLegRateType() != current.getLegRateType()
+                || previous.getCalculationPeriodSchedule() != current.getCalculationPeriodSchedule()
+                || previous.getPayReceiveFlag() != current.getPayReceiveFlag()
+                || previous.getPaymentBusinessDayConvention() != current.getPaymentBusinessDayConvention();
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    // Economic view of an entity-built version, for limit and duplicate checks
+    private static TradeDTO toEconomicTerms(Trade trade, List<TradeLeg> legs) {
+        TradeDTO dto = new TradeDTO();
+        dto.setTradeId(trade.getTradeId());
+        dto.setTradeDate(trade.getTradeDate());
+        dto.setTradeStartDate(trade.getTradeStartDate());
+        dto.setTradeMaturityDate(trade.getTradeMaturityDate());
+        dto.setUtiCode(trade.getUtiCode());
+        dto.setBookName(trade.getBook() != null ? trade.getBook().getBookName() : null);
+        dto.setCounterpartyName(trade.getCounterparty() != null ? trade.getCounterparty().getName() : null);
+        List<TradeLegDTO> legDTOs = new ArrayList<>(legs.size());
+        for (TradeLeg leg : legs) {
+            TradeLegDTO legDTO = new TradeLegDTO();
+            legDTO.setNotional(leg.getNotional());
+            legDTO.setRate(leg.getRate());
+            legDTO.setCurrency(leg.getCurrency() != null ? leg.getCurrency().getCurrency() : null);
+            legDTO.setCalculationPeriodSchedule(leg.getCalculationPeriodSchedule() != null
+                    ? leg.getCalculationPeriodSchedule().getSchedule() : null);
+            legDTOs.add(legDTO);
+        }
+        dto.setTradeLegs(legDTOs);
+        return dto;
+    }
+
     @Transactional
     public Trade terminateTrade(Long tradeId) {
         logger.info("Terminating trade with ID: {}", tradeId);
@@ -334,7 +683,11 @@ public class TradeService {
         trade.setTradeStatus(terminatedStatus);
         trade.setLastTouchTimestamp(LocalDateTime.now());
 
-        return tradeRepository.save(trade);
+        Trade savedTrade = tradeRepository.save(trade);
+        tradeHeadService.touched(savedTrade);
+        creditLimitService.releaseTrade(tradeId);
+        eventPublisher.publishEvent(TradeLifecycleEvent.of(TradeEventType.TERMINATED, savedTrade));
+        return savedTrade;
     }
 
     @Transactional
@@ -353,10 +706,23 @@ public class TradeService {
         trade.setTradeStatus(cancelledStatus);
         trade.setLastTouchTimestamp(LocalDateTime.now());
 
-        return tradeRepository.save(trade);
+        Trade savedTrade = tradeRepository.save(trade);
+        tradeHeadService.touched(savedTrade);
+        creditLimitService.releaseTrade(tradeId);
+        eventPublisher.publishEvent(TradeLifecycleEvent.of(TradeEventType.CANCELLED, savedTrade));
+        return savedTrade;
     }
 
     private void validateTradeCreation(TradeDTO tradeDTO) {
+        validateTradeDates(tradeDTO);
+
+        // Validate trade has exactly 2 legs
+        if (tradeDTO.getTradeLegs() == null || tradeDTO.getTradeLegs().size() != 2) {
+            throw new RuntimeException("Trade must have exactly 2 legs");
+        }
+    }
+
+    private void validateTradeDates(TradeDTO tradeDTO) {
         // Validate dates - Fixed to use consistent field names
         if (tradeDTO.getTradeStartDate() != null && tradeDTO.getTradeDate() != null) {
             if (tradeDTO.getTradeStartDate().isBefore(tradeDTO.getTradeDate())) {
@@ -368,11 +734,6 @@ public class TradeService {
                 throw new RuntimeException("Maturity date cannot be before start date");
             }
         }
-
-        // Validate trade has exactly 2 legs
-        if (tradeDTO.getTradeLegs() == null || tradeDTO.getTradeLegs().size() != 2) {
-            throw new RuntimeException("Trade must have exactly 2 legs");
-        }
     }
 
     private Trade mapDTOToEntity(TradeDTO dto) {
@@ -404,10 +765,8 @@ public class TradeService {
 
             TradeLeg savedLeg = tradeLegRepository.save(tradeLeg);
 
-            // Generate cashflows for this leg
-            if (tradeDTO.getTradeStartDate() != null && tradeDTO.getTradeMaturityDate() != null) {
-                generateCashflows(savedLeg, tradeDTO.getTradeStartDate(), tradeDTO.getTradeMaturityDate());
-            }
+            // Share or generate the cashflows for this leg
+            legScheduleService.assignSchedule(savedLeg, tradeDTO.getTradeStartDate(), tradeDTO.getTradeMaturityDate());
         }
     }
 
@@ -485,109 +844,6 @@ public class TradeService {
         }
     }
 
-    /**
-     * FIXED: Generate cashflows based on schedule and maturity date
-     */
-    private void generateCashflows(TradeLeg leg, LocalDate startDate, LocalDate maturityDate) {
-        logger.info("Generating cashflows for leg {} from {} to {}", leg.getLegId(), startDate, maturityDate);
-
-        // Use default schedule if not set
-        String schedule = "3M"; // Default to quarterly
-        if (leg.getCalculationPeriodSchedule() != null) {
-            schedule = leg.getCalculationPeriodSchedule().getSchedule();
-        }
-
-        int monthsInterval = parseSchedule(schedule);
-        List<LocalDate> paymentDates = calculatePaymentDates(startDate, maturityDate, monthsInterval);
-
-        for (LocalDate paymentDate : paymentDates) {
-            Cashflow cashflow = new Cashflow();
-            cashflow.setTradeLeg(leg); // Fixed field name
-            cashflow.setValueDate(paymentDate);
-            cashflow.setRate(leg.getRate());
-
-            // Calculate value based on leg type
-            BigDecimal cashflowValue = calculateCashflowValue(leg, monthsInterval);
-            cashflow.setPaymentValue(cashflowValue);
-
-            cashflow.setPayRec(leg.getPayReceiveFlag());
-            cashflow.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
-            cashflow.setCreatedDate(LocalDateTime.now());
-            cashflow.setActive(true);
-
-            cashflowRepository.save(cashflow);
-        }
-
-        logger.info("Generated {} cashflows for leg {}", paymentDates.size(), leg.getLegId());
-    }
-
-    private int parseSchedule(String schedule) {
-        if (schedule == null || schedule.trim().isEmpty()) {
-            return 3; // Default to quarterly
-        }
-
-        schedule = schedule.trim();
-
-        // Handle common schedule names
-        switch (schedule.toLowerCase()) {
-            case "monthly":
-                return 1;
-            case "quarterly":
-                return 3;
-            case "semi-annually":
-            case "semiannually":
-            case "half-yearly":
-                return 6;
-            case "annually":
-            case "yearly":
-                return 12;
-            default:
-                // Parse "1M", "3M", "12M" format
-                if (schedule.endsWith("M") || schedule.endsWith("m")) {
-                    try {
-                        return Integer.parseInt(schedule.substring(0, schedule.length() - 1));
-                    } catch (NumberFormatException e) {
-                        throw new RuntimeException("Invalid schedule format: " + schedule);
-                    }
-                }
-                throw new RuntimeException("Invalid schedule format: " + schedule + ". Supported formats: Monthly, Quarterly, Semi-annually, Annually, or 1M, 3M, 6M, 12M");
-        }
-    }
-
-    private List<LocalDate> calculatePaymentDates(LocalDate startDate, LocalDate maturityDate, int monthsInterval) {
-        List<LocalDate> dates = new ArrayList<>();
-        LocalDate currentDate = startDate.plusMonths(monthsInterval);
-
-        while (!currentDate.isAfter(maturityDate)) {
-            dates.add(currentDate);
-            currentDate = currentDate.plusMonths(monthsInterval);
-        }
-
-        return dates;
-    }
-
-    private BigDecimal calculateCashflowValue(TradeLeg leg, int monthsInterval) {
-        if (leg.getLegRateType() == null) {
-            return BigDecimal.ZERO;
-        }
-
-        String legType = leg.getLegRateType().getType();
-
-        if ("Fixed".equals(legType)) {
-            double notional = leg.getNotional().doubleValue();
-            double rate = leg.getRate();
-            double months = monthsInterval;
-
-            double result = (notional * rate * months) / 12;
-
-            return BigDecimal.valueOf(result);
-        } else if ("Floating".equals(legType)) {
-            return BigDecimal.ZERO;
-        }
-
-        return BigDecimal.ZERO;
-    }
-
     private void validateReferenceData(Trade trade) {
         // Validate essential reference data is populated
         if (trade.getBook() == null) {
@@ -602,10 +858,4 @@ public class TradeService {
 
         logger.debug("Reference data validation passed for trade");
     }
-
-    // NEW METHOD: Generate the next trade ID (sequential)
-    private Long generateNextTradeId() {
-        // For simplicity, using a static variable. In real scenario, this should be atomic and thread-safe.
-        return 10000L + tradeRepository.count();
-    }
 }
@@ -0,0 +1,328 @@
+package com.technicalchallenge.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.technicalchallenge.dto.TradeSnapshotDTO;
+import com.technicalchallenge.event.TradeEvent;
+import com.technicalchallenge.event.TradeEventHandler;
+import com.technicalchallenge.repository.TradeRepository;
+import com.technicalchallenge.repository.TradeSnapshotView;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes blotter rows to Server-Sent Events subscribers as trades change.
+ *
+ * As a trade event consumer it collects the trade ids of a batch of events
+ * and reads their current rows in one query at the end of the batch, so the
+ * database cost does not grow with the number of subscribers. Each
+ * subscriber keeps a bounded map of rows waiting to be written, keyed by
+ * trade id: a newer row for a trade replaces the waiting one. Writes happen
+ * on a small writer pool with at most one write in flight per subscriber, so
+ * a slow browser only delays itself and receives fewer, newer rows. If a
+ * subscriber's map fills up, its rows are dropped and it is sent a
+ * {@code resync} event, after which it should catch up from the change
+ * feed.
+ *
+ * The blocking send itself runs on a virtual thread, and the writer waits
+ * for it at most {@code trades.stream.write-timeout}. A browser that stops
+ * reading is disconnected when that runs out, so it never holds a writer
+ * that other subscribers need.
+ */
+@Service
+public class TradeStreamService implements TradeEventHandler {
+    private static final Logger logger = LoggerFactory.getLogger(TradeStreamService.class);
+
+    static final String ROW_EVENT = "trade";
+    static final String RESYNC_EVENT = "resync";
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    private final int maxSubscribers;
+    private final int maxPending;
+    private final Duration timeout;
+    private final Duration writeTimeout;
+    private final ExecutorService writers;
+    // One virtual thread per send, so a send stuck on a full socket parks nothing shared
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // Trade ids seen since the last end of batch; only touched by the event thread
+    private final Set<Long> batch = new HashSet<>();
+
+    private final Counter sent;
+    private final Counter coalesced;
+    private final Counter dropped;
+    private final Counter stalled;
+
+    public TradeStreamService(MeterRegistry meterRegistry,
+                              @Value("${trades.stream.max-subscribers:5000}") int maxSubscribers,
+                              @Value("${trades.stream.max-pending:1000}") int maxPending,
+                              @Value("${trades.stream.timeout:PT30M}") Duration timeout,
+                              @Value("${trades.stream.writer-threads:4}") int writerThreads,
+                              @Value("${trades.stream.write-timeout:PT10S}") Duration writeTimeout) {
+        this.maxSubscribers = maxSubscribers;
+        this.maxPending = maxPending;
+        this.timeout = timeout;
+        this.writeTimeout = writeTimeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // At most one task per subscriber is queued, so the queue is bounded by max-subscribers
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "trade-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("trades.stream.subscribers", subscribers, List::size)
+                .description("Connected trade stream subscribers")
+                .register(meterRegistry);
+        this.sent = Counter.builder("trades.stream.updates.sent")
+                .description("Blotter rows written to subscribers").register(meterRegistry);
+        this.coalesced = Counter.builder("trades.stream.updates.coalesced")
+                .description("Blotter rows replaced by a newer row for the same trade before being written").register(meterRegistry);
+        this.dropped = Counter.builder("trades.stream.updates.dropped")
+                .description("Blotter rows dropped because a subscriber fell too far behind").register(meterRegistry);
+        this.stalled = Counter.builder("trades.stream.subscribers.stalled")
+                .description("Subscribers disconnected because a write did not finish within the write timeout").register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return "blotter-stream";
+    }
+
+    /**
+     * Opens a stream, or returns null if the instance already has
+     * {@code max-subscribers} of them.
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        return register(new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter register(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, maxPending);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        subscribers.add(subscriber);
+        logger.debug("Trade stream subscriber connected, {} open", subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public void onEvent(TradeEvent event, boolean endOfBatch) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        batch.add(event.getTradeId());
+        if (endOfBatch || batch.size() >= maxPending) {
+            List<TradeSnapshotView> rows;
+            try {
+                rows = tradeRepository.findCurrentSnapshots(List.copyOf(batch));
+            } finally {
+                batch.clear();
+            }
+            for (TradeSnapshotView view : rows) {
+                offer(TradeHistoryService.toSnapshot(view, false));
+            }
+        }
+    }
+
+    /** Comment line that keeps proxies from closing idle streams and finds dead ones. */
+    @Scheduled(fixedDelayString = "${trades.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+            schedule(subscriber);
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    void offer(TradeSnapshotDTO row) {
+        for (Subscriber subscriber : subscribers) {
+            switch (subscriber.offer(row)) {
+                case COALESCED -> coalesced.increment();
+                case OVERFLOWED -> dropped.increment(subscriber.takeDropped());
+                default -> {
+                }
+            }
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.writing.compareAndSet(false, true)) {
+            writers.execute(() -> write(subscriber));
+        }
+    }
+
+    private void write(Subscriber subscriber) {
+        try {
+            while (true) {
+                Subscriber.Pending pending = subscriber.drain();
+                if (pending.isEmpty()) {
+                    subscriber.writing.set(false);
+                    // An offer may have landed after the drain but before the flag was cleared
+                    if (!subscriber.hasPending() || !subscriber.writing.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                Future<?> send = senders.submit(() -> {
+                    send(subscriber, pending);
+                    return null;
+                });
+                try {
+                    send.get(writeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    send.cancel(true);
+                    stalled.increment();
+                    drop(subscriber, new IOException("Write did not finish within " + writeTimeout));
+                    return;
+                } catch (ExecutionException e) {
+                    // Client went away or the emitter already completed
+                    drop(subscriber, e.getCause());
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(Subscriber subscriber, Subscriber.Pending pending) throws IOException {
+        if (pending.resync()) {
+            subscriber.emitter.send(SseEmitter.event().name(RESYNC_EVENT).data("overflow"));
+        }
+        for (TradeSnapshotDTO row : pending.rows()) {
+            subscriber.emitter.send(SseEmitter.event().name(ROW_EVENT).data(row));
+            sent.increment();
+        }
+        if (pending.heartbeat()) {
+            subscriber.emitter.send(SseEmitter.event().comment("keepalive"));
+        }
+    }
+
+    private void drop(Subscriber subscriber, Throwable cause) {
+        logger.debug("Dropping trade stream subscriber: {}", cause.getMessage());
+        remove(subscriber);
+        // Completing waits for a send still stuck on the socket, so it must not hold up the writer
+        senders.execute(() -> subscriber.emitter.completeWithError(cause));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            logger.debug("Trade stream subscriber disconnected, {} open", subscribers.size());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        writers.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    enum OfferResult {
+        QUEUED, COALESCED, OVERFLOWED
+    }
+
+    /** One open stream and the rows waiting to be written to it. */
+    static final class Subscriber {
+        final SseEmitter emitter;
+        final AtomicBoolean writing = new AtomicBoolean();
+        private final int maxPending;
+
+        // Guarded by this
+        private Map<Long, TradeSnapshotDTO> rows = new LinkedHashMap<>();
+        private boolean resync;
+        private boolean heartbeat;
+        private int dropped;
+
+        record Pending(List<TradeSnapshotDTO> rows, boolean resync, boolean heartbeat) {
+            boolean isEmpty() {
+                return rows.isEmpty() && !resync && !heartbeat;
+            }
+        }
+
+        Subscriber(SseEmitter emitter, int maxPending) {
+            this.emitter = emitter;
+            this.maxPending = maxPending;
+        }
+
+        synchronized OfferResult offer(TradeSnapshotDTO row) {
+            if (rows.put(row.getTradeId(), row) != null) {
+                return OfferResult.COALESCED;
+            }
+            if (rows.size() > maxPending) {
+                dropped += rows.size();
+                rows.clear();
+                resync = true;
+                return OfferResult.OVERFLOWED;
+            }
+            return OfferResult.QUEUED;
+        }
+
+        synchronized int takeDropped() {
+            int count = dropped;
+            dropped = 0;
+            return count;
+        }
+
+        synchronized void heartbeat() {
+            heartbeat = true;
+        }
+
+        synchronized boolean hasPending() {
+            return !rows.isEmpty() || resync || heartbeat;
+        }
+
+        synchronized Pending drain() {
+            Pending pending = new Pending(rows.isEmpty() ? List.of() : new ArrayList<>(rows.values()), resync, heartbeat);
+            if (!rows.isEmpty()) {
+                rows = new LinkedHashMap<>();
+            }
+            resync = false;
+            heartbeat = false;
+            return pending;
+        }
+    }
+}
@@ -56,3 +56,28 @@ INSERT INTO cashflow (id, payment_value, value_date, rate, leg_id, pay_rec_id, p
   (1000, 12500.00, '2024-09-01', 0.05, 1000, 1000, 1000, 1000, true, '2024-06-01T10:30:00', '2024-06-01', null),
   (1001, 12500.00, '2024-12-01', 0.05, 1000, 1000, 1000, 1000, true, '2024-06-01T10:30:00', '2024-06-01', null),
   (1002, 225000.00, '2024-06-04', 0.045, 1002, 1000, 1000, 1001, true, '2024-06-02T11:15:00', '2024-06-02', null);
+
+-- Discount Curves (continuously compounded zero rates)
+INSERT INTO curve_point (id, currency_id, tenor_months, zero_rate, active, created_date, deactivated_date) VALUES
+  (1000, 1000, 3, 0.0530, true, '2025-06-02T00:00:00', null), (1001, 1000, 12, 0.0500, true, '2025-06-02T00:00:00', null),
+  (1002, 1000, 24, 0.0460, true, '2025-06-02T00:00:00', null), (1003, 1000, 60, 0.0420, true, '2025-06-02T00:00:00', null),
+  (1004, 1000, 120, 0.0410, true, '2025-06-02T00:00:00', null), (1005, 1000, 360, 0.0420, true, '2025-06-02T00:00:00', null),
+  (1006, 1001, 3, 0.0380, true, '2025-06-02T00:00:00', null), (1007, 1001, 12, 0.0350, true, '2025-06-02T00:00:00', null),
+  (1008, 1001, 24, 0.0310, true, '2025-06-02T00:00:00', null), (1009, 1001, 60, 0.0280, true, '2025-06-02T00:00:00', null),
+  (1010, 1001, 120, 0.0270, true, '2025-06-02T00:00:00', null), (1011, 1001, 360, 0.0260, true, '2025-06-02T00:00:00', null),
+  (1012, 1002, 3, 0.0520, true, '2025-06-02T00:00:00', null), (1013, 1002, 12, 0.0480, true, '2025-06-02T00:00:00', null),
+  (1014, 1002, 24, 0.0430, true, '2025-06-02T00:00:00', null), (1015, 1002, 60, 0.0400, true, '2025-06-02T00:00:00', null),
+  (1016, 1002, 120, 0.0410, true, '2025-06-02T00:00:00', null), (1017, 1002, 360, 0.0430, true, '2025-06-02T00:00:00', null);
+
+-- FX rates quoted as units of the pivot currency (USD) per unit of currency
+INSERT INTO fx_rate (id, currency_id, rate_to_pivot, active, created_date, deactivated_date) VALUES
+  (1000, 1000, 1.0, true, '2025-06-02T00:00:00', null),
+  (1001, 1001, 1.08, true, '2025-06-02T00:00:00', null),
+  (1002, 1002, 1.27, true, '2025-06-02T00:00:00', null);
+
+-- Credit limits in the FX pivot currency
+INSERT INTO credit_limit (id, limit_type, entity_name, limit_amount, active, created_date, deactivated_date) VALUES
+  (1000, 'COUNTERPARTY', 'BigBank', 50000000.00, true, '2025-06-02T00:00:00', null),
+  (1001, 'COUNTERPARTY', 'MegaFund', 25000000.00, true, '2025-06-02T00:00:00', null),
+  (1002, 'BOOK', 'FX-BOOK-1', 100000000.00, true, '2025-06-02T00:00:00', null),
+  (1003, 'BOOK', 'RATES-BOOK-1', 250000000.00, true, '2025-06-02T00:00:00', null);
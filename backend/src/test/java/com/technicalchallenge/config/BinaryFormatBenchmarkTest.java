@@ -0,0 +1,153 @@
+package com.technicalchallenge.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.technicalchallenge.dto.CashflowDTO;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeLegDTO;
+
+/**
+ * JSON against CBOR and Smile for blotter-sized trade lists. Skipped in
+ * normal builds; run with
+ *
+ * <pre>mvn test -Dtest=BinaryFormatBenchmarkTest -Dbenchmark=true</pre>
+ *
+ * It encodes and decodes lists of synthetic two-leg swaps with quarterly
+ * cashflows through the mappers the API's message converters use, printing
+ * payload size and encode and decode throughput per format. Every format
+ * must decode to the same DTOs as JSON.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BinaryFormatBenchmarkTest {
+
+    private static final int[] TRADES = {100, 1_000, 10_000};
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+    private static final TypeReference<List<TradeDTO>> TRADE_LIST = new TypeReference<>() {
+    };
+
+    @Test
+    void benchmarkFormatsByTradeCount() throws Exception {
+        JacksonConfig config = new JacksonConfig();
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", builder(config).build());
+        mappers.put("cbor", config.cborHttpMessageConverter(builder(config)).getObjectMapper());
+        mappers.put("smile", config.smileHttpMessageConverter(builder(config)).getObjectMapper());
+
+        System.out.printf("Format benchmark: 2 legs x 20 cashflows per trade, %d measured runs%n", MEASURED_RUNS);
+        for (int count : TRADES) {
+            List<TradeDTO> trades = trades(count);
+            ObjectMapper jsonMapper = mappers.get("json");
+            byte[] json = jsonMapper.writeValueAsBytes(trades);
+            String decodedJson = jsonMapper.writeValueAsString(jsonMapper.readValue(json, TRADE_LIST));
+            for (Map.Entry<String, ObjectMapper> format : mappers.entrySet()) {
+                ObjectMapper mapper = format.getValue();
+                byte[] encoded = mapper.writeValueAsBytes(trades);
+                // Binary trees type numbers differently, so compare the decoded DTOs
+                assertEquals(decodedJson, jsonMapper.writeValueAsString(mapper.readValue(encoded, TRADE_LIST)));
+
+                double encodeMillis = time(() -> mapper.writeValueAsBytes(trades));
+                double decodeMillis = time(() -> mapper.readValue(encoded, TRADE_LIST));
+                System.out.printf("trades=%6d %-5s %10d bytes (%5.1f%% of json)  encode %8.2f ms %9.0f trades/s  decode %8.2f ms %9.0f trades/s%n",
+                        count, format.getKey(), encoded.length, 100.0 * encoded.length / json.length,
+                        encodeMillis, count / encodeMillis * 1e3, decodeMillis, count / decodeMillis * 1e3);
+            }
+        }
+    }
+
+    // As Boot builds it from spring.jackson.serialization.write-dates-as-timestamps=false
+    private static Jackson2ObjectMapperBuilder builder(JacksonConfig config) {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        config.tradeFieldFilters().customize(builder);
+        return builder;
+    }
+
+    private static List<TradeDTO> trades(int count) {
+        LocalDate start = LocalDate.of(2025, 1, 2);
+        List<TradeDTO> trades = new ArrayList<>(count);
+        for (int t = 0; t < count; t++) {
+            TradeDTO trade = new TradeDTO();
+            trade.setId((long) t);
+            trade.setTradeId(100_000L + t);
+            trade.setVersion(1 + t % 3);
+            trade.setTradeDate(start);
+            trade.setTradeStartDate(start.plusDays(2));
+            trade.setTradeMaturityDate(start.plusYears(5));
+            trade.setUtiCode("UTI-" + t);
+            trade.setLastTouchTimestamp(LocalDateTime.of(2025, 1, 2, 9, 30).plusSeconds(t));
+            trade.setActive(true);
+            trade.setBookId((long) t % 10);
+            trade.setBookName("FX-BOOK-" + t % 10);
+            trade.setCounterpartyId((long) t % 50);
+            trade.setCounterpartyName("Counterparty " + t % 50);
+            trade.setTraderUserName("Simon King");
+            trade.setTradeType("Swap");
+            trade.setTradeSubType("IR Swap");
+            trade.setTradeStatus("LIVE");
+            List<TradeLegDTO> legs = new ArrayList<>(2);
+            for (int l = 0; l < 2; l++) {
+                TradeLegDTO leg = new TradeLegDTO();
+                leg.setLegId(2L * t + l);
+                leg.setNotional(BigDecimal.valueOf(1_000_000L + t));
+                leg.setRate(l == 0 ? 0.0425 : null);
+                leg.setCurrency("USD");
+                leg.setLegType(l == 0 ? "Fixed" : "Floating");
+                leg.setIndexName(l == 0 ? null : "SOFR");
+                leg.setHolidayCalendar("NY");
+                leg.setCalculationPeriodSchedule("3M");
+                leg.setPaymentBusinessDayConvention("Following");
+                leg.setFixingBusinessDayConvention("Following");
+                leg.setPayReceiveFlag(l == 0 ? "Pay" : "Receive");
+                List<CashflowDTO> cashflows = new ArrayList<>(20);
+                for (int c = 1; c <= 20; c++) {
+                    CashflowDTO cashflow = new CashflowDTO();
+                    cashflow.setId((long) t * 40 + l * 20 + c);
+                    cashflow.setLegId(leg.getLegId());
+                    cashflow.setPaymentValue(l == 0 ? new BigDecimal("10625.00") : BigDecimal.ZERO);
+                    cashflow.setValueDate(start.plusMonths(3L * c));
+                    cashflow.setRate(leg.getRate());
+                    cashflow.setPayRec(leg.getPayReceiveFlag());
+                    cashflow.setPaymentBusinessDayConvention("Following");
+                    cashflow.setActive(true);
+                    cashflows.add(cashflow);
+                }
+                leg.setCashflows(cashflows);
+                legs.add(leg);
+            }
+            trade.setTradeLegs(legs);
+            trades.add(trade);
+        }
+        return trades;
+    }
+
+    private static double time(Run run) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run.run();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            run.run();
+        }
+        return (System.nanoTime() - started) / 1e6 / MEASURED_RUNS;
+    }
+
+    private interface Run {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,79 @@
+package com.technicalchallenge.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkheadConfigTest {
+
+    private BulkheadConfig config;
+    private DataSourceProperties properties;
+    private MockEnvironment environment;
+    private BulkheadDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        config = new BulkheadConfig();
+        ReflectionTestUtils.setField(config, "defaultPoolSize", 4);
+        ReflectionTestUtils.setField(config, "connectionTimeout", Duration.ofSeconds(1));
+        properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:bulkhead");
+        environment = new MockEnvironment();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void testEveryPoolCoversItsAdmittedRequests() {
+        // Given a booking pool configured smaller than its concurrency limit
+        environment.setProperty("bulkhead.booking.pool-size", "5");
+
+        // When
+        dataSource = config.dataSource(properties, environment, new SimpleMeterRegistry());
+
+        // Then
+        Map<TrafficClass, HikariDataSource> pools = pools();
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            int maxConcurrent = trafficClass.defaultMaxConcurrent();
+            assertEquals(trafficClass.minPoolSize(maxConcurrent), pools.get(trafficClass).getMaximumPoolSize());
+        }
+        assertEquals(24, pools.get(TrafficClass.BOOKING).getMaximumPoolSize());
+        assertEquals(1000L, pools.get(TrafficClass.REPORTS).getConnectionTimeout());
+    }
+
+    @Test
+    void testHikariPropertiesApplyToEveryPool() {
+        // Given
+        environment.setProperty("spring.datasource.hikari.connection-timeout", "500");
+        environment.setProperty("spring.datasource.hikari.leak-detection-threshold", "20000");
+
+        // When
+        dataSource = config.dataSource(properties, environment, new SimpleMeterRegistry());
+
+        // Then
+        for (HikariDataSource pool : pools().values()) {
+            assertEquals(500L, pool.getConnectionTimeout());
+            assertEquals(20000L, pool.getLeakDetectionThreshold());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<TrafficClass, HikariDataSource> pools() {
+        return (Map<TrafficClass, HikariDataSource>) ReflectionTestUtils.getField(dataSource, "pools");
+    }
+}
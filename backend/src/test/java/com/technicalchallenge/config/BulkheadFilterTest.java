@@ -0,0 +1,101 @@
+package com.technicalchallenge.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+
+class BulkheadFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Bulkhead reports;
+    private BulkheadFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reports = new Bulkhead(TrafficClass.REPORTS, 1, 0, Duration.ZERO, meterRegistry);
+        filter = new BulkheadFilter(Map.of(TrafficClass.REPORTS, reports), 1);
+    }
+
+    @Test
+    void testRequestRunsMarkedWithItsClassAndReleasesItsSlot() throws Exception {
+        // Given
+        TrafficClass[] seen = new TrafficClass[1];
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+        }, (request, response, next) -> seen[0] = TrafficClass.current());
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/risk/dv01"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(TrafficClass.REPORTS, seen[0]);
+        assertNull(TrafficClass.current());
+        assertEquals(0, reports.active());
+    }
+
+    @Test
+    void testSaturatedClassIsRefusedWith503() throws Exception {
+        // Given the only slot is taken
+        assertTrue(reports.tryEnter());
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/risk/dv01"), response, chain);
+
+        // Then
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.get("bulkhead.calls").tag("class", "reports").tag("outcome", "rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("bulkhead.saturation").tag("class", "reports").gauge().value());
+    }
+
+    @Test
+    void testQueuedRequestGetsTheSlotWhenItIsFreed() throws Exception {
+        // Given
+        Bulkhead booking = new Bulkhead(TrafficClass.BOOKING, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        assertTrue(booking.tryEnter());
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            booking.exit();
+        });
+
+        // When
+        releaser.start();
+        boolean entered = booking.tryEnter();
+        releaser.join();
+
+        // Then
+        assertTrue(entered);
+        assertEquals(0, booking.queued());
+        assertNotNull(meterRegistry.find("bulkhead.wait").tag("class", "booking").timer());
+    }
+
+    @Test
+    void testUnclassifiedRequestPassesThrough() throws Exception {
+        // When
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/login"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertNotNull(chain.getRequest());
+    }
+}
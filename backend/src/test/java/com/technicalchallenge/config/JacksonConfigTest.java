@@ -0,0 +1,90 @@
+package com.technicalchallenge.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.technicalchallenge.dto.CashflowDTO;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeFieldSelection;
+import com.technicalchallenge.dto.TradeLegDTO;
+
+class JacksonConfigTest {
+
+    private final JacksonConfig config = new JacksonConfig();
+
+    @Test
+    void testCborRoundTripsTrade() throws Exception {
+        // Given
+        AbstractJackson2HttpMessageConverter cbor = config.cborHttpMessageConverter(builder());
+
+        // When
+        TradeDTO read = roundTrip(cbor, trade(), new MediaType("application", "cbor"));
+
+        // Then
+        assertEquals(7L, read.getTradeId());
+        assertEquals(LocalDate.of(2025, 1, 2), read.getTradeStartDate());
+        assertEquals(0, BigDecimal.valueOf(1_000_000).compareTo(read.getTradeLegs().get(0).getNotional()));
+        assertEquals(LocalDate.of(2025, 4, 2), read.getTradeLegs().get(0).getCashflows().get(0).getValueDate());
+    }
+
+    @Test
+    void testSmileHonoursFieldSelection() throws Exception {
+        // Given
+        AbstractJackson2HttpMessageConverter smile = config.smileHttpMessageConverter(builder());
+        MappingJacksonValue selected = new MappingJacksonValue(trade());
+        selected.setFilters(TradeFieldSelection.parse("tradeId,tradeLegs.notional", null).filters());
+
+        // When
+        TradeDTO read = roundTrip(smile, selected, new MediaType("application", "x-jackson-smile"));
+
+        // Then
+        assertEquals(7L, read.getTradeId());
+        assertNull(read.getBookName());
+        assertNull(read.getTradeLegs().get(0).getCurrency());
+        assertNull(read.getTradeLegs().get(0).getCashflows());
+    }
+
+    // Boot's builder with spring.jackson.serialization.write-dates-as-timestamps=false and this config's customizer
+    private Jackson2ObjectMapperBuilder builder() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        config.tradeFieldFilters().customize(builder);
+        return builder;
+    }
+
+    private static TradeDTO roundTrip(AbstractJackson2HttpMessageConverter converter, Object body, MediaType mediaType)
+            throws Exception {
+        MockHttpOutputMessage out = new MockHttpOutputMessage();
+        converter.write(body, mediaType, out);
+        return (TradeDTO) converter.read(TradeDTO.class, new MockHttpInputMessage(out.getBodyAsBytes()));
+    }
+
+    static TradeDTO trade() {
+        CashflowDTO cashflow = new CashflowDTO();
+        cashflow.setValueDate(LocalDate.of(2025, 4, 2));
+        cashflow.setPaymentValue(BigDecimal.valueOf(12_500));
+        TradeLegDTO leg = new TradeLegDTO();
+        leg.setNotional(BigDecimal.valueOf(1_000_000));
+        leg.setCurrency("USD");
+        leg.setCashflows(List.of(cashflow));
+        TradeDTO trade = new TradeDTO();
+        trade.setTradeId(7L);
+        trade.setBookName("FX-BOOK-1");
+        trade.setTradeStartDate(LocalDate.of(2025, 1, 2));
+        trade.setTradeLegs(List.of(leg));
+        return trade;
+    }
+}
@@ -0,0 +1,90 @@
+package com.technicalchallenge.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.technicalchallenge.service.ReferenceDataGeneration;
+
+class ReferenceDataCacheFilterTest {
+
+    private ReferenceDataGeneration generation;
+    private ReferenceDataCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        generation = new ReferenceDataGeneration();
+        filter = new ReferenceDataCacheFilter(generation, "max-age=60, public");
+    }
+
+    @Test
+    void testReadCarriesEtagAndCacheControl() throws Exception {
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/currencies"), response, chain);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals(generation.etag(), response.getHeader("ETag"));
+        assertEquals("max-age=60, public", response.getHeader("Cache-Control"));
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void testMatchingIfNoneMatchIsAnsweredWithoutController() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader("If-None-Match", generation.etag());
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertEquals(304, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void testBinaryEncodingHasItsOwnEtag() throws Exception {
+        // Given a CBOR client revalidating with the JSON tag
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader("Accept", "application/cbor");
+        request.addHeader("If-None-Match", generation.etag());
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertNotEquals(generation.etag(), response.getHeader("ETag"));
+        assertEquals("Accept", response.getHeader("Vary"));
+    }
+
+    @Test
+    void testWriteMovesTheGeneration() throws Exception {
+        // Given
+        String before = generation.etag();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/currencies/1"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNotEquals(before, generation.etag());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/currencies");
+        request.addHeader("If-None-Match", before);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+    }
+}
@@ -0,0 +1,27 @@
+package com.technicalchallenge.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+class ResponseEncodingTest {
+
+    @Test
+    void testNegotiatesLikeTheConverters() {
+        assertEquals(MediaType.APPLICATION_JSON, ResponseEncoding.negotiate(null));
+        assertEquals(MediaType.APPLICATION_JSON, ResponseEncoding.negotiate("*/*"));
+        assertEquals(MediaType.APPLICATION_JSON, ResponseEncoding.negotiate("text/html,*/*;q=0.8"));
+        assertEquals(MediaType.APPLICATION_JSON, ResponseEncoding.negotiate("application/cbor;q=0.5, application/json"));
+        assertEquals(MediaType.APPLICATION_CBOR, ResponseEncoding.negotiate("application/cbor"));
+        assertEquals(ResponseEncoding.SMILE, ResponseEncoding.negotiate("application/x-jackson-smile, */*;q=0.1"));
+        assertEquals(MediaType.APPLICATION_JSON, ResponseEncoding.negotiate("not a media type"));
+    }
+
+    @Test
+    void testJsonKeepsItsTagAndBinaryFormatsAreSuffixed() {
+        assertEquals("\"1001-1-x\"", ResponseEncoding.etag("\"1001-1-x\"", "application/json"));
+        assertEquals("\"1001-1-x-cbor\"", ResponseEncoding.etag("\"1001-1-x\"", "application/cbor"));
+        assertEquals("\"1001-1-x-smile\"", ResponseEncoding.etag("\"1001-1-x\"", "application/x-jackson-smile"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.technicalchallenge.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class TrafficClassTest {
+
+    @Test
+    void testTradeWritesAreBookingAndTradeReadsAreBlotter() {
+        // When / Then
+        assertEquals(TrafficClass.BOOKING, classify("POST", "/api/trades"));
+        assertEquals(TrafficClass.BOOKING, classify("PATCH", "/api/trades/100001"));
+        assertEquals(TrafficClass.BOOKING, classify("POST", "/api/trades/100001/cancel"));
+        assertEquals(TrafficClass.BLOTTER, classify("GET", "/api/trades/100001"));
+        assertEquals(TrafficClass.BLOTTER, classify("POST", "/api/trades/grid"));
+        assertEquals(TrafficClass.BLOTTER, classify("POST", "/api/batch"));
+    }
+
+    @Test
+    void testWholeListsAndRiskAreReports() {
+        // Given
+        MockHttpServletRequest byIds = new MockHttpServletRequest("GET", "/api/trades");
+        byIds.addParameter("ids", "100001,100002");
+
+        // When / Then
+        assertEquals(TrafficClass.REPORTS, classify("GET", "/api/trades"));
+        assertEquals(TrafficClass.BLOTTER, TrafficClass.of(byIds));
+        assertEquals(TrafficClass.REPORTS, classify("GET", "/api/cashflows"));
+        assertEquals(TrafficClass.BLOTTER, classify("GET", "/api/cashflows/7"));
+        assertEquals(TrafficClass.REPORTS, classify("GET", "/api/cashflows/ladder"));
+        assertEquals(TrafficClass.REPORTS, classify("POST", "/api/pfe/jobs"));
+        assertEquals(TrafficClass.REPORTS, classify("GET", "/api/valuation/npv"));
+    }
+
+    @Test
+    void testReferenceDataAndUnlistedPaths() {
+        // When / Then
+        assertEquals(TrafficClass.REFERENCE, classify("GET", "/api/currencies"));
+        assertEquals(TrafficClass.REFERENCE, classify("PUT", "/api/valuation/curves/USD"));
+        assertNull(classify("POST", "/api/login"));
+        assertNull(classify("GET", "/actuator/health"));
+    }
+
+    @Test
+    void testBatchAcceptsOnlyBlotterAndReferenceReads() {
+        // When / Then the batch itself is a blotter request
+        assertEquals(TrafficClass.BLOTTER, classify("POST", "/api/batch"));
+        assertTrue(TrafficClass.ofBatched("/api/trades/100001").batchable());
+        assertTrue(TrafficClass.ofBatched("/api/trades?ids=100001,100002&view=summary").batchable());
+        assertTrue(TrafficClass.ofBatched("/api/currencies").batchable());
+        // Reports inside a batch would run on the blotter slot and pool
+        assertEquals(TrafficClass.REPORTS, TrafficClass.ofBatched("/api/risk/dv01?currency=USD"));
+        assertFalse(TrafficClass.ofBatched("/api/risk/dv01").batchable());
+        assertFalse(TrafficClass.ofBatched("/api/trades?view=summary").batchable());
+        assertFalse(TrafficClass.ofBatched("/api/valuation/npv").batchable());
+    }
+
+    private static TrafficClass classify(String method, String path) {
+        return TrafficClass.of(new MockHttpServletRequest(method, path));
+    }
+}
@@ -0,0 +1,81 @@
+package com.technicalchallenge.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class BatchSubRequestTest {
+
+    @Test
+    void testSubRequestIsAJsonGetForItsOwnPathAndQuery() {
+        // Given
+        MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/api/batch");
+        batch.setContentType("application/json");
+        batch.addHeader("Accept", "application/cbor");
+        batch.addHeader("If-None-Match", "\"1001-1-x\"");
+        batch.addParameter("ignored", "yes");
+
+        // When
+        BatchSubRequest sub = new BatchSubRequest(batch, "/api/trades?ids=100001,100002&fields=tradeId%2CbookName");
+
+        // Then
+        assertEquals("GET", sub.getMethod());
+        assertEquals("/api/trades", sub.getRequestURI());
+        assertEquals("ids=100001,100002&fields=tradeId%2CbookName", sub.getQueryString());
+        assertEquals("tradeId,bookName", sub.getParameter("fields"));
+        assertArrayEquals(new String[] {"100001,100002"}, sub.getParameterValues("ids"));
+        assertNull(sub.getParameter("ignored"));
+        assertEquals("application/json", sub.getHeader("Accept"));
+        assertNull(sub.getHeader("If-None-Match"));
+        assertNull(sub.getContentType());
+    }
+
+    @Test
+    void testAttributesStayOffTheBatchRequestAndAsyncIsRefused() {
+        // Given
+        MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/api/batch");
+        batch.setAttribute("shared", "batch");
+        BatchSubRequest sub = new BatchSubRequest(batch, "/api/books");
+
+        // When
+        sub.setAttribute("pattern", "/api/books");
+
+        // Then
+        assertNull(batch.getAttribute("pattern"));
+        assertNull(sub.getAttribute("shared"));
+        assertFalse(sub.isAsyncSupported());
+        assertThrows(IllegalStateException.class, sub::startAsync);
+    }
+
+    @Test
+    void testSubResponseCapturesStatusAndBodyWithoutTouchingTheBatchResponse() throws Exception {
+        // Given
+        MockHttpServletResponse batch = new MockHttpServletResponse();
+        BatchSubResponse sub = new BatchSubResponse(batch);
+
+        // When
+        sub.setContentType("text/plain;charset=UTF-8");
+        sub.setStatus(400);
+        sub.setHeader("ETag", "\"x\"");
+        sub.getWriter().write("Error fetching trades: café");
+        BatchSubResponse missing = new BatchSubResponse(batch);
+        missing.sendError(404, "Not Found");
+
+        // Then
+        assertEquals(400, sub.status());
+        assertEquals("Error fetching trades: café", new String(sub.body(), StandardCharsets.UTF_8));
+        assertEquals(404, missing.status());
+        assertEquals("Not Found", new String(missing.body(), StandardCharsets.UTF_8));
+        assertEquals(200, batch.getStatus());
+        assertNull(batch.getHeader("ETag"));
+        assertEquals(0, batch.getContentAsByteArray().length);
+    }
+}
@@ -1,7 +1,9 @@
 package com.technicalchallenge.controller;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
@@ -12,10 +14,12 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,9 +33,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.technicalchallenge.config.ResponseEncoding;
 import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeFieldSelection;
 import com.technicalchallenge.mapper.TradeMapper;
 import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeHead;
 import com.technicalchallenge.service.TradeService;
 
 @WebMvcTest(TradeController.class)
@@ -102,6 +109,21 @@ public class TradeControllerTest {
         verify(tradeService).getAllTrades();
     }
 
+    @Test
+    void testGetTradesByIds() throws Exception {
+        // Given
+        when(tradeService.getTradesByIds(List.of(1001L, 1002L), TradeFieldSelection.FULL)).thenReturn(List.of(trade));
+        when(tradeMapper.toDto(trade, TradeFieldSelection.FULL)).thenReturn(tradeDTO);
+
+        // When/Then
+        mockMvc.perform(get("/api/trades").param("ids", "1001,1002"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].tradeId", is(1001)));
+
+        verify(tradeService, never()).getAllTrades();
+    }
+
     @Test
     void testGetTradeById() throws Exception {
         // Given
@@ -118,6 +140,59 @@ public class TradeControllerTest {
         verify(tradeService).getTradeById(1001L);
     }
 
+    @Test
+    void testGetTradeByIdNotModifiedSkipsLoadingTrade() throws Exception {
+        // Given
+        LocalDateTime touched = LocalDateTime.of(2025, 3, 1, 9, 30);
+        when(tradeService.getTradeHead(1001L)).thenReturn(Optional.of(new TradeHead(1001L, 1L, 1, touched, null)));
+        String etag = TradeController.etag(1001L, 1, touched);
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/1001")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+
+        verify(tradeService, never()).getTradeById(any());
+    }
+
+    @Test
+    void testGetTradeByIdTagsEachEncodingSeparately() throws Exception {
+        // Given
+        LocalDateTime touched = LocalDateTime.of(2025, 3, 1, 9, 30);
+        when(tradeService.getTradeHead(1001L)).thenReturn(Optional.of(new TradeHead(1001L, 1L, 1, touched, null)));
+        String jsonEtag = TradeController.etag(1001L, 1, touched);
+        String cborEtag = ResponseEncoding.etag(jsonEtag, "application/cbor");
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/1001")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", cborEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", cborEtag))
+                .andExpect(header().string("Vary", containsString("Accept")));
+
+        assertNotEquals(jsonEtag, cborEtag);
+        verify(tradeService, never()).getTradeById(any());
+    }
+
+    @Test
+    void testGetTradeByIdReturnsNewEtagAfterChange() throws Exception {
+        // Given
+        LocalDateTime touched = LocalDateTime.of(2025, 3, 1, 9, 30);
+        trade.setLastTouchTimestamp(touched.plusMinutes(1));
+        when(tradeService.getTradeHead(1001L)).thenReturn(Optional.of(new TradeHead(1001L, 1L, 1, touched.plusMinutes(1), null)));
+        when(tradeService.getTradeById(1001L)).thenReturn(Optional.of(trade));
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/1001")
+                        .header("If-None-Match", TradeController.etag(1001L, 1, touched)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", TradeController.etag(1001L, 1, touched.plusMinutes(1))))
+                .andExpect(jsonPath("$.tradeId", is(1001)));
+    }
+
     @Test
     void testGetTradeByIdNotFound() throws Exception {
         // Given
@@ -0,0 +1,112 @@
+package com.technicalchallenge.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class TradeFieldSelectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .setFilterProvider(TradeFieldSelection.writeAll());
+
+    @BeforeEach
+    void setUp() {
+        TradeFieldSelection.mixIns().forEach(objectMapper::addMixIn);
+    }
+
+    @Test
+    void testNestedFieldSelectsOnlyThatLegProperty() {
+        // When
+        TradeFieldSelection fields = TradeFieldSelection.parse("tradeId,counterpartyName,tradeStatus,tradeLegs.notional", null);
+
+        // Then
+        assertEquals(Set.of("tradeId", "counterpartyName", "tradeStatus", "tradeLegs"), fields.tradeFields());
+        assertEquals(Set.of("notional"), fields.legFields());
+        assertTrue(fields.includesLegs());
+        assertFalse(fields.includesCashflows());
+        assertEquals(List.of("counterparty", "tradeStatus"), fields.tradeAssociations());
+        assertEquals(List.of(), fields.legAssociations());
+        assertFalse(fields.readsTrade("book"));
+    }
+
+    @Test
+    void testCollectionAloneSelectsAllOfIt() {
+        // When
+        TradeFieldSelection fields = TradeFieldSelection.parse("tradeLegs.cashflows", null);
+
+        // Then
+        assertTrue(fields.includesCashflows());
+        assertTrue(fields.cashflowFields().contains("valueDate"));
+        assertTrue(fields.readsLeg("legSchedule"));
+        assertFalse(fields.readsLeg("currency"));
+        assertEquals(List.of("payRec", "paymentBusinessDayConvention", "paymentType"), fields.cashflowAssociations());
+    }
+
+    @Test
+    void testSummaryViewLeavesOutLegsAndCombinesWithFields() {
+        // When
+        TradeFieldSelection summary = TradeFieldSelection.parse(null, "summary");
+        TradeFieldSelection withLegs = TradeFieldSelection.parse("tradeLegs.currency", "SUMMARY");
+
+        // Then
+        assertFalse(summary.includesLegs());
+        assertTrue(summary.tradeFields().contains("startDate"));
+        assertTrue(withLegs.tradeFields().containsAll(summary.tradeFields()));
+        assertEquals(List.of("currency"), withLegs.legAssociations());
+    }
+
+    @Test
+    void testFullSelectsEveryProperty() {
+        // When / Then
+        assertTrue(TradeFieldSelection.FULL.includesCashflows());
+        assertTrue(TradeFieldSelection.FULL.tradeFields().containsAll(Set.of("id", "bookName", "maturityDate", "additionalFields")));
+        assertTrue(TradeFieldSelection.FULL.legFields().contains("index"));
+        assertEquals(7, TradeFieldSelection.FULL.tradeAssociations().size());
+    }
+
+    @Test
+    void testUnknownFieldsAndViewsAreRejected() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> TradeFieldSelection.parse("nope", null));
+        assertThrows(IllegalArgumentException.class, () -> TradeFieldSelection.parse("tradeId.version", null));
+        assertThrows(IllegalArgumentException.class, () -> TradeFieldSelection.parse("tradeLegs.nope", null));
+        assertThrows(IllegalArgumentException.class, () -> TradeFieldSelection.parse("tradeLegs.cashflows.rate.x", null));
+        assertThrows(IllegalArgumentException.class, () -> TradeFieldSelection.parse(null, "compact"));
+        assertThrows(IllegalArgumentException.class, () -> TradeFieldSelection.parse(" , ", null));
+    }
+
+    @Test
+    void testFiltersWriteOnlySelectedPropertiesAndAllByDefault() throws Exception {
+        // Given
+        TradeFieldSelection fields = TradeFieldSelection.parse("tradeId,tradeLegs.notional", null);
+        CashflowDTO cashflow = new CashflowDTO();
+        cashflow.setValueDate(LocalDate.of(2025, 1, 1));
+        TradeLegDTO leg = new TradeLegDTO();
+        leg.setNotional(BigDecimal.TEN);
+        leg.setCurrency("USD");
+        leg.setCashflows(List.of(cashflow));
+        TradeDTO trade = new TradeDTO();
+        trade.setTradeId(7L);
+        trade.setBookName("B1");
+        trade.setTradeLegs(List.of(leg));
+
+        // When
+        String json = objectMapper.writer(fields.filters()).writeValueAsString(trade);
+
+        // Then
+        assertEquals("{\"tradeId\":7,\"tradeLegs\":[{\"notional\":10}]}", json);
+        assertTrue(objectMapper.writeValueAsString(trade).contains("\"bookName\":\"B1\""));
+    }
+}
@@ -0,0 +1,126 @@
+package com.technicalchallenge.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TradeEventRingBufferTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 9, 0);
+
+    @Test
+    void testConsumersSeeEveryEventInOrder() throws Exception {
+        // Given two consumers on different wait strategies
+        for (String strategy : List.of("BLOCKING", "SLEEPING", "YIELDING", "BUSY_SPIN")) {
+            TradeEventRingBuffer ring = new TradeEventRingBuffer(8, WaitStrategy.named(strategy));
+            Recorder first = new Recorder(100);
+            Recorder second = new Recorder(100);
+            start(ring.subscribe("first", first));
+            start(ring.subscribe("second", second));
+
+            // When more events than slots are published
+            for (long tradeId = 1; tradeId <= 100; tradeId++) {
+                ring.publish(new TradeLifecycleEvent(TradeEventType.AMENDED, tradeId, tradeId, 2, NOW));
+            }
+
+            // Then
+            assertTrue(first.done.await(5, TimeUnit.SECONDS), strategy);
+            assertTrue(second.done.await(5, TimeUnit.SECONDS), strategy);
+            assertEquals(first.tradeIds, second.tradeIds);
+            assertEquals(100, first.tradeIds.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i + 1L, first.tradeIds.get(i));
+            }
+            ring.subscriptions().forEach(TradeEventRingBuffer.Subscription::halt);
+        }
+    }
+
+    @Test
+    void testSlotsAreReusedAsTheRingWraps() throws Exception {
+        // Given
+        TradeEventRingBuffer ring = new TradeEventRingBuffer(4, WaitStrategy.named("BLOCKING"));
+        List<TradeEvent> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(8);
+        TradeEventRingBuffer.Subscription subscription = ring.subscribe("slots", (event, endOfBatch) -> {
+            seen.add(event);
+            done.countDown();
+        });
+        start(subscription);
+
+        // When
+        for (long tradeId = 1; tradeId <= 8; tradeId++) {
+            ring.publish(new TradeLifecycleEvent(TradeEventType.CREATED, tradeId, tradeId, 1, NOW));
+        }
+
+        // Then sequence n and n + 4 share a slot
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            assertSame(seen.get(i), seen.get(i + 4));
+        }
+        assertEquals(0, subscription.lag());
+        subscription.halt();
+    }
+
+    @Test
+    void testProducerWaitsForSlowestConsumer() throws Exception {
+        // Given a full ring and a consumer that has not started
+        TradeEventRingBuffer ring = new TradeEventRingBuffer(2, WaitStrategy.named("BLOCKING"));
+        Recorder slow = new Recorder(3);
+        TradeEventRingBuffer.Subscription subscription = ring.subscribe("slow", slow);
+        ring.publish(new TradeLifecycleEvent(TradeEventType.CREATED, 1L, 1L, 1, NOW));
+        ring.publish(new TradeLifecycleEvent(TradeEventType.CREATED, 2L, 2L, 1, NOW));
+        assertEquals(2, subscription.lag());
+
+        // When a third event is published
+        Thread producer = new Thread(() -> ring.publish(new TradeLifecycleEvent(TradeEventType.CREATED, 3L, 3L, 1, NOW)));
+        producer.start();
+        producer.join(200);
+
+        // Then it waits until the consumer frees a slot
+        assertTrue(producer.isAlive());
+        start(subscription);
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertTrue(slow.done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 2L, 3L), slow.tradeIds);
+        subscription.halt();
+    }
+
+    @Test
+    void testRingSizeMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TradeEventRingBuffer(6, WaitStrategy.named("BLOCKING")));
+        assertThrows(IllegalArgumentException.class, () -> WaitStrategy.named("PARKING"));
+    }
+
+    private static void start(TradeEventRingBuffer.Subscription subscription) {
+        Thread thread = new Thread(subscription, subscription.name());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static final class Recorder implements TradeEventHandler {
+        private final List<Long> tradeIds = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch done;
+
+        private Recorder(int expected) {
+            this.done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onEvent(TradeEvent event, boolean endOfBatch) {
+            tradeIds.add(event.getTradeId());
+            done.countDown();
+        }
+    }
+}
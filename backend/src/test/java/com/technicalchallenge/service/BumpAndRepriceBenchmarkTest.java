@@ -0,0 +1,76 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Scaling benchmark for the DV01 engine. Skipped in normal builds; run with
+ *
+ * <pre>mvn test -Dtest=BumpAndRepriceBenchmarkTest -Dbenchmark=true</pre>
+ *
+ * It reprices a synthetic 20k-trade, 10Y quarterly portfolio under every key-rate
+ * scenario with pools of 1, 2, 4, ... threads up to the core count and prints
+ * wall time and speedup per pool size.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BumpAndRepriceBenchmarkTest {
+
+    private static final int TRADES = 20_000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    @Test
+    void benchmarkScalingWithCoreCount() {
+        PortfolioCashflows portfolio = BumpAndRepriceEngineTest.syntheticPortfolio(TRADES);
+        DiscountCurve[] curves = {new DiscountCurve("USD", 1L,
+                new int[] {3, 6, 12, 24, 36, 60, 84, 120, 180, 240, 360},
+                new double[] {0.050, 0.049, 0.047, 0.045, 0.044, 0.043, 0.042, 0.042, 0.043, 0.043, 0.044})};
+        int valuationDay = (int) LocalDate.of(2025, 1, 1).toEpochDay();
+        BumpAndRepriceEngine engine = new BumpAndRepriceEngine();
+
+        System.out.printf("DV01 benchmark: %d slices, %d cashflows, %d scenarios%n",
+                portfolio.sliceCount(), portfolio.cashflowCount(), curves[0].getTenorMonths().length + 2);
+
+        double baseline = 0;
+        double referenceDelta = Double.NaN;
+        for (int threads : threadCounts(Runtime.getRuntime().availableProcessors())) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                for (int i = 0; i < WARMUP_RUNS; i++) {
+                    engine.run(portfolio, curves, 0.0001, valuationDay, -1, pool);
+                }
+                long started = System.nanoTime();
+                BumpAndRepriceEngine.RiskResult result = null;
+                for (int i = 0; i < MEASURED_RUNS; i++) {
+                    result = engine.run(portfolio, curves, 0.0001, valuationDay, -1, pool);
+                }
+                double millis = (System.nanoTime() - started) / 1e6 / MEASURED_RUNS;
+                if (threads == 1) {
+                    baseline = millis;
+                    referenceDelta = result.parallelDelta(0);
+                }
+                assertEquals(referenceDelta, result.parallelDelta(0));
+                System.out.printf("threads=%2d  %8.1f ms/run  speedup %.2fx  efficiency %3.0f%%%n",
+                        threads, millis, baseline / millis, 100 * baseline / millis / threads);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static List<Integer> threadCounts(int cores) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(cores);
+        return counts;
+    }
+}
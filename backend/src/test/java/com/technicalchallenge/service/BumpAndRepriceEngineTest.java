@@ -0,0 +1,79 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class BumpAndRepriceEngineTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2025, 1, 1);
+    private static final double ONE_BP = 0.0001;
+
+    private final BumpAndRepriceEngine engine = new BumpAndRepriceEngine();
+    private final DiscountCurve usd = new DiscountCurve("USD", 1L, new int[] {12, 24, 60}, new double[] {0.04, 0.045, 0.05});
+
+    @Test
+    void testParallelDv01MatchesAnalyticShift() {
+        PortfolioCashflows portfolio = PortfolioCashflows.builder(new PortfolioStamp(1L, LocalDateTime.now()))
+                .add(1L, "BOOK", "CP", "USD", "Receive", VALUATION_DATE.plusDays(730), BigDecimal.valueOf(1_000_000))
+                .build();
+
+        BumpAndRepriceEngine.RiskResult result = engine.run(portfolio, new DiscountCurve[] {usd}, ONE_BP,
+                (int) VALUATION_DATE.toEpochDay(), -1, new ForkJoinPool(1));
+
+        double t = 730 / 365.0;
+        double z = usd.zeroRate(730);
+        double expected = 1_000_000 * (Math.exp(-(z + ONE_BP) * t) - Math.exp(-z * t));
+        assertEquals(expected, result.parallelDelta(0), 1e-6);
+    }
+
+    @Test
+    void testKeyRateDeltasSumToParallel() {
+        PortfolioCashflows portfolio = syntheticPortfolio(50);
+
+        BumpAndRepriceEngine.RiskResult result = engine.run(portfolio, new DiscountCurve[] {usd}, ONE_BP,
+                (int) VALUATION_DATE.toEpochDay(), -1, new ForkJoinPool(2));
+
+        for (int s = 0; s < portfolio.sliceCount(); s++) {
+            double sum = 0;
+            for (int p = 0; p < 3; p++) {
+                sum += result.keyRateDelta(s, p);
+            }
+            assertEquals(result.parallelDelta(s), sum, Math.abs(result.parallelDelta(s)) * 1e-3);
+        }
+    }
+
+    @Test
+    void testResultsIdenticalForAnyPoolSize() {
+        PortfolioCashflows portfolio = syntheticPortfolio(2_000);
+        int day = (int) VALUATION_DATE.toEpochDay();
+
+        BumpAndRepriceEngine.RiskResult single = engine.run(portfolio, new DiscountCurve[] {usd}, ONE_BP, day, -1, new ForkJoinPool(1));
+        BumpAndRepriceEngine.RiskResult multi = engine.run(portfolio, new DiscountCurve[] {usd}, ONE_BP, day, -1, new ForkJoinPool(4));
+
+        double[] a = new double[portfolio.sliceCount()];
+        double[] b = new double[portfolio.sliceCount()];
+        for (int s = 0; s < a.length; s++) {
+            a[s] = single.parallelDelta(s);
+            b[s] = multi.parallelDelta(s);
+        }
+        assertArrayEquals(a, b);
+    }
+
+    static PortfolioCashflows syntheticPortfolio(int trades) {
+        PortfolioCashflows.Builder builder = PortfolioCashflows.builder(new PortfolioStamp(trades, LocalDateTime.now()));
+        for (int t = 0; t < trades; t++) {
+            for (int m = 3; m <= 120; m += 3) {
+                builder.add(t, "BOOK-" + (t % 10), "CP-" + (t % 7), "USD", t % 2 == 0 ? "Pay" : "Receive",
+                        VALUATION_DATE.plusMonths(m), BigDecimal.valueOf(10_000 + t));
+            }
+        }
+        return builder.build();
+    }
+}
@@ -25,6 +25,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.LegSchedule;
 import com.technicalchallenge.model.PayRec;
 import com.technicalchallenge.model.TradeLeg;
 import com.technicalchallenge.repository.BusinessDayConventionRepository;
@@ -198,4 +199,23 @@ public class CashflowServiceTest {
         // Then
         verify(cashflowRepository).deleteById(cashflowId);
     }
+
+    @Test
+    void testScheduleCashflowsAreReadOnly() {
+        // Given a generated cashflow shared through its leg schedule
+        Cashflow scheduled = new Cashflow();
+        scheduled.setId(7L);
+        scheduled.setLegSchedule(new LegSchedule());
+        when(cashflowRepository.findById(7L)).thenReturn(Optional.of(scheduled));
+        Cashflow edit = new Cashflow();
+        edit.setId(7L);
+        edit.setPaymentValue(BigDecimal.valueOf(1.0));
+        edit.setValueDate(LocalDate.now());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> cashflowService.saveCashflow(edit));
+        assertThrows(IllegalArgumentException.class, () -> cashflowService.deleteCashflow(7L));
+        verify(cashflowRepository, never()).save(any(Cashflow.class));
+        verify(cashflowRepository, never()).deleteById(7L);
+    }
 }
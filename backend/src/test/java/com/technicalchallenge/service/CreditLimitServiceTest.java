@@ -0,0 +1,198 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeLegDTO;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.CreditLimit;
+import com.technicalchallenge.model.CreditLimitType;
+import com.technicalchallenge.repository.BookRepository;
+import com.technicalchallenge.repository.CounterpartyRepository;
+import com.technicalchallenge.repository.CreditLimitRepository;
+import com.technicalchallenge.repository.LimitExposureView;
+import com.technicalchallenge.repository.TradeLegRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CreditLimitServiceTest {
+
+    @Mock
+    private CreditLimitRepository creditLimitRepository;
+    @Mock
+    private TradeLegRepository tradeLegRepository;
+    @Mock
+    private FxRateService fxRateService;
+    @Mock
+    private CounterpartyRepository counterpartyRepository;
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private CreditLimitService creditLimitService;
+
+    private record Exposure(Long getTradeId, String getCounterpartyName, String getBookName,
+                            String getCurrency, BigDecimal getNotional) implements LimitExposureView {
+    }
+
+    @BeforeEach
+    void seed() {
+        when(fxRateService.current()).thenReturn(new FxRateSnapshot("USD", 1L, Map.of("EUR", 1.08)));
+        when(creditLimitRepository.findAllActive()).thenReturn(List.of(
+                limit(CreditLimitType.COUNTERPARTY, "BigBank", "10000000"),
+                limit(CreditLimitType.BOOK, "RATES-BOOK-1", "15000000")));
+        when(tradeLegRepository.streamLimitExposures(anyCollection())).thenReturn(Stream.of(
+                new Exposure(1L, "BigBank", "RATES-BOOK-1", "USD", new BigDecimal("2000000")),
+                new Exposure(1L, "BigBank", "RATES-BOOK-1", "USD", new BigDecimal("2000000")),
+                new Exposure(2L, "BigBank", "RATES-BOOK-1", "EUR", new BigDecimal("1000000"))));
+        creditLimitService.seedUtilisation();
+    }
+
+    @Test
+    void testSeedCountsLargestLegOncePerTradeInPivotCurrency() {
+        // 2,000,000 USD for the swap plus 1,000,000 EUR at 1.08
+        assertEquals(3_080_000L, creditLimitService.utilised(CreditLimitType.COUNTERPARTY, "BigBank"));
+        assertEquals(3_080_000L, creditLimitService.utilised(CreditLimitType.BOOK, "RATES-BOOK-1"));
+    }
+
+    @Test
+    void testBreachRejectedWithoutChangingUtilisation() {
+        // Given a booking that would take BigBank to 11,080,000
+        TradeDTO trade = trade("BigBank", "RATES-BOOK-1", "8000000", "USD");
+
+        // When / Then
+        RuntimeException e = assertThrows(RuntimeException.class, () -> creditLimitService.reserveNewTrade(trade));
+        assertTrue(e.getMessage().contains("counterparty BigBank"));
+        assertEquals(3_080_000L, creditLimitService.utilised(CreditLimitType.COUNTERPARTY, "BigBank"));
+        assertEquals(3_080_000L, creditLimitService.utilised(CreditLimitType.BOOK, "RATES-BOOK-1"));
+    }
+
+    @Test
+    void testBookBreachHandsBackCounterpartyReservation() {
+        // Given a counterparty without a limit booking past the book limit
+        TradeDTO trade = trade("MegaFund", "RATES-BOOK-1", "12000000", "USD");
+
+        // When / Then
+        RuntimeException e = assertThrows(RuntimeException.class, () -> creditLimitService.reserveNewTrade(trade));
+        assertTrue(e.getMessage().contains("book RATES-BOOK-1"));
+        assertEquals(0L, creditLimitService.utilised(CreditLimitType.COUNTERPARTY, "MegaFund"));
+    }
+
+    @Test
+    void testConcurrentBookingsNeverExceedLimit() throws Exception {
+        // Given 6,920,000 of headroom on BigBank and 1,600 competing bookings of 100,000
+        int threads = 16;
+        int bookingsPerThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int n = 0; n < bookingsPerThread; n++) {
+                        try {
+                            creditLimitService.reserveNewTrade(trade("BigBank", "FX-BOOK-1", "100000", "USD"));
+                            accepted.incrementAndGet();
+                        } catch (RuntimeException rejected) {
+                            // breach
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Then exactly the bookings that fit were accepted
+        assertEquals(69, accepted.get());
+        assertEquals(3_080_000L + 69 * 100_000L, creditLimitService.utilised(CreditLimitType.COUNTERPARTY, "BigBank"));
+        assertEquals(69 * 100_000L, creditLimitService.utilised(CreditLimitType.BOOK, "FX-BOOK-1"));
+    }
+
+    @Test
+    void testAmendReservesDeltaAndCancelReleases() {
+        // Given trade 1 grows from 2,000,000 to 8,000,000: only the 6,000,000 increase must fit
+        creditLimitService.reserveAmendment(1L, trade("BigBank", "RATES-BOOK-1", "8000000", "USD"));
+        assertEquals(9_080_000L, creditLimitService.utilised(CreditLimitType.COUNTERPARTY, "BigBank"));
+
+        // When it moves to another counterparty, BigBank is released
+        creditLimitService.reserveAmendment(1L, trade("MegaFund", "RATES-BOOK-1", "8000000", "USD"));
+        assertEquals(1_080_000L, creditLimitService.utilised(CreditLimitType.COUNTERPARTY, "BigBank"));
+        assertEquals(8_000_000L, creditLimitService.utilised(CreditLimitType.COUNTERPARTY, "MegaFund"));
+        assertEquals(9_080_000L, creditLimitService.utilised(CreditLimitType.BOOK, "RATES-BOOK-1"));
+
+        // Then cancelling releases everything it holds
+        creditLimitService.releaseTrade(1L);
+        assertEquals(0L, creditLimitService.utilised(CreditLimitType.COUNTERPARTY, "MegaFund"));
+        assertEquals(1_080_000L, creditLimitService.utilised(CreditLimitType.BOOK, "RATES-BOOK-1"));
+    }
+
+    @Test
+    void testIdOnlyBookingIsCheckedAgainstTheNamedLimits() {
+        // Given a booking that would take BigBank to 11,080,000, naming it only by id
+        TradeDTO trade = trade(null, null, "8000000", "USD");
+        trade.setCounterpartyId(7L);
+        trade.setBookId(3L);
+        Counterparty bigBank = new Counterparty();
+        bigBank.setName("BigBank");
+        Book book = new Book();
+        book.setBookName("RATES-BOOK-1");
+        when(counterpartyRepository.findById(7L)).thenReturn(Optional.of(bigBank));
+        when(bookRepository.findById(3L)).thenReturn(Optional.of(book));
+
+        // When / Then
+        RuntimeException e = assertThrows(RuntimeException.class, () -> creditLimitService.reserveNewTrade(trade));
+        assertTrue(e.getMessage().contains("counterparty BigBank"));
+        assertEquals(3_080_000L, creditLimitService.utilised(CreditLimitType.COUNTERPARTY, "BigBank"));
+    }
+
+    @Test
+    void testUnknownCurrencyRejected() {
+        assertThrows(RuntimeException.class,
+                () -> creditLimitService.reserveNewTrade(trade("BigBank", "RATES-BOOK-1", "1000", "JPY")));
+    }
+
+    private static CreditLimit limit(CreditLimitType type, String name, String amount) {
+        return new CreditLimit(null, type, name, new BigDecimal(amount), true, LocalDateTime.now(), null);
+    }
+
+    private static TradeDTO trade(String counterparty, String book, String notional, String currency) {
+        TradeLegDTO leg = new TradeLegDTO();
+        leg.setNotional(new BigDecimal(notional));
+        leg.setCurrency(currency);
+        TradeDTO trade = new TradeDTO();
+        trade.setCounterpartyName(counterparty);
+        trade.setBookName(book);
+        trade.setTradeLegs(List.of(leg));
+        return trade;
+    }
+}
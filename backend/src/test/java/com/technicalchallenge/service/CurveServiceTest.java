@@ -0,0 +1,89 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+
+import com.technicalchallenge.dto.CurvePointDTO;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.model.CurvePoint;
+import com.technicalchallenge.repository.CurrencyRepository;
+import com.technicalchallenge.repository.CurvePointRepository;
+
+class CurveServiceTest {
+
+    private PlatformTransactionManager transactionManager;
+    private TransactionStatus transaction;
+    private CurveService curveService;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        transaction = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+
+        CurvePointRepository curvePointRepository = mock(CurvePointRepository.class);
+        when(curvePointRepository.findAllActive()).thenReturn(List.of(point(12, 0.03), point(60, 0.035)));
+        CurrencyRepository currencyRepository = mock(CurrencyRepository.class);
+        when(currencyRepository.findByCurrency("USD")).thenReturn(Optional.of(usd()));
+
+        curveService = new CurveService(transactionManager);
+        ReflectionTestUtils.setField(curveService, "curvePointRepository", curvePointRepository);
+        ReflectionTestUtils.setField(curveService, "currencyRepository", currencyRepository);
+        curveService.loadCurves();
+    }
+
+    @Test
+    void testCurveIsPublishedAfterCommit() {
+        // When
+        DiscountCurve updated = curveService.updateCurve("USD", List.of(new CurvePointDTO(12, 0.04), new CurvePointDTO(60, 0.045)));
+
+        // Then
+        verify(transactionManager).commit(transaction);
+        assertSame(updated, curveService.getCurve("USD").orElseThrow());
+        assertEquals(0.04, updated.getZeroRates()[0], 1e-12);
+    }
+
+    @Test
+    void testFailedCommitLeavesPricingOnTheCommittedCurve() {
+        // Given
+        DiscountCurve before = curveService.getCurve("USD").orElseThrow();
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(transaction);
+
+        // When
+        assertThrows(TransactionSystemException.class,
+                () -> curveService.updateCurve("USD", List.of(new CurvePointDTO(12, 0.04), new CurvePointDTO(60, 0.045))));
+
+        // Then
+        assertSame(before, curveService.getCurve("USD").orElseThrow());
+    }
+
+    private static CurvePoint point(int tenorMonths, double zeroRate) {
+        CurvePoint point = new CurvePoint();
+        point.setCurrency(usd());
+        point.setTenorMonths(tenorMonths);
+        point.setZeroRate(zeroRate);
+        return point;
+    }
+
+    private static Currency usd() {
+        Currency currency = new Currency();
+        currency.setCurrency("USD");
+        return currency;
+    }
+}
@@ -0,0 +1,42 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class DiscountCurveTest {
+
+    private final DiscountCurve curve = new DiscountCurve("USD", 1L, new int[] {12, 24}, new double[] {0.04, 0.06});
+
+    @Test
+    void testZeroRateIsInterpolatedAndFlatOutsidePillars() {
+        assertEquals(0.04, curve.zeroRate(0), 1e-12);
+        assertEquals(0.04, curve.zeroRate(365), 1e-12);
+        assertEquals(0.05, curve.zeroRate(548), 1e-4);
+        assertEquals(0.06, curve.zeroRate(5000), 1e-12);
+    }
+
+    @Test
+    void testDiscountFactorMatchesContinuousCompounding() {
+        assertEquals(1.0, curve.discountFactor(0), 1e-12);
+        assertEquals(Math.exp(-0.04 * 100 / 365.0), curve.discountFactor(100), 1e-12);
+        assertEquals(Math.exp(-0.06 * 3650 / 365.0), curve.discountFactor(3650), 1e-12);
+    }
+
+    @Test
+    void testPresentValueIgnoresSettledCashflows() {
+        int[] days = {-1, 0, 365};
+        double[] amounts = {100.0, 100.0, -50.0};
+
+        double pv = curve.presentValue(days, amounts, 0, 3, 0);
+
+        assertEquals(100.0 - 50.0 * curve.discountFactor(365), pv, 1e-9);
+    }
+
+    @Test
+    void testRejectsUnorderedTenors() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DiscountCurve("USD", 1L, new int[] {24, 12}, new double[] {0.04, 0.05}));
+    }
+}
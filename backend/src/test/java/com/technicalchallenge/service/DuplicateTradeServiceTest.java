@@ -0,0 +1,171 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeLegDTO;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.model.Schedule;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.repository.TradeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateTradeServiceTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @InjectMocks
+    private DuplicateTradeService duplicateTradeService;
+
+    private TradeDTO booked;
+
+    @BeforeEach
+    void setUp() {
+        // Given one live trade already in the table
+        booked = trade("1000000", "1000000");
+        when(tradeRepository.findByActiveTrueAndEconomicFingerprintIsNull()).thenReturn(List.of());
+        when(tradeRepository.streamActiveEconomicFingerprints())
+                .thenReturn(Stream.of(TradeFingerprint.of(booked).toHex()));
+        duplicateTradeService.rebuildFilter();
+    }
+
+    @Test
+    void testNewTradeSkipsDatabaseWhenFilterSaysNo() {
+        // When
+        String fingerprint = duplicateTradeService.checkNewTrade(trade("2500000", "2500000"));
+
+        // Then
+        assertEquals(64, fingerprint.length());
+        verify(tradeRepository, never()).findLiveTradeIdsByEconomicFingerprint(anyString(), anyCollection());
+        assertEquals(0L, duplicateTradeService.databaseChecks());
+    }
+
+    @Test
+    void testReplayRejectedAfterDatabaseConfirms() {
+        // Given a replay with legs re-ordered and notionals re-scaled
+        TradeDTO replay = trade("1000000.00", "1000000.0");
+        replay.setTradeLegs(List.of(replay.getTradeLegs().get(1), replay.getTradeLegs().get(0)));
+        when(tradeRepository.findLiveTradeIdsByEconomicFingerprint(anyString(), anyCollection())).thenReturn(List.of(10001L));
+
+        // When / Then
+        RuntimeException e = assertThrows(RuntimeException.class, () -> duplicateTradeService.checkNewTrade(replay));
+        assertTrue(e.getMessage().contains("trade 10001"));
+        assertEquals(1L, duplicateTradeService.duplicates());
+    }
+
+    @Test
+    void testFilterHitOnCancelledTradeIsAllowed() {
+        // Given the matching trade has since been cancelled
+        when(tradeRepository.findLiveTradeIdsByEconomicFingerprint(anyString(), anyCollection())).thenReturn(List.of());
+
+        // When / Then
+        assertDoesNotThrow(() -> duplicateTradeService.checkNewTrade(trade("1000000", "1000000")));
+        assertEquals(1L, duplicateTradeService.databaseChecks());
+    }
+
+    @Test
+    void testFingerprintMatchesBetweenDtoAndEntity() {
+        // Given the entity form of the booked trade
+        Trade entity = new Trade();
+        entity.setCounterparty(named(new Counterparty(), "BigBank"));
+        Book book = new Book();
+        book.setBookName("RATES-BOOK-1");
+        entity.setBook(book);
+        entity.setTradeDate(booked.getTradeDate());
+        entity.setTradeStartDate(booked.getTradeStartDate());
+        entity.setTradeMaturityDate(booked.getTradeMaturityDate());
+        List<TradeLeg> legs = new ArrayList<>();
+        for (TradeLegDTO dto : booked.getTradeLegs()) {
+            TradeLeg leg = new TradeLeg();
+            leg.setNotional(dto.getNotional().setScale(2));
+            leg.setRate(dto.getRate());
+            Currency currency = new Currency();
+            currency.setCurrency(dto.getCurrency());
+            leg.setCurrency(currency);
+            Schedule schedule = new Schedule();
+            schedule.setSchedule(dto.getCalculationPeriodSchedule());
+            leg.setCalculationPeriodSchedule(schedule);
+            legs.add(leg);
+        }
+        entity.setTradeLegs(legs);
+
+        // Then
+        assertEquals(TradeFingerprint.of(booked).toHex(), TradeFingerprint.of(entity).toHex());
+        assertNotEquals(TradeFingerprint.of(booked).toHex(), TradeFingerprint.of(trade("1000000", "1000001")).toHex());
+    }
+
+    @Test
+    void testBloomFilterFalsePositiveRateNearTarget() {
+        // Given a filter sized for 10,000 fingerprints at 1%
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(10_000, 0.01);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            TradeFingerprint fingerprint = TradeFingerprint.of(trade(Long.toString(random.nextLong(1, Long.MAX_VALUE)), "1"));
+            filter.put(fingerprint);
+            assertTrue(filter.mightContain(fingerprint));
+        }
+
+        // When probing fingerprints that were never added
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(TradeFingerprint.of(trade("1", Long.toString(random.nextLong(1, Long.MAX_VALUE)))))) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    private static Counterparty named(Counterparty counterparty, String name) {
+        counterparty.setName(name);
+        return counterparty;
+    }
+
+    private static TradeDTO trade(String payNotional, String receiveNotional) {
+        TradeDTO trade = new TradeDTO();
+        trade.setCounterpartyName("BigBank");
+        trade.setBookName("RATES-BOOK-1");
+        trade.setTradeDate(LocalDate.of(2026, 10, 19));
+        trade.setTradeStartDate(LocalDate.of(2026, 10, 21));
+        trade.setTradeMaturityDate(LocalDate.of(2031, 10, 21));
+        trade.setTradeLegs(List.of(leg(payNotional, 0.04), leg(receiveNotional, null)));
+        return trade;
+    }
+
+    private static TradeLegDTO leg(String notional, Double rate) {
+        TradeLegDTO leg = new TradeLegDTO();
+        leg.setNotional(new BigDecimal(notional));
+        leg.setRate(rate);
+        leg.setCurrency("USD");
+        leg.setCalculationPeriodSchedule("3M");
+        return leg;
+    }
+}
@@ -0,0 +1,88 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+
+import com.technicalchallenge.dto.FxRateDTO;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.model.FxRate;
+import com.technicalchallenge.repository.CurrencyRepository;
+import com.technicalchallenge.repository.FxRateRepository;
+
+class FxRateServiceTest {
+
+    private PlatformTransactionManager transactionManager;
+    private TransactionStatus transaction;
+    private FxRateService fxRateService;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        transaction = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+
+        FxRateRepository fxRateRepository = mock(FxRateRepository.class);
+        FxRate usd = new FxRate();
+        usd.setCurrency(currency("USD"));
+        usd.setRateToPivot(1.0);
+        FxRate eur = new FxRate();
+        eur.setCurrency(currency("EUR"));
+        eur.setRateToPivot(1.10);
+        when(fxRateRepository.findAllActive()).thenReturn(List.of(usd, eur));
+        CurrencyRepository currencyRepository = mock(CurrencyRepository.class);
+        when(currencyRepository.findByCurrency("EUR")).thenReturn(Optional.of(currency("EUR")));
+
+        fxRateService = new FxRateService(transactionManager);
+        ReflectionTestUtils.setField(fxRateService, "fxRateRepository", fxRateRepository);
+        ReflectionTestUtils.setField(fxRateService, "currencyRepository", currencyRepository);
+        ReflectionTestUtils.setField(fxRateService, "pivotCurrency", "USD");
+        fxRateService.loadRates();
+    }
+
+    @Test
+    void testSnapshotIsPublishedAfterCommit() {
+        // When
+        fxRateService.updateRates(List.of(new FxRateDTO("EUR", 1.20)));
+
+        // Then
+        verify(transactionManager).commit(transaction);
+        assertEquals(1.20, fxRateService.current().rateToPivot("EUR"), 1e-12);
+    }
+
+    @Test
+    void testFailedCommitLeavesReadersOnTheCommittedRates() {
+        // Given
+        FxRateSnapshot before = fxRateService.current();
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(transaction);
+
+        // When
+        assertThrows(TransactionSystemException.class,
+                () -> fxRateService.updateRates(List.of(new FxRateDTO("EUR", 1.20))));
+
+        // Then
+        assertSame(before, fxRateService.current());
+        assertEquals(1.10, fxRateService.current().rateToPivot("EUR"), 1e-12);
+    }
+
+    private static Currency currency(String code) {
+        Currency currency = new Currency();
+        currency.setCurrency(code);
+        return currency;
+    }
+}
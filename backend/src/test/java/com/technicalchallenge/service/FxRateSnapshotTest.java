@@ -0,0 +1,50 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class FxRateSnapshotTest {
+
+    private final FxRateSnapshot fx = new FxRateSnapshot("USD", 1L, Map.of("EUR", 1.08, "GBP", 1.27));
+
+    @Test
+    void testCrossRateIsTriangulatedThroughPivot() {
+        assertEquals(1.27 / 1.08, fx.rate("GBP", "EUR"), 1e-12);
+        assertEquals(1.08, fx.rate("EUR", "USD"), 1e-12);
+        assertEquals(1.0, fx.rate("USD", "USD"), 0.0);
+        assertEquals(1.0, fx.rate("EUR", "GBP") * fx.rate("GBP", "EUR"), 1e-12);
+    }
+
+    @Test
+    void testUnknownCurrencyConvertsToNaN() {
+        assertTrue(Double.isNaN(fx.rate("JPY", "USD")));
+        assertEquals(-1, fx.indexOf("JPY"));
+    }
+
+    @Test
+    void testBulkConversionUsesCallerCurrencyIndexing() {
+        // Given amounts indexed by the caller's own currency ordering
+        double[] factors = fx.conversionFactors(new String[] {"GBP", "USD", "EUR"}, "USD");
+        double[] amounts = {100.0, 50.0, 10.0};
+        int[] currencyIndex = {0, 1, 2};
+
+        // When
+        double[] converted = new double[amounts.length];
+        FxRateSnapshot.convert(amounts, currencyIndex, factors, converted);
+
+        // Then
+        assertArrayEquals(new double[] {127.0, 50.0, 10.8}, converted, 1e-9);
+        assertEquals(187.8, FxRateSnapshot.convertAndSum(amounts, currencyIndex, factors), 1e-9);
+    }
+
+    @Test
+    void testNonPositiveRateRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new FxRateSnapshot("USD", 2L, Map.of("EUR", 0.0)));
+    }
+}
@@ -0,0 +1,137 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.technicalchallenge.model.IdempotencyRecord;
+import com.technicalchallenge.repository.IdempotencyRecordRepository;
+
+class IdempotencyServiceTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    private IdempotencyService idempotencyService;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository = mock(IdempotencyRecordRepository.class);
+        lenient().when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(anyString(), any()))
+                .thenReturn(Optional.empty());
+        idempotencyService = new IdempotencyService(2);
+        ReflectionTestUtils.setField(idempotencyService, "idempotencyRecordRepository", idempotencyRecordRepository);
+    }
+
+    @Test
+    void testRetryReplaysFirstResponseWithoutExecuting() throws Exception {
+        // Given
+        IdempotencyService.StoredResponse first = idempotencyService.execute("key-1", HASH, () -> respond(201, "{\"tradeId\":10002}"));
+
+        // When
+        IdempotencyService.StoredResponse retry = idempotencyService.execute("key-1", HASH, () -> respond(201, "{\"tradeId\":10003}"));
+
+        // Then
+        assertEquals(1, executions.get());
+        assertArrayEquals(first.body(), retry.body());
+        verify(idempotencyRecordRepository, times(1)).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void testKeyReusedForDifferentRequestRefused() throws Exception {
+        idempotencyService.execute("key-1", HASH, () -> respond(201, "{}"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.execute("key-1", "b".repeat(64), () -> respond(201, "{}")));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testEvictedResponseReadBackFromTable() throws Exception {
+        // Given key-1 has been evicted from the two-entry cache
+        idempotencyService.execute("key-1", HASH, () -> respond(201, "first"));
+        idempotencyService.execute("key-2", HASH, () -> respond(201, "second"));
+        idempotencyService.execute("key-3", HASH, () -> respond(201, "third"));
+        IdempotencyRecord stored = new IdempotencyRecord(1L, "key-1", HASH, 201, "application/json",
+                "first".getBytes(StandardCharsets.UTF_8), LocalDateTime.now(), LocalDateTime.now().plusHours(1));
+        lenient().when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(eq("key-1"), any()))
+                .thenReturn(Optional.of(stored));
+
+        // When
+        IdempotencyService.StoredResponse retry = idempotencyService.execute("key-1", HASH, () -> respond(201, "again"));
+
+        // Then
+        assertEquals(3, executions.get());
+        assertEquals("first", new String(retry.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testServerErrorNotStored() throws Exception {
+        idempotencyService.execute("key-1", HASH, () -> respond(500, "boom"));
+        idempotencyService.execute("key-1", HASH, () -> respond(201, "{}"));
+
+        assertEquals(2, executions.get());
+        verify(idempotencyRecordRepository, times(1)).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void testConcurrentRequestsCollapseIntoOneExecution() throws Exception {
+        // Given eight requests with the same key racing a slow booking
+        int requests = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<IdempotencyService.StoredResponse>> results = new ArrayList<>();
+
+        // When
+        for (int n = 0; n < requests; n++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return idempotencyService.execute("key-1", HASH, () -> {
+                    Thread.sleep(200);
+                    return respond(201, "{\"tradeId\":10002}");
+                });
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(1, executions.get());
+        IdempotencyService.StoredResponse first = results.get(0).get();
+        for (Future<IdempotencyService.StoredResponse> result : results) {
+            assertSame(first, result.get());
+        }
+    }
+
+    private IdempotencyService.StoredResponse respond(int status, String body) {
+        executions.incrementAndGet();
+        return idempotencyService.newResponse(HASH, status, "application/json", body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,60 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technicalchallenge.dto.FieldChangeDTO;
+
+class JsonTreeDiffTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testEqualTreesHaveNoChanges() throws Exception {
+        // Given
+        JsonNode trade = json("{'utiCode':'U1','tradeLegs':[{'notional':1,'cashflows':[{'rate':0.1}]}]}");
+
+        // When / Then
+        assertTrue(JsonTreeDiff.diff(trade, trade.deepCopy()).isEmpty());
+    }
+
+    @Test
+    void testNestedChangeIsOneReplace() throws Exception {
+        // Given
+        JsonNode from = json("{'utiCode':'U1','tradeLegs':[{'notional':1},{'notional':2}]}");
+        JsonNode to = json("{'utiCode':'U1','tradeLegs':[{'notional':1},{'notional':5}]}");
+
+        // When
+        List<FieldChangeDTO> changes = JsonTreeDiff.diff(from, to);
+
+        // Then
+        assertEquals(1, changes.size());
+        assertEquals("replace", changes.get(0).getOp());
+        assertEquals("/tradeLegs/1/notional", changes.get(0).getPath());
+        assertEquals(5, changes.get(0).getValue().asInt());
+    }
+
+    @Test
+    void testArrayGrowsAndShrinksAtTheEnd() throws Exception {
+        // Given
+        JsonNode from = json("{'cashflows':[1,2,3],'a/b':null}");
+        JsonNode to = json("{'cashflows':[1],'extra':true}");
+
+        // When
+        List<FieldChangeDTO> changes = JsonTreeDiff.diff(from, to);
+
+        // Then removals come highest index first
+        assertEquals(List.of("remove /cashflows/2", "remove /cashflows/1", "remove /a~1b", "add /extra"),
+                changes.stream().map(c -> c.getOp() + " " + c.getPath()).toList());
+    }
+
+    private JsonNode json(String singleQuoted) throws Exception {
+        return objectMapper.readTree(singleQuoted.replace('\'', '"'));
+    }
+}
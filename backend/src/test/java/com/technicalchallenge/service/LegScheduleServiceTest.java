@@ -0,0 +1,123 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.LegSchedule;
+import com.technicalchallenge.model.LegType;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.repository.CashflowRepository;
+import com.technicalchallenge.repository.LegScheduleRepository;
+import com.technicalchallenge.repository.TradeLegRepository;
+
+@ExtendWith(MockitoExtension.class)
+class LegScheduleServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 10, 21);
+    private static final LocalDate MATURITY = LocalDate.of(2027, 10, 21);
+
+    @Mock
+    private LegScheduleRepository legScheduleRepository;
+
+    @Mock
+    private CashflowRepository cashflowRepository;
+
+    @Mock
+    private TradeLegRepository tradeLegRepository;
+
+    @InjectMocks
+    private LegScheduleService legScheduleService;
+
+    @Test
+    void testNewTermsGenerateCashflowsOnce() {
+        // Given
+        when(legScheduleRepository.findFirstByScheduleHashAndArchivedFalseOrderByIdAsc(anyString())).thenReturn(Optional.empty());
+        when(legScheduleRepository.save(any(LegSchedule.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TradeLeg leg = fixedLeg("1000000", 0.05);
+
+        // When
+        LegSchedule schedule = legScheduleService.assignSchedule(leg, START, MATURITY);
+
+        // Then quarterly cashflows over one year, all on the new schedule
+        ArgumentCaptor<Cashflow> cashflows = ArgumentCaptor.forClass(Cashflow.class);
+        verify(cashflowRepository, times(4)).save(cashflows.capture());
+        assertSame(schedule, leg.getLegSchedule());
+        assertEquals(4, schedule.getCashflowCount());
+        assertEquals(64, schedule.getScheduleHash().length());
+        for (Cashflow cashflow : cashflows.getAllValues()) {
+            assertSame(schedule, cashflow.getLegSchedule());
+            assertNull(cashflow.getTradeLeg());
+            assertEquals(0, BigDecimal.valueOf(12500).compareTo(cashflow.getPaymentValue()));
+        }
+        assertEquals(1L, legScheduleService.generatedSchedules());
+    }
+
+    @Test
+    void testSameTermsShareExistingSchedule() {
+        // Given a schedule already stored for these terms
+        LegSchedule existing = new LegSchedule();
+        existing.setId(7L);
+        when(legScheduleRepository.findFirstByScheduleHashAndArchivedFalseOrderByIdAsc(
+                LegScheduleService.scheduleHash(fixedLeg("1000000", 0.05), START, MATURITY))).thenReturn(Optional.of(existing));
+        TradeLeg leg = fixedLeg("1000000.00", 0.05);
+
+        // When
+        LegSchedule schedule = legScheduleService.assignSchedule(leg, START, MATURITY);
+
+        // Then
+        assertSame(existing, schedule);
+        assertSame(existing, leg.getLegSchedule());
+        verify(cashflowRepository, never()).save(any(Cashflow.class));
+        verify(legScheduleRepository, never()).save(any(LegSchedule.class));
+        assertEquals(1L, legScheduleService.reusedSchedules());
+    }
+
+    @Test
+    void testHashChangesWithCashflowTerms() {
+        String hash = LegScheduleService.scheduleHash(fixedLeg("1000000", 0.05), START, MATURITY);
+
+        assertEquals(hash, LegScheduleService.scheduleHash(fixedLeg("1000000.000", 0.050), START, MATURITY));
+        assertNotEquals(hash, LegScheduleService.scheduleHash(fixedLeg("1000000", 0.051), START, MATURITY));
+        assertNotEquals(hash, LegScheduleService.scheduleHash(fixedLeg("2000000", 0.05), START, MATURITY));
+        assertNotEquals(hash, LegScheduleService.scheduleHash(fixedLeg("1000000", 0.05), START, MATURITY.plusMonths(3)));
+    }
+
+    @Test
+    void testLegWithoutDatesGetsNoSchedule() {
+        TradeLeg leg = fixedLeg("1000000", 0.05);
+
+        assertNull(legScheduleService.assignSchedule(leg, START, null));
+        assertNull(leg.getLegSchedule());
+        verify(legScheduleRepository, never()).findFirstByScheduleHashAndArchivedFalseOrderByIdAsc(anyString());
+    }
+
+    private static TradeLeg fixedLeg(String notional, double rate) {
+        LegType fixed = new LegType();
+        fixed.setType("Fixed");
+        TradeLeg leg = new TradeLeg();
+        leg.setNotional(new BigDecimal(notional));
+        leg.setRate(rate);
+        leg.setLegRateType(fixed);
+        return leg;
+    }
+}
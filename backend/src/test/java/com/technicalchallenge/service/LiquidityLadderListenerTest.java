@@ -0,0 +1,29 @@
+package com.technicalchallenge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.technicalchallenge.repository.CashflowRepository;
+
+class LiquidityLadderListenerTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withBean(CashflowRepository.class, () -> mock(CashflowRepository.class))
+            .withUserConfiguration(LiquidityLadderService.class, LiquidityLadderListener.class);
+
+    @Test
+    void testNoListenerWhileLadderIsServedFromSql() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(LiquidityLadderListener.class));
+        contextRunner.withPropertyValues("ladder.incremental.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(LiquidityLadderListener.class));
+    }
+
+    @Test
+    void testListenerRegisteredWhenIncrementalLadderIsEnabled() {
+        contextRunner.withPropertyValues("ladder.incremental.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(LiquidityLadderListener.class));
+    }
+}
@@ -0,0 +1,129 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.technicalchallenge.dto.LadderBucketDTO;
+import com.technicalchallenge.dto.LiquidityLadderDTO;
+import com.technicalchallenge.event.TradeEventType;
+import com.technicalchallenge.event.TradeLifecycleEvent;
+import com.technicalchallenge.repository.CashflowRepository;
+import com.technicalchallenge.repository.ValuationCashflowView;
+
+@ExtendWith(MockitoExtension.class)
+class LiquidityLadderServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 12, 31);
+
+    @Mock
+    private CashflowRepository cashflowRepository;
+
+    @InjectMocks
+    private LiquidityLadderService liquidityLadderService;
+
+    @Test
+    void testSqlModeDelegatesBucketingToRepository() {
+        // Given the in-memory ladder is disabled
+        when(cashflowRepository.findMonthlyLadder(eq(FROM), eq(TO), eq(null), eq("USD"), anyCollection()))
+                .thenReturn(List.of());
+
+        // When
+        LiquidityLadderDTO ladder = liquidityLadderService.getLadder(LadderBucket.MONTH, FROM, TO, null, "USD", false);
+
+        // Then
+        assertEquals(LiquidityLadderService.SOURCE_SQL, ladder.getSource());
+        verify(cashflowRepository, never()).streamValuationCashflows(any());
+    }
+
+    @Test
+    void testInvalidDateRangeRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> liquidityLadderService.getLadder(LadderBucket.DAY, TO, FROM, null, null, false));
+    }
+
+    @Test
+    void testIncrementalLadderRollsUpAndNetsByWeek() {
+        // Given a Monday and Wednesday of the same week and one cashflow in the next week
+        seed(row(1L, "USD", "Receive", LocalDate.of(2026, 3, 2), 1000),
+             row(1L, "USD", "Pay", LocalDate.of(2026, 3, 4), 300),
+             row(2L, "USD", "Pay", LocalDate.of(2026, 3, 9), 50));
+
+        // When
+        LiquidityLadderDTO ladder = liquidityLadderService.getLadder(LadderBucket.WEEK, FROM, TO, null, null, false);
+
+        // Then
+        assertEquals(LiquidityLadderService.SOURCE_INCREMENTAL, ladder.getSource());
+        assertEquals(2, ladder.getBuckets().size());
+        LadderBucketDTO first = ladder.getBuckets().get(0);
+        assertEquals(LocalDate.of(2026, 3, 2), first.getBucketStart());
+        assertEquals(0, new BigDecimal("300").compareTo(first.getPayAmount()));
+        assertEquals(0, new BigDecimal("700").compareTo(first.getNetAmount()));
+        assertEquals(2, first.getCashflowCount());
+        assertEquals(0, new BigDecimal("-50").compareTo(ladder.getBuckets().get(1).getNetAmount()));
+    }
+
+    @Test
+    void testAmendReplacesTradeContributionWithoutRescan() {
+        // Given trade 1 receives 1000 in March
+        seed(row(1L, "USD", "Receive", LocalDate.of(2026, 3, 2), 1000));
+
+        // When it is amended to receive 400 in April instead
+        when(cashflowRepository.findValuationCashflowsByTradeId(eq(1L), anyCollection()))
+                .thenReturn(List.of(row(1L, "USD", "Receive", LocalDate.of(2026, 4, 1), 400)));
+        liquidityLadderService.applyTradeEvent(new TradeLifecycleEvent(TradeEventType.AMENDED, 1L, 2L, 2, LocalDateTime.now()));
+
+        // Then the March bucket is gone and the stream was only read once at startup
+        LiquidityLadderDTO ladder = liquidityLadderService.getLadder(LadderBucket.MONTH, FROM, TO, null, null, false);
+        assertEquals(1, ladder.getBuckets().size());
+        assertEquals(LocalDate.of(2026, 4, 1), ladder.getBuckets().get(0).getBucketStart());
+        assertEquals(0, new BigDecimal("400").compareTo(ladder.getBuckets().get(0).getNetAmount()));
+        verify(cashflowRepository).streamValuationCashflows(anyCollection());
+    }
+
+    @Test
+    void testCancelRemovesTradeContribution() {
+        // Given
+        seed(row(1L, "USD", "Receive", LocalDate.of(2026, 3, 2), 1000));
+        when(cashflowRepository.findValuationCashflowsByTradeId(eq(1L), anyCollection())).thenReturn(List.of());
+
+        // When
+        liquidityLadderService.applyTradeEvent(new TradeLifecycleEvent(TradeEventType.CANCELLED, 1L, 1L, 1, LocalDateTime.now()));
+
+        // Then
+        assertEquals(0, liquidityLadderService.getLadder(LadderBucket.DAY, FROM, TO, null, null, false).getBuckets().size());
+    }
+
+    private void seed(ValuationCashflowView... rows) {
+        ReflectionTestUtils.setField(liquidityLadderService, "incrementalEnabled", true);
+        when(cashflowRepository.streamValuationCashflows(anyCollection())).thenReturn(Stream.of(rows));
+        liquidityLadderService.seedIncrementalLadder();
+    }
+
+    private static ValuationCashflowView row(Long tradeId, String currency, String payRec, LocalDate valueDate, long amount) {
+        return new Row(tradeId, "RATES-BOOK-1", "BigBank", currency, payRec, valueDate, BigDecimal.valueOf(amount));
+    }
+
+    private record Row(Long getTradeId, String getBookName, String getCounterpartyName, String getCurrency,
+                       String getPayRec, LocalDate getValueDate, BigDecimal getPaymentValue) implements ValuationCashflowView {
+    }
+}
@@ -0,0 +1,130 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.technicalchallenge.dto.NpvReportDTO;
+
+@ExtendWith(MockitoExtension.class)
+class NpvServiceTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2025, 1, 1);
+
+    @Mock
+    private PortfolioCashflowLoader portfolioCashflowLoader;
+
+    @Mock
+    private CurveService curveService;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @Spy
+    private ForkJoinPool valuationPool = new ForkJoinPool(2);
+
+    @InjectMocks
+    private NpvService npvService;
+
+    private PortfolioStamp stamp;
+    private DiscountCurve usdCurve;
+    private DiscountCurve eurCurve;
+
+    @BeforeEach
+    void setUp() {
+        stamp = new PortfolioStamp(2L, LocalDateTime.of(2025, 1, 1, 9, 0));
+        PortfolioCashflows portfolio = PortfolioCashflows.builder(stamp)
+                .add(100001L, "RATES-BOOK-1", "BigBank", "USD", "Receive", LocalDate.of(2026, 1, 1), BigDecimal.valueOf(1000))
+                .add(100001L, "RATES-BOOK-1", "BigBank", "USD", "Pay", LocalDate.of(2026, 1, 1), BigDecimal.valueOf(400))
+                .add(100002L, "FX-BOOK-1", "MegaFund", "EUR", "Receive", LocalDate.of(2026, 1, 1), BigDecimal.valueOf(500))
+                .add(100002L, "FX-BOOK-1", "MegaFund", "EUR", "Receive", LocalDate.of(2024, 6, 1), BigDecimal.valueOf(999))
+                .build();
+
+        usdCurve = new DiscountCurve("USD", 1L, new int[] {12}, new double[] {0.0});
+        eurCurve = new DiscountCurve("EUR", 2L, new int[] {12}, new double[] {0.0});
+
+        when(portfolioCashflowLoader.currentStamp()).thenReturn(stamp);
+        when(portfolioCashflowLoader.load()).thenReturn(portfolio);
+        when(curveService.curvesFor(any(PortfolioCashflows.class))).thenAnswer(inv -> {
+            PortfolioCashflows cashflows = inv.getArgument(0);
+            DiscountCurve[] curves = new DiscountCurve[cashflows.currencyCount()];
+            for (int c = 0; c < curves.length; c++) {
+                curves[c] = "USD".equals(cashflows.currency(c)) ? usdCurve : eurCurve;
+            }
+            return curves;
+        });
+    }
+
+    @Test
+    void testNpvNetsPayAgainstReceiveAndSkipsSettledCashflows() {
+        NpvReportDTO report = npvService.calculateNpv(null, VALUATION_DATE);
+
+        assertEquals(2, report.getTrades().size());
+        assertEquals(new BigDecimal("600.00"), report.getTotals().get("USD"));
+        assertEquals(new BigDecimal("500.00"), report.getTotals().get("EUR"));
+        assertEquals(new BigDecimal("600.00"), report.getCounterpartyTotals().get("BigBank").get("USD"));
+        assertEquals(2, report.getRevaluedSlices());
+    }
+
+    @Test
+    void testBookFilter() {
+        NpvReportDTO report = npvService.calculateNpv("FX-BOOK-1", VALUATION_DATE);
+
+        assertEquals(1, report.getTrades().size());
+        assertEquals(100002L, report.getTrades().get(0).getTradeId());
+        assertEquals(1, report.getBookTotals().size());
+    }
+
+    @Test
+    void testOnlySlicesOnChangedCurveAreRevalued() {
+        npvService.calculateNpv(null, VALUATION_DATE);
+
+        eurCurve = new DiscountCurve("EUR", 3L, new int[] {12}, new double[] {0.05});
+        NpvReportDTO report = npvService.calculateNpv(null, VALUATION_DATE);
+
+        assertEquals(1, report.getRevaluedSlices());
+        assertEquals(new BigDecimal("600.00"), report.getTotals().get("USD"));
+        assertTrue(report.getTotals().get("EUR").compareTo(BigDecimal.valueOf(500)) < 0);
+        verify(portfolioCashflowLoader, times(1)).load();
+    }
+
+    @Test
+    void testMissingCurveIsReported() {
+        eurCurve = null;
+
+        NpvReportDTO report = npvService.calculateNpv(null, VALUATION_DATE);
+
+        assertEquals(1, report.getMissingCurves().size());
+        assertEquals("EUR", report.getMissingCurves().get(0));
+        assertEquals(null, report.getTotals().get("EUR"));
+    }
+
+    @Test
+    void testReportingCurrencyConvertsEachBookOnce() {
+        when(fxRateService.current()).thenReturn(new FxRateSnapshot("USD", 1L, Map.of("EUR", 1.10)));
+
+        NpvReportDTO report = npvService.calculateNpv(null, VALUATION_DATE, "EUR");
+
+        assertEquals("EUR", report.getReportingCurrency());
+        assertEquals(new BigDecimal("545.45"), report.getReportingBookTotals().get("RATES-BOOK-1"));
+        assertEquals(new BigDecimal("500.00"), report.getReportingBookTotals().get("FX-BOOK-1"));
+        assertEquals(new BigDecimal("1045.45"), report.getReportingTotal());
+    }
+}
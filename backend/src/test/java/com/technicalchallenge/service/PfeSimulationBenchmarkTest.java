@@ -0,0 +1,99 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Scaling benchmark for the PFE engine. Skipped in normal builds; run with
+ *
+ * <pre>mvn test -Dtest=PfeSimulationBenchmarkTest -Dbenchmark=true</pre>
+ *
+ * It simulates synthetic 10Y quarterly portfolios over a quarterly five-year
+ * grid for every combination of path count and trade count, once on a single
+ * thread and once on all cores, printing wall time, speedup and throughput
+ * in gross cashflow revaluations (path x cashflow x grid date) per second. Each parallel
+ * profile is checked to be identical to the single-threaded one.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PfeSimulationBenchmarkTest {
+
+    private static final int[] PATHS = {1_000, 5_000};
+    private static final int[] TRADES = {100, 500, 2_000};
+    private static final int WARMUP_RUNS = 1;
+    private static final int MEASURED_RUNS = 2;
+
+    @Test
+    void benchmarkPathsByTrades() {
+        DiscountCurve[] curves = {new DiscountCurve("USD", 1L,
+                new int[] {3, 6, 12, 24, 36, 60, 84, 120, 180, 240, 360},
+                new double[] {0.050, 0.049, 0.047, 0.045, 0.044, 0.043, 0.042, 0.042, 0.043, 0.043, 0.044})};
+        LocalDate valuationDate = LocalDate.of(2025, 1, 1);
+        int valuationDay = (int) valuationDate.toEpochDay();
+        int[] grid = new int[21];
+        for (int g = 0; g < grid.length; g++) {
+            grid[g] = (int) (valuationDate.plusMonths(3L * g).toEpochDay() - valuationDay);
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        PfeSimulationEngine engine = new PfeSimulationEngine();
+
+        System.out.printf("PFE benchmark: %d grid dates, 1 vs %d threads%n", grid.length, cores);
+        for (int trades : TRADES) {
+            PortfolioCashflows portfolio = staggeredPortfolio(trades, valuationDate);
+            int[] counterparties = PfeSimulationEngineTest.allCounterparties(portfolio);
+            for (int paths : PATHS) {
+                PfeSimulationEngine.Parameters params = new PfeSimulationEngine.Parameters(paths, 42L, grid, 0.03, 0.01, 0.95);
+                ForkJoinPool single = new ForkJoinPool(1);
+                ForkJoinPool all = new ForkJoinPool(cores);
+                try {
+                    double singleMillis = time(engine, portfolio, curves, valuationDay, counterparties, params, single);
+                    double allMillis = time(engine, portfolio, curves, valuationDay, counterparties, params, all);
+                    PfeSimulationEngine.PfeResult reference = engine.run(portfolio, curves, new double[] {1.0},
+                            valuationDay, counterparties, params, single);
+                    PfeSimulationEngine.PfeResult parallel = engine.run(portfolio, curves, new double[] {1.0},
+                            valuationDay, counterparties, params, all);
+                    assertArrayEquals(reference.pfe(0), parallel.pfe(0));
+
+                    double work = (double) paths * portfolio.cashflowCount() * grid.length / 2;
+                    System.out.printf("trades=%5d paths=%6d  1 thread %9.1f ms  %2d threads %9.1f ms  speedup %.2fx  %.1fM gross reval/s%n",
+                            trades, paths, singleMillis, cores, allMillis, singleMillis / allMillis, work / allMillis / 1e3);
+                } finally {
+                    single.shutdown();
+                    all.shutdown();
+                }
+            }
+        }
+    }
+
+    // Start dates spread over a year so netting sets keep many distinct cashflow dates
+    private static PortfolioCashflows staggeredPortfolio(int trades, LocalDate valuationDate) {
+        PortfolioCashflows.Builder builder = PortfolioCashflows.builder(new PortfolioStamp(trades, LocalDateTime.now()));
+        for (int t = 0; t < trades; t++) {
+            LocalDate start = valuationDate.plusDays(t % 365);
+            for (int m = 3; m <= 120; m += 3) {
+                builder.add(t, "BOOK-" + (t % 10), "CP-" + (t % 50), "USD", t % 2 == 0 ? "Pay" : "Receive",
+                        start.plusMonths(m), BigDecimal.valueOf(10_000 + t));
+            }
+        }
+        return builder.build();
+    }
+
+    private static double time(PfeSimulationEngine engine, PortfolioCashflows portfolio, DiscountCurve[] curves,
+                               int valuationDay, int[] counterparties, PfeSimulationEngine.Parameters params,
+                               ForkJoinPool pool) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            engine.run(portfolio, curves, new double[] {1.0}, valuationDay, counterparties, params, pool);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            engine.run(portfolio, curves, new double[] {1.0}, valuationDay, counterparties, params, pool);
+        }
+        return (System.nanoTime() - started) / 1e6 / MEASURED_RUNS;
+    }
+}
@@ -0,0 +1,97 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class PfeSimulationEngineTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2025, 1, 1);
+    private static final int[] QUARTERLY_GRID = {0, 90, 181, 273, 365, 730, 1095};
+
+    private final PfeSimulationEngine engine = new PfeSimulationEngine();
+    private final DiscountCurve[] usd = {new DiscountCurve("USD", 1L, new int[] {12, 24, 60}, new double[] {0.04, 0.045, 0.05})};
+    private final double[] noConversion = {1.0};
+
+    @Test
+    void testResultsBitForBitIdenticalForAnyPoolSize() {
+        PortfolioCashflows portfolio = BumpAndRepriceEngineTest.syntheticPortfolio(200);
+        int[] counterparties = allCounterparties(portfolio);
+        PfeSimulationEngine.Parameters params = new PfeSimulationEngine.Parameters(1_000, 7L, QUARTERLY_GRID, 0.03, 0.01, 0.95);
+
+        PfeSimulationEngine.PfeResult single = engine.run(portfolio, usd, noConversion,
+                (int) VALUATION_DATE.toEpochDay(), counterparties, params, new ForkJoinPool(1));
+        PfeSimulationEngine.PfeResult multi = engine.run(portfolio, usd, noConversion,
+                (int) VALUATION_DATE.toEpochDay(), counterparties, params, new ForkJoinPool(4));
+
+        for (int n = 0; n < counterparties.length; n++) {
+            assertArrayEquals(single.expectedExposure(n), multi.expectedExposure(n));
+            assertArrayEquals(single.pfe(n), multi.pfe(n));
+        }
+    }
+
+    @Test
+    void testZeroVolatilityGivesDeterministicExposure() {
+        // Given a single receive cashflow in two years
+        PortfolioCashflows portfolio = PortfolioCashflows.builder(new PortfolioStamp(1L, LocalDateTime.now()))
+                .add(1L, "BOOK", "CP", "USD", "Receive", VALUATION_DATE.plusDays(730), BigDecimal.valueOf(1_000_000))
+                .build();
+        PfeSimulationEngine.Parameters params = new PfeSimulationEngine.Parameters(100, 1L, QUARTERLY_GRID, 0.03, 0.0, 0.95);
+
+        // When
+        PfeSimulationEngine.PfeResult result = engine.run(portfolio, usd, noConversion,
+                (int) VALUATION_DATE.toEpochDay(), new int[] {0}, params, new ForkJoinPool(2));
+
+        // Then exposure is the forward value on every path, and zero once the cashflow has paid
+        double todayPv = 1_000_000 * usd[0].discountFactor(730);
+        assertEquals(todayPv, result.expectedExposure(0)[0], 1e-6);
+        assertEquals(todayPv, result.pfe(0)[0], 1e-6);
+        assertEquals(1_000_000 * usd[0].discountFactor(730) / usd[0].discountFactor(365), result.expectedExposure(0)[4], 1e-6);
+        assertEquals(0.0, result.expectedExposure(0)[5]);
+    }
+
+    @Test
+    void testHigherConfidenceNeverLowersPfeAndSeedMatters() {
+        PortfolioCashflows portfolio = BumpAndRepriceEngineTest.syntheticPortfolio(20);
+        int[] counterparties = allCounterparties(portfolio);
+        PfeSimulationEngine.Parameters p95 = new PfeSimulationEngine.Parameters(500, 1L, QUARTERLY_GRID, 0.03, 0.01, 0.95);
+        PfeSimulationEngine.Parameters p99 = new PfeSimulationEngine.Parameters(500, 1L, QUARTERLY_GRID, 0.03, 0.01, 0.99);
+        PfeSimulationEngine.Parameters otherSeed = new PfeSimulationEngine.Parameters(500, 2L, QUARTERLY_GRID, 0.03, 0.01, 0.95);
+        int day = (int) VALUATION_DATE.toEpochDay();
+
+        PfeSimulationEngine.PfeResult a = engine.run(portfolio, usd, noConversion, day, counterparties, p95, new ForkJoinPool(2));
+        PfeSimulationEngine.PfeResult b = engine.run(portfolio, usd, noConversion, day, counterparties, p99, new ForkJoinPool(2));
+        PfeSimulationEngine.PfeResult c = engine.run(portfolio, usd, noConversion, day, counterparties, otherSeed, new ForkJoinPool(2));
+
+        for (int n = 0; n < counterparties.length; n++) {
+            // Today's exposure is known, so every quantile equals the mean
+            assertEquals(a.pfe(n)[0], a.expectedExposure(n)[0], Math.abs(a.pfe(n)[0]) * 1e-12);
+            for (int g = 0; g < QUARTERLY_GRID.length; g++) {
+                assertTrue(a.expectedExposure(n)[g] >= 0.0);
+                assertTrue(b.pfe(n)[g] >= a.pfe(n)[g]);
+            }
+        }
+        boolean seedChangedProfile = false;
+        for (int n = 0; n < counterparties.length; n++) {
+            assertArrayEquals(a.expectedExposure(n), b.expectedExposure(n));
+            seedChangedProfile |= !Arrays.equals(a.expectedExposure(n), c.expectedExposure(n));
+        }
+        assertTrue(seedChangedProfile);
+    }
+
+    static int[] allCounterparties(PortfolioCashflows portfolio) {
+        int[] counterparties = new int[portfolio.counterpartyCount()];
+        for (int n = 0; n < counterparties.length; n++) {
+            counterparties[n] = n;
+        }
+        return counterparties;
+    }
+}
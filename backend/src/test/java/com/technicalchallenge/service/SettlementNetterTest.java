@@ -0,0 +1,80 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.technicalchallenge.dto.SettlementInstructionDTO;
+import com.technicalchallenge.repository.SettlementCashflowView;
+
+class SettlementNetterTest {
+
+    private static final LocalDate VALUE_DATE = LocalDate.of(2026, 3, 2);
+
+    @Test
+    void testNetsEachCounterpartyCurrencyGroup() {
+        // Given cashflows ordered by counterparty, currency and value date
+        List<SettlementInstructionDTO> instructions = new ArrayList<>();
+        SettlementNetter netter = new SettlementNetter(instructions::add);
+
+        // When
+        netter.accept(row("BigBank", "EUR", "Receive", 100));
+        netter.accept(row("BigBank", "USD", "Receive", 1000));
+        netter.accept(row("BigBank", "USD", "Pay", 1500));
+        netter.accept(row("MegaFund", "USD", "Pay", 250));
+        netter.accept(row("MegaFund", "USD", "Receive", 250));
+        netter.finish();
+
+        // Then
+        assertEquals(3, instructions.size());
+        assertEquals(5, netter.getGrossCount());
+
+        SettlementInstructionDTO bigBankUsd = instructions.get(1);
+        assertEquals("USD", bigBankUsd.getCurrency());
+        assertEquals(CashflowDirection.PAY, bigBankUsd.getDirection());
+        assertEquals(0, new BigDecimal("500").compareTo(bigBankUsd.getNetAmount()));
+        assertEquals(2, bigBankUsd.getGrossCashflowCount());
+
+        assertEquals(SettlementNetter.NO_PAYMENT, instructions.get(2).getDirection());
+        assertEquals(CashflowDirection.RECEIVE, instructions.get(0).getDirection());
+    }
+
+    @Test
+    void testEmptyStreamEmitsNothing() {
+        List<SettlementInstructionDTO> instructions = new ArrayList<>();
+        SettlementNetter netter = new SettlementNetter(instructions::add);
+
+        netter.finish();
+
+        assertEquals(0, instructions.size());
+    }
+
+    @Test
+    void testLargeGroupIsNettedWithoutBuffering() {
+        // Given a single group with many gross cashflows and a sink that only counts
+        long[] emitted = new long[1];
+        SettlementNetter netter = new SettlementNetter(dto -> emitted[0]++);
+
+        // When
+        LongStream.range(0, 1_000_000).forEach(i -> netter.accept(row("BigBank", "USD", i % 2 == 0 ? "Receive" : "Pay", 1)));
+        netter.finish();
+
+        // Then
+        assertEquals(1, emitted[0]);
+        assertEquals(1_000_000, netter.getGrossCount());
+    }
+
+    private static SettlementCashflowView row(String counterparty, String currency, String payRec, long amount) {
+        return new Row(counterparty, currency, VALUE_DATE, payRec, BigDecimal.valueOf(amount));
+    }
+
+    private record Row(String getCounterpartyName, String getCurrency, LocalDate getValueDate, String getPayRec,
+                       BigDecimal getPaymentValue) implements SettlementCashflowView {
+    }
+}
@@ -0,0 +1,114 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.CashflowHistory;
+import com.technicalchallenge.model.LegSchedule;
+import com.technicalchallenge.repository.CashflowHistoryRepository;
+import com.technicalchallenge.repository.LegScheduleRepository;
+import com.technicalchallenge.repository.TradeHistoryRepository;
+import com.technicalchallenge.repository.TradeRepository;
+
+class TradeArchiveServiceTest {
+
+    private final LocalDateTime cutoff = LocalDateTime.of(2026, 7, 21, 0, 0);
+
+    private TradeRepository tradeRepository;
+    private TradeHistoryRepository tradeHistoryRepository;
+    private CashflowHistoryRepository cashflowHistoryRepository;
+    private LegScheduleRepository legScheduleRepository;
+    private TradeArchiveService tradeArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository = mock(TradeRepository.class);
+        tradeHistoryRepository = mock(TradeHistoryRepository.class);
+        cashflowHistoryRepository = mock(CashflowHistoryRepository.class);
+        legScheduleRepository = mock(LegScheduleRepository.class);
+        tradeArchiveService = new TradeArchiveService(mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(tradeArchiveService, "tradeRepository", tradeRepository);
+        ReflectionTestUtils.setField(tradeArchiveService, "tradeHistoryRepository", tradeHistoryRepository);
+        ReflectionTestUtils.setField(tradeArchiveService, "cashflowHistoryRepository", cashflowHistoryRepository);
+        ReflectionTestUtils.setField(tradeArchiveService, "legScheduleRepository", legScheduleRepository);
+    }
+
+    @Test
+    void testChunkMovesVersionsAndOnlyUnusedSchedules() {
+        // Given two old versions whose legs use schedules 7 and 8; 8 is still used by the live version
+        List<Long> ids = List.of(1L, 2L);
+        when(tradeRepository.findArchivableIds(any(), any())).thenReturn(ids);
+        when(tradeHistoryRepository.findLegScheduleIds(ids)).thenReturn(List.of(7L, 8L));
+        when(tradeHistoryRepository.copyLegs(ids)).thenReturn(4);
+        when(tradeHistoryRepository.deleteTrades(ids)).thenReturn(2);
+        when(legScheduleRepository.lockUnusedSchedules(List.of(7L, 8L))).thenReturn(List.of(7L));
+        when(legScheduleRepository.findUsedScheduleIds(List.of(7L))).thenReturn(List.of());
+        when(cashflowHistoryRepository.copyCashflows(List.of(7L))).thenReturn(4);
+
+        // When
+        TradeArchiveService.ChunkResult result = tradeArchiveService.archiveChunk(cutoff);
+
+        // Then
+        assertEquals(new TradeArchiveService.ChunkResult(2, 4, 4), result);
+        InOrder move = inOrder(tradeHistoryRepository, legScheduleRepository, cashflowHistoryRepository);
+        move.verify(tradeHistoryRepository).copyTrades(any(), any());
+        move.verify(tradeHistoryRepository).copyLegs(ids);
+        move.verify(tradeHistoryRepository).detachCashflowsFromLegs(ids);
+        move.verify(tradeHistoryRepository).deleteLegs(ids);
+        move.verify(tradeHistoryRepository).deleteTrades(ids);
+        move.verify(legScheduleRepository).markArchived(List.of(7L));
+        move.verify(cashflowHistoryRepository).copyCashflows(List.of(7L));
+        move.verify(cashflowHistoryRepository).deleteCashflows(List.of(7L));
+    }
+
+    @Test
+    void testScheduleReusedByConcurrentBookingStaysHot() {
+        // Given a booking that committed a leg on schedule 7 while the archiver waited for its lock
+        List<Long> ids = List.of(1L);
+        when(tradeRepository.findArchivableIds(any(), any())).thenReturn(ids);
+        when(tradeHistoryRepository.findLegScheduleIds(ids)).thenReturn(List.of(7L));
+        when(legScheduleRepository.lockUnusedSchedules(List.of(7L))).thenReturn(List.of(7L));
+        when(legScheduleRepository.findUsedScheduleIds(List.of(7L))).thenReturn(List.of(7L));
+
+        // When
+        tradeArchiveService.archiveChunk(cutoff);
+
+        // Then
+        verify(legScheduleRepository, never()).markArchived(anyCollection());
+        verify(cashflowHistoryRepository, never()).copyCashflows(anyCollection());
+    }
+
+    @Test
+    void testArchivedScheduleReadsCashflowsFromHistory() {
+        // Given
+        LegSchedule schedule = new LegSchedule();
+        schedule.setArchived(true);
+        CashflowHistory archived = new CashflowHistory();
+        archived.setId(41L);
+        archived.setLegSchedule(schedule);
+        schedule.setArchivedCashflows(List.of(archived));
+
+        // When
+        List<Cashflow> cashflows = schedule.getCashflows();
+
+        // Then
+        assertEquals(1, cashflows.size());
+        assertEquals(41L, cashflows.get(0).getId());
+    }
+}
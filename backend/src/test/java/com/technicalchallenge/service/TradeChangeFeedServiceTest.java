@@ -0,0 +1,115 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.technicalchallenge.dto.TradeChangesDTO;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeHead;
+import com.technicalchallenge.repository.TradeHeadRepository;
+import com.technicalchallenge.repository.TradeRepository;
+
+class TradeChangeFeedServiceTest {
+
+    private TradeHeadRepository tradeHeadRepository;
+    private TradeRepository tradeRepository;
+    private TradeMapper tradeMapper;
+    private TradeChangeFeedService tradeChangeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        tradeHeadRepository = mock(TradeHeadRepository.class);
+        tradeRepository = mock(TradeRepository.class);
+        tradeMapper = mock(TradeMapper.class);
+        tradeChangeFeedService = new TradeChangeFeedService(mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(tradeChangeFeedService, "tradeHeadRepository", tradeHeadRepository);
+        ReflectionTestUtils.setField(tradeChangeFeedService, "tradeRepository", tradeRepository);
+        ReflectionTestUtils.setField(tradeChangeFeedService, "tradeMapper", tradeMapper);
+        when(tradeMapper.toDto(any())).thenAnswer(invocation -> {
+            TradeDTO dto = new TradeDTO();
+            dto.setTradeId(((Trade) invocation.getArgument(0)).getTradeId());
+            return dto;
+        });
+    }
+
+    @Test
+    void testStampsContinueFromHighestSequence() {
+        // Given
+        when(tradeHeadRepository.findMaxChangeSequence()).thenReturn(Optional.of(41L));
+        when(tradeHeadRepository.findUnstampedTradeIds()).thenReturn(List.of(10001L, 10002L));
+
+        // When
+        tradeChangeFeedService.stampUnstampedHeads();
+
+        // Then
+        InOrder stamps = inOrder(tradeHeadRepository);
+        stamps.verify(tradeHeadRepository).stampChange(10001L, 42L);
+        stamps.verify(tradeHeadRepository).stampChange(10002L, 43L);
+    }
+
+    @Test
+    void testChangesPageAndHandBackLastSequence() {
+        // Given three changed trades and a page of two
+        when(tradeHeadRepository.findByChangeSequenceGreaterThanOrderByChangeSequenceAsc(eq(0L), any()))
+                .thenReturn(List.of(head(10001L, 1L, 5L), head(10002L, 2L, 6L), head(10003L, 3L, 7L)));
+        when(tradeRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(trade(10002L, 2L), trade(10001L, 1L)));
+
+        // When
+        TradeChangesDTO page = tradeChangeFeedService.getChanges(null, 2);
+
+        // Then trades come in change order, and the token resumes after sequence 6
+        assertTrue(page.isHasMore());
+        assertFalse(page.isReset());
+        assertEquals(List.of(10001L, 10002L), page.getTrades().stream().map(TradeDTO::getTradeId).toList());
+        when(tradeHeadRepository.findByChangeSequenceGreaterThanOrderByChangeSequenceAsc(eq(6L), any())).thenReturn(List.of());
+        TradeChangesDTO next = tradeChangeFeedService.getChanges(page.getToken(), 2);
+        assertTrue(next.getTrades().isEmpty());
+        assertEquals(page.getToken(), next.getToken());
+    }
+
+    @Test
+    void testTokenFromEarlierRunResets() {
+        // Given
+        String stale = Base64.getUrlEncoder().withoutPadding().encodeToString("1.99".getBytes(StandardCharsets.UTF_8));
+        when(tradeHeadRepository.findByChangeSequenceGreaterThanOrderByChangeSequenceAsc(anyLong(), any())).thenReturn(List.of());
+
+        // When
+        TradeChangesDTO changes = tradeChangeFeedService.getChanges(stale, null);
+
+        // Then
+        assertTrue(changes.isReset());
+        assertThrows(IllegalArgumentException.class, () -> tradeChangeFeedService.getChanges("not-a-token", null));
+    }
+
+    private static TradeHead head(Long tradeId, Long rowId, Long sequence) {
+        return new TradeHead(tradeId, rowId, 1, null, sequence);
+    }
+
+    private static Trade trade(Long tradeId, Long rowId) {
+        Trade trade = new Trade();
+        trade.setId(rowId);
+        trade.setTradeId(tradeId);
+        return trade;
+    }
+}
@@ -0,0 +1,133 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.technicalchallenge.dto.GridFilterDTO;
+import com.technicalchallenge.dto.GridRowsRequestDTO;
+
+class TradeGridQueryTest {
+
+    private static final int MAX_BLOCK_SIZE = 1000;
+
+    @Test
+    void testTopLevelGroupsByFirstGroupColumn() {
+        // Given
+        GridRowsRequestDTO request = request(0, 100);
+        request.setRowGroupCols(List.of(column("bookName", null), column("counterpartyName", null)));
+        request.setValueCols(List.of(column("notional", "sum")));
+        request.setSortModel(List.of(new GridRowsRequestDTO.Sort("notional", "desc")));
+
+        // When
+        TradeGridQuery query = new TradeGridQuery(request, MAX_BLOCK_SIZE);
+
+        // Then
+        assertEquals(List.of("bookName", TradeGridQuery.CHILD_COUNT, "notional"), query.columns);
+        assertTrue(query.jpql.startsWith("SELECT b.bookName AS c0, COUNT(DISTINCT t.id) AS c1, SUM(l.notional) AS c2 FROM"));
+        assertTrue(query.jpql.endsWith("GROUP BY b.bookName ORDER BY SUM(l.notional) DESC, b.bookName"));
+        assertEquals(0, query.firstResult);
+        assertEquals(101, query.maxResults);
+    }
+
+    @Test
+    void testExpandedGroupsBecomeConditions() {
+        // Given book FX-BOOK-1 expanded, then a null counterparty group
+        GridRowsRequestDTO request = request(0, 50);
+        request.setRowGroupCols(List.of(column("bookName", null), column("counterpartyName", null)));
+        request.setGroupKeys(List.of("FX-BOOK-1", ""));
+
+        // When
+        TradeGridQuery query = new TradeGridQuery(request, MAX_BLOCK_SIZE);
+
+        // Then the leaf level returns trades
+        assertTrue(query.jpql.contains("AND b.bookName = :p0 AND c.name IS NULL"));
+        assertTrue(query.jpql.contains("SUM(l.notional) AS c13"));
+        assertTrue(query.jpql.endsWith("ORDER BY t.tradeId"));
+        assertEquals(Map.of("p0", "FX-BOOK-1"), query.parameters);
+    }
+
+    @Test
+    void testFiltersAreTypedAndParameterised() {
+        // Given
+        GridRowsRequestDTO request = request(100, 200);
+        GridFilterDTO uti = new GridFilterDTO();
+        uti.setFilterType("text");
+        uti.setType("contains");
+        uti.setFilter("50%_");
+        GridFilterDTO tradeDate = new GridFilterDTO();
+        tradeDate.setFilterType("date");
+        tradeDate.setType("inRange");
+        tradeDate.setDateFrom("2024-06-01 00:00:00");
+        tradeDate.setDateTo("2024-06-30 00:00:00");
+        GridFilterDTO notional = new GridFilterDTO();
+        notional.setFilterType("number");
+        notional.setType("greaterThan");
+        notional.setFilter(1000000);
+        GridFilterDTO status = new GridFilterDTO();
+        status.setFilterType("set");
+        status.setValues(List.of("LIVE", "AMENDED"));
+        request.setFilterModel(new java.util.LinkedHashMap<>(Map.of("utiCode", uti)));
+        request.getFilterModel().put("tradeDate", tradeDate);
+        request.getFilterModel().put("notional", notional);
+        request.getFilterModel().put("tradeStatus", status);
+
+        // When
+        TradeGridQuery query = new TradeGridQuery(request, MAX_BLOCK_SIZE);
+
+        // Then
+        assertTrue(query.jpql.contains("LOWER(t.utiCode) LIKE :p0 ESCAPE '\\'"));
+        assertEquals("%50\\%\\_%", query.parameters.get("p0"));
+        assertTrue(query.jpql.contains("t.tradeDate BETWEEN :p1 AND :p2"));
+        assertEquals(LocalDate.of(2024, 6, 30), query.parameters.get("p2"));
+        assertTrue(query.jpql.contains("HAVING SUM(l2.notional) > :p3"));
+        assertEquals(new BigDecimal("1000000"), query.parameters.get("p3"));
+        assertTrue(query.jpql.contains("s.tradeStatus IN :p4"));
+        assertEquals(100, query.firstResult);
+    }
+
+    @Test
+    void testUnknownColumnsAreRejected() {
+        GridRowsRequestDTO grouped = request(0, 100);
+        grouped.setRowGroupCols(List.of(column("1=1; DROP TABLE trade", null)));
+        assertThrows(IllegalArgumentException.class, () -> new TradeGridQuery(grouped, MAX_BLOCK_SIZE));
+
+        GridRowsRequestDTO aggregated = request(0, 100);
+        aggregated.setRowGroupCols(List.of(column("bookName", null)));
+        aggregated.setValueCols(List.of(column("tradeId", "sum")));
+        assertThrows(IllegalArgumentException.class, () -> new TradeGridQuery(aggregated, MAX_BLOCK_SIZE));
+    }
+
+    @Test
+    void testOversizedBlocksAreRejected() {
+        // Given
+        GridRowsRequestDTO wholeBlotter = request(0, Integer.MAX_VALUE);
+        GridRowsRequestDTO pastTheLimit = request(500, 500 + MAX_BLOCK_SIZE + 1);
+        GridRowsRequestDTO atTheLimit = request(500, 500 + MAX_BLOCK_SIZE);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new TradeGridQuery(wholeBlotter, MAX_BLOCK_SIZE));
+        assertThrows(IllegalArgumentException.class, () -> new TradeGridQuery(pastTheLimit, MAX_BLOCK_SIZE));
+        TradeGridQuery query = new TradeGridQuery(atTheLimit, MAX_BLOCK_SIZE);
+        assertEquals(500, query.firstResult);
+        assertEquals(MAX_BLOCK_SIZE + 1, query.maxResults);
+    }
+
+    private static GridRowsRequestDTO request(int startRow, int endRow) {
+        GridRowsRequestDTO request = new GridRowsRequestDTO();
+        request.setStartRow(startRow);
+        request.setEndRow(endRow);
+        return request;
+    }
+
+    private static GridRowsRequestDTO.Column column(String field, String aggFunc) {
+        return new GridRowsRequestDTO.Column(field, field, field, aggFunc);
+    }
+}
@@ -0,0 +1,96 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeHeadRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TradeHeadServiceTest {
+
+    @Mock
+    private TradeHeadRepository tradeHeadRepository;
+
+    @InjectMocks
+    private TradeHeadService tradeHeadService;
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 10, 19, 9, 0);
+
+    @Test
+    void testAdvanceMovesHeadFromReadVersion() {
+        // Given
+        when(tradeHeadRepository.advanceHead(10002L, 1, 21L, 2, now)).thenReturn(1);
+
+        // When
+        tradeHeadService.advanced(version(20L, 1), version(21L, 2));
+
+        // Then
+        verify(tradeHeadRepository, never()).insertHead(any(), any(), any(), any());
+    }
+
+    @Test
+    void testAdvanceFromStaleVersionRefused() {
+        // Given another amendment has already moved the head past version 1
+        when(tradeHeadRepository.advanceHead(10002L, 1, 22L, 2, now)).thenReturn(0);
+        when(tradeHeadRepository.existsById(10002L)).thenReturn(true);
+
+        // When / Then
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> tradeHeadService.advanced(version(20L, 1), version(22L, 2)));
+        assertTrue(e.getMessage().contains("changed by another request"));
+    }
+
+    @Test
+    void testAdvanceWithoutHeadCreatesIt() {
+        // Given a trade booked before heads were kept
+        when(tradeHeadRepository.advanceHead(10002L, 1, 21L, 2, now)).thenReturn(0);
+        when(tradeHeadRepository.existsById(10002L)).thenReturn(false);
+
+        // When
+        tradeHeadService.advanced(version(20L, 1), version(21L, 2));
+
+        // Then
+        verify(tradeHeadRepository).insertHead(10002L, 21L, 2, now);
+    }
+
+    @Test
+    void testConsistencyCheckRebuildsOnlyWhenHeadsDisagree() {
+        // Given
+        when(tradeHeadRepository.countInconsistencies()).thenReturn(0L, 3L);
+
+        // When
+        assertEquals(0L, tradeHeadService.checkConsistency());
+        verify(tradeHeadRepository, never()).deleteAllHeads();
+        assertEquals(3L, tradeHeadService.checkConsistency());
+
+        // Then
+        InOrder rebuild = inOrder(tradeHeadRepository);
+        rebuild.verify(tradeHeadRepository).deleteAllHeads();
+        rebuild.verify(tradeHeadRepository).insertHeadsFromActiveTrades();
+    }
+
+    private Trade version(Long rowId, int version) {
+        Trade trade = new Trade();
+        trade.setId(rowId);
+        trade.setTradeId(10002L);
+        trade.setVersion(version);
+        trade.setLastTouchTimestamp(now);
+        return trade;
+    }
+}
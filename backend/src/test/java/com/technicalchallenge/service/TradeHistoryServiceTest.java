@@ -0,0 +1,193 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeHistoryDTO;
+import com.technicalchallenge.dto.TradeSnapshotDTO;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeHistory;
+import com.technicalchallenge.repository.TradeHistoryRepository;
+import com.technicalchallenge.repository.TradeRepository;
+import com.technicalchallenge.repository.TradeSnapshotView;
+
+@ExtendWith(MockitoExtension.class)
+class TradeHistoryServiceTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+    @Mock
+    private TradeHistoryRepository tradeHistoryRepository;
+    @Mock
+    private TradeService tradeService;
+    @Mock
+    private TradeMapper tradeMapper;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private TradeHistoryService tradeHistoryService;
+
+    private final LocalDateTime asOf = LocalDateTime.of(2026, 10, 18, 14, 5);
+
+    @Test
+    void testTradeAsOf_ReadsLiveVersionFirst() {
+        // Given
+        Trade live = new Trade();
+        live.setTradeId(10001L);
+        live.setVersion(3);
+        when(tradeRepository.findVersionsValidAt(10001L, asOf)).thenReturn(List.of(live));
+
+        // When
+        Optional<Trade> result = tradeHistoryService.getTradeAsOf(10001L, asOf);
+
+        // Then
+        assertEquals(3, result.get().getVersion());
+        verify(tradeHistoryRepository, never()).findVersionsValidAt(10001L, asOf);
+    }
+
+    @Test
+    void testTradeAsOf_FallsBackToArchivedVersion() {
+        // Given the version current at asOf has been archived
+        TradeHistory archived = new TradeHistory();
+        archived.setId(5L);
+        archived.setTradeId(10001L);
+        archived.setVersion(1);
+        when(tradeRepository.findVersionsValidAt(10001L, asOf)).thenReturn(List.of());
+        when(tradeHistoryRepository.findVersionsValidAt(10001L, asOf)).thenReturn(List.of(archived));
+
+        // When
+        Optional<Trade> result = tradeHistoryService.getTradeAsOf(10001L, asOf);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(5L, result.get().getId());
+        assertEquals(1, result.get().getVersion());
+    }
+
+    @Test
+    void testTradeAsOf_NotBookedYet() {
+        // Given
+        when(tradeRepository.findVersionsValidAt(10001L, asOf)).thenReturn(List.of());
+        when(tradeHistoryRepository.findVersionsValidAt(10001L, asOf)).thenReturn(List.of());
+
+        // When / Then
+        assertFalse(tradeHistoryService.getTradeAsOf(10001L, asOf).isPresent());
+    }
+
+    @Test
+    void testPortfolioAsOf_MergesTablesOneRowPerTrade() {
+        // Given trade 10002 caught mid-archive in both tables, and 10001 only archived
+        TradeSnapshotView live = view(10002L, 2);
+        TradeSnapshotView archiving = view(10002L, 2);
+        TradeSnapshotView archived = view(10001L, 4);
+        when(tradeRepository.streamSnapshotsValidAt(asOf)).thenReturn(Stream.of(live));
+        when(tradeHistoryRepository.streamSnapshotsValidAt(asOf)).thenReturn(Stream.of(archiving, archived));
+
+        // When
+        List<TradeSnapshotDTO> snapshot = tradeHistoryService.getPortfolioAsOf(asOf);
+
+        // Then
+        assertEquals(2, snapshot.size());
+        assertEquals(10001L, snapshot.get(0).getTradeId());
+        assertEquals(4, snapshot.get(0).getVersion());
+        assertTrue(snapshot.get(0).isArchived());
+        assertEquals(10002L, snapshot.get(1).getTradeId());
+        assertFalse(snapshot.get(1).isArchived());
+    }
+
+    private static TradeSnapshotView view(Long tradeId, int version) {
+        TradeSnapshotView view = mock(TradeSnapshotView.class);
+        when(view.getTradeId()).thenReturn(tradeId);
+        when(view.getVersion()).thenReturn(version);
+        return view;
+    }
+
+    @Test
+    void testHistory_SendsBaseThenDeltas() {
+        // Given
+        Trade v1 = version(1L, 1, false);
+        Trade v2 = version(2L, 2, true);
+        when(tradeService.getTradeVersions(10001L)).thenReturn(List.of(v1, v2));
+        when(tradeMapper.toDto(v1)).thenReturn(dto(1, "UTI-1"));
+        when(tradeMapper.toDto(v2)).thenReturn(dto(2, "UTI-2"));
+
+        // When
+        TradeHistoryDTO history = tradeHistoryService.getTradeHistory(10001L).get();
+
+        // Then
+        assertEquals("UTI-1", history.getBase().get("utiCode").asText());
+        assertEquals(1, history.getDeltas().size());
+        assertEquals(List.of("replace /version", "replace /utiCode"),
+                history.getDeltas().get(0).getChanges().stream().map(c -> c.getOp() + " " + c.getPath()).toList());
+    }
+
+    @Test
+    void testHistory_CachesOnlyDeltasBetweenInactiveVersions() {
+        // Given
+        Trade v1 = version(1L, 1, false);
+        Trade v2 = version(2L, 2, false);
+        Trade v3 = version(3L, 3, true);
+        when(tradeService.getTradeVersions(10001L)).thenReturn(List.of(v1, v2, v3));
+        when(tradeMapper.toDto(v1)).thenReturn(dto(1, "UTI-1"));
+        when(tradeMapper.toDto(v2)).thenReturn(dto(2, "UTI-2"));
+        when(tradeMapper.toDto(v3)).thenReturn(dto(3, "UTI-3"));
+
+        // When
+        tradeHistoryService.getTradeHistory(10001L);
+        TradeHistoryDTO history = tradeHistoryService.getTradeHistory(10001L).get();
+
+        // Then the second read only maps the versions either side of the live delta
+        assertEquals(2, history.getDeltas().size());
+        verify(tradeMapper, times(1)).toDto(v1);
+        verify(tradeMapper, times(2)).toDto(v2);
+        verify(tradeMapper, times(2)).toDto(v3);
+    }
+
+    @Test
+    void testHistory_UnknownTrade() {
+        // Given
+        when(tradeService.getTradeVersions(10001L)).thenReturn(List.of());
+
+        // When / Then
+        assertFalse(tradeHistoryService.getTradeHistory(10001L).isPresent());
+    }
+
+    private static Trade version(Long id, int version, boolean active) {
+        Trade trade = new Trade();
+        trade.setId(id);
+        trade.setTradeId(10001L);
+        trade.setVersion(version);
+        trade.setActive(active);
+        return trade;
+    }
+
+    private static TradeDTO dto(int version, String uti) {
+        TradeDTO dto = new TradeDTO();
+        dto.setTradeId(10001L);
+        dto.setVersion(version);
+        dto.setUtiCode(uti);
+        return dto;
+    }
+}
@@ -0,0 +1,85 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.technicalchallenge.repository.TradeHistoryRepository;
+import com.technicalchallenge.repository.TradeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TradeIdServiceTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private TradeHistoryRepository tradeHistoryRepository;
+
+    @InjectMocks
+    private TradeIdService tradeIdService;
+
+    @Test
+    void testFirstTradeIdIs10000() {
+        // Given
+        when(tradeRepository.findMaxTradeId()).thenReturn(Optional.empty());
+        when(tradeHistoryRepository.findMaxTradeId()).thenReturn(Optional.empty());
+
+        // When / Then
+        assertEquals(10000L, tradeIdService.nextTradeId());
+        assertEquals(10001L, tradeIdService.nextTradeId());
+    }
+
+    @Test
+    void testBookingAfterArchiveDoesNotReuseArchivedIds() {
+        // Given trades up to 10005 booked, then 10005 cancelled and archived
+        // along with older versions, so the trade table now tops out at 10003
+        when(tradeRepository.findMaxTradeId()).thenReturn(Optional.of(10003L));
+        when(tradeHistoryRepository.findMaxTradeId()).thenReturn(Optional.of(10005L));
+
+        // When
+        Long booked = tradeIdService.nextTradeId();
+
+        // Then
+        assertEquals(10006L, booked);
+    }
+
+    @Test
+    void testIdsKeepIncreasingWhenArchivingShrinksTheTradeTable() {
+        // Given
+        when(tradeRepository.findMaxTradeId()).thenReturn(Optional.of(10004L));
+        when(tradeHistoryRepository.findMaxTradeId()).thenReturn(Optional.empty());
+        assertEquals(10005L, tradeIdService.nextTradeId());
+
+        // When the archiver then deletes rows, including trade 10005's
+        Long next = tradeIdService.nextTradeId();
+
+        // Then the counter carries on rather than re-deriving from the shrunken table
+        assertEquals(10006L, next);
+        verify(tradeRepository, times(1)).findMaxTradeId();
+        verify(tradeRepository, never()).count();
+    }
+
+    @Test
+    void testClientChosenIdsAreSkipped() {
+        // Given
+        when(tradeRepository.findMaxTradeId()).thenReturn(Optional.of(10004L));
+        when(tradeHistoryRepository.findMaxTradeId()).thenReturn(Optional.empty());
+
+        // When
+        tradeIdService.observe(20000L);
+
+        // Then
+        assertEquals(20001L, tradeIdService.nextTradeId());
+    }
+}
@@ -0,0 +1,144 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Trade;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TradeJsonCacheTest {
+
+    private static final LocalDateTime TOUCHED = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    private TradeMapper tradeMapper;
+    private TradeJsonCache tradeJsonCache;
+
+    @BeforeEach
+    void setUp() {
+        tradeMapper = mock(TradeMapper.class);
+        when(tradeMapper.toDto(any(Trade.class))).thenAnswer(invocation -> {
+            Trade trade = invocation.getArgument(0);
+            TradeDTO dto = new TradeDTO();
+            dto.setId(trade.getId());
+            dto.setVersion(trade.getVersion());
+            dto.setActive(trade.getActive());
+            return dto;
+        });
+        tradeJsonCache = new TradeJsonCache(new SimpleMeterRegistry(), 2000);
+        ReflectionTestUtils.setField(tradeJsonCache, "tradeMapper", tradeMapper);
+        ReflectionTestUtils.setField(tradeJsonCache, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void testInactiveVersionIsSerializedOnce() throws Exception {
+        // Given
+        Trade version = trade(1L, 1, false);
+
+        // When
+        String first = text(tradeJsonCache.json(version));
+        String second = text(tradeJsonCache.json(version));
+
+        // Then
+        assertEquals(first, second);
+        assertTrue(first.contains("\"version\":1"));
+        verify(tradeMapper, times(1)).toDto(version);
+    }
+
+    @Test
+    void testTouchedActiveVersionMissesAndReplacesItsEntry() throws Exception {
+        // Given
+        Trade active = trade(2L, 2, true);
+        tradeJsonCache.json(active);
+
+        // When cancelled in place
+        Trade cancelled = trade(2L, 2, true);
+        cancelled.setLastTouchTimestamp(TOUCHED.plusMinutes(5));
+        tradeJsonCache.json(cancelled);
+
+        // Then
+        verify(tradeMapper, times(2)).toDto(any(Trade.class));
+        assertEquals(1, tradeJsonCache.cachedEntries());
+    }
+
+    @Test
+    void testDeactivatedVersionMissesEvenWithSameLastTouch() throws Exception {
+        // Given
+        Trade active = trade(3L, 1, true);
+        tradeJsonCache.json(active);
+
+        // When amended away
+        Trade deactivated = trade(3L, 1, false);
+        deactivated.setDeactivatedDate(TOUCHED.plusDays(1));
+        String json = text(tradeJsonCache.json(deactivated));
+
+        // Then
+        assertTrue(json.contains("\"active\":false"));
+        verify(tradeMapper, times(2)).toDto(any(Trade.class));
+    }
+
+    @Test
+    void testLeastRecentlyUsedVersionsAreEvictedOverMaxBytes() throws Exception {
+        // Given
+        Trade first = trade(10L, 1, false);
+        tradeJsonCache.json(first);
+        for (long id = 11; id < 20; id++) {
+            tradeJsonCache.json(trade(id, 1, false));
+        }
+
+        // When
+        tradeJsonCache.json(first);
+
+        // Then
+        assertTrue(tradeJsonCache.cachedBytes() <= 2000);
+        verify(tradeMapper, times(2)).toDto(first);
+    }
+
+    @Test
+    void testWriteArrayJoinsCachedVersions() throws Exception {
+        // Given
+        List<ByteBuffer> json = tradeJsonCache.json(List.of(trade(4L, 1, false), trade(5L, 2, true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        TradeJsonCache.writeArray(json, out);
+
+        // Then
+        List<?> versions = new ObjectMapper().readValue(out.toByteArray(), List.class);
+        assertEquals(2, versions.size());
+    }
+
+    private static String text(ByteBuffer json) {
+        byte[] bytes = new byte[json.remaining()];
+        json.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Trade trade(Long id, int version, boolean active) {
+        Trade trade = new Trade();
+        trade.setId(id);
+        trade.setTradeId(10000L + id);
+        trade.setVersion(version);
+        trade.setActive(active);
+        trade.setLastTouchTimestamp(TOUCHED);
+        return trade;
+    }
+}
@@ -6,27 +6,39 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.dto.TradeLegDTO;
+import com.technicalchallenge.dto.TradePatchDTO;
+import com.technicalchallenge.model.LegSchedule;
 import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeHistory;
 import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.model.TradeStatus;
 import com.technicalchallenge.repository.CashflowRepository;
+import com.technicalchallenge.repository.TradeHistoryRepository;
 import com.technicalchallenge.repository.TradeLegRepository;
 import com.technicalchallenge.repository.TradeRepository;
 import com.technicalchallenge.repository.TradeStatusRepository;
@@ -49,6 +61,27 @@ class TradeServiceTest {
     @Mock
     private AdditionalInfoService additionalInfoService;
 
+    @Mock
+    private CreditLimitService creditLimitService;
+
+    @Mock
+    private DuplicateTradeService duplicateTradeService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LegScheduleService legScheduleService;
+
+    @Mock
+    private TradeHeadService tradeHeadService;
+
+    @Mock
+    private TradeHistoryRepository tradeHistoryRepository;
+
+    @Mock
+    private TradeIdService tradeIdService;
+
     @InjectMocks
     private TradeService tradeService;
 
@@ -133,6 +166,38 @@ class TradeServiceTest {
         assertEquals(100001L, result.get().getTradeId());
     }
 
+    @Test
+    void testGetTradeById_ReadsThroughHead() {
+        // Given
+        when(tradeRepository.findCurrentByTradeId(100001L)).thenReturn(Optional.of(trade));
+
+        // When
+        Optional<Trade> result = tradeService.getTradeById(100001L);
+
+        // Then
+        assertTrue(result.isPresent());
+        verify(tradeRepository, never()).findByTradeIdAndActiveTrue(any());
+    }
+
+    @Test
+    void testGetTradeVersions_MergesArchivedVersions() {
+        // Given version 1 archived and version 2 still in the trade table
+        TradeHistory archived = new TradeHistory();
+        archived.setTradeId(100001L);
+        archived.setVersion(1);
+        trade.setVersion(2);
+        when(tradeHistoryRepository.findByTradeIdOrderByVersionAsc(100001L)).thenReturn(List.of(archived));
+        when(tradeRepository.findByTradeId(100001L)).thenReturn(List.of(trade));
+
+        // When
+        List<Trade> versions = tradeService.getTradeVersions(100001L);
+
+        // Then
+        assertEquals(2, versions.size());
+        assertEquals(1, versions.get(0).getVersion());
+        assertEquals(2, versions.get(1).getVersion());
+    }
+
     @Test
     void testGetTradeById_NotFound() {
         // Given
@@ -173,6 +238,96 @@ class TradeServiceTest {
         assertTrue(exception.getMessage().contains("Trade not found"));
     }
 
+    @Test
+    void testPatchTrade_UtiOnly_SharesAllSchedules() {
+        // Given
+        givenPatchableTrade();
+        TradePatchDTO patch = new TradePatchDTO();
+        patch.setUtiCode("UTI-NEW");
+
+        // When
+        Trade result = tradeService.patchTrade(100001L, patch);
+
+        // Then
+        assertEquals(2, result.getVersion());
+        assertEquals("UTI-NEW", result.getUtiCode());
+        ArgumentCaptor<TradeLeg> legs = ArgumentCaptor.forClass(TradeLeg.class);
+        verify(tradeLegRepository, times(2)).save(legs.capture());
+        assertEquals(501L, legs.getAllValues().get(0).getLegSchedule().getId());
+        assertEquals(502L, legs.getAllValues().get(1).getLegSchedule().getId());
+        verify(legScheduleService, never()).assignSchedule(any(), any(), any());
+    }
+
+    @Test
+    void testPatchTrade_LegNotional_ReschedulesOnlyThatLeg() {
+        // Given
+        givenPatchableTrade();
+        TradeLegDTO legPatch = new TradeLegDTO();
+        legPatch.setLegId(11L);
+        legPatch.setNotional(BigDecimal.valueOf(2000000));
+        TradePatchDTO patch = new TradePatchDTO();
+        patch.setTradeLegs(List.of(legPatch));
+
+        // When
+        tradeService.patchTrade(100001L, patch);
+
+        // Then
+        ArgumentCaptor<TradeLeg> rescheduled = ArgumentCaptor.forClass(TradeLeg.class);
+        verify(legScheduleService, times(1)).assignSchedule(rescheduled.capture(), eq(tradeDTO.getTradeStartDate()), eq(tradeDTO.getTradeMaturityDate()));
+        assertEquals(0, BigDecimal.valueOf(2000000).compareTo(rescheduled.getValue().getNotional()));
+    }
+
+    @Test
+    void testPatchTrade_UnknownLeg_ShouldFail() {
+        // Given
+        when(tradeRepository.findByTradeIdAndActiveTrue(100001L)).thenReturn(Optional.of(patchableTrade()));
+        when(tradeStatusRepository.findByTradeStatus("AMENDED")).thenReturn(Optional.of(new TradeStatus()));
+        TradeLegDTO legPatch = new TradeLegDTO();
+        legPatch.setLegId(99L);
+        TradePatchDTO patch = new TradePatchDTO();
+        patch.setTradeLegs(List.of(legPatch));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> tradeService.patchTrade(100001L, patch));
+        assertTrue(exception.getMessage().contains("do not belong to trade"));
+        verify(tradeRepository, never()).save(any(Trade.class));
+    }
+
+    private void givenPatchableTrade() {
+        when(tradeRepository.findByTradeIdAndActiveTrue(100001L)).thenReturn(Optional.of(patchableTrade()));
+        when(tradeStatusRepository.findByTradeStatus("AMENDED")).thenReturn(Optional.of(new TradeStatus()));
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        AtomicLong legIds = new AtomicLong(20L);
+        when(tradeLegRepository.save(any(TradeLeg.class))).thenAnswer(invocation -> {
+            TradeLeg leg = invocation.getArgument(0);
+            leg.setLegId(legIds.incrementAndGet());
+            return leg;
+        });
+    }
+
+    private Trade patchableTrade() {
+        Trade existing = new Trade();
+        existing.setId(1L);
+        existing.setTradeId(100001L);
+        existing.setVersion(1);
+        existing.setTradeDate(tradeDTO.getTradeDate());
+        existing.setTradeStartDate(tradeDTO.getTradeStartDate());
+        existing.setTradeMaturityDate(tradeDTO.getTradeMaturityDate());
+        List<TradeLeg> legs = new ArrayList<>();
+        for (long legId = 11L; legId <= 12L; legId++) {
+            TradeLeg leg = new TradeLeg();
+            leg.setLegId(legId);
+            leg.setNotional(BigDecimal.valueOf(1000000));
+            leg.setRate(legId == 11L ? 0.05 : 0.0);
+            LegSchedule schedule = new LegSchedule();
+            schedule.setId(legId + 490L);
+            leg.setLegSchedule(schedule);
+            legs.add(leg);
+        }
+        existing.setTradeLegs(legs);
+        return existing;
+    }
+
     // This test has a deliberate bug for candidates to find and fix
     @Test
     void testCashflowGeneration_MonthlySchedule() {
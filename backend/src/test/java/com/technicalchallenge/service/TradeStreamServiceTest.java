@@ -0,0 +1,170 @@
+package com.technicalchallenge.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.technicalchallenge.dto.TradeSnapshotDTO;
+import com.technicalchallenge.event.TradeEventRingBuffer;
+import com.technicalchallenge.event.TradeEventType;
+import com.technicalchallenge.event.TradeLifecycleEvent;
+import com.technicalchallenge.event.WaitStrategy;
+import com.technicalchallenge.repository.TradeRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TradeStreamServiceTest {
+
+    private TradeRepository tradeRepository;
+    private TradeStreamService tradeStreamService;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository = mock(TradeRepository.class);
+        tradeStreamService = new TradeStreamService(new SimpleMeterRegistry(), 2, 3, Duration.ofMinutes(1), 1,
+                Duration.ofMillis(200));
+        ReflectionTestUtils.setField(tradeStreamService, "tradeRepository", tradeRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tradeStreamService.stop();
+    }
+
+    @Test
+    void testNewerRowReplacesWaitingRowForSameTrade() {
+        // Given
+        TradeStreamService.Subscriber subscriber = new TradeStreamService.Subscriber(new SseEmitter(), 3);
+
+        // When
+        assertEquals(TradeStreamService.OfferResult.QUEUED, subscriber.offer(row(10001L, 1)));
+        assertEquals(TradeStreamService.OfferResult.QUEUED, subscriber.offer(row(10002L, 1)));
+        assertEquals(TradeStreamService.OfferResult.COALESCED, subscriber.offer(row(10001L, 2)));
+
+        // Then the first trade keeps its place but carries the newer version
+        TradeStreamService.Subscriber.Pending pending = subscriber.drain();
+        assertEquals(List.of(10001L, 10002L), pending.rows().stream().map(TradeSnapshotDTO::getTradeId).toList());
+        assertEquals(2, pending.rows().get(0).getVersion());
+        assertFalse(subscriber.hasPending());
+    }
+
+    @Test
+    void testOverflowDropsRowsAndAsksForResync() {
+        // Given a subscriber that has fallen behind by its whole buffer
+        TradeStreamService.Subscriber subscriber = new TradeStreamService.Subscriber(new SseEmitter(), 3);
+        for (long tradeId = 1; tradeId <= 3; tradeId++) {
+            subscriber.offer(row(tradeId, 1));
+        }
+
+        // When
+        TradeStreamService.OfferResult result = subscriber.offer(row(4L, 1));
+
+        // Then
+        assertEquals(TradeStreamService.OfferResult.OVERFLOWED, result);
+        assertEquals(4, subscriber.takeDropped());
+        TradeStreamService.Subscriber.Pending pending = subscriber.drain();
+        assertTrue(pending.resync());
+        assertTrue(pending.rows().isEmpty());
+    }
+
+    @Test
+    void testRowsReadOncePerBatchAndOnlyWithSubscribers() {
+        // Given a ring feeding the service
+        TradeEventRingBuffer ring = new TradeEventRingBuffer(8, WaitStrategy.named("BLOCKING"));
+        TradeEventRingBuffer.Subscription subscription = ring.subscribe("stream", tradeStreamService);
+        ring.publish(new TradeLifecycleEvent(TradeEventType.CREATED, 10001L, 1L, 1, LocalDateTime.now()));
+
+        // When the event arrives with nobody connected, then again with a subscriber
+        Thread consumer = new Thread(subscription);
+        consumer.start();
+        waitFor(() -> subscription.lag() == 0);
+        verify(tradeRepository, never()).findCurrentSnapshots(any());
+        assertNotNull(tradeStreamService.subscribe());
+        ring.publish(new TradeLifecycleEvent(TradeEventType.AMENDED, 10001L, 2L, 2, LocalDateTime.now()));
+        waitFor(() -> subscription.lag() == 0);
+
+        // Then
+        verify(tradeRepository, times(1)).findCurrentSnapshots(List.of(10001L));
+        subscription.halt();
+    }
+
+    @Test
+    void testSubscriberLimit() {
+        assertNotNull(tradeStreamService.subscribe());
+        assertNotNull(tradeStreamService.subscribe());
+        assertNull(tradeStreamService.subscribe());
+        assertEquals(2, tradeStreamService.subscriberCount());
+    }
+
+    @Test
+    void testStalledSubscriberIsDroppedWithoutHoldingTheWriter() throws Exception {
+        // Given one writer thread, a browser that stopped reading and one that reads
+        CountDownLatch never = new CountDownLatch(1);
+        SseEmitter stalled = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    never.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+        };
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> received = new CopyOnWriteArrayList<>();
+        SseEmitter reading = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.add(builder.build());
+            }
+        };
+        tradeStreamService.register(stalled);
+        tradeStreamService.offer(row(10001L, 1));
+        tradeStreamService.register(reading);
+
+        // When
+        tradeStreamService.offer(row(10002L, 1));
+        tradeStreamService.offer(row(10003L, 1));
+
+        // Then the stalled stream is dropped and the reader still gets every row
+        waitFor(() -> received.size() == 2);
+        assertEquals(1, tradeStreamService.subscriberCount());
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static TradeSnapshotDTO row(Long tradeId, int version) {
+        TradeSnapshotDTO row = new TradeSnapshotDTO();
+        row.setTradeId(tradeId);
+        row.setVersion(version);
+        return row;
+    }
+}